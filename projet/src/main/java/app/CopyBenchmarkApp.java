@@ -0,0 +1,199 @@
+package app;
+
+import filesystem.CopyScheduler;
+import filesystem.CopyStrategy;
+import filesystem.LocalFileHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Point d’entrée du banc d’essai des copies.
+ *
+ * <p>
+ * Le programme génère une arborescence synthétique dans un dossier temporaire : beaucoup de petits
+ * fichiers et quelques gros fichiers. Il la copie ensuite de deux façons, en mesurant la durée
+ * et le débit de chacune :
+ * </p>
+ * <ul>
+ *     <li>fichier par fichier avec {@link Files#copy(Path, Path, java.nio.file.CopyOption...)}, la référence ;</li>
+ *     <li>avec un {@link CopyScheduler}, qui copie les petits fichiers par lots, au-dessus d’un
+ *         {@link LocalFileHandler} découpant les gros fichiers en plages copiées simultanément.</li>
+ * </ul>
+ *
+ * <p>
+ * Chaque copie part d’une destination vide ; le cache du système de fichiers n’est pas vidé
+ * entre les mesures, qui comparent donc surtout le coût de prise en charge des fichiers
+ * et le parallélisme des copies.
+ *
+ * @see CopyScheduler
+ * @see LocalFileHandler
+ * @since JDK 17
+ */
+public class CopyBenchmarkApp {
+    /** Nombre de petits fichiers, par défaut. */
+    static final int DEFAULT_SMALL_FILES = 20_000;
+
+    /** Taille des petits fichiers, par défaut (4 Kio). */
+    static final int DEFAULT_SMALL_SIZE = 4 * 1024;
+
+    /** Nombre de gros fichiers, par défaut. */
+    static final int DEFAULT_LARGE_FILES = 2;
+
+    /** Taille des gros fichiers, par défaut (512 Mio). */
+    static final long DEFAULT_LARGE_SIZE = 512L * 1024 * 1024;
+
+    /** Nombre de petits fichiers par dossier de l’arborescence générée. */
+    private static final int FILES_PER_DIRECTORY = 500;
+
+    /**
+     * Lance le banc d’essai.
+     *
+     * @param args facultatifs, dans l’ordre : nombre et taille des petits fichiers, nombre et taille
+     *             des gros fichiers, nombre de threads
+     */
+    public static void main(String[] args) {
+        try {
+            int smallFiles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SMALL_FILES;
+            int smallSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SMALL_SIZE;
+            int largeFiles = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_LARGE_FILES;
+            long largeSize = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_LARGE_SIZE;
+            int workers = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+            Path workDir = Files.createTempDirectory("copy-benchmark");
+            try {
+                run(workDir, smallFiles, smallSize, largeFiles, largeSize, workers);
+            } finally {
+                deleteTree(workDir);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Usage: java -cp target/classes app.CopyBenchmarkApp [petits-fichiers] [taille] [gros-fichiers] [taille] [threads]");
+        } catch (IOException e) {
+            System.err.println("Erreur d'E/S : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Génère l’arborescence puis mesure les deux façons de la copier.
+     *
+     * @param workDir    dossier de travail, vide
+     * @param smallFiles nombre de petits fichiers
+     * @param smallSize  taille des petits fichiers, en octets
+     * @param largeFiles nombre de gros fichiers
+     * @param largeSize  taille des gros fichiers, en octets
+     * @param workers    nombre de threads de l’ordonnanceur et de la copie par plages
+     * @return durées mesurées en nanosecondes : {@code Files.copy}, puis ordonnanceur
+     * @throws IOException si la génération ou une copie échoue
+     */
+    static long[] run(Path workDir, int smallFiles, int smallSize, int largeFiles, long largeSize, int workers)
+            throws IOException {
+        Path source = workDir.resolve("source");
+        List<Path> files = generate(source, smallFiles, smallSize, largeFiles, largeSize);
+        long totalBytes = (long) smallFiles * smallSize + largeFiles * largeSize;
+        System.out.printf("Arborescence : %d petit(s) fichier(s) de %d octet(s), %d gros fichier(s) de %d octet(s)%n",
+                smallFiles, smallSize, largeFiles, largeSize);
+
+        Path plainTarget = workDir.resolve("files-copy");
+        long start = System.nanoTime();
+        for (Path file : files) {
+            Path target = plainTarget.resolve(source.relativize(file));
+            Files.createDirectories(target.getParent());
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+        long plain = System.nanoTime() - start;
+        print("Files.copy", plain, totalBytes);
+
+        Path scheduledTarget = workDir.resolve("scheduler");
+        start = System.nanoTime();
+        try (LocalFileHandler engine = new LocalFileHandler(CopyStrategy.TRANSFER,
+                Math.min(largeSize, LocalFileHandler.DEFAULT_CHUNK_THRESHOLD),
+                Math.max(1, Math.min(LocalFileHandler.DEFAULT_CHUNK_SIZE, largeSize / workers)), workers);
+             CopyScheduler scheduler = new CopyScheduler(engine, workers)) {
+            List<CompletableFuture<Long>> copies = new ArrayList<>(files.size());
+            for (Path file : files) {
+                copies.add(scheduler.submit(file, scheduledTarget.resolve(source.relativize(file))));
+            }
+            scheduler.drain();
+            CompletableFuture.allOf(copies.toArray(new CompletableFuture<?>[0])).join();
+        }
+        long scheduled = System.nanoTime() - start;
+        print("Ordonnanceur", scheduled, totalBytes);
+        System.out.printf("Accélération : x%.2f%n", (double) plain / scheduled);
+        return new long[]{plain, scheduled};
+    }
+
+    /**
+     * Génère l’arborescence synthétique.
+     *
+     * @param root       racine de l’arborescence
+     * @param smallFiles nombre de petits fichiers
+     * @param smallSize  taille des petits fichiers
+     * @param largeFiles nombre de gros fichiers
+     * @param largeSize  taille des gros fichiers
+     * @return fichiers générés
+     * @throws IOException si un fichier ne peut pas être écrit
+     */
+    private static List<Path> generate(Path root, int smallFiles, int smallSize, int largeFiles, long largeSize)
+            throws IOException {
+        List<Path> files = new ArrayList<>(smallFiles + largeFiles);
+        byte[] content = new byte[smallSize];
+        for (int i = 0; i < smallFiles; i++) {
+            Path dir = Files.createDirectories(root.resolve("dir" + (i / FILES_PER_DIRECTORY)));
+            ThreadLocalRandom.current().nextBytes(content);
+            files.add(Files.write(dir.resolve("small" + i + ".bin"), content));
+        }
+
+        ByteBuffer block = ByteBuffer.allocateDirect(1024 * 1024);
+        byte[] random = new byte[block.capacity()];
+        ThreadLocalRandom.current().nextBytes(random);
+        Files.createDirectories(root);
+        for (int i = 0; i < largeFiles; i++) {
+            Path file = root.resolve("large" + i + ".bin");
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (long written = 0; written < largeSize; ) {
+                    block.clear();
+                    block.put(random, 0, (int) Math.min(random.length, largeSize - written));
+                    block.flip();
+                    written += out.write(block);
+                }
+            }
+            files.add(file);
+        }
+        return files;
+    }
+
+    /**
+     * Affiche une mesure.
+     *
+     * @param label      nom de la technique
+     * @param nanos      durée, en nanosecondes
+     * @param totalBytes volume copié
+     */
+    private static void print(String label, long nanos, long totalBytes) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-14s : %.2f s, %.1f Mo/s%n", label, seconds, totalBytes / seconds / (1024 * 1024));
+    }
+
+    /**
+     * Supprime une arborescence.
+     *
+     * @param root racine à supprimer
+     * @throws IOException si le parcours échoue
+     */
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
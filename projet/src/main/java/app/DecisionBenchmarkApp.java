@@ -0,0 +1,249 @@
+package app;
+
+import factory.persistence.PersistenceStrategy;
+import manager.RegistryManager;
+import model.Registry;
+import sync.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Point d’entrée du banc d’essai des décisions de synchronisation.
+ *
+ * <p>
+ * Le programme génère, dans un dossier temporaire, deux répertoires A et B et leur registre :
+ * la plupart des fichiers sont déjà synchronisés, les autres sont nouveaux, modifiés ou supprimés
+ * d’un côté. Il parcourt ensuite A et B avec un {@link MergeWalker} de deux façons, en mesurant
+ * la durée de chacune :
+ * </p>
+ * <ul>
+ *     <li>avec la chaîne historique {@link RegisterHandler}, {@link CopyHandler}, {@link DeleteHandler}
+ *         et {@link ConflictHandler}, où chaque chemin traverse les quatre maillons ;</li>
+ *     <li>avec un {@link DecisionHandler}, qui classe chaque chemin une seule fois.</li>
+ * </ul>
+ *
+ * <p>
+ * Chaque mesure part d’une arborescence et d’un registre neufs, identiques d’une façon à l’autre ;
+ * la meilleure durée de plusieurs tours est retenue. Les messages des maillons sont écartés pendant
+ * les mesures.
+ *
+ * @see DecisionHandler
+ * @see MergeWalker
+ * @since JDK 17
+ */
+public class DecisionBenchmarkApp {
+    /** Nombre de fichiers, par défaut. */
+    static final int DEFAULT_FILES = 20_000;
+
+    /** Nombre de tours de mesure, par défaut. */
+    static final int DEFAULT_ROUNDS = 3;
+
+    /** Nombre de fichiers par dossier de l’arborescence générée. */
+    private static final int FILES_PER_DIRECTORY = 500;
+
+    /** Un fichier sur {@code CHANGE_PERIOD} n’est pas synchronisé. */
+    private static final int CHANGE_PERIOD = 20;
+
+    /** Date des fichiers synchronisés (en millis). */
+    private static final long SYNCED_TIME = 1_600_000_000_000L;
+
+    /**
+     * Lance le banc d’essai.
+     *
+     * @param args facultatifs, dans l’ordre : nombre de fichiers, nombre de tours
+     */
+    public static void main(String[] args) {
+        try {
+            int files = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FILES;
+            int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+            // les registres du banc d’essai ne sont jamais sauvegardés
+            RegistryManager.init(new PersistenceStrategy<>() {
+                @Override
+                public void save(String path, Registry value) {
+                }
+
+                @Override
+                public Registry load(String path, Class<Registry> type) {
+                    return new Registry(path);
+                }
+
+                @Override
+                public String getFileName(String name) {
+                    return name;
+                }
+            });
+            Path workDir = Files.createTempDirectory("decision-benchmark");
+            try {
+                run(workDir, files, rounds);
+            } finally {
+                deleteTree(workDir);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Usage: java -cp target/classes app.DecisionBenchmarkApp [fichiers] [tours]");
+        } catch (IOException e) {
+            System.err.println("Erreur d'E/S : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Mesure les deux façons de synchroniser l’arborescence synthétique.
+     *
+     * <p>
+     * Le gestionnaire des registres ({@link RegistryManager}) doit avoir été initialisé.
+     *
+     * @param workDir dossier de travail, vide
+     * @param files   nombre de fichiers
+     * @param rounds  nombre de tours de mesure
+     * @return meilleures durées mesurées en nanosecondes : chaîne historique, puis décision unique
+     * @throws IOException si la génération ou une synchronisation échoue
+     */
+    static long[] run(Path workDir, int files, int rounds) throws IOException {
+        System.out.printf("Arborescence : %d fichier(s), dont un sur %d à synchroniser, %d tour(s)%n",
+                files, CHANGE_PERIOD, rounds);
+        long chain = Long.MAX_VALUE;
+        long decision = Long.MAX_VALUE;
+        for (int round = 0; round < Math.max(1, rounds); round++) {
+            chain = Math.min(chain, measure(workDir.resolve("chain" + round), files, chain()));
+            decision = Math.min(decision, measure(workDir.resolve("decision" + round), files, new DecisionHandler()));
+        }
+        print("Chaîne", chain, files);
+        print("Décision", decision, files);
+        System.out.printf("Accélération : x%.2f%n", (double) chain / decision);
+        return new long[]{chain, decision};
+    }
+
+    /**
+     * Construit la chaîne historique des quatre maillons.
+     *
+     * @return premier maillon de la chaîne
+     */
+    private static SyncHandler chain() {
+        SyncHandler register = new RegisterHandler();
+        SyncHandler copy = new CopyHandler();
+        SyncHandler delete = new DeleteHandler();
+        register.setNext(copy);
+        copy.setNext(delete);
+        delete.setNext(new ConflictHandler());
+        return register;
+    }
+
+    /**
+     * Génère une arborescence puis mesure sa synchronisation par un maillon.
+     *
+     * @param root    dossier contenant A et B
+     * @param files   nombre de fichiers
+     * @param handler maillon appliqué à chaque chemin
+     * @return durée du parcours en nanosecondes
+     * @throws IOException si la génération ou le parcours échoue
+     */
+    private static long measure(Path root, int files, SyncHandler handler) throws IOException {
+        Path dirA = root.resolve("A");
+        Path dirB = root.resolve("B");
+        Registry registry = generate(dirA, dirB, files);
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            long start = System.nanoTime();
+            new MergeWalker(dirA, dirB, handler, registry).walk();
+            return System.nanoTime() - start;
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    /**
+     * Génère les répertoires A et B et leur registre.
+     *
+     * <p>
+     * Parmi les fichiers non synchronisés, on trouve à parts égales : des fichiers nouveaux dans A,
+     * nouveaux dans B, modifiés dans A, supprimés de B et modifiés des deux côtés (conflits).
+     *
+     * @param dirA  répertoire A
+     * @param dirB  répertoire B
+     * @param files nombre de fichiers
+     * @return registre des fichiers synchronisés
+     * @throws IOException si un fichier ne peut pas être écrit
+     */
+    private static Registry generate(Path dirA, Path dirB, int files) throws IOException {
+        Registry registry = new Registry("benchmark");
+        for (int i = 0; i < files; i++) {
+            String relativePath = "dir" + (i / FILES_PER_DIRECTORY) + "/file" + i + ".txt";
+            Path fileA = dirA.resolve(relativePath);
+            Path fileB = dirB.resolve(relativePath);
+            Files.createDirectories(fileA.getParent());
+            Files.createDirectories(fileB.getParent());
+            String content = "content " + i;
+            switch (i % CHANGE_PERIOD) {
+                case 1 -> write(fileA, content, SYNCED_TIME);
+                case 2 -> write(fileB, content, SYNCED_TIME);
+                case 3 -> {
+                    write(fileA, content + " v2", SYNCED_TIME + 60_000);
+                    write(fileB, content, SYNCED_TIME);
+                    registry.put(relativePath, SYNCED_TIME);
+                }
+                case 4 -> {
+                    write(fileA, content, SYNCED_TIME);
+                    registry.put(relativePath, SYNCED_TIME);
+                }
+                case 5 -> {
+                    write(fileA, content + " A", SYNCED_TIME + 60_000);
+                    write(fileB, content + " B", SYNCED_TIME + 120_000);
+                    registry.put(relativePath, SYNCED_TIME);
+                }
+                default -> {
+                    write(fileA, content, SYNCED_TIME);
+                    write(fileB, content, SYNCED_TIME);
+                    registry.put(relativePath, SYNCED_TIME);
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Écrit un fichier et fixe sa date de modification.
+     *
+     * @param file    fichier à écrire
+     * @param content contenu
+     * @param time    date de modification (en millis)
+     * @throws IOException si l’écriture échoue
+     */
+    private static void write(Path file, String content, long time) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(time));
+    }
+
+    /**
+     * Affiche une mesure.
+     *
+     * @param label   nom de la façon mesurée
+     * @param nanos   durée en nanosecondes
+     * @param entries nombre de fichiers
+     */
+    private static void print(String label, long nanos, int entries) {
+        System.out.printf("%-9s : %.1f ms, %.2f µs par fichier%n",
+                label, nanos / 1e6, nanos / 1e3 / Math.max(1, entries));
+    }
+
+    /**
+     * Supprime une arborescence.
+     *
+     * @param root racine à supprimer
+     * @throws IOException si le parcours échoue
+     */
+    private static void deleteTree(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
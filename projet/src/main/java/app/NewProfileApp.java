@@ -5,6 +5,8 @@ import factory.XmlProfileStrategyFactory;
 import manager.ProfileManager;
 import model.Profile;
 
+import java.util.*;
+
 /**
  * Point d’entrée de l’application <strong>new-profile</strong>.
  *
@@ -40,10 +42,14 @@ public class NewProfileApp {
      *      <li>Chemin vers le dossier A</li>
      *      <li>Chemin vers le dossier B</li>
      *  </ol>
+     *  suivis d’options facultatives et répétables {@code --include GLOB} et {@code --exclude GLOB}
      */
     public static void main(String[] args) {
-        if (args.length != 3) {
-            System.out.println("Usage: java -cp target/classes app.NewProfileApp <profile-name> <path-A> <path-B>");
+        List<String> includes = new ArrayList<>();
+        List<String> excludes = new ArrayList<>();
+        if (!parseFilters(args, includes, excludes)) {
+            System.out.println("Usage: java -cp target/classes app.NewProfileApp <profile-name> <path-A> <path-B>"
+                    + " [--include GLOB]... [--exclude GLOB]...");
             return;
         }
 
@@ -55,7 +61,7 @@ public class NewProfileApp {
             // Construction du profil avec le builder
             ProfileBuilder builder = new ConcreteProfileBuilder();
             ProfileDirector director = new ProfileDirector(builder);
-            Profile profile = director.construct(profileName, pathA, pathB);
+            Profile profile = director.construct(profileName, pathA, pathB, includes, excludes);
 
             // Sauvegarde avec le ProfileManager (Singleton)
             ProfileManager.init(new XmlProfileStrategyFactory().createStrategy());
@@ -66,4 +72,31 @@ public class NewProfileApp {
             System.err.println("Erreur lors de la création du profil : " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Vérifie les arguments positionnels et lit les options de filtrage.
+     *
+     * @param args     arguments de la ligne de commande
+     * @param includes reçoit les motifs d’inclusion
+     * @param excludes reçoit les motifs d’exclusion
+     * @return {@code false} si les arguments sont invalides
+     */
+    private static boolean parseFilters(String[] args, List<String> includes, List<String> excludes) {
+        if (args.length < 3) {
+            return false;
+        }
+        for (int i = 3; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                return false;
+            }
+            switch (args[i]) {
+                case "--include" -> includes.add(args[i + 1]);
+                case "--exclude" -> excludes.add(args[i + 1]);
+                default -> {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
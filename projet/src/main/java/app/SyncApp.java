@@ -1,15 +1,26 @@
 package app;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.file.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import factory.*;
-import filesystem.*;
+import filesystem.AsyncCopyExecutor;
+import filesystem.CopyScheduler;
+import filesystem.CopyStrategy;
+import filesystem.DeltaFileHandler;
+import filesystem.FileHandler;
+import filesystem.FileHandlerFactory;
+import filesystem.LocalFileHandler;
+import filesystem.ThrottledFileHandler;
 import manager.*;
 import model.*;
 import sync.*;
-import visitor.FileVisitor;
-import visitor.SyncVisitor;
+import watch.WatchDaemon;
 
 /**
  * Point d’entrée de l’application <strong>sync</strong>.
@@ -21,11 +32,17 @@ import visitor.SyncVisitor;
  * </p>
  *
  * <ul>
- *     <li><strong>Composite</strong> pour parcourir l’arborescence de fichiers</li>
- *     <li><strong>Visitor</strong> pour appliquer la logique de synchronisation</li>
+ *     <li>un parcours conjoint de A et B ({@link sync.MergeWalker}) qui produit un seul
+ *         contexte de synchronisation par chemin relatif</li>
+ *     <li>une planification sans effet de bord ({@link sync.SyncPlanner}), affichée avant son exécution
+ *         ({@link sync.SyncPlanExecutor}) ou seule avec {@code --dry-run}</li>
+ *     <li>un mode surveillance ({@link watch.WatchDaemon}) qui ne traite que les chemins modifiés</li>
  *     <li><strong>Chain of Responsibility</strong> pour modulariser les traitements
- *         (copie, suppression, conflit, enregistrement)</li>
- *     <li><strong>Singleton</strong> pour l’accès centralisé au gestionnaire de profil et au registre</li>
+ *         (copie, suppression, enregistrement), décidés en une seule passe par {@link sync.DecisionHandler}</li>
+ *     <li>une file de conflits ({@link sync.ConflictQueue}) résolue en fin de synchronisation
+ *         par un {@link sync.ConflictResolver}, sans bloquer le traitement des autres fichiers</li>
+ *     <li><strong>Singleton</strong> pour l’accès centralisé au gestionnaire de profil, au registre
+ *         et à l’index des listages, qui évite de relire les dossiers inchangés</li>
  * </ul>
  *
  * <p>
@@ -35,30 +52,36 @@ import visitor.SyncVisitor;
  *
  * @see manager.ProfileManager
  * @see manager.RegistryManager
- * @see model.FileComponent
- * @see visitor.FileVisitor
+ * @see manager.StatIndexManager
+ * @see sync.MergeWalker
  * @see sync.SyncHandler
  * @since JDK 17
  */
 public class SyncApp {
+    /** Intervalle de relecture des limites d’entrées-sorties du profil en mode surveillance, en secondes. */
+    private static final long LIMITS_RELOAD_SECONDS = 5L;
 
     /**
      * Lance le programme de synchronisation à partir d’un nom de profil.
      *
-     * @param args un seul argument attendu : le nom du profil enregistré
+     * @param args le nom du profil enregistré, suivi d’options facultatives (voir {@link SyncOptions})
      */
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.out.println("Usage: java -cp target/classes src.main.java.app.SyncApp <profile-name>");
+        SyncOptions options;
+        try {
+            options = SyncOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Usage: java -cp target/classes src.main.java.app.SyncApp <profile-name> [--scan-threads N] [--workers N] [--delta-threshold OCTETS] [--fsync none|file|group [--fsync-group N]] [--async-copies N [--inflight-bytes OCTETS] [--batch-size N]] [--chunk-threads N [--chunk-threshold OCTETS]] [--conflicts ask|skip|newest|a|b|keep-both] [--dry-run | --watch [--debounce MS]]");
             return;
         }
 
-        String profileName = args[0];
+        String profileName = options.getProfileName();
 
+        LocalFileHandler copyEngine = null;
         try {
             // 1. Charger le profil
             ProfileManager.init(new XmlProfileStrategyFactory().createStrategy());
-            RegistryManager.init(new XmlRegistryStrategyFactory().createStrategy());
+            RegistryManager.init(new JournalRegistryStrategyFactory().createStrategy());
 
             Profile profile = ProfileManager.getInstance().loadProfile(profileName);
             Path pathA = Paths.get(profile.getPathA());
@@ -68,54 +91,199 @@ public class SyncApp {
             System.out.println("Dossier A : " + pathA);
             System.out.println("Dossier B : " + pathB);
 
-            // 2. Explorer les répertoires (Composite)
-            FileComponent arbreA = FileSystemExplorer.explore(pathA);
-            FileComponent arbreB = FileSystemExplorer.explore(pathB);
-
-            // 3. Charger le registre
+            // 2. Charger le registre
             Registry registry = RegistryManager.getInstance().loadRegistry(profileName);
+            RegistryManager.getInstance().saveOnShutdown(registry);
+
+            // 3. Charger l’index des listages du parcours précédent
+            StatIndexManager.init(new XmlStatIndexStrategyFactory().createStrategy());
+            StatIndex statIndex = StatIndexManager.getInstance().loadIndex(profileName);
 
-            // 4.  Créer les chaînes de traitement
-            SyncHandler handlerAtoB = createHandlerChain();
-            SyncHandler handlerBtoA = createHandlerChain();
+            // 4. Compiler les règles de filtrage du profil
+            PathFilter filter = profile.createFilter();
 
-            // 5. Créer le FileHandler
-            FileHandler fileHandler = FileHandlerFactory.createLocalFileHandler();
+            // 5. Les copies passent par un fichier temporaire renommé atomiquement, et les gros fichiers
+            //    déjà présents des deux côtés sont copiés de façon différentielle ; les copies en attente
+            //    de synchronisation sur disque sont validées avant chaque sauvegarde du registre ;
+            //    toutes les opérations respectent les limites d’entrées-sorties du profil
+            copyEngine = options.getChunkThreads() > 0
+                    ? new LocalFileHandler(CopyStrategy.TRANSFER, options.getChunkThreshold(),
+                            LocalFileHandler.DEFAULT_CHUNK_SIZE, options.getChunkThreads())
+                    : new LocalFileHandler();
+            FileHandler atomic = FileHandlerFactory.createAtomicFileHandler(copyEngine,
+                    options.getFsyncPolicy(), options.getFsyncGroupSize());
+            DeltaFileHandler delta = FileHandlerFactory.createDeltaFileHandler(atomic, options.getDeltaThreshold());
+            ThrottledFileHandler fileHandler = FileHandlerFactory.createThrottledFileHandler(delta,
+                    profile.getMaxBytesPerSecond(), profile.getMaxOpsPerSecond());
+            RegistryManager.getInstance().addSaveBarrier(fileHandler::flush);
+            ConflictResolver resolver = createResolver(options.getConflictPolicy(), pathA, pathB, registry, fileHandler);
 
-            // 6. Créer les visiteurs pour chaque sens
-            FileVisitor syncAtoB = new SyncVisitor(pathA, pathB, handlerAtoB, fileHandler, registry);
-            FileVisitor syncBtoA = new SyncVisitor(pathB, pathA, handlerBtoA, fileHandler, registry);
+            // 6. En mode surveillance, un parcours complet est suivi d’une synchronisation au fil des modifications
+            if (options.isWatch()) {
+                SyncHandler handler = createHandlerChain(options.getWorkers(), fileHandler, resolver);
+                ScheduledExecutorService reloader = scheduleLimitsReload(profileName, fileHandler);
+                try {
+                    System.out.println("Surveillance des modifications (Ctrl+C pour arrêter)...");
+                    new WatchDaemon(pathA, pathB, handler, registry, options.getDebounceMs(),
+                            options.getScanThreads(), statIndex, filter, fileHandler::flush).watch();
+                } finally {
+                    reloader.shutdownNow();
+                    if (handler instanceof ParallelSyncHandler parallel) {
+                        parallel.close();
+                    }
+                }
+                return;
+            }
 
-            // 7. Visiter les deux arborescences
-            arbreA.accept(syncAtoB);
-            arbreB.accept(syncBtoA);
+            // 7. Sinon, parcourir A et B conjointement pour planifier une action par chemin relatif, puis l’exécuter
+            SyncPlanner planner = new SyncPlanner(profileName);
+            new MergeWalker(pathA, pathB, planner, registry, options.getScanThreads(), statIndex, filter).walk();
+            // un dossier ou un fichier renommé est déplacé de l’autre côté plutôt que copié puis supprimé
+            SyncPlan plan = new SubtreeMoveDetector(pathA, pathB, registry).detect(planner.getPlan());
+            plan = new RenameDetector(pathA, pathB, registry).detect(plan);
+            System.out.println(plan.summary());
+            if (options.isDryRun()) {
+                return;
+            }
+            SyncPlanExecutor executor;
+            if (options.getBatchSize() > 0) {
+                // les petits fichiers sont copiés par lots, les autres chacun par une tâche
+                try (CopyScheduler copier = new CopyScheduler(fileHandler, options.getAsyncCopies(),
+                        CopyScheduler.DEFAULT_SMALL_FILE_THRESHOLD, options.getBatchSize(), options.getInFlightBytes())) {
+                    executor = new SyncPlanExecutor(pathA, pathB, registry, options.getWorkers(), copier);
+                    executor.execute(plan);
+                    System.out.println("Copies par lots : " + copier.getBatchedFiles() + " petit(s) fichier(s) en "
+                            + copier.getBatchCount() + " lot(s), pic de " + copier.getPeakInFlightBytes()
+                            + " octet(s) en cours");
+                }
+            } else if (options.getAsyncCopies() > 0) {
+                // les copies sont confiées à un pool dédié, borné en fichiers et en octets en cours
+                try (AsyncCopyExecutor copier = new AsyncCopyExecutor(fileHandler, options.getAsyncCopies(),
+                        options.getInFlightBytes())) {
+                    executor = new SyncPlanExecutor(pathA, pathB, registry, options.getWorkers(), copier);
+                    executor.execute(plan);
+                    System.out.println("Copies asynchrones : pic de " + copier.getPeakInFlightBytes()
+                            + " octet(s) en cours");
+                }
+            } else {
+                executor = new SyncPlanExecutor(pathA, pathB, registry, options.getWorkers(), fileHandler);
+                executor.execute(plan);
+            }
+            // les conflits sont résolus une fois toutes les autres actions terminées
+            resolver.resolveAll(executor.getConflicts());
+            if (delta.getDeltaCopies() > 0) {
+                System.out.println("Copies différentielles : " + delta.getDeltaCopies() + " fichier(s), "
+                        + delta.getCopiedBytes() + " octet(s) copié(s), "
+                        + delta.getReusedBytes() + " octet(s) réutilisé(s)");
+            }
+            printCopyStatistics(copyEngine);
+            if (fileHandler.getThrottledNanos() > 0) {
+                System.out.printf("Limitation des entrées-sorties : %.1f s d'attente%n",
+                        fileHandler.getThrottledNanos() / 1e9);
+            }
 
-            // 8. Sauvegarder le registre mis à jour
-            RegistryManager.getInstance().saveRegistry(registry);
+            // 8. Sauvegarder le registre, s’il a changé, et l’index mis à jour
+            if (registry.isDirty()) {
+                RegistryManager.getInstance().saveRegistry(registry);
+            }
+            statIndex.prune();
+            StatIndexManager.getInstance().saveIndex(statIndex);
             System.out.println("Synchronisation bidirectionnelle terminée.");
         } catch (IOException e) {
             System.err.println("Erreur d'E/S : " + e.getMessage());
         } catch (Exception e) {
             System.err.println("Erreur : " + e.getMessage());
+        } finally {
+            // fin de la synchronisation ou de la surveillance : le pool de copie par plages est arrêté
+            if (copyEngine != null) {
+                copyEngine.close();
+            }
         }
     }
 
     /**
-     * Crée et retourne une chaîne complète de gestion de synchronisation :
-     * enregistrement ➜ copie ➜ suppression ➜ gestion des conflits.
+     * Crée la chaîne de gestion de synchronisation. Les règles d’enregistrement, de copie
+     * et de suppression sont regroupées dans un maillon unique qui classe chaque fichier
+     * une seule fois ({@link DecisionHandler}). Avec plusieurs threads, les fichiers sont
+     * répartis par un {@link ParallelSyncHandler}.
      *
+     * @param workers     nombre de threads de synchronisation des fichiers
+     * @param fileHandler gestionnaire de fichiers effectuant les copies
+     * @param resolver    résolveur des conflits, appliqué à la fin de chaque lot
      * @return la tête de la chaîne de synchronisation
      */
-    private static SyncHandler createHandlerChain() {
-        SyncHandler register = new RegisterHandler();
-        SyncHandler copy = new CopyHandler();
-        SyncHandler delete = new DeleteHandler();
-        SyncHandler conflict = new ConflictHandler();
+    private static SyncHandler createHandlerChain(int workers, FileHandler fileHandler, ConflictResolver resolver) {
+        SyncHandler decision = new DecisionHandler(fileHandler, resolver);
+        return workers > 1 ? new ParallelSyncHandler(decision, workers) : decision;
+    }
+
+    /**
+     * Crée le résolveur des conflits. Sans console, la politique {@link ConflictPolicy#ASK} est remplacée
+     * par {@link ConflictPolicy#SKIP} : les conflits restent en l’état jusqu’à la prochaine synchronisation.
+     *
+     * @param policy      politique demandée
+     * @param pathA       racine du répertoire A
+     * @param pathB       racine du répertoire B
+     * @param registry    registre du profil
+     * @param fileHandler gestionnaire de fichiers effectuant les copies
+     * @return le résolveur
+     */
+    private static ConflictResolver createResolver(ConflictPolicy policy, Path pathA, Path pathB, Registry registry,
+                                                   FileHandler fileHandler) {
+        if (policy != ConflictPolicy.ASK) {
+            return new ConflictResolver(pathA, pathB, registry, fileHandler, policy);
+        }
+        if (System.console() == null) {
+            System.out.println("Pas de console : les conflits seront laissés en l'état (--conflicts pour choisir).");
+            return new ConflictResolver(pathA, pathB, registry, fileHandler, ConflictPolicy.SKIP);
+        }
+        return new ConflictResolver(pathA, pathB, registry, fileHandler, policy,
+                new BufferedReader(new InputStreamReader(System.in)));
+    }
 
-        register.setNext(copy);
-        copy.setNext(delete);
-        delete.setNext(conflict);
+    /**
+     * Relit périodiquement le profil et applique ses limites d’entrées-sorties, ce qui permet
+     * de les modifier pendant une surveillance de longue durée.
+     *
+     * @param profileName nom du profil à relire
+     * @param throttle    gestionnaire dont les limites sont mises à jour
+     * @return planificateur de la relecture, à arrêter en fin de surveillance
+     */
+    private static ScheduledExecutorService scheduleLimitsReload(String profileName, ThrottledFileHandler throttle) {
+        ScheduledExecutorService reloader = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "profile-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reloader.scheduleWithFixedDelay(() -> {
+            try {
+                Profile profile = ProfileManager.getInstance().loadProfile(profileName);
+                if (profile.getMaxBytesPerSecond() != throttle.getMaxBytesPerSecond()
+                        || profile.getMaxOpsPerSecond() != throttle.getMaxOpsPerSecond()) {
+                    throttle.setLimits(profile.getMaxBytesPerSecond(), profile.getMaxOpsPerSecond());
+                    System.out.println("Limites d'entrées-sorties : " + profile.getMaxBytesPerSecond()
+                            + " octet(s)/s, " + profile.getMaxOpsPerSecond() + " opération(s)/s");
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Relecture du profil impossible : " + e.getMessage());
+            }
+        }, LIMITS_RELOAD_SECONDS, LIMITS_RELOAD_SECONDS, TimeUnit.SECONDS);
+        return reloader;
+    }
 
-        return register;
+    /**
+     * Affiche le nombre de copies complètes par technique et leur débit moyen.
+     *
+     * @param copyEngine gestionnaire ayant effectué les copies
+     */
+    private static void printCopyStatistics(LocalFileHandler copyEngine) {
+        long transfers = copyEngine.getCopyCount(CopyStrategy.TRANSFER);
+        long buffered = copyEngine.getCopyCount(CopyStrategy.BUFFERED);
+        long chunked = copyEngine.getCopyCount(CopyStrategy.CHUNKED);
+        if (transfers + buffered + chunked == 0) {
+            return;
+        }
+        System.out.printf("Copies : %d par transfert noyau, %d par tampons, %d par plages, %d octet(s), %.1f Mo/s%n",
+                transfers, buffered, chunked, copyEngine.getCopiedBytes(), copyEngine.getThroughput() / (1024 * 1024));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,370 @@
+package app;
+
+import filesystem.AsyncCopyExecutor;
+import filesystem.AtomicFileHandler;
+import filesystem.DeltaFileHandler;
+import filesystem.FsyncPolicy;
+import filesystem.LocalFileHandler;
+import sync.ConflictPolicy;
+
+/**
+ * Options de la ligne de commande de l’application {@link SyncApp}.
+ *
+ * <p>
+ * Le premier argument est toujours le nom du profil ; les suivants sont des options
+ * facultatives de la forme {@code --option valeur} :
+ * </p>
+ * <ul>
+ *     <li>{@code --scan-threads N} : nombre de threads utilisés pour lister les répertoires
+ *         par anticipation (par défaut, le nombre de processeurs disponibles) ;</li>
+ *     <li>{@code --workers N} : nombre de threads appliquant la synchronisation aux fichiers
+ *         (par défaut 1, traitement séquentiel) ;</li>
+ *     <li>{@code --dry-run} : calcule et affiche le plan de synchronisation (nombre de fichiers
+ *         et d’octets par action) sans modifier les répertoires ni le registre ;</li>
+ *     <li>{@code --watch} : après la synchronisation initiale, surveille les deux répertoires et
+ *         synchronise les modifications au fil de l’eau ;</li>
+ *     <li>{@code --debounce MS} : en mode surveillance, délai de silence (en millisecondes)
+ *         qui clôt un lot de modifications (par défaut, {@value #DEFAULT_DEBOUNCE_MS}) ;</li>
+ *     <li>{@code --delta-threshold OCTETS} : taille à partir de laquelle un fichier déjà présent
+ *         dans la destination est copié de façon différentielle (par défaut, 64 Mio,
+ *         voir {@link filesystem.DeltaFileHandler}) ;</li>
+ *     <li>{@code --fsync none|file|group} : synchronisation sur disque des copies, qui sont toujours
+ *         écrites dans un fichier temporaire puis renommées (par défaut {@code none},
+ *         voir {@link filesystem.AtomicFileHandler}) ;</li>
+ *     <li>{@code --fsync-group N} : nombre de fichiers synchronisés ensemble avec {@code --fsync group}
+ *         (par défaut, {@value filesystem.AtomicFileHandler#DEFAULT_GROUP_SIZE}) ;</li>
+ *     <li>{@code --async-copies N} : confie les copies à un exécuteur asynchrone de {@code N} copies
+ *         simultanées (voir {@link filesystem.AsyncCopyExecutor}) ; par défaut, les copies sont
+ *         effectuées par les threads de synchronisation ;</li>
+ *     <li>{@code --inflight-bytes OCTETS} : nombre maximal d’octets en cours de copie avec
+ *         {@code --async-copies}, lots compris avec {@code --batch-size} (par défaut, 256 Mio) ;</li>
+ *     <li>{@code --batch-size N} : avec {@code --async-copies}, regroupe les petits fichiers par lots de
+ *         {@code N} copiés à la suite par un même thread (voir {@link filesystem.CopyScheduler}) ;</li>
+ *     <li>{@code --chunk-threads N} : copie les gros fichiers par plages, avec {@code N} threads
+ *         (voir {@link filesystem.LocalFileHandler}) ;</li>
+ *     <li>{@code --chunk-threshold OCTETS} : taille à partir de laquelle un fichier est copié par plages
+ *         avec {@code --chunk-threads} (par défaut, 256 Mio) ;</li>
+ *     <li>{@code --conflicts ask|skip|newest|a|b|keep-both} : résolution des conflits, mis en attente
+ *         pendant la synchronisation et traités à sa fin (par défaut {@code ask},
+ *         voir {@link sync.ConflictResolver}).</li>
+ * </ul>
+ *
+ * @see SyncApp
+ * @since JDK 17
+ */
+public class SyncOptions {
+    /** Délai de regroupement par défaut des modifications en mode surveillance (en millis). */
+    public static final long DEFAULT_DEBOUNCE_MS = 500L;
+
+    /** Nom du profil à synchroniser. */
+    private final String profileName;
+
+    /** Nombre de threads de listage des répertoires. */
+    private int scanThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Nombre de threads de synchronisation des fichiers. */
+    private int workers = 1;
+
+    /** Indique si seul le plan de synchronisation doit être affiché. */
+    private boolean dryRun = false;
+
+    /** Indique si le mode surveillance est demandé. */
+    private boolean watch = false;
+
+    /** Délai de regroupement des modifications en mode surveillance (en millis). */
+    private long debounceMs = DEFAULT_DEBOUNCE_MS;
+
+    /** Taille à partir de laquelle les copies sont différentielles (en octets). */
+    private long deltaThreshold = DeltaFileHandler.DEFAULT_THRESHOLD;
+
+    /** Politique de synchronisation sur disque des copies. */
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.NONE;
+
+    /** Nombre de fichiers synchronisés ensemble avec la politique groupée. */
+    private int fsyncGroupSize = AtomicFileHandler.DEFAULT_GROUP_SIZE;
+
+    /** Nombre de copies asynchrones simultanées, 0 pour copier depuis les threads de synchronisation. */
+    private int asyncCopies = 0;
+
+    /** Nombre maximal d’octets en cours de copie asynchrone. */
+    private long inFlightBytes = AsyncCopyExecutor.DEFAULT_MAX_IN_FLIGHT_BYTES;
+
+    /** Nombre de petits fichiers par lot, 0 pour ne pas regrouper les copies. */
+    private int batchSize = 0;
+
+    /** Nombre de threads copiant les plages des gros fichiers, 0 pour ne pas les découper. */
+    private int chunkThreads = 0;
+
+    /** Taille à partir de laquelle un fichier est copié par plages (en octets). */
+    private long chunkThreshold = LocalFileHandler.DEFAULT_CHUNK_THRESHOLD;
+
+    /** Politique de résolution des conflits. */
+    private ConflictPolicy conflictPolicy = ConflictPolicy.ASK;
+
+    /**
+     * Construit des options par défaut pour un profil.
+     *
+     * @param profileName nom du profil
+     */
+    private SyncOptions(String profileName) {
+        this.profileName = profileName;
+    }
+
+    /**
+     * Analyse les arguments de la ligne de commande.
+     *
+     * @param args arguments fournis à {@link SyncApp#main(String[])}
+     * @return les options correspondantes
+     * @throws IllegalArgumentException si les arguments sont invalides
+     */
+    public static SyncOptions parse(String[] args) {
+        if (args.length == 0 || args[0].startsWith("--")) {
+            throw new IllegalArgumentException("Nom de profil manquant.");
+        }
+
+        SyncOptions options = new SyncOptions(args[0]);
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scan-threads" -> options.scanThreads = parsePositive(args, ++i);
+                case "--workers" -> options.workers = parsePositive(args, ++i);
+                case "--dry-run" -> options.dryRun = true;
+                case "--watch" -> options.watch = true;
+                case "--debounce" -> options.debounceMs = parsePositive(args, ++i);
+                case "--delta-threshold" -> options.deltaThreshold = parsePositiveLong(args, ++i);
+                case "--fsync" -> options.fsyncPolicy = parseFsyncPolicy(args, ++i);
+                case "--fsync-group" -> options.fsyncGroupSize = parsePositive(args, ++i);
+                case "--async-copies" -> options.asyncCopies = parsePositive(args, ++i);
+                case "--inflight-bytes" -> options.inFlightBytes = parsePositiveLong(args, ++i);
+                case "--batch-size" -> options.batchSize = parsePositive(args, ++i);
+                case "--chunk-threads" -> options.chunkThreads = parsePositive(args, ++i);
+                case "--chunk-threshold" -> options.chunkThreshold = parsePositiveLong(args, ++i);
+                case "--conflicts" -> options.conflictPolicy = parseConflictPolicy(args, ++i);
+                default -> throw new IllegalArgumentException("Option inconnue : " + args[i]);
+            }
+        }
+        if (options.batchSize > 0 && options.asyncCopies == 0) {
+            throw new IllegalArgumentException("L'option --batch-size nécessite --async-copies.");
+        }
+        if (options.dryRun && options.watch) {
+            throw new IllegalArgumentException("Les options --dry-run et --watch sont incompatibles.");
+        }
+        return options;
+    }
+
+    /**
+     * Lit la politique de synchronisation sur disque.
+     *
+     * @param args  arguments de la ligne de commande
+     * @param index position de la valeur
+     * @return la politique lue
+     * @throws IllegalArgumentException si la valeur est absente ou invalide
+     */
+    private static FsyncPolicy parseFsyncPolicy(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valeur manquante pour l'option " + args[index - 1]);
+        }
+        return switch (args[index]) {
+            case "none" -> FsyncPolicy.NONE;
+            case "file" -> FsyncPolicy.PER_FILE;
+            case "group" -> FsyncPolicy.GROUPED;
+            default -> throw new IllegalArgumentException("Valeur invalide pour l'option --fsync : " + args[index]);
+        };
+    }
+
+    /**
+     * Lit la politique de résolution des conflits.
+     *
+     * @param args  arguments de la ligne de commande
+     * @param index position de la valeur
+     * @return la politique lue
+     * @throws IllegalArgumentException si la valeur est absente ou invalide
+     */
+    private static ConflictPolicy parseConflictPolicy(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valeur manquante pour l'option " + args[index - 1]);
+        }
+        return switch (args[index]) {
+            case "ask" -> ConflictPolicy.ASK;
+            case "skip" -> ConflictPolicy.SKIP;
+            case "newest" -> ConflictPolicy.NEWEST_WINS;
+            case "a" -> ConflictPolicy.A_WINS;
+            case "b" -> ConflictPolicy.B_WINS;
+            case "keep-both" -> ConflictPolicy.KEEP_BOTH;
+            default -> throw new IllegalArgumentException("Valeur invalide pour l'option --conflicts : " + args[index]);
+        };
+    }
+
+    /**
+     * Lit la valeur entière strictement positive d’une option.
+     *
+     * @param args  arguments de la ligne de commande
+     * @param index position de la valeur
+     * @return la valeur lue
+     * @throws IllegalArgumentException si la valeur est absente ou invalide
+     */
+    private static int parsePositive(String[] args, int index) {
+        long value = parsePositiveLong(args, index);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Valeur invalide pour l'option " + args[index - 1] + " : " + args[index]);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Lit la valeur entière longue strictement positive d’une option.
+     *
+     * @param args  arguments de la ligne de commande
+     * @param index position de la valeur
+     * @return la valeur lue
+     * @throws IllegalArgumentException si la valeur est absente ou invalide
+     */
+    private static long parsePositiveLong(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Valeur manquante pour l'option " + args[index - 1]);
+        }
+        try {
+            long value = Long.parseLong(args[index]);
+            if (value < 1) {
+                throw new NumberFormatException();
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valeur invalide pour l'option " + args[index - 1] + " : " + args[index]);
+        }
+    }
+
+    /**
+     * Retourne le nom du profil.
+     *
+     * @return le nom du profil
+     */
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Retourne le nombre de threads de listage des répertoires.
+     *
+     * @return nombre de threads
+     */
+    public int getScanThreads() {
+        return scanThreads;
+    }
+
+    /**
+     * Retourne le nombre de threads de synchronisation des fichiers.
+     *
+     * @return nombre de threads (1 pour un traitement séquentiel)
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Indique si seul le plan de synchronisation doit être affiché.
+     *
+     * @return {@code true} pour une simulation sans modification
+     */
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * Indique si le mode surveillance est demandé.
+     *
+     * @return {@code true} pour une synchronisation continue
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Retourne le délai de regroupement des modifications en mode surveillance.
+     *
+     * @return délai en millisecondes
+     */
+    public long getDebounceMs() {
+        return debounceMs;
+    }
+
+    /**
+     * Retourne la taille à partir de laquelle les copies sont différentielles.
+     *
+     * @return seuil en octets
+     */
+    public long getDeltaThreshold() {
+        return deltaThreshold;
+    }
+
+    /**
+     * Retourne la politique de synchronisation sur disque des copies.
+     *
+     * @return politique de synchronisation
+     */
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    /**
+     * Retourne le nombre de fichiers synchronisés ensemble avec la politique groupée.
+     *
+     * @return taille des groupes
+     */
+    public int getFsyncGroupSize() {
+        return fsyncGroupSize;
+    }
+
+    /**
+     * Retourne le nombre de copies asynchrones simultanées.
+     *
+     * @return nombre de copies simultanées, 0 si les copies ne sont pas asynchrones
+     */
+    public int getAsyncCopies() {
+        return asyncCopies;
+    }
+
+    /**
+     * Retourne le nombre maximal d’octets en cours de copie asynchrone.
+     *
+     * @return limite en octets
+     */
+    public long getInFlightBytes() {
+        return inFlightBytes;
+    }
+
+    /**
+     * Retourne le nombre de petits fichiers copiés par lot.
+     *
+     * @return taille des lots, 0 si les copies ne sont pas regroupées
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Retourne le nombre de threads copiant les plages des gros fichiers.
+     *
+     * @return nombre de threads, 0 si les fichiers ne sont pas découpés
+     */
+    public int getChunkThreads() {
+        return chunkThreads;
+    }
+
+    /**
+     * Retourne la taille à partir de laquelle un fichier est copié par plages.
+     *
+     * @return seuil en octets
+     */
+    public long getChunkThreshold() {
+        return chunkThreshold;
+    }
+
+    /**
+     * Retourne la politique de résolution des conflits.
+     *
+     * @return politique de résolution
+     */
+    public ConflictPolicy getConflictPolicy() {
+        return conflictPolicy;
+    }
+}
@@ -15,12 +15,18 @@
  *         et le patron <strong>Singleton</strong> pour le gérer via {@link manager.ProfileManager}.</li>
  *
  *     <li>{@link app.SyncApp} : lance une synchronisation bidirectionnelle des fichiers entre deux répertoires.
- *         Implémente une architecture modulaire basée sur les patrons <strong>Composite</strong>,
- *         <strong>Visitor</strong>, <strong>Chain of Responsibility</strong>, et <strong>Singleton</strong>.</li>
+ *         Parcourt A et B conjointement ({@link sync.MergeWalker}) et s’appuie sur les patrons
+ *         <strong>Chain of Responsibility</strong> et <strong>Singleton</strong>.</li>
  *
  *     <li>{@link app.SyncStatApp} : affiche l’état d’un profil de synchronisation (chemins + registre).
  *         Repose sur une interface unifiée via le patron <strong>Façade</strong>
  *         (voir {@link stat.SyncStatFacade}).</li>
+ *
+ *     <li>{@link app.CopyBenchmarkApp} : banc d’essai comparant les copies ordonnancées
+ *         ({@link filesystem.CopyScheduler}) à {@code Files.copy} sur une arborescence synthétique.</li>
+ *
+ *     <li>{@link app.DecisionBenchmarkApp} : banc d’essai comparant un {@link sync.DecisionHandler}
+ *         à l’ancienne chaîne de quatre maillons sur une arborescence synthétique.</li>
  * </ul>
  *
  * <h2>Objectifs</h2>
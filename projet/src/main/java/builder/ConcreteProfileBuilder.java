@@ -1,7 +1,10 @@
 package builder;
 
+import model.PathFilter;
 import model.Profile;
 
+import java.util.*;
+
 /**
  * Implémentation standard du patron <strong>Builder</strong> pour les profils de synchronisation.
  *
@@ -29,11 +32,19 @@ public class ConcreteProfileBuilder implements ProfileBuilder {
     /** Chemin du répertoire B à synchroniser. */
     private String pathB;
 
+    /** Motifs d’inclusion. */
+    private final List<String> includes = new ArrayList<>();
+
+    /** Motifs d’exclusion. */
+    private final List<String> excludes = new ArrayList<>();
+
     @Override
     public void startProfile() {
         name = null;
         pathA = null;
         pathB = null;
+        includes.clear();
+        excludes.clear();
     }
 
     @Override
@@ -57,10 +68,25 @@ public class ConcreteProfileBuilder implements ProfileBuilder {
         this.pathB = pathB;
     }
 
+    @Override
+    public void addInclude(String pattern) {
+        includes.add(pattern);
+    }
+
+    @Override
+    public void addExclude(String pattern) {
+        excludes.add(pattern);
+    }
+
     @Override
     public Profile getProfile() {
         if (name == null || pathA == null || pathB == null)
             throw new IllegalStateException("Missing profile information.");
-        return new Profile(name, pathA, pathB);
+        try {
+            PathFilter.compile(includes, excludes); // validation des motifs
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid filter pattern: " + e.getMessage(), e);
+        }
+        return new Profile(name, pathA, pathB, includes, excludes);
     }
 }
\ No newline at end of file
@@ -7,7 +7,7 @@ import model.Profile;
  *
  * <p>
  * Définit les étapes nécessaires à la création d’un objet complexe représentant
- * un profil de synchronisation (nom, chemins A et B).
+ * un profil de synchronisation (nom, chemins A et B, règles de filtrage).
  * </p>
  *
  * <p>
@@ -46,6 +46,20 @@ public interface ProfileBuilder {
      */
     void setPathB(String pathB);
 
+    /**
+     * Ajoute un motif d’inclusion (glob, relatif à la racine du profil).
+     *
+     * @param pattern le motif à inclure
+     */
+    void addInclude(String pattern);
+
+    /**
+     * Ajoute un motif d’exclusion (glob, relatif à la racine du profil).
+     *
+     * @param pattern le motif à exclure
+     */
+    void addExclude(String pattern);
+
     /**
      * Construit et retourne un objet {@link Profile} complet.
      *
@@ -2,6 +2,8 @@ package builder;
 
 import model.Profile;
 
+import java.util.List;
+
 /**
  * Implémentation du rôle <strong>Director</strong> dans le patron de conception {@code Builder}.
  *
@@ -55,4 +57,25 @@ public class ProfileDirector {
         builder.setPathB(pathB);
         return builder.getProfile();
     }
+
+    /**
+     * Lance la séquence complète de construction d’un {@link Profile} avec des règles de filtrage.
+     *
+     * @param name     nom logique du profil
+     * @param pathA    chemin absolu du répertoire A
+     * @param pathB    chemin absolu du répertoire B
+     * @param includes motifs d’inclusion
+     * @param excludes motifs d’exclusion
+     * @return un profil de synchronisation entièrement construit
+     * @throws IllegalStateException si l’une des étapes échoue
+     */
+    public Profile construct(String name, String pathA, String pathB, List<String> includes, List<String> excludes) {
+        builder.startProfile();
+        builder.setName(name);
+        builder.setPathA(pathA);
+        builder.setPathB(pathB);
+        includes.forEach(builder::addInclude);
+        excludes.forEach(builder::addExclude);
+        return builder.getProfile();
+    }
 }
\ No newline at end of file
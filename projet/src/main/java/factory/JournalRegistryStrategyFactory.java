@@ -0,0 +1,25 @@
+package factory;
+
+import factory.persistence.*;
+import model.Registry;
+
+/**
+ * Fabrique concrète implémentant {@link PersistenceStrategyFactory}
+ * pour produire une stratégie de persistance des registres par journal.
+ *
+ * <p>
+ * Les instantanés sont écrits au format XML (voir {@link XmlRegistryStrategyFactory}) :
+ * un registre existant est relu tel quel, et les modifications suivantes sont ajoutées au journal.
+ * </p>
+ *
+ * @see Registry
+ * @see JournalRegistryStrategy
+ * @since JDK 17
+ */
+public class JournalRegistryStrategyFactory implements PersistenceStrategyFactory<Registry> {
+
+    @Override
+    public PersistenceStrategy<Registry> createStrategy() {
+        return new JournalRegistryStrategy(new XmlRegistryStrategyFactory().createStrategy());
+    }
+}
@@ -0,0 +1,22 @@
+package factory;
+
+import factory.persistence.*;
+import factory.transformer.StatIndexXmlTransformer;
+import model.StatIndex;
+
+/**
+ * Fabrique concrète implémentant {@link PersistenceStrategyFactory}
+ * pour produire une stratégie de persistance XML destinée aux objets {@link StatIndex}.
+ *
+ * @see StatIndex
+ * @see XmlPersistenceStrategy
+ * @see factory.transformer.StatIndexXmlTransformer
+ * @since JDK 17
+ */
+public class XmlStatIndexStrategyFactory implements PersistenceStrategyFactory<StatIndex> {
+
+    @Override
+    public PersistenceStrategy<StatIndex> createStrategy() {
+        return new XmlPersistenceStrategy<>(new StatIndexXmlTransformer(), "xml");
+    }
+}
@@ -21,6 +21,9 @@
  *     <li>{@link factory.PersistenceStrategyFactory} : interface de fabrique générique.</li>
  *     <li>{@link factory.XmlProfileStrategyFactory} : fabrique XML pour les profils.</li>
  *     <li>{@link factory.XmlRegistryStrategyFactory} : fabrique XML pour les registres.</li>
+ *     <li>{@link factory.JournalRegistryStrategyFactory} : fabrique des registres journalisés
+ *         (instantané XML et journal des modifications), utilisée par les applications.</li>
+ *     <li>{@link factory.XmlStatIndexStrategyFactory} : fabrique XML pour les index de listage.</li>
  * </ul>
  *
  * <p>
@@ -0,0 +1,405 @@
+package factory.persistence;
+
+import model.Fingerprint;
+import model.Registry;
+import model.RegistryListener;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Stratégie de persistance des registres par journal d’écriture anticipée.
+ *
+ * <p>
+ * Le registre est stocké sous forme d’un instantané (écrit par une autre stratégie, XML par défaut)
+ * et d’un journal voisin ({@code <instantané>.journal}) auquel chaque sauvegarde <strong>ajoute</strong>
+ * les seules modifications survenues depuis la précédente : une sauvegarde coûte O(modifications),
+ * et non O(taille du registre). Les modifications sont connues grâce à un {@link RegistryListener}
+ * attaché au registre lors de son chargement (ou de sa première sauvegarde, qui écrit un instantané complet).
+ * </p>
+ *
+ * <p>
+ * Toutes les modifications d’une sauvegarde sont écrites puis forcées sur le disque ({@code fsync})
+ * en une seule fois : le nombre de synchronisations dépend de la fréquence des points de contrôle
+ * ({@link manager.RegistryManager#checkpoint(Registry)}), pas du nombre de fichiers. Après un arrêt
+ * brutal, tout ce qui a été forcé sur le disque est conservé ; un dernier enregistrement incomplet
+ * est ignoré au chargement, puis retiré du journal pour que les ajouts suivants restent lisibles.
+ * </p>
+ *
+ * <p>
+ * Lorsque le journal dépasse un seuil, il est compacté en arrière-plan : il est renommé
+ * ({@code .journal.compacting}), un nouveau journal vide prend le relais et un nouvel instantané est écrit
+ * à partir d’une copie du registre ; l’ancien journal n’est supprimé qu’une fois l’instantané forcé
+ * sur le disque avec son dossier. Le chargement rejoue
+ * l’instantané, puis l’éventuel journal en cours de compactage, puis le journal courant.
+ * </p>
+ *
+ * <p>
+ * Format d’un enregistrement : un octet ({@code 'P'} ajout, {@code 'F'} ajout avec empreinte,
+ * {@code 'R'} suppression), le chemin relatif ({@link DataOutput#writeUTF(String)}), puis pour un ajout
+ * la date de modification (8 octets) et, pour un ajout avec empreinte, la taille (8 octets)
+ * et la somme CRC32C (4 octets).
+ *
+ * @see PersistenceStrategy
+ * @see RegistryListener
+ * @since JDK 17
+ */
+public class JournalRegistryStrategy implements PersistenceStrategy<Registry> {
+    /** Taille du journal (en octets) au-delà de laquelle il est compacté, par défaut. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 4L * 1024 * 1024;
+
+    /** Suffixe du journal courant. */
+    static final String JOURNAL_SUFFIX = ".journal";
+
+    /** Suffixe du journal en cours de compactage. */
+    static final String COMPACTING_SUFFIX = ".journal.compacting";
+
+    /** Code d’un enregistrement d’ajout ou de mise à jour. */
+    private static final byte PUT = 'P';
+
+    /** Code d’un enregistrement d’ajout ou de mise à jour avec empreinte. */
+    private static final byte PUT_FINGERPRINT = 'F';
+
+    /** Code d’un enregistrement de suppression. */
+    private static final byte REMOVE = 'R';
+
+    /** Stratégie utilisée pour les instantanés. */
+    private final PersistenceStrategy<Registry> snapshotStrategy;
+
+    /** Taille du journal déclenchant un compactage. */
+    private final long compactionThreshold;
+
+    /** Journaux des registres chargés ou sauvegardés par cette stratégie. */
+    private final Map<Registry, Journal> journals = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Verrou des écritures d’instantanés (distinct de celui des ajouts au journal). */
+    private final Object snapshotLock = new Object();
+
+    /** Thread de compactage, créé à la première utilisation. */
+    private ExecutorService compactor;
+
+    /** Dernier compactage lancé, ou {@code null}. */
+    private Future<?> compaction;
+
+    /**
+     * Construit une stratégie de journal avec le seuil de compactage par défaut.
+     *
+     * @param snapshotStrategy stratégie utilisée pour les instantanés
+     */
+    public JournalRegistryStrategy(PersistenceStrategy<Registry> snapshotStrategy) {
+        this(snapshotStrategy, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Construit une stratégie de journal.
+     *
+     * @param snapshotStrategy    stratégie utilisée pour les instantanés
+     * @param compactionThreshold taille du journal (en octets) déclenchant un compactage
+     * @throws IllegalArgumentException si le seuil n’est pas strictement positif
+     */
+    public JournalRegistryStrategy(PersistenceStrategy<Registry> snapshotStrategy, long compactionThreshold) {
+        if (compactionThreshold < 1) {
+            throw new IllegalArgumentException("Seuil de compactage invalide : " + compactionThreshold);
+        }
+        this.snapshotStrategy = snapshotStrategy;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public synchronized void save(String path, Registry registry) throws IOException {
+        Path snapshot = Paths.get(path);
+        Journal journal = journals.get(registry);
+
+        if (journal == null || !journal.snapshot.equals(snapshot)) {
+            // registre inconnu de cette stratégie : instantané complet, puis journalisation
+            journal = new Journal(snapshot);
+            registry.setListener(journal);
+            journals.put(registry, journal);
+            synchronized (snapshotLock) {
+                snapshotStrategy.save(path, registry);
+                Files.deleteIfExists(journalPath(snapshot, COMPACTING_SUFFIX));
+            }
+            Files.deleteIfExists(journalPath(snapshot, JOURNAL_SUFFIX));
+            return;
+        }
+
+        byte[] records = journal.drain();
+        if (records.length == 0) {
+            return;
+        }
+        Path file = journalPath(snapshot, JOURNAL_SUFFIX);
+        long size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(records);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            size = channel.size();
+        } catch (IOException e) {
+            journal.requeue(records); // seront réécrits à la prochaine sauvegarde
+            throw e;
+        }
+
+        if (size >= compactionThreshold && (compaction == null || compaction.isDone())
+                && !Files.exists(journalPath(snapshot, COMPACTING_SUFFIX))) {
+            startCompaction(registry, snapshot);
+        }
+    }
+
+    @Override
+    public Registry load(String path, Class<Registry> type) throws IOException {
+        Path snapshot = Paths.get(path);
+        Registry registry = snapshotStrategy.load(path, type);
+        for (String suffix : new String[]{COMPACTING_SUFFIX, JOURNAL_SUFFIX}) {
+            Path file = journalPath(snapshot, suffix);
+            long complete = replay(file, registry);
+            if (complete >= 0 && complete < Files.size(file)) {
+                cutTornTail(file, complete);
+            }
+        }
+
+        Journal journal = new Journal(snapshot);
+        registry.setListener(journal);
+        journals.put(registry, journal);
+        return registry;
+    }
+
+    @Override
+    public String getFileName(String name) {
+        return snapshotStrategy.getFileName(name);
+    }
+
+    /**
+     * Attend la fin du compactage en cours, s’il y en a un.
+     *
+     * @throws IOException si le compactage a échoué
+     */
+    public void awaitCompaction() throws IOException {
+        Future<?> current;
+        synchronized (this) {
+            current = compaction;
+        }
+        if (current == null) {
+            return;
+        }
+        try {
+            current.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Échec du compactage du journal", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Attente du compactage interrompue", e);
+        }
+    }
+
+    /**
+     * Bascule sur un nouveau journal et écrit en arrière-plan un instantané du registre.
+     * Appelée sous le verrou de la stratégie, après un ajout au journal.
+     *
+     * @param registry registre journalisé
+     * @param snapshot chemin de l’instantané
+     * @throws IOException si le journal ne peut pas être renommé
+     */
+    private void startCompaction(Registry registry, Path snapshot) throws IOException {
+        // copie cohérente avec le journal renommé : toute modification postérieure à la copie
+        // est encore en attente dans le Journal et sera écrite dans le nouveau journal
+        Registry copy = new Registry(registry.getProfileName());
+        for (Map.Entry<String, Long> entry : registry.getEntries().entrySet()) {
+            copy.put(entry.getKey(), entry.getValue(), registry.getFingerprint(entry.getKey()));
+        }
+        Path compacting = journalPath(snapshot, COMPACTING_SUFFIX);
+        Files.move(journalPath(snapshot, JOURNAL_SUFFIX), compacting, StandardCopyOption.REPLACE_EXISTING);
+
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "registry-journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        compaction = compactor.submit(() -> {
+            synchronized (snapshotLock) {
+                // XmlPersistenceStrategy force l’instantané et son dossier avant de rendre la main :
+                // le journal ne disparaît qu’une fois l’instantané durable
+                snapshotStrategy.save(snapshot.toString(), copy);
+                Files.deleteIfExists(compacting);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Rejoue un journal sur un registre. Un enregistrement incomplet en fin de fichier
+     * (arrêt brutal pendant l’écriture) est ignoré.
+     *
+     * @param file     journal à rejouer (ignoré s’il n’existe pas)
+     * @param registry registre à compléter
+     * @return position de la fin du dernier enregistrement complet, ou {@code -1} si le journal n’existe pas
+     * @throws IOException si le journal est illisible ou corrompu
+     */
+    private static long replay(Path file, Registry registry) throws IOException {
+        if (!Files.exists(file)) {
+            return -1;
+        }
+        try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file)));
+             DataInputStream in = new DataInputStream(counter)) {
+            while (true) {
+                long complete = counter.count;
+                int op = in.read();
+                if (op == -1) {
+                    return complete;
+                }
+                try {
+                    String relativePath = in.readUTF();
+                    if (op == PUT) {
+                        registry.put(relativePath, in.readLong());
+                    } else if (op == PUT_FINGERPRINT) {
+                        long lastModified = in.readLong();
+                        registry.put(relativePath, lastModified, new Fingerprint(in.readLong(), in.readInt()));
+                    } else if (op == REMOVE) {
+                        registry.remove(relativePath);
+                    } else {
+                        throw new IOException("Enregistrement de journal inconnu (" + op + ") : " + file);
+                    }
+                } catch (EOFException e) {
+                    System.err.println("Fin de journal incomplète ignorée : " + file);
+                    return complete;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retire d’un journal son dernier enregistrement incomplet : les prochains ajouts
+     * seraient sinon lus à la suite des octets orphelins, et le journal deviendrait illisible.
+     *
+     * @param file     journal à tronquer
+     * @param complete position de la fin du dernier enregistrement complet
+     * @throws IOException si le journal ne peut pas être tronqué
+     */
+    private static void cutTornTail(Path file, long complete) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(complete);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Construit le chemin d’un journal à partir de celui de l’instantané.
+     *
+     * @param snapshot chemin de l’instantané
+     * @param suffix   {@link #JOURNAL_SUFFIX} ou {@link #COMPACTING_SUFFIX}
+     * @return chemin du journal
+     */
+    static Path journalPath(Path snapshot, String suffix) {
+        return snapshot.resolveSibling(snapshot.getFileName() + suffix);
+    }
+
+    /**
+     * Flux comptant les octets lus, pour situer la fin du dernier enregistrement complet.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        /** Nombre d’octets lus. */
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    /**
+     * Modifications d’un registre en attente d’écriture dans son journal.
+     */
+    private static final class Journal implements RegistryListener {
+        /** Chemin de l’instantané associé. */
+        final Path snapshot;
+
+        /** Enregistrements encodés en attente. */
+        private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+        Journal(Path snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public synchronized void onPut(String relativePath, long lastModified, Fingerprint fingerprint) {
+            try {
+                DataOutputStream out = new DataOutputStream(pending);
+                out.writeByte(fingerprint == null ? PUT : PUT_FINGERPRINT);
+                out.writeUTF(relativePath);
+                out.writeLong(lastModified);
+                if (fingerprint != null) {
+                    out.writeLong(fingerprint.getSize());
+                    out.writeInt(fingerprint.getHash());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // impossible en mémoire
+            }
+        }
+
+        @Override
+        public synchronized void onRemove(String relativePath) {
+            try {
+                DataOutputStream out = new DataOutputStream(pending);
+                out.writeByte(REMOVE);
+                out.writeUTF(relativePath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // impossible en mémoire
+            }
+        }
+
+        /**
+         * Retire et retourne les enregistrements en attente.
+         *
+         * @return enregistrements encodés, éventuellement vides
+         */
+        synchronized byte[] drain() {
+            byte[] records = pending.toByteArray();
+            pending = new ByteArrayOutputStream();
+            return records;
+        }
+
+        /**
+         * Remet en tête des enregistrements dont l’écriture a échoué.
+         *
+         * @param records enregistrements retirés par {@link #drain()}
+         */
+        synchronized void requeue(byte[] records) {
+            ByteArrayOutputStream restored = new ByteArrayOutputStream(records.length + pending.size());
+            restored.writeBytes(records);
+            restored.writeBytes(pending.toByteArray());
+            pending = restored;
+        }
+    }
+}
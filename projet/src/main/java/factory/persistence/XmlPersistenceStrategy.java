@@ -10,6 +10,7 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
 
 /**
@@ -24,6 +25,12 @@ import java.nio.file.*;
  * Lors de la sauvegarde, une déclaration <strong>DOCTYPE</strong> est insérée
  * pour référencer automatiquement une DTD située dans les ressources du projet.
  * Cette DTD est copiée à côté du fichier XML pour permettre la validation ultérieure.
+ * </p>
+ *
+ * <p>
+ * Le document est d’abord écrit dans un fichier temporaire voisin, forcé sur le disque, puis renommé
+ * atomiquement, et le dossier est forcé à son tour : un arrêt brutal pendant la sauvegarde laisse
+ * le fichier précédent intact, et une sauvegarde terminée survit à une coupure de courant.
  *
  * @param <T> le type d’objet à sérialiser
  *
@@ -75,8 +82,14 @@ public class XmlPersistenceStrategy<T> implements PersistenceStrategy<T> {
             transformer.setOutputProperty(OutputKeys.DOCTYPE_SYSTEM, dtdFile);
             transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
 
-            // Écrit le contenu du document XML dans le fichier cible
-            transformer.transform(new DOMSource(doc), new StreamResult(outputPath.toFile()));
+            // Écrit le contenu du document XML dans un fichier temporaire forcé sur le disque, puis le renomme
+            Path temp = outputPath.resolveSibling(outputPath.getFileName() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                transformer.transform(new DOMSource(doc), new StreamResult(out));
+                out.getChannel().force(true);
+            }
+            replaceAtomically(temp, outputPath);
+            forceDirectory(outputPath.toAbsolutePath().getParent());
         } catch (Exception e) {
             throw new IOException("Erreur lors de la sauvegarde XML : " + e.getMessage(), e);
         }
@@ -103,6 +116,35 @@ public class XmlPersistenceStrategy<T> implements PersistenceStrategy<T> {
         return name + "." + fileExtension;
     }
 
+    /**
+     * Remplace un fichier par un autre, atomiquement si le système de fichiers le permet.
+     *
+     * @param source fichier temporaire complet
+     * @param target fichier à remplacer
+     * @throws IOException si le renommage échoue
+     */
+    private static void replaceAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Force sur le disque un dossier, afin que les renommages qu’il contient soient durables.
+     * L’échec est ignoré sur les systèmes qui ne permettent pas d’ouvrir un dossier (Windows).
+     *
+     * @param directory dossier à synchroniser
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // dossier non synchronisable sur ce système
+        }
+    }
+
     /**
      * Copie le fichier DTD depuis les ressources vers le dossier cible si nécessaire.
      *
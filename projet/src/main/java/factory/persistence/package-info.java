@@ -21,6 +21,12 @@
  * </p>
  *
  * <p>
+ * Pour les registres, {@link factory.persistence.JournalRegistryStrategy} complète un instantané
+ * (écrit par une autre stratégie) d’un journal où chaque sauvegarde n’ajoute que les modifications
+ * survenues depuis la précédente ; le journal est compacté en arrière-plan.
+ * </p>
+ *
+ * <p>
  * Cette couche permet de conserver les profils de synchronisation et les registres
  * dans un format indépendant des classes métier, facilitant ainsi la maintenance,
  * la validation et l’évolution future vers d’autres formats (JSON, YAML, binaire...).
@@ -4,6 +4,8 @@ import org.w3c.dom.*;
 
 import model.Profile;
 
+import java.util.*;
+
 /**
  * Transformateur XML dédié à la conversion d’un objet {@link model.Profile} en document XML DOM, et inversement.
  * 
@@ -13,7 +15,10 @@ import model.Profile;
  *  <li>{@code <profile>},</li>
  *  <li>{@code <name>},</li>
  *  <li>{@code <pathA>},</li>
- *  <li>{@code <pathB>}.<li>
+ *  <li>{@code <pathB>},</li>
+ *  <li>{@code <include>} et {@code <exclude>}, facultatives et répétables (un motif par balise),</li>
+ *  <li>{@code <maxBytesPerSecond>} et {@code <maxOpsPerSecond>}, facultatives (limites d’entrées-sorties,
+ *      omises lorsqu’elles valent 0).</li>
  * </ol>
  *
  * @see model.Profile
@@ -32,6 +37,22 @@ public class ProfileXmlTransformer implements XmlTransformer<Profile> {
         root.appendChild(createTextElement(doc, "pathA", profile.getPathA()));
         root.appendChild(createTextElement(doc, "pathB", profile.getPathB()));
 
+        // Règles de filtrage : <include>, <exclude>
+        for (String include : profile.getIncludes()) {
+            root.appendChild(createTextElement(doc, "include", include));
+        }
+        for (String exclude : profile.getExcludes()) {
+            root.appendChild(createTextElement(doc, "exclude", exclude));
+        }
+
+        // Limites d'entrées-sorties : <maxBytesPerSecond>, <maxOpsPerSecond>
+        if (profile.getMaxBytesPerSecond() > 0) {
+            root.appendChild(createTextElement(doc, "maxBytesPerSecond", Long.toString(profile.getMaxBytesPerSecond())));
+        }
+        if (profile.getMaxOpsPerSecond() > 0) {
+            root.appendChild(createTextElement(doc, "maxOpsPerSecond", Long.toString(profile.getMaxOpsPerSecond())));
+        }
+
         return root;
     }
 
@@ -41,7 +62,8 @@ public class ProfileXmlTransformer implements XmlTransformer<Profile> {
         String pathA = getTextContent(root, "pathA");
         String pathB = getTextContent(root, "pathB");
 
-        return new Profile(name, pathA, pathB);
+        return new Profile(name, pathA, pathB, getTextContents(root, "include"), getTextContents(root, "exclude"),
+                getLongContent(root, "maxBytesPerSecond"), getLongContent(root, "maxOpsPerSecond"));
     }
 
     @Override
@@ -73,4 +95,32 @@ public class ProfileXmlTransformer implements XmlTransformer<Profile> {
     private String getTextContent(Element parent, String tag) {
         return parent.getElementsByTagName(tag).item(0).getTextContent();
     }
+
+    /**
+     * Méthode utilitaire : lit une valeur numérique facultative.
+     *
+     * @param parent élément contenant la balise recherchée
+     * @param tag    nom de la balise
+     * @return valeur de la balise, 0 si elle est absente
+     */
+    private long getLongContent(Element parent, String tag) {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        return nodes.getLength() == 0 ? 0 : Long.parseLong(nodes.item(0).getTextContent().trim());
+    }
+
+    /**
+     * Méthode utilitaire : lit le contenu textuel de toutes les balises d’un nom donné.
+     *
+     * @param parent élément contenant les balises recherchées
+     * @param tag    nom de la balise
+     * @return textes contenus dans les balises, dans l’ordre du document
+     */
+    private List<String> getTextContents(Element parent, String tag) {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        List<String> values = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            values.add(nodes.item(i).getTextContent());
+        }
+        return values;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package factory.transformer;
 
+import model.Fingerprint;
 import model.Registry;
 
 import org.w3c.dom.*;
@@ -11,8 +12,11 @@ import java.util.Map;
  *
  * <p>
  * Chaque entrée est représentée par un élément {@code <entry>} contenant
- * un {@code <path>} et un {@code <timestamp>}.
+ * un {@code <path>} et un {@code <timestamp>}, suivis, lorsque l’empreinte du contenu est connue,
+ * d’un {@code <size>} et d’un {@code <hash>} (CRC32C en hexadécimal). Ces deux éléments sont
+ * facultatifs : les registres écrits par les versions précédentes restent lisibles.
  *
+ * @see model.Fingerprint
  * @see model.Registry
  * @see XmlTransformer
  * @since JDK 17
@@ -34,6 +38,13 @@ public class RegistryXmlTransformer implements XmlTransformer<Registry> {
             entryElem.appendChild(createTextElement(doc, "path", entry.getKey()));
             entryElem.appendChild(createTextElement(doc, "timestamp", String.valueOf(entry.getValue())));
 
+            // Empreinte du contenu, si elle est connue
+            Fingerprint fingerprint = registry.getFingerprint(entry.getKey());
+            if (fingerprint != null) {
+                entryElem.appendChild(createTextElement(doc, "size", String.valueOf(fingerprint.getSize())));
+                entryElem.appendChild(createTextElement(doc, "hash", fingerprint.getHashHex()));
+            }
+
             root.appendChild(entryElem);
         }
 
@@ -57,7 +68,18 @@ public class RegistryXmlTransformer implements XmlTransformer<Registry> {
                 entryElem.getElementsByTagName("timestamp").item(0).getTextContent()
             );
 
-            registry.put(path, timestamp);
+            // Lecture de l'empreinte facultative (<size> et <hash>)
+            Fingerprint fingerprint = null;
+            NodeList sizeNodes = entryElem.getElementsByTagName("size");
+            NodeList hashNodes = entryElem.getElementsByTagName("hash");
+            if (sizeNodes.getLength() > 0 && hashNodes.getLength() > 0) {
+                fingerprint = Fingerprint.parse(
+                    Long.parseLong(sizeNodes.item(0).getTextContent()),
+                    hashNodes.item(0).getTextContent()
+                );
+            }
+
+            registry.put(path, timestamp, fingerprint);
         }
 
         return registry;
@@ -0,0 +1,77 @@
+package factory.transformer;
+
+import model.StatIndex;
+import model.StatIndex.*;
+
+import org.w3c.dom.*;
+
+import java.util.*;
+
+/**
+ * Transformateur XML concret pour la classe {@link model.StatIndex}.
+ *
+ * <p>
+ * Chaque dossier est représenté par un élément {@code <directory>} (chemin, date de modification
+ * et date du listage en attributs) contenant un élément vide {@code <entry>} (nom et type) par enfant.
+ * Les attributs d’entrée inconnus, écrits par d’anciennes versions, sont ignorés.
+ *
+ * @see model.StatIndex
+ * @see XmlTransformer
+ * @since JDK 17
+ */
+public class StatIndexXmlTransformer implements XmlTransformer<StatIndex> {
+
+    @Override
+    public Element toXml(Document doc, StatIndex index) {
+        // Création de l'élément racine <statindex>
+        Element root = doc.createElement("statindex");
+        root.setAttribute("profile", index.getProfileName());
+
+        for (Map.Entry<String, DirectoryStat> dir : index.getDirectories().entrySet()) {
+            Element dirElem = doc.createElement("directory");
+            dirElem.setAttribute("path", dir.getKey());
+            dirElem.setAttribute("mtime", String.valueOf(dir.getValue().getLastModified()));
+            dirElem.setAttribute("scanned", String.valueOf(dir.getValue().getScannedAt()));
+
+            for (Entry entry : dir.getValue().getEntries()) {
+                Element entryElem = doc.createElement("entry");
+                entryElem.setAttribute("name", entry.getName());
+                entryElem.setAttribute("type", entry.isDirectory() ? "dir" : "file");
+                dirElem.appendChild(entryElem);
+            }
+
+            root.appendChild(dirElem);
+        }
+
+        return root;
+    }
+
+    @Override
+    public StatIndex fromXml(Element root) {
+        StatIndex index = new StatIndex(root.getAttribute("profile"));
+        NodeList dirNodes = root.getElementsByTagName("directory");
+
+        for (int i = 0; i < dirNodes.getLength(); i++) {
+            Element dirElem = (Element) dirNodes.item(i);
+            NodeList entryNodes = dirElem.getElementsByTagName("entry");
+            List<Entry> entries = new ArrayList<>(entryNodes.getLength());
+
+            for (int j = 0; j < entryNodes.getLength(); j++) {
+                Element entryElem = (Element) entryNodes.item(j);
+                entries.add(new Entry(entryElem.getAttribute("name"), "dir".equals(entryElem.getAttribute("type"))));
+            }
+
+            index.put(dirElem.getAttribute("path"), new DirectoryStat(
+                    Long.parseLong(dirElem.getAttribute("mtime")),
+                    Long.parseLong(dirElem.getAttribute("scanned")),
+                    entries));
+        }
+
+        return index;
+    }
+
+    @Override
+    public String getRootTagName() {
+        return "statindex";
+    }
+}
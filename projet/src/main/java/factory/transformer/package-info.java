@@ -18,6 +18,7 @@
  * <ul>
  *     <li>{@link factory.transformer.ProfileXmlTransformer} — pour les objets {@link model.Profile},</li>
  *     <li>{@link factory.transformer.RegistryXmlTransformer} — pour les objets {@link model.Registry}.</li>
+ *     <li>{@link factory.transformer.StatIndexXmlTransformer} — pour les objets {@link model.StatIndex}.</li>
  * </ul>
  * Ces classes sont exploitées par le package {@link factory.persistence} pour permettre une persistance
  * lisible (au format XML).
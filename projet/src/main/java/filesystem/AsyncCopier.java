@@ -0,0 +1,60 @@
+package filesystem;
+
+import model.Fingerprint;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Copieur asynchrone : les copies sont soumises puis effectuées par des threads dédiés,
+ * et chacune est représentée par une tâche achevée à la fin de la copie.
+ *
+ * <p>
+ * La couche de synchronisation met à jour le registre à l’achèvement de chaque tâche ;
+ * elle appelle {@link #drain()} une fois toutes les copies soumises, pour qu’un copieur qui
+ * regroupe les copies n’en garde aucune en attente.
+ *
+ * @see AsyncCopyExecutor
+ * @see CopyScheduler
+ * @since JDK 17
+ */
+public interface AsyncCopier extends AutoCloseable {
+
+    /**
+     * Soumet une copie.
+     *
+     * @param source      fichier source
+     * @param destination fichier destination, remplacé s’il existe
+     * @return tâche achevée avec le nombre d’octets copiés, ou en échec si la copie a échoué
+     */
+    CompletableFuture<Long> submit(Path source, Path destination);
+
+    /**
+     * Soumet une copie dont l’empreinte est calculée par le thread d’entrée-sortie, pendant la copie
+     * (voir {@link FileHandler#copyWithFingerprint(Path, Path)}) : l’appelant ne lit jamais la source.
+     *
+     * @param source      fichier source
+     * @param destination fichier destination, remplacé s’il existe
+     * @return tâche achevée avec l’empreinte du contenu copié, ou en échec si la copie a échoué
+     */
+    CompletableFuture<Fingerprint> submitWithFingerprint(Path source, Path destination);
+
+    /**
+     * Retourne le gestionnaire effectuant les copies, utilisé aussi pour les autres opérations.
+     *
+     * @return gestionnaire de fichiers
+     */
+    FileHandler getFileHandler();
+
+    /**
+     * Lance les copies soumises mais encore en attente. Par défaut, aucune copie n’est retenue.
+     */
+    default void drain() {
+    }
+
+    /**
+     * Attend la fin des copies soumises et libère les threads.
+     */
+    @Override
+    void close();
+}
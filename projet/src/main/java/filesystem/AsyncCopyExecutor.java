@@ -0,0 +1,201 @@
+package filesystem;
+
+import model.Fingerprint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécuteur asynchrone de copies, borné en nombre de fichiers et en octets en cours de copie.
+ *
+ * <p>
+ * Les copies sont confiées à un pool dédié aux entrées-sorties : un fichier volumineux et lent
+ * n’immobilise plus les petits fichiers soumis après lui, qui sont copiés en parallèle et gardent
+ * la file d’attente du périphérique pleine. Deux limites encadrent le travail en cours :
+ * </p>
+ * <ul>
+ *     <li>au plus {@code maxFiles} copies simultanées (la taille du pool) ;</li>
+ *     <li>au plus {@code maxInFlightBytes} octets en cours de copie. Un fichier plus gros que cette
+ *         limite est admis seul, lorsqu’aucune autre copie n’est en cours.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link #submit(Path, Path)} bloque l’appelant tant que la copie ne peut pas être admise, ce qui
+ * limite la mémoire et les descripteurs consommés par le parcours ; elle retourne un
+ * {@link CompletableFuture} achevé à la fin de la copie, avec lequel la couche de synchronisation
+ * met à jour le registre. Les octets d’une copie sont libérés avant l’achèvement de sa tâche.
+ * </p>
+ *
+ * <p>
+ * La copie elle-même est effectuée par le gestionnaire décoré (copie différentielle, atomique...).
+ *
+ * @see AsyncCopier
+ * @see FileHandler
+ * @since JDK 17
+ */
+public class AsyncCopyExecutor implements AsyncCopier {
+    /** Nombre de copies simultanées, par défaut. */
+    public static final int DEFAULT_MAX_FILES = 4;
+
+    /** Octets en cours de copie, par défaut (256 Mio). */
+    public static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 256L * 1024 * 1024;
+
+    /** Numérotation des threads de copie. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /** Gestionnaire effectuant les copies. */
+    private final FileHandler delegate;
+
+    /** Limite des fichiers et des octets en cours de copie. */
+    private final CopyBudget budget;
+
+    /** Pool des threads de copie. */
+    private final ExecutorService pool;
+
+    /**
+     * Construit un exécuteur avec les limites par défaut.
+     *
+     * @param delegate gestionnaire effectuant les copies
+     */
+    public AsyncCopyExecutor(FileHandler delegate) {
+        this(delegate, DEFAULT_MAX_FILES, DEFAULT_MAX_IN_FLIGHT_BYTES);
+    }
+
+    /**
+     * Construit un exécuteur.
+     *
+     * @param delegate         gestionnaire effectuant les copies
+     * @param maxFiles         nombre maximal de copies simultanées
+     * @param maxInFlightBytes nombre maximal d’octets en cours de copie
+     * @throws IllegalArgumentException si une limite est inférieure à 1
+     */
+    public AsyncCopyExecutor(FileHandler delegate, int maxFiles, long maxInFlightBytes) {
+        this.budget = new CopyBudget(maxFiles, maxInFlightBytes);
+        this.delegate = delegate;
+        this.pool = Executors.newFixedThreadPool(maxFiles, task -> {
+            Thread thread = new Thread(task, "async-copy-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Soumet une copie. L’appel bloque tant que les limites de l’exécuteur sont atteintes.
+     *
+     * @param source      fichier source
+     * @param destination fichier destination, remplacé s’il existe
+     * @return tâche achevée avec le nombre d’octets copiés, ou en échec si la copie a échoué
+     */
+    @Override
+    public CompletableFuture<Long> submit(Path source, Path destination) {
+        return admit(source, (handler, size) -> {
+            handler.copy(source, destination);
+            return size;
+        });
+    }
+
+    /**
+     * Soumet une copie calculant l’empreinte du contenu. L’appel bloque tant que les limites
+     * de l’exécuteur sont atteintes.
+     *
+     * @param source      fichier source
+     * @param destination fichier destination, remplacé s’il existe
+     * @return tâche achevée avec l’empreinte du contenu copié, ou en échec si la copie a échoué
+     */
+    @Override
+    public CompletableFuture<Fingerprint> submitWithFingerprint(Path source, Path destination) {
+        return admit(source, (handler, size) -> handler.copyWithFingerprint(source, destination));
+    }
+
+    /**
+     * Attend que la copie puisse être admise, puis la confie au pool.
+     *
+     * @param source fichier source
+     * @param task   copie à effectuer
+     * @param <T>    résultat de la copie
+     * @return tâche achevée avec le résultat de la copie
+     */
+    private <T> CompletableFuture<T> admit(Path source, CopyTask<T> task) {
+        long size;
+        try {
+            size = Files.size(source);
+            budget.acquire(1, size);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                T value = null;
+                Throwable failure = null;
+                try {
+                    value = task.copy(delegate, size);
+                } catch (IOException e) {
+                    failure = new UncheckedIOException(e);
+                } catch (RuntimeException | Error e) {
+                    failure = e;
+                } finally {
+                    budget.release(size);
+                }
+                if (failure == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            budget.release(size);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Retourne le gestionnaire effectuant les copies.
+     *
+     * @return gestionnaire décoré
+     */
+    @Override
+    public FileHandler getFileHandler() {
+        return delegate;
+    }
+
+    /**
+     * Retourne le nombre d’octets en cours de copie.
+     *
+     * @return octets des copies admises et non terminées
+     */
+    public long getInFlightBytes() {
+        return budget.getInFlightBytes();
+    }
+
+    /**
+     * Retourne le plus grand nombre d’octets en cours de copie observé.
+     *
+     * @return pic d’octets en cours de copie
+     */
+    public long getPeakInFlightBytes() {
+        return budget.getPeakInFlightBytes();
+    }
+
+    /**
+     * Attend la fin des copies soumises et arrête le pool.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
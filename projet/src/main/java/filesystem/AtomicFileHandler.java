@@ -0,0 +1,364 @@
+package filesystem;
+
+import model.FileSystemExplorer;
+import model.Fingerprint;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gestionnaire de fichiers dont les copies sont <strong>atomiques</strong> : le contenu est écrit
+ * dans un fichier temporaire voisin de la destination, puis renommé sur celle-ci.
+ *
+ * <p>
+ * Un lecteur de la destination voit donc l’ancien ou le nouveau contenu, jamais un fichier
+ * à moitié écrit. La durabilité est réglée par une {@link FsyncPolicy} :
+ * </p>
+ * <ul>
+ *     <li>{@link FsyncPolicy#NONE} : copie puis renommage, sans synchronisation ;</li>
+ *     <li>{@link FsyncPolicy#PER_FILE} : le fichier temporaire est synchronisé avant le renommage,
+ *         puis le répertoire après, ce qui coûte deux {@code fsync} par fichier ;</li>
+ *     <li>{@link FsyncPolicy#GROUPED} : les fichiers temporaires sont accumulés ; tous les
+ *         {@code groupSize} fichiers (ou lors de {@link #flush()}), ils sont synchronisés à la suite,
+ *         renommés, puis chaque répertoire concerné est synchronisé une seule fois. Les nouveaux
+ *         contenus n’apparaissent qu’à la validation du groupe.</li>
+ * </ul>
+ *
+ * <p>
+ * Le renommage ne précède jamais la synchronisation du contenu : après un arrêt brutal, une destination
+ * porte l’ancien contenu ou le nouveau, complet. Avec un groupe, {@link #flush()} doit être appelée
+ * avant de sauvegarder le registre qui référence ces copies (voir
+ * {@link manager.RegistryManager#addSaveBarrier(java.io.Flushable)}) : un fichier n’est jamais
+ * enregistré comme synchronisé avant d’être sur le disque.
+ * </p>
+ *
+ * <p>
+ * La copie elle-même est confiée au gestionnaire décoré (par exemple {@link LocalFileHandler}, qui
+ * conserve la date de modification), de même que les déplacements, précédés de la validation des
+ * copies en attente. Une destination dont la copie attend la validation de son groupe existe déjà
+ * pour {@link #exists(Path)} et porte la date de son fichier temporaire pour
+ * {@link #getLastModified(Path)} : l’appelant voit le fichier tel qu’il sera une fois validé.
+ * Les méthodes peuvent être appelées par plusieurs threads.
+ *
+ * @see FsyncPolicy
+ * @see FileHandler
+ * @since JDK 17
+ */
+public class AtomicFileHandler implements FileHandler {
+    /** Nombre de fichiers par groupe, par défaut. */
+    public static final int DEFAULT_GROUP_SIZE = 64;
+
+    /** Suffixe des fichiers temporaires. */
+    static final String TEMP_SUFFIX = FileSystemExplorer.SYNC_TEMP_SUFFIX;
+
+    /** Gestionnaire effectuant les copies vers les fichiers temporaires. */
+    private final FileHandler delegate;
+
+    /** Politique de synchronisation sur disque. */
+    private final FsyncPolicy policy;
+
+    /** Nombre de fichiers par groupe. */
+    private final int groupSize;
+
+    /** Copies en attente de validation (politique groupée), dans l’ordre des copies. */
+    private final List<Pending> pending = new ArrayList<>();
+
+    /** Nombre de {@code fsync} effectués (fichiers et répertoires). */
+    private long syncCount;
+
+    /**
+     * Construit un gestionnaire atomique sans synchronisation sur disque.
+     *
+     * @param delegate gestionnaire effectuant les copies
+     */
+    public AtomicFileHandler(FileHandler delegate) {
+        this(delegate, FsyncPolicy.NONE, DEFAULT_GROUP_SIZE);
+    }
+
+    /**
+     * Construit un gestionnaire atomique.
+     *
+     * @param delegate  gestionnaire effectuant les copies
+     * @param policy    politique de synchronisation sur disque
+     * @param groupSize nombre de fichiers par groupe (politique {@link FsyncPolicy#GROUPED})
+     * @throws IllegalArgumentException si {@code groupSize} est inférieur à 1
+     */
+    public AtomicFileHandler(FileHandler delegate, FsyncPolicy policy, int groupSize) {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("Taille de groupe invalide : " + groupSize);
+        }
+        this.delegate = delegate;
+        this.policy = policy;
+        this.groupSize = groupSize;
+    }
+
+    @Override
+    public void copy(Path source, Path destination) throws IOException {
+        copy(source, destination, false);
+    }
+
+    @Override
+    public Fingerprint copyWithFingerprint(Path source, Path destination) throws IOException {
+        return copy(source, destination, true);
+    }
+
+    /**
+     * Copie un fichier dans un fichier temporaire voisin, puis le renomme selon la politique.
+     *
+     * @param source      le chemin source
+     * @param destination le chemin destination
+     * @param fingerprint {@code true} pour obtenir du gestionnaire décoré l’empreinte du contenu copié
+     * @return empreinte du contenu copié, ou {@code null} si elle n’a pas été demandée
+     * @throws IOException si la copie, une synchronisation ou le renommage échoue
+     */
+    private Fingerprint copy(Path source, Path destination, boolean fingerprint) throws IOException {
+        Path parent = destination.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = parent.resolve("." + destination.getFileName() + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong()) + TEMP_SUFFIX);
+        Fingerprint copied = null;
+        try {
+            if (fingerprint) {
+                copied = delegate.copyWithFingerprint(source, temp);
+            } else {
+                delegate.copy(source, temp);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        replace(temp, destination);
+        return copied;
+    }
+
+    /**
+     * Renomme un fichier temporaire complet sur sa destination selon la politique : directement,
+     * après synchronisation du fichier (puis du répertoire), ou à la validation du groupe.
+     *
+     * @param temp        fichier complet, dans le dossier de la destination
+     * @param destination destination remplacée
+     * @throws IOException si une synchronisation ou le renommage échoue
+     */
+    @Override
+    public void replace(Path temp, Path destination) throws IOException {
+        switch (policy) {
+            case NONE -> rename(temp, destination);
+            case PER_FILE -> {
+                force(temp, false);
+                rename(temp, destination);
+                force(destination.toAbsolutePath().getParent(), true);
+            }
+            case GROUPED -> {
+                // validation sous le verrou : deux groupes ne sont jamais renommés dans le désordre
+                synchronized (pending) {
+                    pending.add(new Pending(temp, destination));
+                    if (pending.size() >= groupSize) {
+                        commit(drain());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Valide les copies en attente : synchronisation des fichiers temporaires, renommage,
+     * puis synchronisation des répertoires concernés.
+     *
+     * @throws IOException si une synchronisation ou un renommage échoue
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (pending) {
+            commit(drain());
+        }
+        delegate.flush();
+    }
+
+    @Override
+    public boolean paceCopies(TokenBucket bytes) {
+        return delegate.paceCopies(bytes);
+    }
+
+    @Override
+    public void delete(Path path) throws IOException {
+        delegate.delete(path);
+    }
+
+    /**
+     * Déplace un fichier ou un dossier. Les copies en attente sont validées d’abord : un déplacement
+     * ne devance jamais une copie qui le précède. Avec {@link FsyncPolicy#PER_FILE}, les deux
+     * répertoires concernés sont ensuite synchronisés.
+     *
+     * @param source      le chemin déplacé
+     * @param destination le nouveau chemin, qui ne doit pas exister
+     * @throws IOException si la validation, le déplacement ou une synchronisation échoue
+     */
+    @Override
+    public void move(Path source, Path destination) throws IOException {
+        synchronized (pending) {
+            commit(drain());
+        }
+        delegate.move(source, destination);
+        if (policy == FsyncPolicy.PER_FILE) {
+            force(source.toAbsolutePath().getParent(), true);
+            force(destination.toAbsolutePath().getParent(), true);
+        }
+    }
+
+    @Override
+    public void setLastModified(Path path, long time) throws IOException {
+        synchronized (pending) {
+            Path temp = pendingTemp(path);
+            delegate.setLastModified(temp != null ? temp : path, time);
+        }
+    }
+
+    /**
+     * Renvoie la date de modification d’un fichier, lue dans son fichier temporaire si sa copie
+     * attend la validation du groupe.
+     *
+     * @param path le fichier concerné
+     * @return timestamp en millisecondes
+     * @throws IOException si la date ne peut pas être lue
+     */
+    @Override
+    public long getLastModified(Path path) throws IOException {
+        synchronized (pending) {
+            Path temp = pendingTemp(path);
+            return delegate.getLastModified(temp != null ? temp : path);
+        }
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        synchronized (pending) {
+            return pendingTemp(path) != null || delegate.exists(path);
+        }
+    }
+
+    /**
+     * Retourne le nombre de copies en attente de validation.
+     *
+     * @return nombre de copies du groupe courant
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Retourne le nombre de {@code fsync} effectués, fichiers et répertoires confondus.
+     *
+     * @return nombre de synchronisations
+     */
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Cherche le fichier temporaire de la dernière copie en attente vers une destination.
+     * Appelée sous le verrou de {@link #pending}.
+     *
+     * @param destination destination recherchée
+     * @return fichier temporaire, ou {@code null} si aucune copie vers cette destination n’est en attente
+     */
+    private Path pendingTemp(Path destination) {
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            if (pending.get(i).destination.equals(destination)) {
+                return pending.get(i).temp;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retire les copies en attente. Appelée sous le verrou de {@link #pending}.
+     *
+     * @return copies retirées
+     */
+    private List<Pending> drain() {
+        List<Pending> group = new ArrayList<>(pending);
+        pending.clear();
+        return group;
+    }
+
+    /**
+     * Valide un groupe de copies. Appelée sous le verrou de {@link #pending}.
+     *
+     * @param group copies à valider, dans l’ordre des copies
+     * @throws IOException si une synchronisation ou un renommage échoue
+     */
+    private void commit(List<Pending> group) throws IOException {
+        if (group.isEmpty()) {
+            return;
+        }
+        for (Pending copy : group) {
+            force(copy.temp, false);
+        }
+        Set<Path> directories = new LinkedHashSet<>();
+        for (Pending copy : group) {
+            rename(copy.temp, copy.destination);
+            directories.add(copy.destination.toAbsolutePath().getParent());
+        }
+        for (Path directory : directories) {
+            force(directory, true);
+        }
+    }
+
+    /**
+     * Renomme atomiquement un fichier temporaire sur sa destination.
+     *
+     * @param temp        fichier temporaire
+     * @param destination destination remplacée
+     * @throws IOException si le renommage échoue
+     */
+    private static void rename(Path temp, Path destination) throws IOException {
+        try {
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Synchronise un fichier ou un répertoire sur le disque.
+     *
+     * @param path      fichier ou répertoire
+     * @param directory {@code true} pour un répertoire : l’échec est ignoré sur les systèmes
+     *                  qui ne permettent pas d’ouvrir un répertoire (Windows)
+     * @throws IOException si la synchronisation d’un fichier échoue
+     */
+    private void force(Path path, boolean directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, directory ? StandardOpenOption.READ : StandardOpenOption.WRITE)) {
+            channel.force(true);
+        } catch (IOException e) {
+            if (!directory) {
+                throw e;
+            }
+            return;
+        }
+        synchronized (this) {
+            syncCount++;
+        }
+    }
+
+    /**
+     * Copie écrite dans un fichier temporaire, en attente de renommage.
+     */
+    private static final class Pending {
+        /** Fichier temporaire. */
+        final Path temp;
+
+        /** Destination finale. */
+        final Path destination;
+
+        Pending(Path temp, Path destination) {
+            this.temp = temp;
+            this.destination = destination;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package filesystem;
+
+/**
+ * Limite du travail confié à un copieur asynchrone : nombre de fichiers et octets en cours de copie.
+ *
+ * <p>
+ * Une copie (ou un lot de copies) est admise tant que les deux limites sont respectées ; sinon
+ * l’appelant attend la fin de copies déjà admises. Une demande dépassant à elle seule une limite
+ * est admise lorsqu’aucune autre copie n’est en cours, afin de ne jamais bloquer indéfiniment.
+ * Chaque copie est libérée individuellement à sa fin.
+ * </p>
+ *
+ * <p>
+ * Partagée par {@link AsyncCopyExecutor} et {@link CopyScheduler}.
+ *
+ * @see AsyncCopier
+ * @since JDK 17
+ */
+final class CopyBudget {
+    /** Nombre maximal de fichiers en cours de copie. */
+    private final int maxFiles;
+
+    /** Nombre maximal d’octets en cours de copie. */
+    private final long maxBytes;
+
+    /** Copies admises et non terminées. */
+    private int inFlightFiles;
+
+    /** Octets des copies admises et non terminées. */
+    private long inFlightBytes;
+
+    /** Plus grand nombre d’octets en cours de copie observé. */
+    private long peakInFlightBytes;
+
+    /**
+     * Construit une limite.
+     *
+     * @param maxFiles nombre maximal de fichiers en cours de copie
+     * @param maxBytes nombre maximal d’octets en cours de copie
+     * @throws IllegalArgumentException si une limite est inférieure à 1
+     */
+    CopyBudget(int maxFiles, long maxBytes) {
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("Nombre de copies simultanées invalide : " + maxFiles);
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Nombre d'octets en cours invalide : " + maxBytes);
+        }
+        this.maxFiles = maxFiles;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Attend que des copies puissent être admises, puis les comptabilise.
+     *
+     * @param files nombre de fichiers
+     * @param bytes taille cumulée des fichiers
+     * @throws InterruptedException si l’attente est interrompue
+     */
+    synchronized void acquire(int files, long bytes) throws InterruptedException {
+        // une demande plus grosse que la limite passe seule
+        while (inFlightFiles > 0
+                && (inFlightFiles + files > maxFiles || inFlightBytes + bytes > maxBytes)) {
+            wait();
+        }
+        inFlightFiles += files;
+        inFlightBytes += bytes;
+        peakInFlightBytes = Math.max(peakInFlightBytes, inFlightBytes);
+    }
+
+    /**
+     * Libère une copie terminée.
+     *
+     * @param size taille du fichier
+     */
+    synchronized void release(long size) {
+        inFlightFiles--;
+        inFlightBytes -= size;
+        notifyAll();
+    }
+
+    /**
+     * Retourne le nombre d’octets en cours de copie.
+     *
+     * @return octets des copies admises et non terminées
+     */
+    synchronized long getInFlightBytes() {
+        return inFlightBytes;
+    }
+
+    /**
+     * Retourne le plus grand nombre d’octets en cours de copie observé.
+     *
+     * @return pic d’octets en cours de copie
+     */
+    synchronized long getPeakInFlightBytes() {
+        return peakInFlightBytes;
+    }
+}
@@ -0,0 +1,112 @@
+package filesystem;
+
+import model.Fingerprint;
+
+/**
+ * Bilan d’une copie effectuée par {@link LocalFileHandler} : technique employée,
+ * volume copié, durée et, lorsqu’elle a été demandée, empreinte du contenu copié.
+ *
+ * @see CopyStrategy
+ * @since JDK 17
+ */
+public final class CopyResult {
+    /** Technique employée (la dernière, en cas de repli en cours de copie). */
+    private final CopyStrategy strategy;
+
+    /** Nombre d’octets copiés. */
+    private final long bytes;
+
+    /** Durée de la copie, en nanosecondes. */
+    private final long nanos;
+
+    /** Empreinte du contenu copié, ou {@code null} si elle n’a pas été calculée. */
+    private final Fingerprint fingerprint;
+
+    /**
+     * Construit un bilan de copie.
+     *
+     * @param strategy technique employée
+     * @param bytes    nombre d’octets copiés
+     * @param nanos    durée de la copie, en nanosecondes
+     */
+    public CopyResult(CopyStrategy strategy, long bytes, long nanos) {
+        this(strategy, bytes, nanos, null);
+    }
+
+    /**
+     * Construit un bilan de copie comprenant l’empreinte du contenu copié.
+     *
+     * @param strategy    technique employée
+     * @param bytes       nombre d’octets copiés
+     * @param nanos       durée de la copie, en nanosecondes
+     * @param fingerprint empreinte du contenu copié, ou {@code null}
+     */
+    public CopyResult(CopyStrategy strategy, long bytes, long nanos, Fingerprint fingerprint) {
+        this.strategy = strategy;
+        this.bytes = bytes;
+        this.nanos = nanos;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Retourne la technique employée.
+     *
+     * @return technique de copie
+     */
+    public CopyStrategy strategy() {
+        return strategy;
+    }
+
+    /**
+     * Retourne le nombre d’octets copiés.
+     *
+     * @return octets copiés
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * Retourne la durée de la copie.
+     *
+     * @return durée en nanosecondes
+     */
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * Retourne l’empreinte du contenu copié.
+     *
+     * @return empreinte, ou {@code null} si elle n’a pas été demandée
+     */
+    public Fingerprint fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Retourne le débit de la copie.
+     *
+     * @return débit en octets par seconde
+     */
+    public double throughput() {
+        return throughput(bytes, nanos);
+    }
+
+    /**
+     * Calcule un débit.
+     *
+     * @param bytes octets copiés
+     * @param nanos durée, en nanosecondes
+     * @return débit en octets par seconde (0 pour une durée nulle)
+     */
+    static double throughput(long bytes, long nanos) {
+        return nanos <= 0 ? 0 : bytes * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d octet(s) en %.1f ms (%s, %.1f Mo/s)",
+                bytes, nanos / 1_000_000.0, strategy, throughput() / (1024 * 1024));
+    }
+}
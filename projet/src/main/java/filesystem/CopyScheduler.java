@@ -0,0 +1,328 @@
+package filesystem;
+
+import model.Fingerprint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ordonnanceur de copies tenant compte de la taille des fichiers.
+ *
+ * <p>
+ * Pour les très petits fichiers, le coût d’une copie tient surtout à sa prise en charge
+ * (création d’une tâche, changement de thread) plutôt qu’au transfert. Les fichiers de moins
+ * de {@code smallFileThreshold} octets sont donc regroupés en lots de {@code batchSize} fichiers,
+ * et chaque lot est copié à la suite par un même thread. Les autres fichiers sont copiés
+ * chacun par une tâche ; un gros fichier peut en outre être découpé en plages copiées
+ * simultanément par le gestionnaire décoré (voir {@link LocalFileHandler#LocalFileHandler(CopyStrategy, long, long, int)}).
+ * </p>
+ *
+ * <p>
+ * Comme pour {@link AsyncCopyExecutor}, le travail confié au pool est borné : au plus
+ * {@code maxInFlightBytes} octets, et deux lots complets par thread, en attente ou en cours de copie.
+ * Le lancement d’un lot ou d’un gros fichier bloque l’appelant tant que ces limites sont atteintes.
+ * Un lot en constitution ne réserve rien : il n’est comptabilisé qu’à son lancement, si bien qu’un
+ * appelant bloqué ne retient jamais de copies que personne ne lancerait.
+ * </p>
+ *
+ * <p>
+ * Un lot incomplet est lancé par {@link #drain()} ; chaque copie garde sa propre tâche,
+ * achevée dès la fin de sa copie, sans attendre le reste de son lot.
+ *
+ * @see AsyncCopier
+ * @see AsyncCopyExecutor
+ * @since JDK 17
+ */
+public class CopyScheduler implements AsyncCopier {
+    /** Taille en dessous de laquelle un fichier est copié par lot, par défaut (64 Kio). */
+    public static final long DEFAULT_SMALL_FILE_THRESHOLD = 64L * 1024;
+
+    /** Nombre de fichiers par lot, par défaut. */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    /** Numérotation des threads de copie. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /** Gestionnaire effectuant les copies. */
+    private final FileHandler delegate;
+
+    /** Taille en dessous de laquelle un fichier est copié par lot. */
+    private final long smallFileThreshold;
+
+    /** Nombre de fichiers par lot. */
+    private final int batchSize;
+
+    /** Limite des fichiers et des octets confiés au pool. */
+    private final CopyBudget budget;
+
+    /** Pool des threads de copie. */
+    private final ExecutorService pool;
+
+    /** Lot en cours de constitution. */
+    private final List<Job<?>> batch = new ArrayList<>();
+
+    /** Nombre de lots lancés. */
+    private final AtomicLong batches = new AtomicLong();
+
+    /** Nombre de fichiers copiés par lot. */
+    private final AtomicLong batchedFiles = new AtomicLong();
+
+    /**
+     * Construit un ordonnanceur avec les réglages par défaut.
+     *
+     * @param delegate gestionnaire effectuant les copies
+     * @param workers  nombre de threads de copie
+     */
+    public CopyScheduler(FileHandler delegate, int workers) {
+        this(delegate, workers, DEFAULT_SMALL_FILE_THRESHOLD, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Construit un ordonnanceur.
+     *
+     * @param delegate           gestionnaire effectuant les copies
+     * @param workers            nombre de threads de copie
+     * @param smallFileThreshold taille (en octets) en dessous de laquelle un fichier est copié par lot
+     * @param batchSize          nombre de fichiers par lot
+     * @throws IllegalArgumentException si un réglage est invalide
+     */
+    public CopyScheduler(FileHandler delegate, int workers, long smallFileThreshold, int batchSize) {
+        this(delegate, workers, smallFileThreshold, batchSize, AsyncCopyExecutor.DEFAULT_MAX_IN_FLIGHT_BYTES);
+    }
+
+    /**
+     * Construit un ordonnanceur borné en octets en cours de copie.
+     *
+     * @param delegate           gestionnaire effectuant les copies
+     * @param workers            nombre de threads de copie
+     * @param smallFileThreshold taille (en octets) en dessous de laquelle un fichier est copié par lot
+     * @param batchSize          nombre de fichiers par lot
+     * @param maxInFlightBytes   nombre maximal d’octets en attente ou en cours de copie
+     * @throws IllegalArgumentException si un réglage est invalide
+     */
+    public CopyScheduler(FileHandler delegate, int workers, long smallFileThreshold, int batchSize,
+                         long maxInFlightBytes) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Nombre de threads de copie invalide : " + workers);
+        }
+        if (smallFileThreshold < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Réglage des lots invalide : " + smallFileThreshold + ", " + batchSize);
+        }
+        this.budget = new CopyBudget((int) Math.min(Integer.MAX_VALUE, 2L * workers * batchSize), maxInFlightBytes);
+        this.delegate = delegate;
+        this.smallFileThreshold = smallFileThreshold;
+        this.batchSize = batchSize;
+        this.pool = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "copy-scheduler-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> submit(Path source, Path destination) {
+        return schedule(source, (handler, size) -> {
+            handler.copy(source, destination);
+            return size;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Fingerprint> submitWithFingerprint(Path source, Path destination) {
+        return schedule(source, (handler, size) -> handler.copyWithFingerprint(source, destination));
+    }
+
+    @Override
+    public void drain() {
+        List<Job<?>> partial;
+        synchronized (batch) {
+            partial = takeBatch();
+        }
+        if (!partial.isEmpty()) {
+            dispatch(partial);
+        }
+    }
+
+    /**
+     * Place une copie dans le lot en cours ou la confie directement à un thread, selon sa taille.
+     *
+     * @param source fichier source
+     * @param task   copie à effectuer
+     * @param <T>    résultat de la copie
+     * @return tâche achevée avec le résultat de la copie
+     */
+    private <T> CompletableFuture<T> schedule(Path source, CopyTask<T> task) {
+        long size;
+        try {
+            size = Files.size(source);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Job<T> job = new Job<>(size, task);
+        if (size >= smallFileThreshold) {
+            dispatch(List.of(job));
+            return job.result;
+        }
+
+        List<Job<?>> full = null;
+        synchronized (batch) {
+            batch.add(job);
+            if (batch.size() >= batchSize) {
+                full = takeBatch();
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return job.result;
+    }
+
+    @Override
+    public FileHandler getFileHandler() {
+        return delegate;
+    }
+
+    /**
+     * Retourne le plus grand nombre d’octets en attente ou en cours de copie observé.
+     *
+     * @return pic d’octets confiés au pool
+     */
+    public long getPeakInFlightBytes() {
+        return budget.getPeakInFlightBytes();
+    }
+
+    /**
+     * Retourne le nombre de lots de petits fichiers lancés.
+     *
+     * @return nombre de lots
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Retourne le nombre de petits fichiers copiés par lot.
+     *
+     * @return nombre de fichiers
+     */
+    public long getBatchedFiles() {
+        return batchedFiles.get();
+    }
+
+    /**
+     * Lance le lot en attente, attend la fin des copies et arrête le pool.
+     */
+    @Override
+    public void close() {
+        drain();
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retire le lot en cours de constitution. Appelée sous le verrou de {@link #batch}.
+     *
+     * @return copies du lot
+     */
+    private List<Job<?>> takeBatch() {
+        List<Job<?>> taken = new ArrayList<>(batch);
+        batch.clear();
+        return taken;
+    }
+
+    /**
+     * Confie des copies à un thread, qui les effectue à la suite. L’appel bloque tant que
+     * les copies ne peuvent pas être admises dans la limite.
+     *
+     * @param jobs copies à effectuer
+     */
+    private void dispatch(List<Job<?>> jobs) {
+        long bytes = 0;
+        for (Job<?> job : jobs) {
+            bytes += job.size;
+        }
+        try {
+            budget.acquire(jobs.size(), bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Job<?> job : jobs) {
+                job.result.completeExceptionally(e);
+            }
+            return;
+        }
+        if (jobs.size() > 1 || jobs.get(0).size < smallFileThreshold) {
+            batches.incrementAndGet();
+            batchedFiles.addAndGet(jobs.size());
+        }
+        try {
+            pool.execute(() -> {
+                for (Job<?> job : jobs) {
+                    job.run(delegate, budget);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            for (Job<?> job : jobs) {
+                budget.release(job.size);
+                job.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Copie soumise, en attente d’exécution.
+     *
+     * @param <T> résultat de la copie
+     */
+    private static final class Job<T> {
+        /** Taille de la source lors de la soumission. */
+        final long size;
+
+        /** Copie à effectuer. */
+        final CopyTask<T> task;
+
+        /** Tâche achevée à la fin de la copie. */
+        final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Job(long size, CopyTask<T> task) {
+            this.size = size;
+            this.task = task;
+        }
+
+        /**
+         * Effectue la copie, la libère de la limite puis achève sa tâche.
+         *
+         * @param handler gestionnaire effectuant la copie
+         * @param budget  limite dans laquelle la copie a été admise
+         */
+        void run(FileHandler handler, CopyBudget budget) {
+            T value = null;
+            Throwable failure = null;
+            try {
+                value = task.copy(handler, size);
+            } catch (IOException e) {
+                failure = new UncheckedIOException(e);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            } finally {
+                budget.release(size);
+            }
+            if (failure == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package filesystem;
+
+/**
+ * Technique de copie employée par {@link LocalFileHandler}.
+ *
+ * @see CopyResult
+ * @since JDK 17
+ */
+public enum CopyStrategy {
+    /**
+     * Transfert délégué au noyau par {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+     * ({@code copy_file_range} ou {@code sendfile} sous Linux), sans passer par la mémoire de la JVM.
+     */
+    TRANSFER,
+
+    /** Lecture et écriture par tampons directs réutilisés, lorsque le transfert n’est pas possible. */
+    BUFFERED,
+
+    /**
+     * Découpage d’un gros fichier en plages copiées simultanément, par lectures et écritures positionnelles
+     * dans une destination préallouée.
+     */
+    CHUNKED
+}
@@ -0,0 +1,30 @@
+package filesystem;
+
+import java.io.IOException;
+
+/**
+ * Copie confiée à un {@link AsyncCopier}, exécutée par un de ses threads d’entrée-sortie.
+ *
+ * <p>
+ * Permet à un copieur de proposer, sur le même chemin d’admission, une copie simple
+ * ({@link AsyncCopier#submit(java.nio.file.Path, java.nio.file.Path)}) et une copie calculant
+ * l’empreinte du contenu ({@link AsyncCopier#submitWithFingerprint(java.nio.file.Path, java.nio.file.Path)}).
+ *
+ * @param <T> résultat de la copie
+ * @see AsyncCopyExecutor
+ * @see CopyScheduler
+ * @since JDK 17
+ */
+@FunctionalInterface
+interface CopyTask<T> {
+
+    /**
+     * Effectue la copie.
+     *
+     * @param handler gestionnaire effectuant la copie
+     * @param size    taille de la source lors de la soumission
+     * @return résultat de la copie
+     * @throws IOException si la copie échoue
+     */
+    T copy(FileHandler handler, long size) throws IOException;
+}
@@ -0,0 +1,660 @@
+package filesystem;
+
+import model.FileSystemExplorer;
+import model.Fingerprint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Gestionnaire de fichiers effectuant des copies <strong>différentielles</strong>, à la manière de rsync.
+ *
+ * <p>
+ * Lorsque la destination existe déjà et que la source dépasse un seuil de taille, seuls les blocs modifiés
+ * sont écrits : la destination est découpée en blocs de taille fixe dont on calcule une somme de contrôle
+ * faible (glissante) et une empreinte forte (MD5) ; la source est ensuite parcourue avec une fenêtre
+ * glissante, mise à jour en temps constant à chaque octet, pour retrouver ces blocs à n’importe quel
+ * décalage. Les plages sans correspondance sont copiées depuis la source.
+ * </p>
+ *
+ * <p>
+ * Deux modes d’écriture sont proposés :
+ * </p>
+ * <ul>
+ *     <li>par fichier temporaire (par défaut) : le nouveau contenu est assemblé dans un fichier voisin
+ *         ({@code <nom>.<aléa>.delta.tmp}) à partir des blocs repris de l’ancienne destination et des plages
+ *         copiées de la source, puis confié au gestionnaire décoré ({@link FileHandler#replace(Path, Path)}),
+ *         qui le renomme sur la destination en appliquant sa politique de synchronisation sur disque ;
+ *         la destination n’est jamais dans un état intermédiaire ;</li>
+ *     <li>sur place : seules les plages modifiées sont réécrites dans la destination, puis celle-ci est
+ *         tronquée à la taille de la source. Un bloc retrouvé à un autre décalage est réécrit depuis la source,
+ *         dont le contenu est identique, afin de ne jamais lire une zone déjà écrasée.</li>
+ * </ul>
+ *
+ * <p>
+ * L’empreinte demandée par {@link #copyWithFingerprint(Path, Path)} est calculée pendant la recherche
+ * des blocs, qui lit déjà toute la source.
+ * </p>
+ *
+ * <p>
+ * Les autres copies (petits fichiers, destination absente) et les autres opérations sont déléguées
+ * au gestionnaire décoré. Un seau de limitation ({@link #paceCopies(TokenBucket)}) n’est accepté que si
+ * le gestionnaire décoré l’accepte aussi ; les plages écrites sont alors prélevées tranche par tranche.
+ * Les octets copiés et réutilisés sont cumulés et consultables à tout moment ;
+ * les méthodes peuvent être appelées par plusieurs threads de synchronisation.
+ *
+ * @see FileHandler
+ * @see DeltaResult
+ * @since JDK 17
+ */
+public class DeltaFileHandler implements FileHandler {
+    /** Taille à partir de laquelle un fichier est copié de façon différentielle, par défaut (64 Mio). */
+    public static final long DEFAULT_THRESHOLD = 64L * 1024 * 1024;
+
+    /** Taille des blocs comparés, par défaut (64 Kio). */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    /** Suffixe du fichier temporaire assemblé hors mode sur place. */
+    static final String TEMP_SUFFIX = FileSystemExplorer.DELTA_TEMP_SUFFIX;
+
+    /** Masque des deux moitiés (16 bits) de la somme de contrôle glissante. */
+    private static final int MASK = 0xFFFF;
+
+    /** Capacité de la fenêtre de lecture de la source, en nombre de blocs. */
+    private static final int WINDOW_BLOCKS = 16;
+
+    /** Gestionnaire utilisé pour les copies complètes et les autres opérations. */
+    private final FileHandler delegate;
+
+    /** Taille de source à partir de laquelle la copie est différentielle. */
+    private final long threshold;
+
+    /** Taille des blocs comparés. */
+    private final int blockSize;
+
+    /** Indique si la destination est modifiée sur place plutôt que remplacée. */
+    private final boolean inPlace;
+
+    /** Octets copiés depuis la source par les copies différentielles. */
+    private final AtomicLong copiedBytes = new AtomicLong();
+
+    /** Octets repris des destinations par les copies différentielles. */
+    private final AtomicLong reusedBytes = new AtomicLong();
+
+    /** Nombre de copies différentielles effectuées. */
+    private final AtomicLong deltaCopies = new AtomicLong();
+
+    /** Seau limitant les octets écrits, ou {@code null} si les copies ne sont pas limitées. */
+    private volatile TokenBucket pacer;
+
+    /**
+     * Construit un gestionnaire différentiel avec le seuil et la taille de bloc par défaut,
+     * écrivant par fichier temporaire.
+     *
+     * @param delegate gestionnaire décoré
+     */
+    public DeltaFileHandler(FileHandler delegate) {
+        this(delegate, DEFAULT_THRESHOLD, DEFAULT_BLOCK_SIZE, false);
+    }
+
+    /**
+     * Construit un gestionnaire différentiel.
+     *
+     * @param delegate  gestionnaire décoré
+     * @param threshold taille de source (en octets) à partir de laquelle la copie est différentielle
+     * @param blockSize taille des blocs comparés (en octets)
+     * @param inPlace   {@code true} pour réécrire la destination sur place
+     * @throws IllegalArgumentException si le seuil ou la taille de bloc n’est pas strictement positif
+     */
+    public DeltaFileHandler(FileHandler delegate, long threshold, int blockSize, boolean inPlace) {
+        if (threshold < 1 || blockSize < 1) {
+            throw new IllegalArgumentException("Seuil ou taille de bloc invalide : " + threshold + ", " + blockSize);
+        }
+        this.delegate = delegate;
+        this.threshold = threshold;
+        this.blockSize = blockSize;
+        this.inPlace = inPlace;
+    }
+
+    @Override
+    public void copy(Path source, Path destination) throws IOException {
+        if (Files.isRegularFile(destination) && Files.size(source) >= threshold) {
+            copyDelta(source, destination);
+        } else {
+            delegate.copy(source, destination);
+        }
+    }
+
+    @Override
+    public Fingerprint copyWithFingerprint(Path source, Path destination) throws IOException {
+        if (Files.isRegularFile(destination) && Files.size(source) >= threshold) {
+            CRC32C crc = new CRC32C();
+            DeltaResult result = copyDelta(source, destination, crc);
+            return new Fingerprint(result.copiedBytes() + result.reusedBytes(), (int) crc.getValue());
+        }
+        return delegate.copyWithFingerprint(source, destination);
+    }
+
+    @Override
+    public boolean paceCopies(TokenBucket bytes) {
+        if (!delegate.paceCopies(bytes)) {
+            return false;
+        }
+        this.pacer = bytes;
+        return true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    @Override
+    public void delete(Path path) throws IOException {
+        delegate.delete(path);
+    }
+
+    @Override
+    public void move(Path source, Path destination) throws IOException {
+        delegate.move(source, destination);
+    }
+
+    @Override
+    public void replace(Path temp, Path destination) throws IOException {
+        delegate.replace(temp, destination);
+    }
+
+    @Override
+    public void setLastModified(Path path, long time) throws IOException {
+        delegate.setLastModified(path, time);
+    }
+
+    @Override
+    public long getLastModified(Path path) throws IOException {
+        return delegate.getLastModified(path);
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        return delegate.exists(path);
+    }
+
+    /**
+     * Copie un fichier sur une destination existante en n’écrivant que les blocs modifiés,
+     * quelle que soit sa taille. La date de modification de la source est reportée sur la destination.
+     *
+     * @param source fichier source
+     * @param target destination existante, remplacée par le contenu de la source
+     * @return bilan de la copie
+     * @throws IOException si un des fichiers ne peut pas être lu ou écrit
+     */
+    public DeltaResult copyDelta(Path source, Path target) throws IOException {
+        return copyDelta(source, target, null);
+    }
+
+    /**
+     * Copie un fichier de façon différentielle, en calculant si besoin la somme CRC32C de la source.
+     *
+     * @param source fichier source
+     * @param target destination existante, remplacée par le contenu de la source
+     * @param crc    somme de contrôle mise à jour avec le contenu de la source, ou {@code null}
+     * @return bilan de la copie
+     * @throws IOException si un des fichiers ne peut pas être lu ou écrit
+     */
+    private DeltaResult copyDelta(Path source, Path target, CRC32C crc) throws IOException {
+        FileTime lastModified = Files.getLastModifiedTime(source);
+        long size = Files.size(source);
+        Signatures signatures = Signatures.of(target, blockSize);
+        List<Segment> segments = match(source, size, signatures, crc);
+
+        DeltaResult result;
+        if (inPlace) {
+            result = applyInPlace(source, target, size, segments);
+            Files.setLastModifiedTime(target, lastModified);
+        } else {
+            result = applyToTemp(source, target, segments, lastModified);
+        }
+        copiedBytes.addAndGet(result.copiedBytes());
+        reusedBytes.addAndGet(result.reusedBytes());
+        deltaCopies.incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Retourne le total des octets copiés depuis les sources par les copies différentielles.
+     *
+     * @return octets copiés
+     */
+    public long getCopiedBytes() {
+        return copiedBytes.get();
+    }
+
+    /**
+     * Retourne le total des octets repris des destinations par les copies différentielles.
+     *
+     * @return octets réutilisés
+     */
+    public long getReusedBytes() {
+        return reusedBytes.get();
+    }
+
+    /**
+     * Retourne le nombre de copies différentielles effectuées.
+     *
+     * @return nombre de copies
+     */
+    public long getDeltaCopies() {
+        return deltaCopies.get();
+    }
+
+    /**
+     * Découpe la source en plages reprises de la destination et en plages à copier.
+     *
+     * @param source     fichier source
+     * @param size       taille de la source
+     * @param signatures signatures des blocs de la destination
+     * @param crc        somme de contrôle mise à jour avec tout le contenu de la source, ou {@code null}
+     * @return plages successives couvrant toute la source
+     * @throws IOException si la source ne peut pas être lue
+     */
+    private List<Segment> match(Path source, long size, Signatures signatures, CRC32C crc) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        if (signatures.isEmpty()) {
+            if (crc != null) {
+                // aucun bloc à rechercher : la source n’est lue que pour son empreinte
+                try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+                    ByteBuffer buffer = ByteBuffer.allocate(blockSize);
+                    while (channel.read(buffer) != -1) {
+                        buffer.flip();
+                        crc.update(buffer);
+                        buffer.clear();
+                    }
+                }
+            }
+            addLiteral(segments, 0, size);
+            return segments;
+        }
+
+        MessageDigest digest = newDigest();
+        int length = blockSize;
+        long position = 0;
+        long literalStart = 0;
+        boolean rolling = false;
+        int a = 0;
+        int b = 0;
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            Window window = new Window(channel, Math.max(length * WINDOW_BLOCKS, length + 1), crc);
+            while (window.fill(position, length)) {
+                byte[] data = window.data;
+                int index = window.index(position);
+                if (!rolling) {
+                    a = 0;
+                    b = 0;
+                    for (int i = 0; i < length; i++) {
+                        int x = data[index + i] & 0xFF;
+                        a = (a + x) & MASK;
+                        b = (b + (length - i) * x) & MASK;
+                    }
+                    rolling = true;
+                }
+
+                int block = signatures.find(a | (b << 16), data, index, position, digest);
+                if (block >= 0) {
+                    addLiteral(segments, literalStart, position - literalStart);
+                    addReference(segments, position, (long) block * length, length);
+                    position += length;
+                    literalStart = position;
+                    rolling = false;
+                    continue;
+                }
+
+                // glissement d’un octet : retrait de l’octet sortant, ajout de l’octet entrant
+                if (!window.fill(position, length + 1)) {
+                    break;
+                }
+                data = window.data;
+                index = window.index(position);
+                int out = data[index] & 0xFF;
+                int in = data[index + length] & 0xFF;
+                a = (a - out + in) & MASK;
+                b = (b - length * out + a) & MASK;
+                position++;
+            }
+        }
+        addLiteral(segments, literalStart, size - literalStart);
+        return segments;
+    }
+
+    /**
+     * Assemble le nouveau contenu dans un fichier temporaire daté comme la source, puis le confie
+     * au gestionnaire décoré, qui le renomme sur la destination selon sa politique de synchronisation.
+     *
+     * @param source       fichier source
+     * @param target       destination
+     * @param segments     plages calculées par {@link #match(Path, long, Signatures, CRC32C)}
+     * @param lastModified date de modification de la source
+     * @return bilan de la copie
+     * @throws IOException si l’assemblage ou le renommage échoue
+     */
+    private DeltaResult applyToTemp(Path source, Path target, List<Segment> segments, FileTime lastModified)
+            throws IOException {
+        // nom aléatoire : un fichier assemblé peut attendre la validation d’un groupe
+        Path temp = target.resolveSibling(target.getFileName() + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong()) + TEMP_SUFFIX);
+        long copied = 0;
+        long reused = 0;
+        try {
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel old = FileChannel.open(target, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Segment segment : segments) {
+                    if (segment.isReference()) {
+                        transfer(old, segment.targetOffset, segment.length, out);
+                        reused += segment.length;
+                    } else {
+                        transfer(in, segment.offset, segment.length, out);
+                        copied += segment.length;
+                    }
+                }
+            }
+            Files.setLastModifiedTime(temp, lastModified);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        delegate.replace(temp, target);
+        return new DeltaResult(copied, reused);
+    }
+
+    /**
+     * Réécrit sur place les plages modifiées de la destination.
+     *
+     * @param source   fichier source
+     * @param target   destination
+     * @param size     taille de la source
+     * @param segments plages calculées par {@link #match(Path, long, Signatures, CRC32C)}
+     * @return bilan de la copie
+     * @throws IOException si l’écriture échoue
+     */
+    private DeltaResult applyInPlace(Path source, Path target, long size, List<Segment> segments)
+            throws IOException {
+        long copied = 0;
+        long reused = 0;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+            for (Segment segment : segments) {
+                if (segment.isReference() && segment.targetOffset == segment.offset) {
+                    reused += segment.length; // déjà en place
+                    continue;
+                }
+                out.position(segment.offset);
+                transfer(in, segment.offset, segment.length, out);
+                copied += segment.length;
+            }
+            out.truncate(size);
+        }
+        return new DeltaResult(copied, reused);
+    }
+
+    /**
+     * Transfère une plage d’un canal vers la position courante d’un autre, par tranches
+     * prélevées dans le seau de limitation lorsque son débit est non nul.
+     *
+     * @param from     canal lu
+     * @param position début de la plage
+     * @param count    longueur de la plage
+     * @param to       canal écrit
+     * @throws IOException si le fichier lu a raccourci pendant la copie
+     */
+    private void transfer(FileChannel from, long position, long count, FileChannel to) throws IOException {
+        TokenBucket bucket = pacer;
+        while (count > 0) {
+            boolean paced = bucket != null && bucket.getRate() > 0;
+            long slice = paced ? Math.min(LocalFileHandler.BUFFER_SIZE, count) : count;
+            long transferred = from.transferTo(position, slice, to);
+            if (transferred <= 0) {
+                throw new IOException("Fichier modifié pendant la copie différentielle");
+            }
+            position += transferred;
+            count -= transferred;
+            if (paced) {
+                bucket.pace(transferred);
+            }
+        }
+    }
+
+    /**
+     * Ajoute une plage à copier depuis la source, fusionnée avec la précédente si elle la prolonge.
+     */
+    private static void addLiteral(List<Segment> segments, long offset, long length) {
+        if (length <= 0) {
+            return;
+        }
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && !last.isReference()) {
+            last.length += length;
+        } else {
+            segments.add(new Segment(offset, length, -1));
+        }
+    }
+
+    /**
+     * Ajoute une plage reprise de la destination, fusionnée avec la précédente si elle la prolonge
+     * à la fois dans la source et dans la destination.
+     */
+    private static void addReference(List<Segment> segments, long offset, long targetOffset, long length) {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last != null && last.isReference() && last.offset + last.length == offset
+                && last.targetOffset + last.length == targetOffset) {
+            last.length += length;
+        } else {
+            segments.add(new Segment(offset, length, targetOffset));
+        }
+    }
+
+    /**
+     * Crée l’algorithme d’empreinte forte des blocs.
+     *
+     * @return instance MD5
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 indisponible", e); // garanti par la plateforme Java
+        }
+    }
+
+    /**
+     * Plage du nouveau contenu : copiée depuis la source ou reprise de l’ancienne destination.
+     */
+    private static final class Segment {
+        /** Début de la plage dans la source (et dans le nouveau contenu). */
+        final long offset;
+
+        /** Début de la plage dans l’ancienne destination, ou {@code -1} pour une plage copiée. */
+        final long targetOffset;
+
+        /** Longueur de la plage. */
+        long length;
+
+        Segment(long offset, long length, long targetOffset) {
+            this.offset = offset;
+            this.length = length;
+            this.targetOffset = targetOffset;
+        }
+
+        boolean isReference() {
+            return targetOffset >= 0;
+        }
+    }
+
+    /**
+     * Signatures des blocs complets d’un fichier : somme glissante → blocs, et empreinte forte de chaque bloc.
+     * Le dernier bloc incomplet n’a pas de signature ; il est recopié s’il est inchangé.
+     */
+    private static final class Signatures {
+        /** Blocs par somme de contrôle faible. */
+        private final Map<Integer, int[]> blocksByWeak = new HashMap<>();
+
+        /** Empreinte forte de chaque bloc, par numéro de bloc. */
+        private final List<byte[]> strong = new ArrayList<>();
+
+        /** Taille des blocs. */
+        private final int blockSize;
+
+        private Signatures(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        /**
+         * Calcule les signatures d’un fichier.
+         *
+         * @param file      fichier découpé en blocs
+         * @param blockSize taille des blocs
+         * @return signatures des blocs complets
+         * @throws IOException si le fichier ne peut pas être lu
+         */
+        static Signatures of(Path file, int blockSize) throws IOException {
+            Signatures signatures = new Signatures(blockSize);
+            MessageDigest digest = newDigest();
+            byte[] block = new byte[blockSize];
+            ByteBuffer buffer = ByteBuffer.wrap(block);
+
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (true) {
+                    buffer.clear();
+                    while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                        // lecture d’un bloc complet
+                    }
+                    if (buffer.hasRemaining()) {
+                        return signatures;
+                    }
+                    int a = 0;
+                    int b = 0;
+                    for (int i = 0; i < blockSize; i++) {
+                        int x = block[i] & 0xFF;
+                        a = (a + x) & MASK;
+                        b = (b + (blockSize - i) * x) & MASK;
+                    }
+                    int number = signatures.strong.size();
+                    signatures.strong.add(digest.digest(block));
+                    signatures.blocksByWeak.merge(a | (b << 16), new int[]{number}, (previous, added) -> {
+                        int[] merged = Arrays.copyOf(previous, previous.length + 1);
+                        merged[previous.length] = number;
+                        return merged;
+                    });
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return strong.isEmpty();
+        }
+
+        /**
+         * Cherche un bloc identique à la fenêtre courante de la source. Un bloc situé au même
+         * décalage est préféré, afin de favoriser la réutilisation sur place.
+         *
+         * @param weak     somme de contrôle faible de la fenêtre
+         * @param data     données de la fenêtre
+         * @param index    début de la fenêtre dans {@code data}
+         * @param position position de la fenêtre dans la source
+         * @param digest   algorithme d’empreinte forte
+         * @return numéro du bloc, ou {@code -1} s’il n’y en a pas
+         */
+        int find(int weak, byte[] data, int index, long position, MessageDigest digest) {
+            int[] candidates = blocksByWeak.get(weak);
+            if (candidates == null) {
+                return -1;
+            }
+            digest.update(data, index, blockSize);
+            byte[] hash = digest.digest();
+            int found = -1;
+            for (int candidate : candidates) {
+                if (Arrays.equals(strong.get(candidate), hash)) {
+                    if ((long) candidate * blockSize == position) {
+                        return candidate;
+                    }
+                    if (found < 0) {
+                        found = candidate;
+                    }
+                }
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Fenêtre de lecture séquentielle de la source, compactée au fil de l’avancement.
+     */
+    private static final class Window {
+        /** Canal de la source. */
+        private final FileChannel channel;
+
+        /** Données lues. */
+        final byte[] data;
+
+        /** Position dans la source du premier octet de {@link #data}. */
+        private long start;
+
+        /** Nombre d’octets valides dans {@link #data}. */
+        private int limit;
+
+        /** Indique si la fin de la source a été atteinte. */
+        private boolean eof;
+
+        /** Somme de contrôle des octets lus, ou {@code null}. */
+        private final CRC32C crc;
+
+        Window(FileChannel channel, int capacity, CRC32C crc) {
+            this.channel = channel;
+            this.data = new byte[capacity];
+            this.crc = crc;
+        }
+
+        /**
+         * Garantit la présence des octets {@code [position, position + count)}.
+         *
+         * @return {@code false} si la source est trop courte
+         */
+        boolean fill(long position, int count) throws IOException {
+            int offset = index(position);
+            if (offset + count <= limit) {
+                return true;
+            }
+            System.arraycopy(data, offset, data, 0, limit - offset);
+            limit -= offset;
+            start = position;
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (!eof && limit < data.length) {
+                buffer.limit(data.length).position(limit);
+                int read = channel.read(buffer);
+                if (read == -1) {
+                    eof = true;
+                } else {
+                    if (crc != null) {
+                        crc.update(data, limit, read);
+                    }
+                    limit += read;
+                }
+            }
+            return count <= limit;
+        }
+
+        int index(long position) {
+            return (int) (position - start);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package filesystem;
+
+/**
+ * Bilan d’une copie différentielle effectuée par {@link DeltaFileHandler}.
+ *
+ * <p>
+ * Les octets <em>copiés</em> sont ceux lus dans la source et écrits dans la destination ;
+ * les octets <em>réutilisés</em> sont ceux dont la destination disposait déjà.
+ *
+ * @see DeltaFileHandler
+ * @since JDK 17
+ */
+public final class DeltaResult {
+    /** Nombre d’octets copiés depuis la source. */
+    private final long copiedBytes;
+
+    /** Nombre d’octets repris de l’ancienne destination. */
+    private final long reusedBytes;
+
+    /**
+     * Construit un bilan de copie différentielle.
+     *
+     * @param copiedBytes octets copiés depuis la source
+     * @param reusedBytes octets repris de l’ancienne destination
+     */
+    public DeltaResult(long copiedBytes, long reusedBytes) {
+        this.copiedBytes = copiedBytes;
+        this.reusedBytes = reusedBytes;
+    }
+
+    /**
+     * Retourne le nombre d’octets copiés depuis la source.
+     *
+     * @return octets copiés
+     */
+    public long copiedBytes() {
+        return copiedBytes;
+    }
+
+    /**
+     * Retourne le nombre d’octets repris de l’ancienne destination.
+     *
+     * @return octets réutilisés
+     */
+    public long reusedBytes() {
+        return reusedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return copiedBytes + " octet(s) copié(s), " + reusedBytes + " réutilisé(s)";
+    }
+}
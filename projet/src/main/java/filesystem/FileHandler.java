@@ -1,7 +1,12 @@
 package filesystem;
 
+import model.Fingerprint;
+
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Interface du système de fichiers abstrait pour les opérations de synchronisation.
@@ -28,6 +33,26 @@ public interface FileHandler {
      */
     void copy(Path source, Path destination) throws IOException;
 
+    /**
+     * Copie un fichier et retourne l’empreinte du contenu copié.
+     *
+     * <p>
+     * Par défaut, l’empreinte est calculée par une lecture de la source précédant la copie ;
+     * un gestionnaire qui lit lui-même le contenu (voir {@link LocalFileHandler}) la calcule
+     * pendant la copie, sans seconde lecture.
+     * </p>
+     *
+     * @param source      le chemin source
+     * @param destination le chemin destination
+     * @return taille et somme CRC32C du contenu copié
+     * @throws IOException si une erreur survient
+     */
+    default Fingerprint copyWithFingerprint(Path source, Path destination) throws IOException {
+        Fingerprint fingerprint = Fingerprint.of(source);
+        copy(source, destination);
+        return fingerprint;
+    }
+
     /**
      * Supprime un fichier.
      *
@@ -36,6 +61,47 @@ public interface FileHandler {
      */
     void delete(Path path) throws IOException;
 
+    /**
+     * Déplace un fichier ou un dossier, sans copie, en créant si nécessaire les dossiers parents
+     * de la destination.
+     *
+     * @param source      le chemin déplacé
+     * @param destination le nouveau chemin, qui ne doit pas exister
+     * @throws IOException si une erreur survient
+     */
+    void move(Path source, Path destination) throws IOException;
+
+    /**
+     * Remplace une destination par un fichier complet écrit à côté d’elle (fichier temporaire).
+     *
+     * <p>
+     * Par défaut, le fichier est renommé atomiquement sur la destination ; un gestionnaire
+     * qui garantit la durabilité de ses copies (voir {@link AtomicFileHandler}) applique aussi
+     * sa politique de synchronisation. Utilisée par un décorateur qui assemble lui-même le contenu
+     * (voir {@link DeltaFileHandler}).
+     * </p>
+     *
+     * @param temp        fichier complet, dans le dossier de la destination
+     * @param destination destination remplacée
+     * @throws IOException si le renommage échoue
+     */
+    default void replace(Path temp, Path destination) throws IOException {
+        try {
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Modifie le temps de dernière modification.
+     *
+     * @param path le fichier concerné
+     * @param time timestamp en millisecondes
+     * @throws IOException si une erreur survient
+     */
+    void setLastModified(Path path, long time) throws IOException;
+
     /**
      * Renvoie le temps de dernière modification.
      *
@@ -52,4 +118,34 @@ public interface FileHandler {
      * @return true s’il existe
      */
     boolean exists(Path path);
+
+    /**
+     * Confie au gestionnaire la limitation du débit de ses copies, au fil des octets écrits.
+     *
+     * <p>
+     * Par défaut, le gestionnaire ne sait pas limiter ses copies et le décorateur qui le demande
+     * (voir {@link ThrottledFileHandler}) prélève la taille complète avant chaque copie ;
+     * un gestionnaire qui écrit lui-même le contenu (voir {@link LocalFileHandler}) prélève
+     * les octets tampon après tampon, ce qui étale réellement la copie dans le temps.
+     * </p>
+     *
+     * @param bytes seau limitant les octets écrits par seconde
+     * @return {@code true} si le gestionnaire prélève désormais lui-même les octets qu’il écrit
+     */
+    default boolean paceCopies(TokenBucket bytes) {
+        return false;
+    }
+
+    /**
+     * Rend visibles et durables les copies éventuellement en attente.
+     *
+     * <p>
+     * Les implémentations qui écrivent immédiatement n’ont rien à faire ; un gestionnaire qui
+     * regroupe les copies (voir {@link AtomicFileHandler}) les valide à cet appel.
+     * </p>
+     *
+     * @throws IOException si une copie en attente ne peut pas être validée
+     */
+    default void flush() throws IOException {
+    }
 }
\ No newline at end of file
@@ -10,6 +10,9 @@ package filesystem;
  *
  * @see FileHandler
  * @see LocalFileHandler
+ * @see DeltaFileHandler
+ * @see AtomicFileHandler
+ * @see ThrottledFileHandler
  * @since JDK 17
  */
 public class FileHandlerFactory {
@@ -25,4 +28,42 @@ public class FileHandlerFactory {
     public static FileHandler createLocalFileHandler() {
         return new LocalFileHandler();
     }
-}
\ No newline at end of file
+
+    /**
+     * Renvoie un {@link FileHandler} dont les copies sont écrites dans un fichier temporaire
+     * puis renommées atomiquement sur leur destination.
+     *
+     * @param delegate  gestionnaire effectuant les copies vers les fichiers temporaires
+     * @param policy    politique de synchronisation sur disque
+     * @param groupSize nombre de fichiers synchronisés ensemble avec {@link FsyncPolicy#GROUPED}
+     * @return un gestionnaire atomique décorant {@code delegate}
+     */
+    public static AtomicFileHandler createAtomicFileHandler(FileHandler delegate, FsyncPolicy policy, int groupSize) {
+        return new AtomicFileHandler(delegate, policy, groupSize);
+    }
+
+    /**
+     * Renvoie un {@link FileHandler} copiant de façon différentielle les fichiers
+     * d’au moins {@code threshold} octets déjà présents dans la destination.
+     *
+     * @param delegate  gestionnaire utilisé pour les autres copies et opérations
+     * @param threshold taille (en octets) à partir de laquelle la copie est différentielle
+     * @return un gestionnaire différentiel décorant {@code delegate}
+     */
+    public static DeltaFileHandler createDeltaFileHandler(FileHandler delegate, long threshold) {
+        return new DeltaFileHandler(delegate, threshold, DeltaFileHandler.DEFAULT_BLOCK_SIZE, false);
+    }
+
+    /**
+     * Renvoie un {@link FileHandler} limitant le débit des copies et le nombre d’opérations par seconde.
+     *
+     * @param delegate          gestionnaire effectuant les opérations
+     * @param maxBytesPerSecond débit maximal des copies en octets par seconde, 0 pour ne pas le limiter
+     * @param maxOpsPerSecond   nombre maximal d’opérations par seconde, 0 pour ne pas le limiter
+     * @return un gestionnaire limité décorant {@code delegate}
+     */
+    public static ThrottledFileHandler createThrottledFileHandler(FileHandler delegate, long maxBytesPerSecond,
+                                                                  long maxOpsPerSecond) {
+        return new ThrottledFileHandler(delegate, maxBytesPerSecond, maxOpsPerSecond);
+    }
+}
@@ -0,0 +1,21 @@
+package filesystem;
+
+/**
+ * Politique de synchronisation sur disque ({@code fsync}) des copies de {@link AtomicFileHandler}.
+ *
+ * @see AtomicFileHandler
+ * @since JDK 17
+ */
+public enum FsyncPolicy {
+    /** Aucune synchronisation : le système écrit les données quand il le souhaite. */
+    NONE,
+
+    /** Chaque fichier est synchronisé avant son renommage, puis son répertoire après. */
+    PER_FILE,
+
+    /**
+     * Les fichiers sont regroupés : les fichiers temporaires d’un groupe sont synchronisés ensemble,
+     * renommés, puis chaque répertoire concerné est synchronisé une seule fois.
+     */
+    GROUPED
+}
@@ -1,8 +1,22 @@
 package filesystem;
 
+import model.Fingerprint;
+
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
 import java.nio.file.attribute.FileTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
 
 /**
  * Implémentation locale de l’interface {@link FileHandler} utilisant l’API {@code java.nio.file}.
@@ -13,17 +27,225 @@ import java.nio.file.attribute.FileTime;
  * </p>
  *
  * <p>
+ * Les copies passent par des {@link FileChannel} : le contenu est d’abord transféré par
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}, que le noyau
+ * exécute sans recopie en mémoire utilisateur ({@code copy_file_range}/{@code sendfile} sous Linux).
+ * Si le transfert échoue ou n’avance plus, la copie se poursuit à la même position par des
+ * tampons directs, réutilisés d’une copie à l’autre. Les répertoires parents de la destination
+ * sont créés si nécessaire, et la date de modification de la source est reportée sur la destination
+ * à la fin de la copie : un fichier copié n’apparaît donc pas plus récent que sa source.
+ * </p>
+ *
+ * <p>
+ * Un gestionnaire peut en outre découper les fichiers d’au moins {@code chunkThreshold} octets
+ * en plages de {@code chunkSize} octets, copiées simultanément par un pool dédié : la destination
+ * est d’abord préallouée à la taille de la source, puis chaque plage est lue et écrite par des
+ * accès positionnels, indépendants d’un thread à l’autre. Un seul flux séquentiel ne limite
+ * alors plus la copie d’un très gros fichier sur un stockage capable de servir plusieurs requêtes.
+ * Ce pool est arrêté par {@link #close()}, une fois les copies terminées.
+ * </p>
+ *
+ * <p>
+ * Chaque copie produit un {@link CopyResult} (technique employée, volume, débit) ; les totaux
+ * par technique sont cumulés et peuvent être consultés pendant la synchronisation.
+ * </p>
+ *
+ * <p>
+ * {@link #copyWithFingerprint(Path, Path)} calcule la somme CRC32C des octets au fil de la copie.
+ * Le transfert par le noyau ne laissant pas lire le contenu, la copie passe alors par les tampons
+ * (ou par plages, dont les sommes sont combinées) : la source n’est lue qu’une fois, au lieu
+ * d’une lecture pour l’empreinte suivie d’une lecture pour la copie.
+ * </p>
+ *
+ * <p>
+ * Lorsqu’un seau lui est confié ({@link #paceCopies(TokenBucket)}), le gestionnaire prélève
+ * les octets au fil de chaque copie : tant que le seau a un débit non nul, le transfert par le noyau
+ * procède par tranches de {@value #BUFFER_SIZE} octets, et chaque tampon ou tranche attend ses jetons
+ * avant la suivante. Sans limite, le transfert reste un appel unique.
+ * </p>
+ *
+ * <p>
  * Elle constitue la première brique concrète de la couche d’abstraction fichier,
  * et peut être remplacée par des variantes distantes (ex : WebDAV) si besoin.
  *
  * @see FileHandler
+ * @see CopyStrategy
  * @since JDK 17
  */
-public class LocalFileHandler implements FileHandler {
+public class LocalFileHandler implements FileHandler, AutoCloseable {
+    /** Taille à partir de laquelle un fichier est copié par plages, par défaut (256 Mio). */
+    public static final long DEFAULT_CHUNK_THRESHOLD = 256L * 1024 * 1024;
+
+    /** Taille des plages, par défaut (32 Mio). */
+    public static final long DEFAULT_CHUNK_SIZE = 32L * 1024 * 1024;
+
+    /** Taille des tampons directs de copie. */
+    static final int BUFFER_SIZE = 1024 * 1024;
+
+    /** Nombre maximal de tampons conservés pour être réutilisés. */
+    private static final int POOL_CAPACITY = 16;
+
+    /** Tampons directs disponibles, partagés par toutes les instances. */
+    private static final BlockingQueue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(POOL_CAPACITY);
+
+    /** Numérotation des threads de copie par plages. */
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /** Technique essayée en premier. */
+    private final CopyStrategy preferred;
+
+    /** Taille à partir de laquelle un fichier est copié par plages ({@link Long#MAX_VALUE} : jamais). */
+    private final long chunkThreshold;
+
+    /** Taille des plages. */
+    private final long chunkSize;
+
+    /** Pool copiant les plages, ou {@code null} si les fichiers ne sont pas découpés. */
+    private final ExecutorService chunkPool;
+
+    /** Nombre de copies par technique employée. */
+    private final Map<CopyStrategy, AtomicLong> copies = new EnumMap<>(CopyStrategy.class);
+
+    /** Total des octets copiés. */
+    private final AtomicLong copiedBytes = new AtomicLong();
+
+    /** Durée cumulée des copies, en nanosecondes. */
+    private final AtomicLong copyNanos = new AtomicLong();
+
+    /** Seau limitant les octets écrits, ou {@code null} si les copies ne sont pas limitées. */
+    private volatile TokenBucket pacer;
+
+    /**
+     * Construit un gestionnaire local utilisant le transfert par le noyau lorsque c’est possible.
+     */
+    public LocalFileHandler() {
+        this(CopyStrategy.TRANSFER);
+    }
+
+    /**
+     * Construit un gestionnaire local avec une technique de copie préférée.
+     *
+     * @param preferred technique essayée en premier ({@link CopyStrategy#BUFFERED} pour ne jamais
+     *                  utiliser le transfert par le noyau)
+     */
+    public LocalFileHandler(CopyStrategy preferred) {
+        this.preferred = preferred;
+        this.chunkThreshold = Long.MAX_VALUE;
+        this.chunkSize = Long.MAX_VALUE;
+        this.chunkPool = null;
+        for (CopyStrategy strategy : CopyStrategy.values()) {
+            copies.put(strategy, new AtomicLong());
+        }
+    }
+
+    /**
+     * Construit un gestionnaire local découpant les gros fichiers en plages copiées simultanément.
+     *
+     * @param preferred      technique essayée en premier pour les autres fichiers
+     * @param chunkThreshold taille (en octets) à partir de laquelle un fichier est copié par plages
+     * @param chunkSize      taille des plages, en octets
+     * @param chunkThreads   nombre de threads copiant les plages
+     * @throws IllegalArgumentException si un réglage est invalide
+     */
+    public LocalFileHandler(CopyStrategy preferred, long chunkThreshold, long chunkSize, int chunkThreads) {
+        if (chunkThreshold < 1 || chunkSize < 1 || chunkThreads < 1) {
+            throw new IllegalArgumentException("Réglage de la copie par plages invalide : "
+                    + chunkThreshold + ", " + chunkSize + ", " + chunkThreads);
+        }
+        this.preferred = preferred;
+        this.chunkThreshold = chunkThreshold;
+        this.chunkSize = chunkSize;
+        this.chunkPool = Executors.newFixedThreadPool(chunkThreads, task -> {
+            Thread thread = new Thread(task, "chunk-copy-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (CopyStrategy strategy : CopyStrategy.values()) {
+            copies.put(strategy, new AtomicLong());
+        }
+    }
 
     @Override
     public void copy(Path source, Path destination) throws IOException {
-        Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+        copyFile(source, destination);
+    }
+
+    @Override
+    public Fingerprint copyWithFingerprint(Path source, Path destination) throws IOException {
+        return copyFile(source, destination, true).fingerprint();
+    }
+
+    /**
+     * Copie un fichier, en conservant sa date de modification, et retourne le bilan de la copie.
+     *
+     * @param source      le chemin source
+     * @param destination le chemin destination, remplacé s’il existe
+     * @return technique employée, volume et durée de la copie
+     * @throws IOException si une erreur survient
+     */
+    public CopyResult copyFile(Path source, Path destination) throws IOException {
+        return copyFile(source, destination, false);
+    }
+
+    /**
+     * Copie un fichier, en conservant sa date de modification, et calcule si besoin l’empreinte des octets copiés.
+     *
+     * @param source      le chemin source
+     * @param destination le chemin destination, remplacé s’il existe
+     * @param fingerprint {@code true} pour calculer l’empreinte pendant la copie
+     * @return bilan de la copie, avec l’empreinte si elle a été demandée
+     * @throws IOException si une erreur survient
+     */
+    private CopyResult copyFile(Path source, Path destination, boolean fingerprint) throws IOException {
+        long start = System.nanoTime();
+        FileTime lastModified = Files.getLastModifiedTime(source);
+        Path parent = destination.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        CopyStrategy used = preferred;
+        long position = 0;
+        int checksum = 0;
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(destination, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (chunkPool != null && in.size() >= chunkThreshold) {
+                used = CopyStrategy.CHUNKED;
+                List<long[]> checksums = fingerprint ? new ArrayList<>() : null;
+                position = chunked(in, out, checksums);
+                if (fingerprint) {
+                    for (long[] range : checksums) {
+                        checksum = Fingerprint.combine(checksum, (int) range[0], range[1]);
+                    }
+                }
+            } else {
+                // le transfert par le noyau ne laisse pas lire les octets : l’empreinte impose les tampons
+                if (preferred == CopyStrategy.TRANSFER && !fingerprint) {
+                    position = transfer(in, out);
+                }
+                if (position < in.size() || fingerprint) {
+                    used = CopyStrategy.BUFFERED;
+                    CRC32C crc = fingerprint ? new CRC32C() : null;
+                    position += buffered(in, out, position, crc);
+                    checksum = fingerprint ? (int) crc.getValue() : 0;
+                }
+            }
+        }
+        Files.setLastModifiedTime(destination, lastModified);
+
+        CopyResult result = new CopyResult(used, position, System.nanoTime() - start,
+                fingerprint ? new Fingerprint(position, checksum) : null);
+        copies.get(used).incrementAndGet();
+        copiedBytes.addAndGet(result.bytes());
+        copyNanos.addAndGet(result.nanos());
+        return result;
+    }
+
+    @Override
+    public boolean paceCopies(TokenBucket bytes) {
+        this.pacer = bytes;
+        return true;
     }
 
     @Override
@@ -31,6 +253,20 @@ public class LocalFileHandler implements FileHandler {
         Files.deleteIfExists(path);
     }
 
+    @Override
+    public void move(Path source, Path destination) throws IOException {
+        Path parent = destination.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.move(source, destination);
+    }
+
+    @Override
+    public void setLastModified(Path path, long time) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(time));
+    }
+
     @Override
     public long getLastModified(Path path) throws IOException {
         FileTime time = Files.getLastModifiedTime(path);
@@ -41,4 +277,237 @@ public class LocalFileHandler implements FileHandler {
     public boolean exists(Path path) {
         return Files.exists(path);
     }
-}
\ No newline at end of file
+
+    /**
+     * Arrête le pool de copie par plages, s’il existe ; les copies par plages suivantes échouent.
+     * Les plages en cours de copie sont achevées.
+     */
+    @Override
+    public void close() {
+        if (chunkPool != null) {
+            chunkPool.shutdown();
+        }
+    }
+
+    /**
+     * Retourne le nombre de copies effectuées avec une technique donnée.
+     *
+     * @param strategy technique de copie
+     * @return nombre de copies
+     */
+    public long getCopyCount(CopyStrategy strategy) {
+        return copies.get(strategy).get();
+    }
+
+    /**
+     * Retourne le total des octets copiés.
+     *
+     * @return octets copiés
+     */
+    public long getCopiedBytes() {
+        return copiedBytes.get();
+    }
+
+    /**
+     * Retourne le débit moyen des copies (durée cumulée, y compris lorsque plusieurs copies sont simultanées).
+     *
+     * @return débit en octets par seconde
+     */
+    public double getThroughput() {
+        return CopyResult.throughput(copiedBytes.get(), copyNanos.get());
+    }
+
+    /**
+     * Transfère le contenu par le noyau jusqu’à la taille courante de la source, en un seul appel
+     * si possible, ou par tranches lorsque le seau de limitation a un débit non nul. Le débit est
+     * relu à chaque tranche, afin qu’une limite modifiée en cours de copie s’applique.
+     *
+     * @param in  canal source
+     * @param out canal destination
+     * @return nombre d’octets transférés, inférieur à la taille de la source si le transfert n’a pas abouti
+     * @throws InterruptedIOException si l’attente de limitation est interrompue
+     */
+    private long transfer(FileChannel in, FileChannel out) throws InterruptedIOException {
+        long position = 0;
+        TokenBucket bucket = pacer;
+        try {
+            long size = in.size();
+            while (position < size) {
+                boolean paced = bucket != null && bucket.getRate() > 0;
+                long count = paced ? Math.min(BUFFER_SIZE, size - position) : size - position;
+                long transferred = in.transferTo(position, count, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                if (paced) {
+                    bucket.pace(transferred);
+                }
+            }
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException e) {
+            // transfert non pris en charge par ce système de fichiers : repli sur les tampons
+        }
+        return position;
+    }
+
+    /**
+     * Copie le contenu par plages simultanées, dans une destination préallouée.
+     *
+     * @param in        canal source
+     * @param out       canal destination, vide
+     * @param checksums reçoit, dans l’ordre des plages, leur somme CRC32C et leur longueur ;
+     *                  {@code null} si l’empreinte n’est pas demandée
+     * @return nombre d’octets copiés
+     * @throws IOException si une plage ne peut pas être copiée
+     */
+    private long chunked(FileChannel in, FileChannel out, List<long[]> checksums) throws IOException {
+        long size = in.size();
+        if (size > 0) {
+            out.write(ByteBuffer.wrap(new byte[1]), size - 1); // préallocation à la taille finale
+        }
+
+        List<Future<Long>> ranges = new ArrayList<>();
+        List<CRC32C> crcs = new ArrayList<>();
+        try {
+            for (long start = 0; start < size; start += chunkSize) {
+                long begin = start;
+                long end = Math.min(size, start + chunkSize);
+                CRC32C crc = checksums != null ? new CRC32C() : null;
+                crcs.add(crc);
+                ranges.add(chunkPool.submit(() -> copyRange(in, out, begin, end, crc)));
+            }
+        } catch (RejectedExecutionException e) {
+            ranges.forEach(range -> range.cancel(true));
+            throw new IOException("Copie par plages impossible : pool arrêté", e);
+        }
+
+        long copied = 0;
+        IOException failure = null;
+        for (Future<Long> range : ranges) {
+            try {
+                copied += range.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ranges.forEach(pending -> pending.cancel(true));
+                throw new InterruptedIOException("Copie par plages interrompue");
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        if (checksums != null) {
+            for (int i = 0; i < crcs.size(); i++) {
+                checksums.add(new long[]{crcs.get(i).getValue(), Math.min(chunkSize, size - i * chunkSize)});
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Copie une plage par lectures et écritures positionnelles, indépendantes de la position des canaux.
+     *
+     * @param in    canal source
+     * @param out   canal destination
+     * @param start début de la plage (inclus)
+     * @param end   fin de la plage (exclue)
+     * @param crc   somme de contrôle mise à jour avec les octets copiés, ou {@code null}
+     * @return nombre d’octets copiés
+     * @throws IOException si la lecture ou l’écriture échoue
+     */
+    private long copyRange(FileChannel in, FileChannel out, long start, long end, CRC32C crc)
+            throws IOException {
+        TokenBucket bucket = pacer;
+        ByteBuffer buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        long position = start;
+        try {
+            while (position < end) {
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                if (in.read(buffer, position) == -1) {
+                    throw new EOFException("Source raccourcie pendant la copie");
+                }
+                buffer.flip();
+                update(crc, buffer);
+                int length = buffer.remaining();
+                while (buffer.hasRemaining()) {
+                    position += out.write(buffer, position);
+                }
+                buffer.clear();
+                pace(bucket, length);
+            }
+        } finally {
+            buffer.clear();
+            BUFFER_POOL.offer(buffer);
+        }
+        return position - start;
+    }
+
+    /**
+     * Copie le contenu restant par un tampon direct du pool.
+     *
+     * @param in       canal source
+     * @param out      canal destination, positionné à {@code position}
+     * @param position position de reprise dans la source
+     * @param crc      somme de contrôle mise à jour avec les octets copiés, ou {@code null}
+     * @return nombre d’octets copiés
+     * @throws IOException si la lecture ou l’écriture échoue
+     */
+    private long buffered(FileChannel in, FileChannel out, long position, CRC32C crc) throws IOException {
+        TokenBucket bucket = pacer;
+        ByteBuffer buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        long copied = 0;
+        try {
+            out.position(position);
+            while (in.read(buffer, position + copied) != -1) {
+                buffer.flip();
+                update(crc, buffer);
+                int length = buffer.remaining();
+                while (buffer.hasRemaining()) {
+                    copied += out.write(buffer);
+                }
+                buffer.clear();
+                pace(bucket, length);
+            }
+        } finally {
+            buffer.clear();
+            BUFFER_POOL.offer(buffer); // ignoré si le pool est plein
+        }
+        return copied;
+    }
+
+    /**
+     * Ajoute le contenu d’un tampon à une somme de contrôle, sans consommer le tampon.
+     *
+     * @param crc    somme de contrôle, ou {@code null}
+     * @param buffer tampon prêt à être écrit
+     */
+    private static void update(CRC32C crc, ByteBuffer buffer) {
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        }
+    }
+
+    /**
+     * Prélève dans le seau de limitation les octets qui viennent d’être écrits, si son débit est limité.
+     *
+     * @param bucket seau de limitation, ou {@code null}
+     * @param length octets écrits
+     * @throws InterruptedIOException si l’attente est interrompue
+     */
+    private static void pace(TokenBucket bucket, long length) throws InterruptedIOException {
+        if (bucket != null && bucket.getRate() > 0) {
+            bucket.pace(length);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package filesystem;
+
+import model.Fingerprint;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Gestionnaire de fichiers limitant le débit et le nombre d’opérations de la synchronisation.
+ *
+ * <p>
+ * Deux {@link TokenBucket} encadrent le gestionnaire décoré : chaque copie, suppression, déplacement
+ * ou changement de date consomme une opération, et chaque copie consomme en outre les octets qu’elle écrit.
+ * Lorsque le seau est vide, l’appelant attend : une rafale de copies ne sature plus le disque
+ * partagé avec d’autres services.
+ * </p>
+ *
+ * <p>
+ * Le seau des octets est confié à la chaîne décorée ({@link FileHandler#paceCopies(TokenBucket)}) :
+ * lorsqu’elle l’accepte, les octets sont prélevés tampon après tampon pendant la copie, qui est
+ * ainsi réellement étalée au débit demandé, et une copie différentielle ne compte que les plages
+ * qu’elle écrit. Sinon, la taille complète de la source est prélevée avant la copie.
+ * </p>
+ *
+ * <p>
+ * Les limites peuvent être modifiées pendant la synchronisation ({@link #setLimits(long, long)}),
+ * et le temps passé à attendre est cumulé ({@link #getThrottledNanos()}). Une limite nulle désactive
+ * la limitation correspondante.
+ *
+ * @see TokenBucket
+ * @see model.Profile#getMaxBytesPerSecond()
+ * @since JDK 17
+ */
+public class ThrottledFileHandler implements FileHandler {
+    /** Gestionnaire effectuant les opérations. */
+    private final FileHandler delegate;
+
+    /** Seau limitant les octets copiés par seconde. */
+    private final TokenBucket bytes;
+
+    /** Seau limitant les opérations par seconde. */
+    private final TokenBucket ops;
+
+    /** Indique si la chaîne décorée prélève elle-même les octets au fil des copies. */
+    private final boolean pacedByDelegate;
+
+    /**
+     * Construit un gestionnaire limité.
+     *
+     * @param delegate          gestionnaire effectuant les opérations
+     * @param maxBytesPerSecond débit maximal des copies en octets par seconde, 0 pour ne pas le limiter
+     * @param maxOpsPerSecond   nombre maximal d’opérations par seconde, 0 pour ne pas le limiter
+     * @throws IllegalArgumentException si une limite est négative
+     */
+    public ThrottledFileHandler(FileHandler delegate, long maxBytesPerSecond, long maxOpsPerSecond) {
+        this.delegate = delegate;
+        this.bytes = new TokenBucket(maxBytesPerSecond);
+        this.ops = new TokenBucket(maxOpsPerSecond);
+        this.pacedByDelegate = delegate.paceCopies(bytes);
+    }
+
+    @Override
+    public void copy(Path source, Path destination) throws IOException {
+        throttleCopy(source);
+        delegate.copy(source, destination);
+    }
+
+    @Override
+    public Fingerprint copyWithFingerprint(Path source, Path destination) throws IOException {
+        throttleCopy(source);
+        return delegate.copyWithFingerprint(source, destination);
+    }
+
+    @Override
+    public void delete(Path path) throws IOException {
+        ops.pace(1);
+        delegate.delete(path);
+    }
+
+    @Override
+    public void move(Path source, Path destination) throws IOException {
+        ops.pace(1);
+        delegate.move(source, destination);
+    }
+
+    @Override
+    public void replace(Path temp, Path destination) throws IOException {
+        delegate.replace(temp, destination);
+    }
+
+    @Override
+    public void setLastModified(Path path, long time) throws IOException {
+        ops.pace(1);
+        delegate.setLastModified(path, time);
+    }
+
+    @Override
+    public long getLastModified(Path path) throws IOException {
+        return delegate.getLastModified(path);
+    }
+
+    @Override
+    public boolean exists(Path path) {
+        return delegate.exists(path);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        delegate.flush();
+    }
+
+    /**
+     * Modifie les limites ; les opérations en attente conservent leur délai.
+     *
+     * @param maxBytesPerSecond débit maximal des copies en octets par seconde, 0 pour ne pas le limiter
+     * @param maxOpsPerSecond   nombre maximal d’opérations par seconde, 0 pour ne pas le limiter
+     * @throws IllegalArgumentException si une limite est négative
+     */
+    public void setLimits(long maxBytesPerSecond, long maxOpsPerSecond) {
+        if (bytes.getRate() != maxBytesPerSecond) {
+            bytes.setRate(maxBytesPerSecond);
+        }
+        if (ops.getRate() != maxOpsPerSecond) {
+            ops.setRate(maxOpsPerSecond);
+        }
+    }
+
+    /**
+     * Retourne le débit maximal des copies.
+     *
+     * @return octets par seconde, 0 si le débit n’est pas limité
+     */
+    public long getMaxBytesPerSecond() {
+        return bytes.getRate();
+    }
+
+    /**
+     * Retourne le nombre maximal d’opérations par seconde.
+     *
+     * @return opérations par seconde, 0 si elles ne sont pas limitées
+     */
+    public long getMaxOpsPerSecond() {
+        return ops.getRate();
+    }
+
+    /**
+     * Retourne le temps cumulé passé à attendre, tous threads confondus.
+     *
+     * @return durée en nanosecondes
+     */
+    public long getThrottledNanos() {
+        return bytes.getWaitedNanos() + ops.getWaitedNanos();
+    }
+
+    /**
+     * Prélève l’opération d’une copie, ainsi que ses octets si la chaîne décorée ne les prélève pas elle-même.
+     *
+     * @param source fichier copié
+     * @throws IOException si la taille de la source ne peut pas être lue
+     * @throws InterruptedIOException si l’attente est interrompue
+     */
+    private void throttleCopy(Path source) throws IOException {
+        ops.pace(1);
+        if (!pacedByDelegate) {
+            bytes.pace(Files.exists(source) ? Files.size(source) : 0);
+        }
+    }
+}
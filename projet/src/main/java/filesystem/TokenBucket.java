@@ -0,0 +1,146 @@
+package filesystem;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Seau à jetons limitant un débit (octets, opérations...) par seconde.
+ *
+ * <p>
+ * Le seau se remplit au rythme de {@code rate} jetons par seconde, dans la limite d’une seconde
+ * de débit. Une demande réserve ses jetons immédiatement, quitte à endetter le seau, puis attend
+ * que la dette soit résorbée : les demandes sont servies dans l’ordre d’arrivée et une demande
+ * plus grosse que le seau (un gros fichier) est simplement étalée dans le temps.
+ * </p>
+ *
+ * <p>
+ * Le débit peut être modifié à tout moment, sans remplir le seau : les jetons disponibles
+ * sont conservés, dans la limite du nouveau débit. Un débit nul désactive la limitation.
+ * Le temps d’attente de toutes les demandes est cumulé ({@link #getWaitedNanos()}).
+ *
+ * @see ThrottledFileHandler
+ * @since JDK 17
+ */
+public final class TokenBucket {
+    /** Nombre de nanosecondes par seconde. */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** Débit en jetons par seconde (0 : illimité). */
+    private long rate;
+
+    /** Jetons disponibles ; négatif lorsque des demandes sont en attente. */
+    private double tokens;
+
+    /** Instant du dernier remplissage, en nanosecondes. */
+    private long refilledAt;
+
+    /** Temps cumulé passé à attendre, en nanosecondes. */
+    private final AtomicLong waitedNanos = new AtomicLong();
+
+    /**
+     * Construit un seau à jetons, initialement plein.
+     *
+     * @param rate débit en jetons par seconde, 0 pour ne pas limiter
+     * @throws IllegalArgumentException si le débit est négatif
+     */
+    public TokenBucket(long rate) {
+        setRate(rate);
+    }
+
+    /**
+     * Modifie le débit. Les demandes déjà en attente conservent leur délai, et les jetons disponibles
+     * sont conservés dans la limite du nouveau débit ; un seau jusque-là illimité démarre plein.
+     *
+     * @param rate débit en jetons par seconde, 0 pour ne pas limiter
+     * @throws IllegalArgumentException si le débit est négatif
+     */
+    public synchronized void setRate(long rate) {
+        if (rate < 0) {
+            throw new IllegalArgumentException("Débit invalide : " + rate);
+        }
+        long now = System.nanoTime();
+        if (this.rate == 0) {
+            tokens = rate;
+        } else {
+            tokens = Math.min(rate, refill(now));
+        }
+        this.rate = rate;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Retourne le débit.
+     *
+     * @return jetons par seconde, 0 si le débit n’est pas limité
+     */
+    public synchronized long getRate() {
+        return rate;
+    }
+
+    /**
+     * Prélève des jetons, en attendant si nécessaire.
+     *
+     * @param amount nombre de jetons
+     * @return durée d’attente, en nanosecondes
+     * @throws InterruptedException si l’attente est interrompue
+     */
+    public long acquire(long amount) throws InterruptedException {
+        long wait = reserve(amount);
+        if (wait > 0) {
+            waitedNanos.addAndGet(wait);
+            Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+        }
+        return wait;
+    }
+
+    /**
+     * Prélève des jetons au fil d’une entrée-sortie, en attendant si nécessaire.
+     *
+     * @param amount nombre de jetons
+     * @throws InterruptedIOException si l’attente est interrompue
+     */
+    public void pace(long amount) throws InterruptedIOException {
+        try {
+            acquire(amount);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Attente de limitation interrompue");
+        }
+    }
+
+    /**
+     * Retourne le temps cumulé passé à attendre, tous threads confondus.
+     *
+     * @return durée en nanosecondes
+     */
+    public long getWaitedNanos() {
+        return waitedNanos.get();
+    }
+
+    /**
+     * Réserve des jetons et calcule l’attente nécessaire.
+     *
+     * @param amount nombre de jetons
+     * @return attente nécessaire, en nanosecondes
+     */
+    synchronized long reserve(long amount) {
+        if (rate == 0 || amount <= 0) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(rate, refill(now));
+        refilledAt = now;
+        tokens -= amount;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * NANOS_PER_SECOND / rate);
+    }
+
+    /**
+     * Calcule les jetons disponibles à un instant donné, au débit courant et sans plafond.
+     *
+     * @param now instant, en nanosecondes
+     * @return jetons disponibles
+     */
+    private double refill(long now) {
+        return tokens + (double) (now - refilledAt) * rate / NANOS_PER_SECOND;
+    }
+}
@@ -26,7 +26,24 @@
  * <h2>Composants</h2>
  * <ul>
  *     <li>{@link filesystem.FileHandler} : interface générique pour toutes les implémentations.</li>
- *     <li>{@link filesystem.LocalFileHandler} : implémentation locale utilisant {@code java.nio.file}.</li>
+ *     <li>{@link filesystem.LocalFileHandler} : implémentation locale utilisant {@code java.nio.file} ;
+ *         ses copies passent par {@code FileChannel.transferTo}, avec repli sur des tampons directs réutilisés,
+ *         et conservent la date de modification de la source.</li>
+ *     <li>{@link filesystem.CopyStrategy} et {@link filesystem.CopyResult} : technique employée et bilan
+ *         (volume, débit) de chaque copie.</li>
+ *     <li>{@link filesystem.AtomicFileHandler} : décorateur écrivant chaque copie dans un fichier temporaire
+ *         renommé atomiquement, avec une politique de synchronisation sur disque ({@link filesystem.FsyncPolicy}) :
+ *         aucune, par fichier ou par groupe de fichiers.</li>
+ *     <li>{@link filesystem.DeltaFileHandler} : décorateur copiant les gros fichiers de façon différentielle
+ *         (signatures de blocs et somme de contrôle glissante).</li>
+ *     <li>{@link filesystem.DeltaResult} : bilan d’une copie différentielle (octets copiés et réutilisés).</li>
+ *     <li>{@link filesystem.AsyncCopyExecutor} : exécuteur asynchrone des copies, borné en nombre de fichiers
+ *         et en octets en cours de copie, dont les tâches permettent de mettre à jour le registre.</li>
+ *     <li>{@link filesystem.AsyncCopier} : copieur asynchrone ; {@link filesystem.CopyScheduler} en est une variante
+ *         qui copie les petits fichiers par lots. {@link filesystem.LocalFileHandler} peut de son côté copier
+ *         les gros fichiers par plages simultanées ({@link filesystem.CopyStrategy#CHUNKED}).</li>
+ *     <li>{@link filesystem.ThrottledFileHandler} et {@link filesystem.TokenBucket} : décorateur limitant
+ *         le débit des copies et le nombre d’opérations par seconde, avec des limites modifiables en cours d’exécution.</li>
  *     <li>{@link filesystem.FileHandlerFactory} : fabrique statique permettant l’instanciation centralisée.</li>
  * </ul>
  *
@@ -4,7 +4,9 @@ import java.io.*;
 import java.nio.file.*;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import factory.persistence.*;
 import model.Registry;
@@ -26,6 +28,25 @@ import model.Registry;
  * <p>
  * Les registres sont stockés dans le dossier {@code registries/} avec le nom
  * {@code registry_<profile>.xml} (ou un autre format selon la stratégie).
+ * </p>
+ *
+ * <p>
+ * Pendant une synchronisation, les maillons appellent {@link #checkpoint(Registry)} après chaque
+ * modification du registre : il n’est réécrit que toutes les {@code N} modifications ou toutes les
+ * {@code T} millisecondes (voir {@link #setCheckpointPolicy(int, long)}). L’application effectue une
+ * sauvegarde finale et {@link #saveOnShutdown(Registry)} couvre l’arrêt par signal (Ctrl+C).
+ * </p>
+ *
+ * <p>
+ * <strong>Garanties en cas d’arrêt brutal.</strong> Les stratégies fournies n’exposent jamais un
+ * registre partiellement écrit : {@link XmlPersistenceStrategy} écrit un fichier temporaire puis le
+ * renomme atomiquement, {@link JournalRegistryStrategy} ajoute les modifications à un journal
+ * dont un enregistrement incomplet est ignoré au chargement. Le registre reste donc dans l’état d’un
+ * point de contrôle. Seules les modifications postérieures au dernier point de contrôle
+ * (au plus {@code N - 1} modifications, ou {@code T} millisecondes d’activité) peuvent être perdues ;
+ * la synchronisation suivante les retrouve sans perte de données : un fichier copié mais non
+ * enregistré est réenregistré (copie identique), et l’entrée d’un fichier supprimé des deux côtés
+ * reste simplement inutilisée.
  *
  * @see Registry
  * @see PersistenceStrategy
@@ -41,9 +62,24 @@ public class RegistryManager {
     /** Dossier où sont stockés les registres. */
     private static final String REGISTRY_DIRECTORY = "registries";
 
+    /** Nombre de modifications déclenchant un point de contrôle, par défaut. */
+    public static final int DEFAULT_CHECKPOINT_MUTATIONS = 1000;
+
+    /** Délai (en millis) au-delà duquel une modification déclenche un point de contrôle, par défaut. */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL_MS = 5_000L;
+
     /** Stratégie de persistance utilisée pour les registres. */
     private final PersistenceStrategy<Registry> strategy;
 
+    /** Nombre de modifications non sauvegardées déclenchant un point de contrôle. */
+    private volatile int checkpointMutations = DEFAULT_CHECKPOINT_MUTATIONS;
+
+    /** Délai depuis la dernière sauvegarde déclenchant un point de contrôle (en millis). */
+    private volatile long checkpointIntervalMs = DEFAULT_CHECKPOINT_INTERVAL_MS;
+
+    /** Opérations à terminer avant chaque sauvegarde (copies en attente de validation). */
+    private final List<Flushable> saveBarriers = new CopyOnWriteArrayList<>();
+
     /**
      * Constructeur privé qui initialise le répertoire de registre.
      *
@@ -100,17 +136,128 @@ public class RegistryManager {
         if (!Files.exists(path)) {
             return new Registry(profileName);
         }
-        return strategy.load(path.toString(), Registry.class);
+        Registry registry = strategy.load(path.toString(), Registry.class);
+        registry.markSaved(registry.getMutationCount());
+        return registry;
     }
 
     /**
      * Sauvegarde un registre sur le disque.
      *
+     * <p>
+     * Les sauvegardes sont sérialisées : plusieurs threads de synchronisation peuvent
+     * demander une sauvegarde sans que leurs écritures du fichier ne s’entremêlent.
+     * </p>
+     *
+     * <p>
+     * Les barrières enregistrées par {@link #addSaveBarrier(Flushable)} sont vidées au préalable.
+     * </p>
+     *
      * @param registry registre à enregistrer
      * @throws IOException si erreur d’écriture
      */
-    public void saveRegistry(Registry registry) throws IOException {
+    public synchronized void saveRegistry(Registry registry) throws IOException {
+        for (Flushable barrier : saveBarriers) {
+            barrier.flush();
+        }
+        long mutationCount = registry.getMutationCount();
         strategy.save(getRegistryPath(registry.getProfileName()).toString(), registry);
+        registry.markSaved(mutationCount);
+    }
+
+    /**
+     * Sauvegarde le registre si un point de contrôle est atteint : au moins {@code N} modifications
+     * non sauvegardées, ou au moins une modification et {@code T} millisecondes écoulées depuis
+     * la dernière sauvegarde.
+     *
+     * @param registry registre modifié
+     * @return {@code true} si le registre a été sauvegardé
+     * @throws IOException si erreur d’écriture
+     */
+    public boolean checkpoint(Registry registry) throws IOException {
+        if (!isCheckpointDue(registry)) {
+            return false;
+        }
+        synchronized (this) {
+            if (!isCheckpointDue(registry)) {
+                return false; // sauvegardé entre-temps par un autre thread
+            }
+            saveRegistry(registry);
+            return true;
+        }
+    }
+
+    /**
+     * Indique si un point de contrôle est atteint pour un registre.
+     *
+     * @param registry registre à examiner
+     * @return {@code true} si le registre doit être sauvegardé
+     */
+    private boolean isCheckpointDue(Registry registry) {
+        long unsaved = registry.getUnsavedMutations();
+        return unsaved >= checkpointMutations
+                || unsaved > 0 && System.currentTimeMillis() - registry.getLastSavedAt() >= checkpointIntervalMs;
+    }
+
+    /**
+     * Définit la fréquence des points de contrôle.
+     *
+     * @param mutations  nombre de modifications non sauvegardées déclenchant une sauvegarde
+     * @param intervalMs délai (en millis) depuis la dernière sauvegarde au-delà duquel
+     *                   toute modification déclenche une sauvegarde
+     * @throws IllegalArgumentException si une valeur n’est pas strictement positive
+     */
+    public void setCheckpointPolicy(int mutations, long intervalMs) {
+        if (mutations < 1 || intervalMs < 1) {
+            throw new IllegalArgumentException("Politique de points de contrôle invalide : " + mutations + ", " + intervalMs);
+        }
+        this.checkpointMutations = mutations;
+        this.checkpointIntervalMs = intervalMs;
+    }
+
+    /**
+     * Ajoute une opération à terminer avant chaque sauvegarde d’un registre.
+     *
+     * <p>
+     * Un gestionnaire de fichiers qui diffère la validation de ses copies
+     * (voir {@link filesystem.AtomicFileHandler}) s’enregistre ainsi : un registre n’est jamais
+     * écrit avant les fichiers qu’il déclare synchronisés.
+     * </p>
+     *
+     * @param barrier opération vidée avant chaque sauvegarde
+     */
+    public void addSaveBarrier(Flushable barrier) {
+        saveBarriers.add(barrier);
+    }
+
+    /**
+     * Retire une opération ajoutée par {@link #addSaveBarrier(Flushable)}.
+     *
+     * @param barrier opération à retirer
+     */
+    public void removeSaveBarrier(Flushable barrier) {
+        saveBarriers.remove(barrier);
+    }
+
+    /**
+     * Enregistre un crochet d’arrêt de la JVM qui sauvegarde le registre s’il contient
+     * des modifications non sauvegardées (arrêt par Ctrl+C, fin du mode surveillance...).
+     *
+     * @param registry registre à protéger
+     * @return le thread enregistré, pour un éventuel {@link Runtime#removeShutdownHook(Thread)}
+     */
+    public Thread saveOnShutdown(Registry registry) {
+        Thread hook = new Thread(() -> {
+            if (registry.isDirty()) {
+                try {
+                    saveRegistry(registry);
+                } catch (IOException e) {
+                    System.err.println("Erreur de sauvegarde du registre à l'arrêt : " + e.getMessage());
+                }
+            }
+        }, "registry-shutdown-save");
+        Runtime.getRuntime().addShutdownHook(hook);
+        return hook;
     }
 
     /**
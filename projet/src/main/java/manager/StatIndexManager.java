@@ -0,0 +1,122 @@
+package manager;
+
+import java.io.*;
+import java.nio.file.*;
+
+import factory.persistence.*;
+import model.StatIndex;
+
+/**
+ * Gestionnaire central des index de listage ({@link StatIndex}).
+ *
+ * <p>
+ * Applique le patron <strong>Singleton</strong>, comme {@link RegistryManager}.
+ * Les index sont stockés à côté des registres, dans le dossier {@code registries/},
+ * sous le nom {@code statindex_<profile>.xml} (ou un autre format selon la stratégie).
+ * </p>
+ *
+ * <p>
+ * L’index n’étant qu’un cache, un fichier illisible est signalé puis ignoré :
+ * le parcours suivant relit simplement tous les dossiers.
+ *
+ * @see StatIndex
+ * @see PersistenceStrategy
+ * @since JDK 17
+ */
+public class StatIndexManager {
+    /** Instance unique du singleton. */
+    private static StatIndexManager instance = null;
+
+    /** Verrou de synchronisation. */
+    private static final Object lock = StatIndexManager.class;
+
+    /** Dossier où sont stockés les index (le même que celui des registres). */
+    private static final String INDEX_DIRECTORY = "registries";
+
+    /** Stratégie de persistance utilisée pour les index. */
+    private final PersistenceStrategy<StatIndex> strategy;
+
+    /**
+     * Constructeur privé qui initialise le répertoire des index.
+     *
+     * @param strategy stratégie de sérialisation utilisée
+     */
+    private StatIndexManager(PersistenceStrategy<StatIndex> strategy) {
+        this.strategy = strategy;
+        try {
+            Files.createDirectories(Paths.get(INDEX_DIRECTORY));
+        } catch (IOException e) {
+            throw new RuntimeException("Impossible de créer le dossier des index.", e);
+        }
+    }
+
+    /**
+     * Initialise le singleton avec une stratégie personnalisée.
+     *
+     * @param strategy stratégie de persistance à utiliser
+     */
+    public static void init(PersistenceStrategy<StatIndex> strategy) {
+        synchronized (lock) {
+            if (instance == null) {
+                instance = new StatIndexManager(strategy);
+            } else {
+                throw new IllegalStateException("StatIndexManager est déjà initialisé.");
+            }
+        }
+    }
+
+    /**
+     * Retourne l’instance unique du gestionnaire.
+     *
+     * @return instance unique de {@code StatIndexManager}
+     * @throws IllegalStateException si {@link #init(PersistenceStrategy)} n'a jamais été appelé
+     */
+    public static StatIndexManager getInstance() {
+        synchronized (lock) {
+            if (instance == null) {
+                throw new IllegalStateException("StatIndexManager n’a pas été initialisé via init(...).");
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Charge l’index associé à un profil.
+     *
+     * @param profileName nom du profil
+     * @return l’index existant, ou un index vide s’il est absent ou illisible
+     */
+    public StatIndex loadIndex(String profileName) {
+        Path path = getIndexPath(profileName);
+        if (!Files.exists(path)) {
+            return new StatIndex(profileName);
+        }
+        try {
+            return strategy.load(path.toString(), StatIndex.class);
+        } catch (IOException e) {
+            System.err.println("Index de listage ignoré (" + e.getMessage() + ") : " + path);
+            return new StatIndex(profileName);
+        }
+    }
+
+    /**
+     * Sauvegarde un index sur le disque.
+     *
+     * @param index index à enregistrer
+     * @throws IOException si erreur d’écriture
+     */
+    public void saveIndex(StatIndex index) throws IOException {
+        strategy.save(getIndexPath(index.getProfileName()).toString(), index);
+    }
+
+    /**
+     * Construit le chemin du fichier d’index correspondant au profil donné.
+     *
+     * @param profileName nom du profil
+     * @return chemin du fichier d’index
+     */
+    private Path getIndexPath(String profileName) {
+        String fileName = strategy.getFileName("statindex_" + profileName);
+        return Paths.get(INDEX_DIRECTORY, fileName);
+    }
+}
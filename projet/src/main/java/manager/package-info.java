@@ -9,6 +9,7 @@
  * <ul>
  *     <li>{@link manager.ProfileManager} : gestion de la création, sauvegarde et lecture des profils</li>
  *     <li>{@link manager.RegistryManager} : gestion du registre d'historique de synchronisation des fichiers</li>
+ *     <li>{@link manager.StatIndexManager} : gestion de l'index des listages de dossiers, réutilisé d'un parcours à l'autre</li>
  * </ul>
  *
  * <p>
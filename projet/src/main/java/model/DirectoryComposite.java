@@ -29,6 +29,9 @@ public class DirectoryComposite implements FileComponent {
     /** Chemin absolu du répertoire représenté. */
     private final Path path;
 
+    /** Attributs relevés lors du parcours, ou {@code null} s’ils sont inconnus. */
+    private final FileAttributes attributes;
+
     /** Liste des composants contenus dans ce répertoire. */
     private final List<FileComponent> children = new ArrayList<>();
 
@@ -38,7 +41,18 @@ public class DirectoryComposite implements FileComponent {
      * @param path chemin absolu du répertoire
      */
     public DirectoryComposite(Path path) {
+        this(path, null);
+    }
+
+    /**
+     * Construit un composant représentant un répertoire dont les attributs sont déjà connus.
+     *
+     * @param path       chemin absolu du répertoire
+     * @param attributes attributs relevés lors du parcours
+     */
+    public DirectoryComposite(Path path, FileAttributes attributes) {
         this.path = path;
+        this.attributes = attributes;
     }
 
     /**
@@ -69,6 +83,11 @@ public class DirectoryComposite implements FileComponent {
         return path.getFileName().toString();
     }
 
+    @Override
+    public FileAttributes getAttributes() {
+        return attributes;
+    }
+
     @Override
     public void accept(FileVisitor visitor) {
         for (FileComponent child : children) {
@@ -0,0 +1,129 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Instantané immuable des métadonnées d’une entrée du système de fichiers.
+ *
+ * <p>
+ * Les attributs (taille, date de dernière modification, type, identifiant de fichier)
+ * sont lus <strong>une seule fois</strong> via {@link BasicFileAttributes}, lors du parcours
+ * ({@link FileSystemExplorer}) ou à la demande, puis transmis à la chaîne de synchronisation.
+ * Les maillons n’ont ainsi plus besoin d’interroger le système de fichiers à chaque étape.
+ * </p>
+ *
+ * <p>
+ * L’instance {@link #MISSING} représente une entrée absente.
+ *
+ * @see FileComponent#getAttributes()
+ * @see FileSystemExplorer
+ * @since JDK 17
+ */
+public final class FileAttributes {
+    /** Instantané représentant une entrée inexistante. */
+    public static final FileAttributes MISSING = new FileAttributes(false, false, -1L, -1L, null);
+
+    /** Indique si l’entrée existe. */
+    private final boolean exists;
+
+    /** Indique si l’entrée est un répertoire. */
+    private final boolean directory;
+
+    /** Taille en octets. */
+    private final long size;
+
+    /** Date de dernière modification (en millis). */
+    private final long lastModified;
+
+    /** Identifiant unique du fichier (inode...), ou {@code null} si non fourni par le système. */
+    private final Object fileKey;
+
+    /**
+     * Construit un instantané d’attributs.
+     *
+     * @param exists       {@code true} si l’entrée existe
+     * @param directory    {@code true} s’il s’agit d’un répertoire
+     * @param size         taille en octets
+     * @param lastModified date de dernière modification (en millis)
+     * @param fileKey      identifiant unique du fichier, éventuellement {@code null}
+     */
+    public FileAttributes(boolean exists, boolean directory, long size, long lastModified, Object fileKey) {
+        this.exists = exists;
+        this.directory = directory;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.fileKey = fileKey;
+    }
+
+    /**
+     * Construit un instantané à partir des attributs lus par NIO.
+     *
+     * @param attrs attributs de base du fichier
+     * @return instantané correspondant
+     */
+    public static FileAttributes of(BasicFileAttributes attrs) {
+        return new FileAttributes(true, attrs.isDirectory(), attrs.size(),
+                attrs.lastModifiedTime().toMillis(), attrs.fileKey());
+    }
+
+    /**
+     * Lit les attributs d’un chemin en un seul appel système.
+     *
+     * @param path chemin à interroger
+     * @return instantané lu, ou {@link #MISSING} si l’entrée est absente ou illisible
+     */
+    public static FileAttributes read(Path path) {
+        try {
+            return of(Files.readAttributes(path, BasicFileAttributes.class));
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    /**
+     * Indique si l’entrée existe.
+     *
+     * @return {@code true} si l’entrée existe
+     */
+    public boolean exists() {
+        return exists;
+    }
+
+    /**
+     * Indique si l’entrée est un répertoire.
+     *
+     * @return {@code true} s’il s’agit d’un répertoire
+     */
+    public boolean isDirectory() {
+        return directory;
+    }
+
+    /**
+     * Retourne la taille de l’entrée.
+     *
+     * @return taille en octets, ou {@code -1} si absente
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Retourne la date de dernière modification.
+     *
+     * @return timestamp en millisecondes, ou {@code -1} si absente
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Retourne l’identifiant unique du fichier (inode et périphérique sous Unix).
+     *
+     * @return identifiant, ou {@code null} s’il n’est pas disponible
+     */
+    public Object fileKey() {
+        return fileKey;
+    }
+}
@@ -40,6 +40,13 @@ public interface FileComponent {
      */
     String getName();
 
+    /**
+     * Retourne les attributs relevés lors du parcours du système de fichiers.
+     *
+     * @return l’instantané d’attributs, ou {@code null} s’il n’a pas été relevé
+     */
+    FileAttributes getAttributes();
+
     /**
      * Accepte un visiteur pour appliquer une opération à ce composant.
      *
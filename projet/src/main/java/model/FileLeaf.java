@@ -27,13 +27,27 @@ public class FileLeaf implements FileComponent {
     /** Chemin absolu vers le fichier représenté. */
     private final Path path;
 
+    /** Attributs relevés lors du parcours, ou {@code null} s’ils sont inconnus. */
+    private final FileAttributes attributes;
+
     /**
      * Construit une feuille représentant un fichier.
      *
      * @param path chemin absolu vers le fichier
      */
     public FileLeaf(Path path) {
+        this(path, null);
+    }
+
+    /**
+     * Construit une feuille représentant un fichier dont les attributs sont déjà connus.
+     *
+     * @param path       chemin absolu vers le fichier
+     * @param attributes attributs relevés lors du parcours
+     */
+    public FileLeaf(Path path, FileAttributes attributes) {
         this.path = path;
+        this.attributes = attributes;
     }
 
     @Override
@@ -46,6 +60,11 @@ public class FileLeaf implements FileComponent {
         return path.getFileName().toString();
     }
 
+    @Override
+    public FileAttributes getAttributes() {
+        return attributes;
+    }
+
     @Override
     public void accept(FileVisitor visitor) {
         visitor.visit(this);
@@ -1,8 +1,9 @@
 package model;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
 
 /**
  * Classe utilitaire permettant d'explorer récursivement un répertoire du système de fichiers
@@ -12,6 +13,13 @@ import java.nio.file.*;
  * Chaque dossier est représenté par un objet {@link DirectoryComposite} et chaque fichier par
  * un objet {@link FileLeaf}. Cette classe est utilisée notamment dans le cadre du programme
  * de synchronisation pour représenter l’état des dossiers A et B avant traitement.
+ * </p>
+ *
+ * <p>
+ * Le parcours s’appuie sur {@link DirectoryStream} et lit les {@link BasicFileAttributes}
+ * de chaque entrée en un seul appel (sans suivre les liens symboliques). Ces attributs
+ * sont conservés dans le modèle ({@link FileAttributes}) afin que la chaîne de
+ * synchronisation n’ait pas à interroger de nouveau le système de fichiers.
  *
  * @see DirectoryComposite
  * @see FileLeaf
@@ -19,6 +27,11 @@ import java.nio.file.*;
  * @since JDK 17
  */
 public class FileSystemExplorer {
+    /** Suffixe des copies en attente de renommage. */
+    public static final String SYNC_TEMP_SUFFIX = ".sync.tmp";
+
+    /** Suffixe des contenus assemblés par une copie différentielle. */
+    public static final String DELTA_TEMP_SUFFIX = ".delta.tmp";
 
     /**
      * Point d'entrée pour explorer un répertoire donné.
@@ -28,52 +41,154 @@ public class FileSystemExplorer {
      * @throws IOException si erreur de lecture
      */
     public static FileComponent explore(Path root) throws IOException {
-        validateDirectory(root);
-        return buildDirectory(root);
+        return explore(root, PathFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Explore un répertoire en appliquant des règles d’inclusion et d’exclusion.
+     *
+     * <p>
+     * Les entrées refusées par le filtre sont écartées au moment du listage de leur dossier parent :
+     * un dossier exclu n’est jamais lu.
+     * </p>
+     *
+     * @param root   le chemin du répertoire à explorer
+     * @param filter le filtre compilé du profil
+     * @return un {@link DirectoryComposite} représentant le contenu retenu
+     * @throws IOException si erreur de lecture
+     */
+    public static FileComponent explore(Path root, PathFilter filter) throws IOException {
+        DirectoryComposite dir = new DirectoryComposite(root, validateDirectory(root));
+        buildDirectory(dir, "", filter);
+        return dir;
+    }
+
+    /**
+     * Prépare une exploration paresseuse d’un répertoire.
+     *
+     * <p>
+     * Aucun dossier n’est listé immédiatement : le contenu de chaque dossier n’est lu
+     * qu’au moment où un visiteur l’atteint, puis libéré à la fin de sa visite
+     * (voir {@link LazyDirectoryComposite}).
+     * </p>
+     *
+     * @param root le chemin du répertoire à explorer
+     * @return un {@link LazyDirectoryComposite} représentant la racine
+     * @throws IOException si le répertoire ne peut pas être lu
+     */
+    public static FileComponent exploreLazy(Path root) throws IOException {
+        return new LazyDirectoryComposite(root, validateDirectory(root));
+    }
+
+    /**
+     * Liste le contenu direct d’un répertoire, trié par nom.
+     *
+     * <p>
+     * Chaque fichier est représenté par un {@link FileLeaf} et chaque sous-dossier
+     * par un {@link DirectoryComposite} encore vide, tous deux porteurs de leurs attributs.
+     * Les liens symboliques, les fichiers spéciaux et les fichiers temporaires de la synchronisation
+     * ({@link #isTemporary(String)}) sont ignorés.
+     * </p>
+     *
+     * @param dir dossier à lister
+     * @return les enfants directs du dossier, triés par nom
+     * @throws IOException si le dossier ne peut pas être lu
+     */
+    public static List<FileComponent> listChildren(Path dir) throws IOException {
+        List<FileComponent> children = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path childPath : stream) {
+                if (isTemporary(childPath.getFileName().toString())) {
+                    continue;
+                }
+                FileComponent child = readChild(childPath);
+                if (child != null) {
+                    children.add(child);
+                }
+            }
+        }
+
+        children.sort(Comparator.comparing(FileComponent::getName));
+        return children;
+    }
+
+    /**
+     * Indique si un nom est celui d’un fichier temporaire écrit par la synchronisation : copie
+     * en attente de renommage ({@code .sync.tmp}, voir {@link filesystem.AtomicFileHandler}) ou contenu
+     * assemblé par une copie différentielle ({@code .delta.tmp}, voir {@link filesystem.DeltaFileHandler}).
+     *
+     * <p>
+     * Ces fichiers ne sont ni synchronisés ni supprimés : un fichier en attente peut appartenir
+     * à un groupe non encore validé, et un fichier laissé par un arrêt brutal est remplacé
+     * à la copie suivante.
+     * </p>
+     *
+     * @param fileName nom du fichier
+     * @return {@code true} pour un fichier temporaire de la synchronisation
+     */
+    public static boolean isTemporary(String fileName) {
+        return fileName.endsWith(SYNC_TEMP_SUFFIX) || fileName.endsWith(DELTA_TEMP_SUFFIX);
+    }
+
+    /**
+     * Lit les attributs d’une entrée de dossier et la représente comme composant.
+     *
+     * @param childPath chemin de l’entrée
+     * @return un {@link FileLeaf} ou un {@link DirectoryComposite} vide, ou {@code null} si l’entrée
+     *         n’existe plus, est un lien symbolique ou un fichier spécial
+     * @throws IOException si les attributs ne peuvent pas être lus
+     */
+    static FileComponent readChild(Path childPath) throws IOException {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(childPath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return null; // supprimé entre le listage et la lecture des attributs
+        }
+
+        if (attrs.isDirectory()) {
+            return new DirectoryComposite(childPath, FileAttributes.of(attrs));
+        } else if (attrs.isRegularFile()) {
+            return new FileLeaf(childPath, FileAttributes.of(attrs));
+        }
+        return null; // on ignore les liens symboliques et les fichiers spéciaux
     }
 
     /**
-     * Valide que le chemin fourni est un dossier existant.
+     * Valide que le chemin fourni est un dossier existant et lisible.
      *
      * @param root chemin à valider
+     * @return les attributs du dossier
      * @throws IllegalArgumentException si ce n’est pas un dossier
      * @throws IOException si le contenu ne peut pas être listé
      */
-    private static void validateDirectory(Path root) throws IOException {
-        File rootFile = root.toFile();
-        if (!rootFile.isDirectory()) {
+    static FileAttributes validateDirectory(Path root) throws IOException {
+        FileAttributes attributes = FileAttributes.read(root);
+        if (!attributes.isDirectory()) {
             throw new IllegalArgumentException("Le chemin fourni n'est pas un dossier : " + root);
         }
-        if (rootFile.listFiles() == null) {
+        if (!Files.isReadable(root)) {
             throw new IOException("Impossible de lister le contenu du dossier : " + root);
         }
+        return attributes;
     }
 
     /**
      * Construit récursivement la structure Composite d’un répertoire.
      *
-     * @param root dossier à explorer
-     * @return {@link FileComponent} représentant ce dossier
+     * @param dir         dossier à remplir
+     * @param relativeDir chemin relatif du dossier ({@code ""} pour la racine)
+     * @param filter      filtre appliqué aux enfants
      * @throws IOException si erreur de lecture
      */
-    private static FileComponent buildDirectory(Path root) throws IOException {
-        DirectoryComposite dir = new DirectoryComposite(root);
-        File[] children = root.toFile().listFiles();
-
-        for (File child : children) {
-            Path childPath = child.toPath();
-
-            if (Files.isSymbolicLink(childPath)) {
-                continue; // on ignore les liens symboliques
-            }
-
-            if (child.isDirectory()) {
-                dir.add(buildDirectory(childPath));
-            } else if (child.isFile()) {
-                dir.add(new FileLeaf(childPath));
+    private static void buildDirectory(DirectoryComposite dir, String relativeDir, PathFilter filter)
+            throws IOException {
+        for (FileComponent child : filter.filter(listChildren(dir.getPath()), relativeDir)) {
+            if (child instanceof DirectoryComposite subDir) {
+                buildDirectory(subDir, PathFilter.join(relativeDir, subDir.getName()), filter);
             }
+            dir.add(child);
         }
-
-        return dir;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,213 @@
+package model;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.zip.CRC32C;
+
+/**
+ * Empreinte du contenu d’un fichier : sa taille et une somme de contrôle CRC32C.
+ *
+ * <p>
+ * L’empreinte est enregistrée dans le {@link Registry} à chaque synchronisation d’un fichier.
+ * Elle permet de reconnaître un fichier dont la date de modification a changé sans que son contenu
+ * ne change (fichier « touché », réécrit à l’identique, extrait d’une archive...) : une taille
+ * différente signale à coup sûr une modification, sinon la somme de contrôle est comparée.
+ * </p>
+ *
+ * <p>
+ * Le contenu est lu par un {@link FileChannel} dans un tampon direct ; CRC32C bénéficie
+ * des instructions matérielles dédiées lorsque le processeur en dispose. L’empreinte est
+ * {@link Serializable} afin d’être conservée dans un plan de synchronisation.
+ *
+ * @see Registry
+ * @since JDK 17
+ */
+public final class Fingerprint implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Taille du tampon de lecture. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Polynôme de CRC32C (Castagnoli), sous forme réfléchie. */
+    private static final int CRC32C_POLYNOMIAL = 0x82F63B78;
+
+    /** Taille du fichier, en octets. */
+    private final long size;
+
+    /** Somme de contrôle CRC32C du contenu. */
+    private final int hash;
+
+    /**
+     * Construit une empreinte.
+     *
+     * @param size taille du fichier, en octets
+     * @param hash somme de contrôle CRC32C du contenu
+     */
+    public Fingerprint(long size, int hash) {
+        this.size = size;
+        this.hash = hash;
+    }
+
+    /**
+     * Calcule l’empreinte d’un fichier.
+     *
+     * @param path fichier à lire
+     * @return empreinte du contenu
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public static Fingerprint of(Path path) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long size = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                size += buffer.remaining();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return new Fingerprint(size, (int) crc.getValue());
+    }
+
+    /**
+     * Combine les sommes CRC32C de deux plages consécutives en celle de leur concaténation,
+     * sans relire les données : les plages d’un fichier copiées simultanément peuvent ainsi
+     * donner la somme du fichier entier.
+     *
+     * <p>
+     * Reprend la méthode de {@code crc32_combine} (zlib) : décaler la première somme de
+     * {@code length2} octets nuls revient à la multiplier par une matrice sur GF(2),
+     * élevée au carré successivement, soit O(log {@code length2}) opérations.
+     * </p>
+     *
+     * @param crc1    somme CRC32C de la première plage
+     * @param crc2    somme CRC32C de la seconde plage
+     * @param length2 longueur de la seconde plage, en octets
+     * @return somme CRC32C de la concaténation des deux plages
+     */
+    public static int combine(int crc1, int crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        int[] even = new int[32];
+        int[] odd = new int[32];
+        odd[0] = CRC32C_POLYNOMIAL; // opérateur d’un bit nul
+        for (int n = 1, row = 1; n < 32; n++, row <<= 1) {
+            odd[n] = row;
+        }
+        square(even, odd); // deux bits nuls
+        square(odd, even); // quatre bits nuls
+
+        // chaque tour applique l’opérateur d’un octet nul, puis de deux, quatre... selon les bits de length2
+        do {
+            square(even, odd);
+            if ((length2 & 1) != 0) {
+                crc1 = times(even, crc1);
+            }
+            length2 >>>= 1;
+            if (length2 == 0) {
+                break;
+            }
+            square(odd, even);
+            if ((length2 & 1) != 0) {
+                crc1 = times(odd, crc1);
+            }
+            length2 >>>= 1;
+        } while (length2 != 0);
+        return crc1 ^ crc2;
+    }
+
+    /**
+     * Multiplie un vecteur par une matrice sur GF(2).
+     *
+     * @param matrix matrice de 32 colonnes
+     * @param vector vecteur
+     * @return produit
+     */
+    private static int times(int[] matrix, int vector) {
+        int sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Élève une matrice au carré sur GF(2).
+     *
+     * @param square matrice recevant le carré
+     * @param matrix matrice à élever au carré
+     */
+    private static void square(int[] square, int[] matrix) {
+        for (int n = 0; n < 32; n++) {
+            square[n] = times(matrix, matrix[n]);
+        }
+    }
+
+    /**
+     * Analyse la représentation hexadécimale d’une somme de contrôle.
+     *
+     * @param size taille du fichier
+     * @param hex  somme de contrôle, telle que produite par {@link #getHashHex()}
+     * @return empreinte correspondante
+     * @throws NumberFormatException si la somme de contrôle est invalide
+     */
+    public static Fingerprint parse(long size, String hex) {
+        return new Fingerprint(size, Integer.parseUnsignedInt(hex, 16));
+    }
+
+    /**
+     * Retourne la taille du fichier.
+     *
+     * @return taille en octets
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Retourne la somme de contrôle CRC32C du contenu.
+     *
+     * @return somme de contrôle
+     */
+    public int getHash() {
+        return hash;
+    }
+
+    /**
+     * Retourne la somme de contrôle sous forme hexadécimale (8 caractères).
+     *
+     * @return somme de contrôle en hexadécimal
+     */
+    public String getHashHex() {
+        return String.format("%08x", hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Fingerprint other)) {
+            return false;
+        }
+        return size == other.size && hash == other.hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(size) * 31 + hash;
+    }
+
+    @Override
+    public String toString() {
+        return size + " octets, crc32c " + getHashHex();
+    }
+}
@@ -0,0 +1,95 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import visitor.FileVisitor;
+
+/**
+ * Représente un dossier dont le contenu n’est lu qu’au moment de la visite,
+ * variante « paresseuse » de {@link DirectoryComposite} dans le patron <strong>Composite</strong>.
+ *
+ * <p>
+ * Contrairement à {@link DirectoryComposite}, aucun enfant n’est conservé : à chaque appel de
+ * {@link #accept(FileVisitor)}, le dossier est listé ({@link FileSystemExplorer#listChildren(Path)}),
+ * ses enfants sont visités (les sous-dossiers étant eux-mêmes paresseux), puis la liste est libérée.
+ * L’occupation mémoire d’une visite dépend donc de la profondeur et de la largeur de l’arborescence,
+ * et non du nombre total de fichiers.
+ * </p>
+ *
+ * <p>
+ * Une erreur de lecture pendant la visite est signalée par une {@link UncheckedIOException},
+ * l’interface {@link FileVisitor} ne déclarant pas d’exception vérifiée.
+ *
+ * @see DirectoryComposite
+ * @see FileSystemExplorer#exploreLazy(Path)
+ * @since JDK 17
+ */
+public class LazyDirectoryComposite implements FileComponent {
+    /** Chemin absolu du répertoire représenté. */
+    private final Path path;
+
+    /** Attributs relevés lors du listage du dossier parent, ou {@code null} s’ils sont inconnus. */
+    private final FileAttributes attributes;
+
+    /**
+     * Construit un répertoire paresseux.
+     *
+     * @param path       chemin absolu du répertoire
+     * @param attributes attributs du répertoire, éventuellement {@code null}
+     */
+    public LazyDirectoryComposite(Path path, FileAttributes attributes) {
+        this.path = path;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Lit le contenu actuel du répertoire, sans le conserver.
+     *
+     * <p>
+     * Les sous-dossiers sont retournés sous forme de {@code LazyDirectoryComposite}.
+     * </p>
+     *
+     * @return les enfants directs du dossier, triés par nom
+     * @throws IOException si le dossier ne peut pas être lu
+     */
+    public List<FileComponent> listChildren() throws IOException {
+        List<FileComponent> children = FileSystemExplorer.listChildren(path);
+        children.replaceAll(child -> child instanceof DirectoryComposite dir
+                ? new LazyDirectoryComposite(dir.getPath(), dir.getAttributes())
+                : child);
+        return children;
+    }
+
+    @Override
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public String getName() {
+        return path.getFileName().toString();
+    }
+
+    @Override
+    public FileAttributes getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public void accept(FileVisitor visitor) {
+        List<FileComponent> children;
+        try {
+            children = listChildren();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (FileComponent child : children) {
+            child.accept(visitor);
+        }
+        // la liste locale est libérée à la sortie : rien n’est retenu après la visite
+    }
+}
@@ -0,0 +1,434 @@
+package model;
+
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Filtre compilé des règles d’inclusion et d’exclusion d’un {@link Profile}.
+ *
+ * <p>
+ * Les règles sont des motifs <em>glob</em> ({@link FileSystem#getPathMatcher(String)}) exprimés
+ * sur les chemins relatifs, séparés par des {@code /} :
+ * </p>
+ * <ul>
+ *     <li>un motif sans {@code /} s’applique au nom de l’entrée, à toute profondeur
+ *         (ex. {@code node_modules}, {@code *.tmp}) ;</li>
+ *     <li>un motif contenant un {@code /} est ancré à la racine du profil
+ *         (ex. {@code build/classes}, {@code docs/**}) ; un {@code /} initial est ignoré ;</li>
+ *     <li>un motif terminé par {@code /} ne s’applique qu’aux dossiers.</li>
+ * </ul>
+ *
+ * <p>
+ * Une entrée exclue n’est jamais synchronisée ; un dossier exclu n’est jamais listé.
+ * Si des règles d’inclusion existent, seuls les fichiers correspondant à l’une d’elles
+ * (directement ou via l’un de leurs dossiers parents) sont conservés, et seuls les dossiers
+ * pouvant en contenir sont parcourus.
+ * </p>
+ *
+ * <p>
+ * Les règles sont compilées une seule fois : les noms et chemins littéraux sont rangés dans
+ * des tables de hachage et un arbre préfixe de segments, seuls les véritables motifs sont
+ * évalués par un {@link PathMatcher}.
+ *
+ * @see Profile#getIncludes()
+ * @see Profile#getExcludes()
+ * @since JDK 17
+ */
+public final class PathFilter {
+    /** Filtre acceptant toutes les entrées. */
+    public static final PathFilter ACCEPT_ALL = compile(List.of(), List.of());
+
+    /** Caractères introduisant un motif glob. */
+    private static final String GLOB_CHARS = "*?[]{}\\";
+
+    /** Noms exclus à toute profondeur (fichiers et dossiers). */
+    private final Set<String> excludedNames = new HashSet<>();
+
+    /** Noms de dossiers exclus à toute profondeur. */
+    private final Set<String> excludedDirectoryNames = new HashSet<>();
+
+    /** Chemins littéraux exclus, sous forme d’arbre préfixe de segments. */
+    private final Node excludedPaths = new Node();
+
+    /** Motifs d’exclusion nécessitant un {@link PathMatcher}. */
+    private final List<Rule> excludedPatterns = new ArrayList<>();
+
+    /** Règles d’inclusion. */
+    private final List<Rule> includes = new ArrayList<>();
+
+    /** Préfixes littéraux des règles d’inclusion ancrées, sous forme d’arbre préfixe. */
+    private final Node includePrefixes = new Node();
+
+    /** Indique si une règle d’inclusion s’applique à toute profondeur. */
+    private boolean includeAnywhere;
+
+    /**
+     * Construit un filtre vide ; voir {@link #compile(List, List)}.
+     */
+    private PathFilter() {
+    }
+
+    /**
+     * Compile des règles d’inclusion et d’exclusion.
+     *
+     * @param includes motifs d’inclusion (une liste vide inclut tout)
+     * @param excludes motifs d’exclusion
+     * @return le filtre compilé
+     * @throws IllegalArgumentException si un motif est invalide
+     */
+    public static PathFilter compile(List<String> includes, List<String> excludes) {
+        PathFilter filter = new PathFilter();
+
+        for (String pattern : excludes) {
+            Rule rule = Rule.parse(pattern);
+            if (rule == null) {
+                continue;
+            }
+            if (rule.literal && !rule.anchored) {
+                (rule.directoryOnly ? filter.excludedDirectoryNames : filter.excludedNames).add(rule.text);
+            } else if (rule.literal) {
+                filter.excludedPaths.insert(rule.text).mark(rule.directoryOnly);
+            } else {
+                filter.excludedPatterns.add(rule);
+            }
+        }
+
+        for (String pattern : includes) {
+            Rule rule = Rule.parse(pattern);
+            if (rule == null) {
+                continue;
+            }
+            filter.includes.add(rule);
+            if (rule.anchored) {
+                filter.includePrefixes.insert(rule.literalPrefix()).prefixEnd = true;
+            } else {
+                filter.includeAnywhere = true;
+            }
+        }
+
+        return filter;
+    }
+
+    /**
+     * Indique si ce filtre accepte toutes les entrées.
+     *
+     * @return {@code true} si aucune règle n’est définie
+     */
+    public boolean isAcceptAll() {
+        return includes.isEmpty() && excludedNames.isEmpty() && excludedDirectoryNames.isEmpty()
+                && excludedPaths.children.isEmpty() && excludedPatterns.isEmpty();
+    }
+
+    /**
+     * Indique si une entrée doit être conservée, ses dossiers parents étant supposés acceptés.
+     *
+     * @param relativePath chemin relatif de l’entrée
+     * @param directory    {@code true} pour un dossier
+     * @return {@code true} si l’entrée est conservée (et, pour un dossier, doit être parcourue)
+     */
+    public boolean accept(String relativePath, boolean directory) {
+        return directory ? acceptDirectory(relativePath) : acceptFile(relativePath);
+    }
+
+    /**
+     * Indique si un dossier doit être parcouru, ses dossiers parents étant supposés acceptés.
+     *
+     * @param relativePath chemin relatif du dossier
+     * @return {@code true} si le dossier n’est pas exclu et peut contenir des fichiers inclus
+     */
+    public boolean acceptDirectory(String relativePath) {
+        if (isExcluded(relativePath, true)) {
+            return false;
+        }
+        return includes.isEmpty() || includeAnywhere || mayContainIncluded(relativePath)
+                || isIncluded(relativePath, true);
+    }
+
+    /**
+     * Indique si un fichier doit être synchronisé, ses dossiers parents étant supposés acceptés.
+     *
+     * @param relativePath chemin relatif du fichier
+     * @return {@code true} si le fichier n’est pas exclu et est inclus
+     */
+    public boolean acceptFile(String relativePath) {
+        return !isExcluded(relativePath, false) && (includes.isEmpty() || isIncluded(relativePath, false));
+    }
+
+    /**
+     * Indique si une entrée et tous ses dossiers parents sont acceptés.
+     *
+     * <p>
+     * À utiliser pour un chemin isolé (par exemple issu d’un événement de surveillance),
+     * qui n’a pas été atteint par un parcours depuis la racine.
+     * </p>
+     *
+     * @param relativePath chemin relatif de l’entrée
+     * @param directory    {@code true} pour un dossier
+     * @return {@code true} si l’entrée est conservée
+     */
+    public boolean acceptTree(String relativePath, boolean directory) {
+        if (isAcceptAll()) {
+            return true;
+        }
+        for (int slash = relativePath.indexOf('/'); slash >= 0; slash = relativePath.indexOf('/', slash + 1)) {
+            if (isExcluded(relativePath.substring(0, slash), true)) {
+                return false;
+            }
+        }
+        return !isExcluded(relativePath, directory)
+                && (includes.isEmpty() || directory && acceptDirectory(relativePath) || isIncluded(relativePath, directory));
+    }
+
+    /**
+     * Retire d’une liste d’enfants les entrées refusées.
+     *
+     * @param children    enfants d’un dossier accepté
+     * @param relativeDir chemin relatif de ce dossier ({@code ""} pour la racine)
+     * @return la liste filtrée (la même instance, modifiée sur place)
+     */
+    public List<FileComponent> filter(List<FileComponent> children, String relativeDir) {
+        if (!isAcceptAll()) {
+            children.removeIf(child -> !accept(join(relativeDir, child.getName()), isDirectory(child)));
+        }
+        return children;
+    }
+
+    /**
+     * Construit le chemin relatif d’une entrée à partir de celui de son dossier.
+     *
+     * @param relativeDir chemin relatif du dossier ({@code ""} pour la racine)
+     * @param name        nom de l’entrée
+     * @return chemin relatif de l’entrée
+     */
+    public static String join(String relativeDir, String name) {
+        return relativeDir.isEmpty() ? name : relativeDir + "/" + name;
+    }
+
+    /**
+     * Indique si un composant est un dossier.
+     *
+     * @param component composant
+     * @return {@code true} pour un dossier
+     */
+    private static boolean isDirectory(FileComponent component) {
+        FileAttributes attributes = component.getAttributes();
+        return attributes != null ? attributes.isDirectory() : !(component instanceof FileLeaf);
+    }
+
+    /**
+     * Applique les règles d’exclusion à une entrée (sans ses parents).
+     *
+     * @param relativePath chemin relatif
+     * @param directory    {@code true} pour un dossier
+     * @return {@code true} si l’entrée est exclue
+     */
+    private boolean isExcluded(String relativePath, boolean directory) {
+        String name = nameOf(relativePath);
+        if (excludedNames.contains(name) || directory && excludedDirectoryNames.contains(name)) {
+            return true;
+        }
+        Node node = excludedPaths.find(relativePath);
+        if (node != null && node.terminal && (directory || !node.directoryOnly)) {
+            return true;
+        }
+        for (Rule rule : excludedPatterns) {
+            if (rule.matches(relativePath, name, directory)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indique si une entrée, ou l’un de ses dossiers parents, correspond à une règle d’inclusion.
+     *
+     * @param relativePath chemin relatif
+     * @param directory    {@code true} pour un dossier
+     * @return {@code true} si l’entrée est incluse
+     */
+    private boolean isIncluded(String relativePath, boolean directory) {
+        String path = relativePath;
+        boolean dir = directory;
+        while (true) {
+            String name = nameOf(path);
+            for (Rule rule : includes) {
+                if (rule.matches(path, name, dir)) {
+                    return true;
+                }
+            }
+            int slash = path.lastIndexOf('/');
+            if (slash < 0) {
+                return false;
+            }
+            path = path.substring(0, slash);
+            dir = true;
+        }
+    }
+
+    /**
+     * Indique si un dossier peut contenir des entrées visées par une règle d’inclusion ancrée.
+     *
+     * @param relativePath chemin relatif du dossier
+     * @return {@code true} si le dossier est sur le chemin d’un préfixe d’inclusion
+     */
+    private boolean mayContainIncluded(String relativePath) {
+        Node node = includePrefixes;
+        if (node.prefixEnd) {
+            return true;
+        }
+        for (String segment : relativePath.split("/")) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+            if (node.prefixEnd) {
+                return true;
+            }
+        }
+        return true; // dossier ancêtre d’un préfixe littéral
+    }
+
+    /**
+     * Retourne le dernier segment d’un chemin relatif.
+     *
+     * @param relativePath chemin relatif
+     * @return nom de l’entrée
+     */
+    private static String nameOf(String relativePath) {
+        return relativePath.substring(relativePath.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Règle compilée.
+     */
+    private static final class Rule {
+        /** Motif normalisé (sans {@code /} initial ni final). */
+        final String text;
+
+        /** Indique si le motif est ancré à la racine. */
+        final boolean anchored;
+
+        /** Indique si le motif ne s’applique qu’aux dossiers. */
+        final boolean directoryOnly;
+
+        /** Indique si le motif ne contient aucun caractère glob. */
+        final boolean literal;
+
+        /** Évaluateur du motif, ou {@code null} pour un motif littéral. */
+        final PathMatcher matcher;
+
+        private Rule(String text, boolean anchored, boolean directoryOnly) {
+            this.text = text;
+            this.anchored = anchored;
+            this.directoryOnly = directoryOnly;
+            this.literal = text.chars().noneMatch(c -> GLOB_CHARS.indexOf(c) >= 0);
+            this.matcher = literal ? null : FileSystems.getDefault().getPathMatcher("glob:" + text);
+        }
+
+        /**
+         * Normalise et compile un motif.
+         *
+         * @param pattern motif brut
+         * @return la règle, ou {@code null} pour un motif vide
+         */
+        static Rule parse(String pattern) {
+            String text = pattern.trim().replace('\\', '/');
+            boolean anchored = text.startsWith("/");
+            boolean directoryOnly = text.endsWith("/");
+            while (text.startsWith("/")) {
+                text = text.substring(1);
+            }
+            while (text.endsWith("/")) {
+                text = text.substring(0, text.length() - 1);
+            }
+            if (text.isEmpty()) {
+                return null;
+            }
+            return new Rule(text, anchored || text.contains("/"), directoryOnly);
+        }
+
+        /**
+         * Retourne les segments littéraux initiaux du motif.
+         *
+         * @return préfixe littéral (éventuellement vide)
+         */
+        String literalPrefix() {
+            StringBuilder prefix = new StringBuilder();
+            for (String segment : text.split("/")) {
+                if (segment.chars().anyMatch(c -> GLOB_CHARS.indexOf(c) >= 0)) {
+                    break;
+                }
+                prefix.append(prefix.length() == 0 ? "" : "/").append(segment);
+            }
+            return prefix.toString();
+        }
+
+        boolean matches(String relativePath, String name, boolean directory) {
+            if (directoryOnly && !directory) {
+                return false;
+            }
+            String subject = anchored ? relativePath : name;
+            return literal ? text.equals(subject) : matcher.matches(Paths.get(subject));
+        }
+    }
+
+    /**
+     * Nœud de l’arbre préfixe de segments.
+     */
+    private static final class Node {
+        /** Enfants, par segment. */
+        final Map<String, Node> children = new HashMap<>();
+
+        /** Indique qu’un chemin exclu se termine sur ce nœud. */
+        boolean terminal;
+
+        /** Indique que le chemin exclu ne vise que les dossiers. */
+        boolean directoryOnly = true;
+
+        /** Indique qu’un préfixe d’inclusion se termine sur ce nœud. */
+        boolean prefixEnd;
+
+        /**
+         * Insère un chemin et retourne son nœud terminal.
+         *
+         * @param path chemin relatif (éventuellement vide)
+         * @return nœud du dernier segment
+         */
+        Node insert(String path) {
+            Node node = this;
+            if (!path.isEmpty()) {
+                for (String segment : path.split("/")) {
+                    node = node.children.computeIfAbsent(segment, s -> new Node());
+                }
+            }
+            return node;
+        }
+
+        /**
+         * Marque ce nœud comme fin d’un chemin exclu.
+         *
+         * @param directoryOnly {@code true} si seul un dossier est visé
+         */
+        void mark(boolean directoryOnly) {
+            this.directoryOnly = this.terminal ? this.directoryOnly && directoryOnly : directoryOnly;
+            this.terminal = true;
+        }
+
+        /**
+         * Recherche le nœud d’un chemin.
+         *
+         * @param path chemin relatif
+         * @return le nœud, ou {@code null} s’il est absent
+         */
+        Node find(String path) {
+            Node node = this;
+            for (String segment : path.split("/")) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package model;
 
+import java.util.List;
+
 /**
  * Représente un profil de synchronisation.
  *
@@ -10,7 +12,10 @@ package model;
  * <ul>
  *     <li>un nom unique (identifiant logique du profil) ;</li>
  *     <li>un chemin vers un répertoire A ;</li>
- *     <li>un chemin vers un répertoire B.</li>
+ *     <li>un chemin vers un répertoire B ;</li>
+ *     <li>des règles facultatives d’inclusion et d’exclusion (motifs glob, voir {@link PathFilter}) ;</li>
+ *     <li>des limites facultatives de débit (octets par seconde) et d’opérations par seconde
+ *         imposées aux entrées-sorties de la synchronisation (voir {@link filesystem.ThrottledFileHandler}).</li>
  * </ul>
  *
  * <p>
@@ -31,8 +36,20 @@ public class Profile {
     /** Le chemin absolu vers le répertoire B à synchroniser. */
     private final String pathB;
 
+    /** Motifs d’inclusion (une liste vide inclut tout). */
+    private final List<String> includes;
+
+    /** Motifs d’exclusion. */
+    private final List<String> excludes;
+
+    /** Débit maximal des copies, en octets par seconde (0 : illimité). */
+    private final long maxBytesPerSecond;
+
+    /** Nombre maximal d’opérations sur les fichiers par seconde (0 : illimité). */
+    private final long maxOpsPerSecond;
+
     /**
-     * Construit un nouveau profil de synchronisation.
+     * Construit un nouveau profil de synchronisation sans règle de filtrage.
      *
      * @param name  nom logique du profil (non nul)
      * @param pathA chemin du répertoire A (non nul)
@@ -40,11 +57,48 @@ public class Profile {
      * @throws IllegalArgumentException si l’un des paramètres est {@code null}
      */
     public Profile(String name, String pathA, String pathB) {
-        if (name == null || pathA == null || pathB == null)
+        this(name, pathA, pathB, List.of(), List.of());
+    }
+
+    /**
+     * Construit un nouveau profil de synchronisation avec des règles d’inclusion et d’exclusion.
+     *
+     * @param name     nom logique du profil (non nul)
+     * @param pathA    chemin du répertoire A (non nul)
+     * @param pathB    chemin du répertoire B (non nul)
+     * @param includes motifs d’inclusion (non nul, éventuellement vide)
+     * @param excludes motifs d’exclusion (non nul, éventuellement vide)
+     * @throws IllegalArgumentException si l’un des paramètres est {@code null}
+     */
+    public Profile(String name, String pathA, String pathB, List<String> includes, List<String> excludes) {
+        this(name, pathA, pathB, includes, excludes, 0, 0);
+    }
+
+    /**
+     * Construit un nouveau profil de synchronisation avec des règles de filtrage et des limites d’entrées-sorties.
+     *
+     * @param name              nom logique du profil (non nul)
+     * @param pathA             chemin du répertoire A (non nul)
+     * @param pathB             chemin du répertoire B (non nul)
+     * @param includes          motifs d’inclusion (non nul, éventuellement vide)
+     * @param excludes          motifs d’exclusion (non nul, éventuellement vide)
+     * @param maxBytesPerSecond débit maximal des copies en octets par seconde, 0 pour ne pas le limiter
+     * @param maxOpsPerSecond   nombre maximal d’opérations par seconde, 0 pour ne pas le limiter
+     * @throws IllegalArgumentException si l’un des paramètres est {@code null} ou si une limite est négative
+     */
+    public Profile(String name, String pathA, String pathB, List<String> includes, List<String> excludes,
+                   long maxBytesPerSecond, long maxOpsPerSecond) {
+        if (name == null || pathA == null || pathB == null || includes == null || excludes == null)
             throw new IllegalArgumentException("Les arguments du profil ne sont pas valides");
+        if (maxBytesPerSecond < 0 || maxOpsPerSecond < 0)
+            throw new IllegalArgumentException("Les limites d'entrées-sorties du profil ne sont pas valides");
         this.name = name;
         this.pathA = pathA;
         this.pathB = pathB;
+        this.includes = List.copyOf(includes);
+        this.excludes = List.copyOf(excludes);
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.maxOpsPerSecond = maxOpsPerSecond;
     }
 
     /**
@@ -73,4 +127,49 @@ public class Profile {
     public String getPathB() {
         return pathB;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retourne les motifs d’inclusion.
+     *
+     * @return les motifs d’inclusion (lecture seule)
+     */
+    public List<String> getIncludes() {
+        return includes;
+    }
+
+    /**
+     * Retourne les motifs d’exclusion.
+     *
+     * @return les motifs d’exclusion (lecture seule)
+     */
+    public List<String> getExcludes() {
+        return excludes;
+    }
+
+    /**
+     * Retourne le débit maximal des copies.
+     *
+     * @return octets par seconde, 0 si le débit n’est pas limité
+     */
+    public long getMaxBytesPerSecond() {
+        return maxBytesPerSecond;
+    }
+
+    /**
+     * Retourne le nombre maximal d’opérations sur les fichiers par seconde.
+     *
+     * @return opérations par seconde, 0 si elles ne sont pas limitées
+     */
+    public long getMaxOpsPerSecond() {
+        return maxOpsPerSecond;
+    }
+
+    /**
+     * Compile les règles d’inclusion et d’exclusion du profil.
+     *
+     * @return le filtre correspondant
+     */
+    public PathFilter createFilter() {
+        return PathFilter.compile(includes, excludes);
+    }
+}
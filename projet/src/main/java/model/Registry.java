@@ -1,6 +1,8 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Représente le registre de synchronisation associé à un profil.
@@ -18,8 +20,28 @@ import java.util.*;
  * {@link manager.RegistryManager} et {@link sync.SyncContext}.
  * </p>
  *
+ * <p>
+ * Les entrées sont conservées dans une {@link ConcurrentHashMap} : le registre peut être lu
+ * et modifié simultanément par plusieurs threads de synchronisation
+ * (voir {@link sync.ParallelSyncHandler}), et sauvegardé pendant ces modifications.
+ * </p>
+ *
+ * <p>
+ * Le registre compte ses modifications effectives : {@link manager.RegistryManager} s’en sert
+ * pour ne le sauvegarder que lorsqu’un nombre suffisant de modifications, ou un délai suffisant,
+ * s’est écoulé depuis la dernière sauvegarde (voir {@link manager.RegistryManager#checkpoint(Registry)}).
+ * </p>
+ *
+ * <p>
+ * Une entrée peut aussi porter l’{@link Fingerprint empreinte} (taille et CRC32C) du contenu
+ * synchronisé : elle permet de reconnaître un fichier dont seule la date de modification a changé.
+ * Les registres enregistrés avant l’introduction des empreintes n’en ont pas ; l’empreinte est
+ * alors calculée à la prochaine copie du fichier.
+ * </p>
+ *
  * @see manager.RegistryManager
  * @see sync.SyncContext
+ * @see Fingerprint
  * @since JDK 17
  */
 public class Registry {
@@ -29,6 +51,21 @@ public class Registry {
     /** Entrées du registre : chemin relatif → date de dernière modification (en millis). */
     private Map<String, Long> entries;
 
+    /** Empreintes du contenu des fichiers synchronisés : chemin relatif → empreinte. */
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    /** Nombre de modifications effectives depuis la création du registre. */
+    private final AtomicLong mutations = new AtomicLong();
+
+    /** Valeur de {@link #mutations} lors de la dernière sauvegarde (ou du chargement). */
+    private volatile long savedMutations;
+
+    /** Date de la dernière sauvegarde (ou de la création), en millis. */
+    private volatile long savedAt = System.currentTimeMillis();
+
+    /** Observateur des modifications, ou {@code null}. */
+    private volatile RegistryListener listener;
+
     /**
      * Construit un registre pour un profil donné.
      *
@@ -36,7 +73,7 @@ public class Registry {
      */
     public Registry(String profileName) {
         this.profileName = profileName;
-        this.entries = new HashMap<>();
+        this.entries = new ConcurrentHashMap<>();
     }
 
     /**
@@ -67,13 +104,35 @@ public class Registry {
     }
 
     /**
-     * Ajoute ou met à jour une entrée dans le registre.
+     * Ajoute ou met à jour une entrée dans le registre, sans empreinte.
+     * Une éventuelle empreinte précédente est retirée : elle ne correspond plus forcément au fichier.
      *
      * @param relativePath chemin relatif du fichier
      * @param lastModified date de dernière modification (en millis)
      */
     public void put(String relativePath, long lastModified) {
-        entries.put(relativePath, lastModified);
+        put(relativePath, lastModified, null);
+    }
+
+    /**
+     * Ajoute ou met à jour une entrée dans le registre, avec l’empreinte du contenu synchronisé.
+     *
+     * @param relativePath chemin relatif du fichier
+     * @param lastModified date de dernière modification (en millis)
+     * @param fingerprint  empreinte du contenu, ou {@code null} si elle est inconnue
+     */
+    public void put(String relativePath, long lastModified, Fingerprint fingerprint) {
+        Long previous = entries.put(relativePath, lastModified);
+        Fingerprint previousFingerprint = fingerprint == null
+                ? fingerprints.remove(relativePath)
+                : fingerprints.put(relativePath, fingerprint);
+        if (previous == null || previous != lastModified || !Objects.equals(previousFingerprint, fingerprint)) {
+            mutations.incrementAndGet();
+            RegistryListener current = listener;
+            if (current != null) {
+                current.onPut(relativePath, lastModified, fingerprint);
+            }
+        }
     }
 
     /**
@@ -86,13 +145,55 @@ public class Registry {
         return entries.get(relativePath);
     }
 
+    /**
+     * Récupère l’empreinte du contenu synchronisé d’un fichier.
+     *
+     * @param relativePath chemin relatif
+     * @return empreinte enregistrée, ou {@code null} si inconnue
+     */
+    public Fingerprint getFingerprint(String relativePath) {
+        return fingerprints.get(relativePath);
+    }
+
     /**
      * Supprime une entrée du registre.
      *
      * @param relativePath chemin relatif à retirer
      */
     public void remove(String relativePath) {
-        entries.remove(relativePath);
+        fingerprints.remove(relativePath);
+        if (entries.remove(relativePath) != null) {
+            mutations.incrementAndGet();
+            RegistryListener current = listener;
+            if (current != null) {
+                current.onRemove(relativePath);
+            }
+        }
+    }
+
+    /**
+     * Déplace en une passe toutes les entrées d’un dossier sous un nouveau chemin, avec leurs dates
+     * et leurs empreintes, à la suite du déplacement du dossier entier.
+     *
+     * @param oldPrefix ancien chemin relatif du dossier, sans séparateur final
+     * @param newPrefix nouveau chemin relatif du dossier, sans séparateur final
+     * @return nombre d’entrées déplacées
+     */
+    public int renamePrefix(String oldPrefix, String newPrefix) {
+        String from = oldPrefix + "/";
+        List<String> keys = new ArrayList<>();
+        for (String key : entries.keySet()) {
+            if (key.startsWith(from)) {
+                keys.add(key);
+            }
+        }
+        for (String key : keys) {
+            Long lastModified = entries.get(key);
+            Fingerprint fingerprint = fingerprints.get(key);
+            remove(key);
+            put(newPrefix + "/" + key.substring(from.length()), lastModified, fingerprint);
+        }
+        return keys.size();
     }
 
     /**
@@ -104,4 +205,69 @@ public class Registry {
     public boolean contains(String relativePath) {
         return entries.containsKey(relativePath);
     }
-}
\ No newline at end of file
+
+    /**
+     * Définit l’observateur prévenu de chaque modification effective.
+     *
+     * @param listener observateur, ou {@code null} pour n’en utiliser aucun
+     */
+    public void setListener(RegistryListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Retourne l’observateur des modifications.
+     *
+     * @return observateur courant, ou {@code null}
+     */
+    public RegistryListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Retourne le nombre de modifications effectives depuis la création du registre.
+     *
+     * @return compteur de modifications
+     */
+    public long getMutationCount() {
+        return mutations.get();
+    }
+
+    /**
+     * Retourne le nombre de modifications non encore sauvegardées.
+     *
+     * @return modifications depuis la dernière sauvegarde
+     */
+    public long getUnsavedMutations() {
+        return mutations.get() - savedMutations;
+    }
+
+    /**
+     * Indique si le registre contient des modifications non sauvegardées.
+     *
+     * @return {@code true} si une sauvegarde est nécessaire
+     */
+    public boolean isDirty() {
+        return getUnsavedMutations() > 0;
+    }
+
+    /**
+     * Retourne la date de la dernière sauvegarde.
+     *
+     * @return date en millis depuis l’époque Unix
+     */
+    public long getLastSavedAt() {
+        return savedAt;
+    }
+
+    /**
+     * Signale que l’état du registre correspondant à un compteur de modifications
+     * est désormais sur le disque.
+     *
+     * @param mutationCount valeur de {@link #getMutationCount()} relevée avant l’écriture
+     */
+    public void markSaved(long mutationCount) {
+        savedMutations = mutationCount;
+        savedAt = System.currentTimeMillis();
+    }
+}
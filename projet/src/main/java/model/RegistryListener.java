@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Observateur des modifications effectives d’un {@link Registry}.
+ *
+ * <p>
+ * Permet à une stratégie de persistance de connaître les modifications survenues depuis
+ * la dernière sauvegarde, sans parcourir tout le registre (voir
+ * {@link factory.persistence.JournalRegistryStrategy}). Les méthodes peuvent être appelées
+ * simultanément par plusieurs threads de synchronisation.
+ *
+ * @see Registry#setListener(RegistryListener)
+ * @since JDK 17
+ */
+public interface RegistryListener {
+
+    /**
+     * Signale l’ajout ou la mise à jour d’une entrée.
+     *
+     * @param relativePath chemin relatif du fichier
+     * @param lastModified date de modification enregistrée (en millis)
+     * @param fingerprint  empreinte enregistrée, ou {@code null} si elle est inconnue
+     */
+    void onPut(String relativePath, long lastModified, Fingerprint fingerprint);
+
+    /**
+     * Signale la suppression d’une entrée.
+     *
+     * @param relativePath chemin relatif retiré
+     */
+    void onRemove(String relativePath);
+}
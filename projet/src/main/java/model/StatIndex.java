@@ -0,0 +1,273 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index persistant des listages de dossiers d’un profil, à la manière de l’index de git.
+ *
+ * <p>
+ * Pour chaque dossier parcouru, l’index mémorise sa date de modification et la liste de ses
+ * entrées (nom et type). Lors du parcours suivant, un dossier dont la date de modification n’a pas
+ * changé n’est ni listé ni trié : ses noms d’entrées sont repris de l’index.
+ * </p>
+ *
+ * <p>
+ * La modification du contenu d’un fichier ne change pas la date de son dossier : les attributs
+ * de chaque entrée reprise sont donc toujours relus (un appel système par entrée, comme lors d’un
+ * listage). Le gain porte sur la lecture et le tri des dossiers inchangés, pas sur le nombre
+ * d’entrées consultées. Si une entrée a disparu ou changé de type, le dossier est relu entièrement.
+ * </p>
+ *
+ * <p>
+ * Un dossier modifié moins de {@link #RACY_WINDOW_MS} millisecondes avant son listage n’est
+ * jamais réutilisé : une modification ultérieure pourrait conserver la même date
+ * (granularité du système de fichiers).
+ * </p>
+ *
+ * <p>
+ * Les méthodes de lecture peuvent être appelées depuis plusieurs threads.
+ *
+ * @see FileSystemExplorer#listChildren(Path)
+ * @see manager.StatIndexManager
+ * @since JDK 17
+ */
+public class StatIndex {
+    /** Marge de sécurité (en millis) entre la modification d’un dossier et son listage. */
+    public static final long RACY_WINDOW_MS = 2000L;
+
+    /** Nom du profil associé à cet index. */
+    private final String profileName;
+
+    /** Listages connus : chemin absolu du dossier → listage. */
+    private final Map<String, DirectoryStat> directories = new ConcurrentHashMap<>();
+
+    /** Dossiers consultés depuis le chargement de l’index. */
+    private final Set<String> visited = ConcurrentHashMap.newKeySet();
+
+    /** Nombre de listages repris de l’index. */
+    private final AtomicInteger hits = new AtomicInteger();
+
+    /** Nombre de dossiers effectivement relus. */
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Construit un index vide pour un profil donné.
+     *
+     * @param profileName nom du profil associé
+     */
+    public StatIndex(String profileName) {
+        this.profileName = profileName;
+    }
+
+    /**
+     * Retourne le nom du profil associé à cet index.
+     *
+     * @return le nom du profil
+     */
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Liste le contenu d’un dossier en réutilisant l’index lorsque c’est possible.
+     *
+     * <p>
+     * Le résultat est identique à celui de {@link FileSystemExplorer#listChildren(Path)}.
+     * L’index est mis à jour après chaque relecture.
+     * </p>
+     *
+     * @param dir dossier à lister
+     * @return les enfants directs du dossier, triés par nom
+     * @throws IOException si le dossier ne peut pas être lu
+     */
+    public List<FileComponent> listChildren(Path dir) throws IOException {
+        String key = dir.toString();
+        visited.add(key);
+
+        long dirModified = FileAttributes.read(dir).lastModified();
+        DirectoryStat cached = directories.get(key);
+        if (cached != null && cached.isReusable(dirModified)) {
+            List<FileComponent> children = restat(dir, cached);
+            if (children != null) {
+                hits.incrementAndGet();
+                return children;
+            }
+        }
+
+        misses.incrementAndGet();
+        long scannedAt = System.currentTimeMillis();
+        List<FileComponent> children = FileSystemExplorer.listChildren(dir);
+        directories.put(key, DirectoryStat.of(dirModified, scannedAt, children));
+        return children;
+    }
+
+    /**
+     * Relit les attributs des entrées connues d’un dossier, sans relire le dossier.
+     *
+     * @param dir    dossier concerné
+     * @param cached listage mémorisé
+     * @return les enfants du dossier, ou {@code null} si l’index n’est plus fidèle
+     * @throws IOException si une entrée ne peut pas être lue
+     */
+    private static List<FileComponent> restat(Path dir, DirectoryStat cached) throws IOException {
+        List<FileComponent> children = new ArrayList<>(cached.entries.size());
+        for (Entry entry : cached.entries) {
+            FileComponent child = FileSystemExplorer.readChild(dir.resolve(entry.name));
+            if (child == null || child.getAttributes().isDirectory() != entry.directory) {
+                return null;
+            }
+            children.add(child);
+        }
+        return children;
+    }
+
+    /**
+     * Retire de l’index les dossiers qui n’ont pas été consultés depuis son chargement
+     * (dossiers supprimés ou hors du parcours).
+     */
+    public void prune() {
+        directories.keySet().retainAll(visited);
+    }
+
+    /**
+     * Retourne une vue non modifiable des listages mémorisés.
+     *
+     * @return la map des chemins de dossiers vers leur listage (lecture seule)
+     */
+    public Map<String, DirectoryStat> getDirectories() {
+        return Collections.unmodifiableMap(directories);
+    }
+
+    /**
+     * Ajoute ou remplace le listage mémorisé d’un dossier.
+     *
+     * @param path chemin absolu du dossier
+     * @param stat listage à mémoriser
+     */
+    public void put(String path, DirectoryStat stat) {
+        directories.put(path, stat);
+    }
+
+    /**
+     * Retourne le nombre de listages repris de l’index depuis son chargement.
+     *
+     * @return nombre de dossiers non relus
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Retourne le nombre de dossiers relus depuis le chargement de l’index.
+     *
+     * @return nombre de dossiers relus
+     */
+    public int getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Listage mémorisé d’un dossier.
+     */
+    public static final class DirectoryStat {
+        /** Date de modification du dossier au moment du listage (en millis). */
+        private final long lastModified;
+
+        /** Date du listage (en millis). */
+        private final long scannedAt;
+
+        /** Entrées du dossier, triées par nom. */
+        private final List<Entry> entries;
+
+        /**
+         * Construit un listage mémorisé.
+         *
+         * @param lastModified date de modification du dossier
+         * @param scannedAt    date du listage
+         * @param entries      entrées du dossier, triées par nom
+         */
+        public DirectoryStat(long lastModified, long scannedAt, List<Entry> entries) {
+            this.lastModified = lastModified;
+            this.scannedAt = scannedAt;
+            this.entries = List.copyOf(entries);
+        }
+
+        /**
+         * Construit un listage à partir des composants lus dans le dossier.
+         *
+         * @param lastModified date de modification du dossier
+         * @param scannedAt    date du listage
+         * @param children     enfants du dossier
+         * @return le listage correspondant
+         */
+        static DirectoryStat of(long lastModified, long scannedAt, List<FileComponent> children) {
+            List<Entry> entries = new ArrayList<>(children.size());
+            for (FileComponent child : children) {
+                entries.add(new Entry(child.getName(), child.getAttributes().isDirectory()));
+            }
+            return new DirectoryStat(lastModified, scannedAt, entries);
+        }
+
+        /**
+         * Indique si ce listage peut être réutilisé pour un dossier de date donnée.
+         *
+         * @param currentModified date de modification actuelle du dossier
+         * @return {@code true} si le dossier n’a pas changé depuis un listage fiable
+         */
+        boolean isReusable(long currentModified) {
+            return currentModified == lastModified && lastModified + RACY_WINDOW_MS <= scannedAt;
+        }
+
+        /** @return date de modification du dossier au moment du listage */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /** @return date du listage */
+        public long getScannedAt() {
+            return scannedAt;
+        }
+
+        /** @return entrées du dossier, triées par nom (lecture seule) */
+        public List<Entry> getEntries() {
+            return entries;
+        }
+    }
+
+    /**
+     * Entrée mémorisée d’un dossier : seuls son nom et son type sont conservés, ses attributs
+     * étant relus à chaque réutilisation.
+     */
+    public static final class Entry {
+        /** Nom de l’entrée. */
+        private final String name;
+
+        /** Indique si l’entrée est un dossier. */
+        private final boolean directory;
+
+        /**
+         * Construit une entrée mémorisée.
+         *
+         * @param name      nom de l’entrée
+         * @param directory {@code true} pour un dossier
+         */
+        public Entry(String name, boolean directory) {
+            this.name = name;
+            this.directory = directory;
+        }
+
+        /** @return nom de l’entrée */
+        public String getName() {
+            return name;
+        }
+
+        /** @return {@code true} pour un dossier */
+        public boolean isDirectory() {
+            return directory;
+        }
+    }
+}
@@ -8,7 +8,8 @@
  *
  * <ul>
  *     <li><strong>Composite</strong> : pour modéliser une arborescence de fichiers avec
- *         {@link model.FileComponent}, {@link model.FileLeaf}, et {@link model.DirectoryComposite} ;</li>
+ *         {@link model.FileComponent}, {@link model.FileLeaf}, et {@link model.DirectoryComposite}
+ *         (ou {@link model.LazyDirectoryComposite}, qui ne lit son contenu qu’au moment de la visite) ;</li>
  *     <li><strong>Immuabilité</strong> : via la classe {@link model.Profile}, qui décrit un profil
  *         de synchronisation comme une entité stable et identifiée par un nom logique.</li>
  * </ul>
@@ -18,8 +19,12 @@
  * </p>
  * <ul>
  *     <li>{@link model.Registry} : une structure clé-valeur pour suivre l’historique des fichiers synchronisés,</li>
+ *     <li>{@link model.StatIndex} : l’index persistant des listages de dossiers, qui évite de relire
+ *         les dossiers inchangés d’un parcours à l’autre,</li>
+ *     <li>{@link model.FileAttributes} : un instantané des métadonnées d’un fichier, relevé une seule fois lors du parcours,</li>
  *     <li>{@link model.FileSystemExplorer} : une classe utilitaire pour construire dynamiquement la structure Composite
- *         à partir du système de fichiers local.</li>
+ *         à partir du système de fichiers local ; la synchronisation parcourt quant à elle A et B conjointement,
+ *         en lisant les dossiers en parallèle (voir {@link sync.MergeWalker}).</li>
  * </ul>
  *
  * <p>
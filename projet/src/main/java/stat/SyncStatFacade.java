@@ -57,7 +57,7 @@ public final class SyncStatFacade {
             System.out.println("Dossier B : " + profile.getPathB());
 
             // Affichage du registre
-            RegistryManager.init(new XmlRegistryStrategyFactory().createStrategy());
+            RegistryManager.init(new JournalRegistryStrategyFactory().createStrategy());
             RegistryManager.getInstance().printRegistry(profileName);
         } catch (IOException e) {
             System.err.println("Impossible de charger le profil \"" + profileName + "\" : " + e.getMessage());
@@ -1,5 +1,12 @@
 package sync;
 
+import filesystem.FileHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
 /**
  * Classe abstraite du patron <strong>Chain of Responsibility</strong>.
  *
@@ -11,6 +18,11 @@ package sync;
  * <p>
  * Les classes concrètes comme {@code CopyHandler}, {@code DeleteHandler}, etc., hériteront
  * de cette classe pour bénéficier du chaînage par défaut.
+ * </p>
+ *
+ * <p>
+ * Les maillons qui copient un fichier enregistrent une date commune aux deux côtés
+ * ({@link #agreeOnTimestamp(FileHandler, Path, Path, long)}) : un second parcours ne trouve alors rien à faire.
  *
  * @see SyncHandler
  * @see SyncContext
@@ -23,6 +35,9 @@ public abstract class AbstractSyncHandler implements SyncHandler {
     /** Tolérance en millisecondes pour éviter les faux positifs de conflit. */
     protected static final long TIME_TOLERANCE_MS = 10;
 
+    /** Plus grand arrondi des dates attribué au système de fichiers de destination (FAT : 2 s), en millis. */
+    protected static final long TIMESTAMP_GRANULARITY_MS = 2_000L;
+
     @Override
     public void setNext(SyncHandler next) {
         this.next = next;
@@ -34,4 +49,43 @@ public abstract class AbstractSyncHandler implements SyncHandler {
             next.handle(context);
         }
     }
+
+    /**
+     * Retourne la date à enregistrer après la copie d’un fichier, identique des deux côtés.
+     *
+     * <p>
+     * La copie reçoit la date de la source, mais un système de fichiers aux dates moins précises
+     * l’arrondit : au parcours suivant, la copie paraîtrait plus ancienne que la source et serait
+     * recopiée, indéfiniment. Lorsque la date de la copie diffère de celle de la source de moins de
+     * {@link #TIMESTAMP_GRANULARITY_MS}, la source reçoit la date arrondie, qui devient la date
+     * commune. La source n’est pas modifiée si sa date a changé depuis le début de la copie.
+     * </p>
+     *
+     * <p>
+     * Les dates sont lues par le gestionnaire de fichiers : une copie dont la validation est différée
+     * (groupe de {@link filesystem.AtomicFileHandler}) est lue dans son fichier temporaire, celui qui
+     * sera renommé sur la destination, et non dans l’ancienne destination encore en place.
+     * </p>
+     *
+     * @param fileHandler gestionnaire ayant effectué la copie
+     * @param source      fichier copié
+     * @param target      copie
+     * @param time        date de modification de la source lors de la copie
+     * @return date commune à enregistrer dans le registre
+     * @throws IOException si une date ne peut pas être lue ou modifiée
+     */
+    protected static long agreeOnTimestamp(FileHandler fileHandler, Path source, Path target, long time)
+            throws IOException {
+        if (!fileHandler.exists(target)) {
+            return time;
+        }
+        long actual = fileHandler.getLastModified(target);
+        long diff = Math.abs(actual - time);
+        if (diff <= TIME_TOLERANCE_MS || diff >= TIMESTAMP_GRANULARITY_MS
+                || Files.getLastModifiedTime(source).toMillis() != time) {
+            return time;
+        }
+        Files.setLastModifiedTime(source, FileTime.fromMillis(actual));
+        return actual;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package sync;
+
+import model.FileAttributes;
+
+/**
+ * Conflit détecté pendant une synchronisation : un fichier modifié des deux côtés.
+ *
+ * <p>
+ * Le conflit décrit l’état des deux versions au moment de sa détection ; il est placé dans une
+ * {@link ConflictQueue} et résolu en fin de synchronisation, après une nouvelle vérification.
+ *
+ * @see ConflictQueue
+ * @see ConflictResolver
+ * @since JDK 17
+ */
+public final class Conflict {
+    /** Chemin relatif du fichier. */
+    private final String relativePath;
+
+    /** Date de modification de la version de A, en millisecondes. */
+    private final long lastModifiedA;
+
+    /** Date de modification de la version de B, en millisecondes. */
+    private final long lastModifiedB;
+
+    /** Taille de la version de A. */
+    private final long sizeA;
+
+    /** Taille de la version de B. */
+    private final long sizeB;
+
+    /**
+     * Construit un conflit.
+     *
+     * @param relativePath  chemin relatif du fichier
+     * @param lastModifiedA date de modification de la version de A
+     * @param lastModifiedB date de modification de la version de B
+     * @param sizeA         taille de la version de A
+     * @param sizeB         taille de la version de B
+     */
+    public Conflict(String relativePath, long lastModifiedA, long lastModifiedB, long sizeA, long sizeB) {
+        this.relativePath = relativePath;
+        this.lastModifiedA = lastModifiedA;
+        this.lastModifiedB = lastModifiedB;
+        this.sizeA = sizeA;
+        this.sizeB = sizeB;
+    }
+
+    /**
+     * Décrit le conflit d’un contexte de synchronisation.
+     *
+     * @param context contexte dont les deux fichiers existent
+     * @return conflit correspondant
+     */
+    static Conflict of(SyncContext context) {
+        FileAttributes attributesA = context.getAttributesA();
+        FileAttributes attributesB = context.getAttributesB();
+        return new Conflict(context.relativePath, attributesA.lastModified(), attributesB.lastModified(),
+                attributesA.size(), attributesB.size());
+    }
+
+    /**
+     * Retourne le chemin relatif du fichier.
+     *
+     * @return chemin relatif
+     */
+    public String relativePath() {
+        return relativePath;
+    }
+
+    /**
+     * Retourne la date de modification de la version de A.
+     *
+     * @return date en millisecondes
+     */
+    public long lastModifiedA() {
+        return lastModifiedA;
+    }
+
+    /**
+     * Retourne la date de modification de la version de B.
+     *
+     * @return date en millisecondes
+     */
+    public long lastModifiedB() {
+        return lastModifiedB;
+    }
+
+    /**
+     * Retourne la taille de la version de A.
+     *
+     * @return taille en octets
+     */
+    public long sizeA() {
+        return sizeA;
+    }
+
+    /**
+     * Retourne la taille de la version de B.
+     *
+     * @return taille en octets
+     */
+    public long sizeB() {
+        return sizeB;
+    }
+
+    @Override
+    public String toString() {
+        return relativePath + " (A : " + sizeA + " octet(s), B : " + sizeB + " octet(s))";
+    }
+}
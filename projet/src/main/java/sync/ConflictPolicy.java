@@ -0,0 +1,34 @@
+package sync;
+
+/**
+ * Politique de résolution des conflits, appliquée en fin de synchronisation par {@link ConflictResolver}.
+ *
+ * <p>
+ * Un conflit est un fichier modifié des deux côtés depuis la dernière synchronisation,
+ * avec des contenus différents.
+ *
+ * @see ConflictResolver
+ * @since JDK 17
+ */
+public enum ConflictPolicy {
+    /** Demander à l’utilisateur, conflit par conflit, une fois toutes les autres actions terminées. */
+    ASK,
+
+    /** Laisser les conflits en l’état : ils seront de nouveau signalés à la prochaine synchronisation. */
+    SKIP,
+
+    /** Conserver la version la plus récente. */
+    NEWEST_WINS,
+
+    /** Conserver la version de A. */
+    A_WINS,
+
+    /** Conserver la version de B. */
+    B_WINS,
+
+    /**
+     * Conserver les deux versions : la plus récente garde le nom du fichier, l’autre est renommée
+     * avec le suffixe {@code (conflit A)} ou {@code (conflit B)} et copiée des deux côtés.
+     */
+    KEEP_BOTH
+}
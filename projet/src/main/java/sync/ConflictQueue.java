@@ -0,0 +1,63 @@
+package sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * File des conflits détectés pendant une synchronisation, en attente de résolution.
+ *
+ * <p>
+ * Les threads de synchronisation y déposent les conflits sans jamais attendre : la synchronisation
+ * des autres fichiers se poursuit, et les conflits sont résolus ensemble en fin de parcours par
+ * {@link ConflictResolver}. Un chemin n’y figure qu’une fois, avec son dernier état connu ;
+ * les conflits sont restitués par ordre de chemin.
+ *
+ * @see Conflict
+ * @see ConflictResolver
+ * @since JDK 17
+ */
+public class ConflictQueue {
+    /** Conflits en attente, par chemin relatif. */
+    private final ConcurrentSkipListMap<String, Conflict> conflicts = new ConcurrentSkipListMap<>();
+
+    /**
+     * Ajoute un conflit, ou remplace celui du même chemin.
+     *
+     * @param conflict conflit détecté
+     */
+    public void add(Conflict conflict) {
+        conflicts.put(conflict.relativePath(), conflict);
+    }
+
+    /**
+     * Retourne le nombre de conflits en attente.
+     *
+     * @return nombre de conflits
+     */
+    public int size() {
+        return conflicts.size();
+    }
+
+    /**
+     * Indique si aucun conflit n’est en attente.
+     *
+     * @return {@code true} si la file est vide
+     */
+    public boolean isEmpty() {
+        return conflicts.isEmpty();
+    }
+
+    /**
+     * Retire tous les conflits en attente.
+     *
+     * @return conflits retirés, par ordre de chemin
+     */
+    public List<Conflict> drain() {
+        List<Conflict> drained = new ArrayList<>();
+        for (var entry = conflicts.pollFirstEntry(); entry != null; entry = conflicts.pollFirstEntry()) {
+            drained.add(entry.getValue());
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,244 @@
+package sync;
+
+import filesystem.FileHandler;
+import manager.RegistryManager;
+import model.Fingerprint;
+import model.Registry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+/**
+ * Résout, en une seule fois, les conflits mis en attente pendant une synchronisation.
+ *
+ * <p>
+ * La résolution a lieu une fois les autres actions terminées, depuis le thread qui pilote la
+ * synchronisation : aucun thread d’entrée-sortie n’attend jamais l’utilisateur. Chaque conflit
+ * est d’abord revérifié (un fichier a pu changer encore depuis sa détection), puis résolu selon
+ * la {@link ConflictPolicy} ; avec {@link ConflictPolicy#ASK}, le choix est demandé pour chaque
+ * conflit, et la fin de l’entrée laisse les conflits restants en l’état.
+ * </p>
+ *
+ * <p>
+ * La version retenue est copiée par {@link DecisionHandler#apply(SyncAction, SyncContext, FileHandler)},
+ * comme une copie ordinaire : le registre reçoit sa date et son empreinte.
+ *
+ * @see ConflictQueue
+ * @see ConflictPolicy
+ * @since JDK 17
+ */
+public class ConflictResolver {
+    /** Chemin absolu de la racine du répertoire A. */
+    private final Path baseA;
+
+    /** Chemin absolu de la racine du répertoire B. */
+    private final Path baseB;
+
+    /** Registre des synchronisations associé au profil. */
+    private final Registry registry;
+
+    /** Gestionnaire de fichiers effectuant les copies. */
+    private final FileHandler fileHandler;
+
+    /** Politique de résolution. */
+    private final ConflictPolicy policy;
+
+    /** Entrée lue avec {@link ConflictPolicy#ASK}. */
+    private final BufferedReader input;
+
+    /**
+     * Construit un résolveur appliquant une politique sans interaction.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param registry    le registre associé au profil de synchronisation
+     * @param fileHandler gestionnaire de fichiers effectuant les copies
+     * @param policy      politique de résolution, autre que {@link ConflictPolicy#ASK}
+     * @throws IllegalArgumentException si la politique demande une interaction
+     */
+    public ConflictResolver(Path baseA, Path baseB, Registry registry, FileHandler fileHandler, ConflictPolicy policy) {
+        this(baseA, baseB, registry, fileHandler, policy, null);
+        if (policy == ConflictPolicy.ASK) {
+            throw new IllegalArgumentException("La politique ASK nécessite une entrée.");
+        }
+    }
+
+    /**
+     * Construit un résolveur.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param registry    le registre associé au profil de synchronisation
+     * @param fileHandler gestionnaire de fichiers effectuant les copies
+     * @param policy      politique de résolution
+     * @param input       entrée lue avec {@link ConflictPolicy#ASK}
+     */
+    public ConflictResolver(Path baseA, Path baseB, Registry registry, FileHandler fileHandler,
+                            ConflictPolicy policy, BufferedReader input) {
+        this.baseA = baseA;
+        this.baseB = baseB;
+        this.registry = registry;
+        this.fileHandler = fileHandler;
+        this.policy = policy;
+        this.input = input;
+    }
+
+    /**
+     * Retourne la politique de résolution.
+     *
+     * @return politique appliquée
+     */
+    public ConflictPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Résout les conflits en attente. À appeler une fois les actions de synchronisation terminées.
+     *
+     * @param queue conflits en attente, vidée par cet appel
+     * @return nombre de conflits résolus
+     */
+    public int resolveAll(ConflictQueue queue) {
+        List<Conflict> conflicts = queue.drain();
+        if (conflicts.isEmpty()) {
+            return 0;
+        }
+        System.out.println(conflicts.size() + " conflit(s) à résoudre (" + policy + ").");
+
+        int resolved = 0;
+        for (int i = 0; i < conflicts.size(); i++) {
+            Conflict conflict = conflicts.get(i);
+            String relativePath = conflict.relativePath();
+            SyncContext context = new SyncContext(baseA.resolve(relativePath), baseB.resolve(relativePath),
+                    relativePath, registry);
+            if (DecisionHandler.decide(context) != SyncAction.CONFLICT) {
+                System.out.println("Conflit disparu depuis sa détection : " + relativePath);
+                continue;
+            }
+
+            ConflictPolicy choice = policy == ConflictPolicy.ASK ? ask(conflict) : policy;
+            if (choice == null) {
+                System.out.println();
+                System.out.println("Entrée terminée : " + (conflicts.size() - i) + " conflit(s) laissé(s) en l’état.");
+                break;
+            }
+            try {
+                if (resolve(context, conflict, choice)) {
+                    resolved++;
+                }
+            } catch (IOException e) {
+                System.err.println("Erreur de résolution de conflit (" + relativePath + ") : " + e.getMessage());
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Applique un choix de résolution à un conflit.
+     *
+     * @param context  contexte du fichier en conflit
+     * @param conflict conflit à résoudre
+     * @param choice   résolution choisie
+     * @return {@code true} si le conflit a été résolu
+     * @throws IOException si une copie ou un renommage échoue
+     */
+    private boolean resolve(SyncContext context, Conflict conflict, ConflictPolicy choice) throws IOException {
+        boolean aNewer = context.getAttributesA().lastModified() >= context.getAttributesB().lastModified();
+        switch (choice) {
+            case A_WINS -> DecisionHandler.apply(SyncAction.COPY_A_TO_B, context, fileHandler);
+            case B_WINS -> DecisionHandler.apply(SyncAction.COPY_B_TO_A, context, fileHandler);
+            case NEWEST_WINS -> DecisionHandler.apply(aNewer ? SyncAction.COPY_A_TO_B : SyncAction.COPY_B_TO_A,
+                    context, fileHandler);
+            case KEEP_BOTH -> keepBoth(context, aNewer);
+            default -> {
+                System.out.println("Conflit laissé en l’état : " + conflict.relativePath());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Conserve les deux versions : la plus ancienne est renommée avec un suffixe puis copiée de l’autre côté,
+     * la plus récente remplace ensuite le fichier d’origine.
+     *
+     * @param context contexte du fichier en conflit
+     * @param aNewer  {@code true} si la version de A est la plus récente
+     * @throws IOException si une copie ou un renommage échoue
+     */
+    private void keepBoth(SyncContext context, boolean aNewer) throws IOException {
+        Path loser = aNewer ? context.pathB : context.pathA;
+        String side = aNewer ? "B" : "A";
+        String renamedPath = conflictName(context.relativePath, side);
+        Path renamed = (aNewer ? baseB : baseA).resolve(renamedPath);
+        Path copy = (aNewer ? baseA : baseB).resolve(renamedPath);
+
+        fileHandler.move(loser, renamed);
+        Fingerprint fingerprint = fileHandler.copyWithFingerprint(renamed, copy);
+        registry.put(renamedPath, AbstractSyncHandler.agreeOnTimestamp(fileHandler, renamed, copy,
+                fileHandler.getLastModified(renamed)), fingerprint);
+
+        SyncContext winner = new SyncContext(context.pathA, context.pathB, context.relativePath, registry);
+        DecisionHandler.apply(aNewer ? SyncAction.COPY_A_TO_B : SyncAction.COPY_B_TO_A, winner, fileHandler);
+        System.out.println("Version de " + side + " conservée sous : " + renamedPath);
+        RegistryManager.getInstance().checkpoint(registry);
+    }
+
+    /**
+     * Choisit un nom libre des deux côtés pour la version renommée d’un fichier en conflit.
+     *
+     * @param relativePath chemin relatif du fichier
+     * @param side         côté de la version renommée
+     * @return chemin relatif de la version renommée, par exemple {@code doc/notes (conflit B).txt}
+     */
+    String conflictName(String relativePath, String side) {
+        int slash = relativePath.lastIndexOf('/');
+        String directory = relativePath.substring(0, slash + 1);
+        String name = relativePath.substring(slash + 1);
+        int dot = name.lastIndexOf('.');
+        String stem = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+
+        for (int attempt = 1; ; attempt++) {
+            String suffix = attempt == 1 ? " (conflit " + side + ")" : " (conflit " + side + " " + attempt + ")";
+            String candidate = directory + stem + suffix + extension;
+            if (!Files.exists(baseA.resolve(candidate)) && !Files.exists(baseB.resolve(candidate))
+                    && !registry.contains(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Demande à l’utilisateur comment résoudre un conflit.
+     *
+     * @param conflict conflit présenté
+     * @return résolution choisie, ou {@code null} si l’entrée est terminée
+     */
+    private ConflictPolicy ask(Conflict conflict) {
+        System.out.println("Conflit : " + conflict.relativePath());
+        System.out.printf("  A : %s, %d octet(s)%n", FileTime.fromMillis(conflict.lastModifiedA()), conflict.sizeA());
+        System.out.printf("  B : %s, %d octet(s)%n", FileTime.fromMillis(conflict.lastModifiedB()), conflict.sizeB());
+        System.out.print("Conserver [a] A, [b] B, [n] la plus récente, [k] les deux, [s] ignorer : ");
+        String line;
+        try {
+            line = input.readLine();
+        } catch (IOException e) {
+            return null;
+        }
+        if (line == null) {
+            return null;
+        }
+        String answer = line.trim().toLowerCase();
+        return switch (answer.isEmpty() ? "s" : answer.substring(0, 1)) {
+            case "a" -> ConflictPolicy.A_WINS;
+            case "b" -> ConflictPolicy.B_WINS;
+            case "n" -> ConflictPolicy.NEWEST_WINS;
+            case "k" -> ConflictPolicy.KEEP_BOTH;
+            default -> ConflictPolicy.SKIP;
+        };
+    }
+}
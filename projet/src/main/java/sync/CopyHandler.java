@@ -1,6 +1,9 @@
 package sync;
 
+import filesystem.FileHandler;
+import filesystem.FileHandlerFactory;
 import manager.RegistryManager;
+import model.FileAttributes;
 
 import java.io.IOException;
 import java.nio.file.*;
@@ -20,16 +23,38 @@ import java.nio.file.*;
  */
 public class CopyHandler extends AbstractSyncHandler {
 
+    /** Gestionnaire de fichiers effectuant les copies. */
+    private final FileHandler fileHandler;
+
+    /**
+     * Construit un maillon de copie copiant les fichiers sur le système de fichiers local.
+     */
+    public CopyHandler() {
+        this(FileHandlerFactory.createLocalFileHandler());
+    }
+
+    /**
+     * Construit un maillon de copie utilisant un gestionnaire de fichiers donné pour les copies.
+     *
+     * @param fileHandler gestionnaire de fichiers
+     */
+    public CopyHandler(FileHandler fileHandler) {
+        this.fileHandler = fileHandler;
+    }
+
     @Override
     public void handle(SyncContext context) {
         try {
-            if (!Files.exists(context.pathA) || !Files.exists(context.pathB)) {
+            FileAttributes attributesA = context.getAttributesA();
+            FileAttributes attributesB = context.getAttributesB();
+
+            if (!attributesA.exists() || !attributesB.exists()) {
                 super.handle(context); // L’un des fichiers est absent : rien à faire ici
                 return;
             }
 
-            long timeA = getLastModified(context.pathA);
-            long timeB = getLastModified(context.pathB);
+            long timeA = attributesA.lastModified();
+            long timeB = attributesB.lastModified();
 
             if (Math.abs(timeA - timeB) <= TIME_TOLERANCE_MS) {
                 super.handle(context); // Différence négligeable
@@ -38,11 +63,13 @@ public class CopyHandler extends AbstractSyncHandler {
 
             if (timeA > timeB) {
                 copyAndRegister(context.pathA, context.pathB, timeA, "A → B", context);
+                context.invalidateB();
             } else {
                 copyAndRegister(context.pathB, context.pathA, timeB, "B → A", context);
+                context.invalidateA();
             }
 
-            RegistryManager.getInstance().saveRegistry(context.registry);
+            RegistryManager.getInstance().checkpoint(context.registry);
         } catch (IOException e) {
             System.err.println("Erreur de copie : " + e.getMessage());
         }
@@ -50,17 +77,6 @@ public class CopyHandler extends AbstractSyncHandler {
         super.handle(context);
     }
 
-    /**
-     * Récupère le temps de dernière modification d’un fichier.
-     *
-     * @param path chemin du fichier
-     * @return timestamp en millisecondes
-     * @throws IOException si erreur d'accès au fichier
-     */
-    private long getLastModified(Path path) throws IOException {
-        return Files.getLastModifiedTime(path).toMillis();
-    }
-
     /**
      * Copie un fichier source vers sa destination et met à jour le registre.
      *
@@ -72,8 +88,8 @@ public class CopyHandler extends AbstractSyncHandler {
      * @throws IOException si erreur de copie ou de mise à jour du registre
      */
     private void copyAndRegister(Path source, Path target, long time, String label, SyncContext context) throws IOException {
-        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-        context.registry.put(context.relativePath, time);
+        fileHandler.copy(source, target);
+        context.registry.put(context.relativePath, agreeOnTimestamp(fileHandler, source, target, time));
         System.out.println("Copie " + label + " : " + source.getFileName());
     }
 }
\ No newline at end of file
@@ -0,0 +1,561 @@
+package sync;
+
+import filesystem.AsyncCopier;
+import filesystem.FileHandler;
+import filesystem.FileHandlerFactory;
+import manager.RegistryManager;
+import model.FileAttributes;
+import model.Fingerprint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Maillon unique remplaçant la chaîne {@link RegisterHandler} → {@link CopyHandler}
+ * → {@link DeleteHandler} → {@link ConflictHandler}.
+ *
+ * <p>
+ * Chaque chemin est classé une seule fois à partir de quatre critères : présence dans A,
+ * présence dans B, présence dans le registre et relation entre les dates de modification.
+ * Ces critères indexent une table de décision calculée au chargement de la classe, qui donne
+ * directement l’{@link SyncAction} à exécuter. Un fichier copié ou enregistré n’est donc plus
+ * réexaminé par les maillons suivants.
+ * </p>
+ *
+ * <p>
+ * La table reproduit, pour chaque combinaison, l’action du premier maillon de la chaîne
+ * historique qui traite le fichier. Le maillon {@link ConflictHandler} n’y figure pas : la copie
+ * du fichier le plus récent intervenant avant lui, il n’est jamais le premier à agir.
+ * </p>
+ *
+ * <p>
+ * Une copie entre deux fichiers qui ont <em>tous deux</em> changé depuis la date enregistrée dans le
+ * registre, avec des contenus différents, est en revanche un conflit ({@link SyncAction#CONFLICT}) :
+ * il est déposé dans une {@link ConflictQueue} sans interrompre la synchronisation, puis résolu
+ * en fin de lot par un {@link ConflictResolver}, jamais depuis un thread d’entrée-sortie.
+ * </p>
+ *
+ * <p>
+ * Une copie décidée par la table est ensuite confrontée à l’{@link Fingerprint empreinte} enregistrée
+ * dans le registre : si la destination n’a pas changé depuis la dernière synchronisation et que la
+ * source a toujours la même taille et la même somme CRC32C, seul le fichier a été « touché ».
+ * La copie est alors remplacée par une simple mise à jour de la date de la destination
+ * ({@link SyncAction#TOUCH_A_TO_B}, {@link SyncAction#TOUCH_B_TO_A}). Une taille différente suffit
+ * à conclure à une modification, sans lire le fichier.
+ *
+ * @see SyncAction
+ * @see SyncContext
+ * @since JDK 17
+ */
+public class DecisionHandler extends AbstractSyncHandler {
+    /** Dates de modification égales, à la tolérance près (ou fichier absent d’un côté). */
+    static final int SAME = 0;
+
+    /** Fichier de A plus récent que celui de B. */
+    static final int A_NEWER = 1;
+
+    /** Fichier de B plus récent que celui de A. */
+    static final int B_NEWER = 2;
+
+    /** Table de décision indexée par {@link #index(boolean, boolean, boolean, int)}. */
+    private static final SyncAction[] TABLE = new SyncAction[24];
+
+    static {
+        for (int registered = 0; registered < 2; registered++) {
+            for (int existsA = 0; existsA < 2; existsA++) {
+                for (int existsB = 0; existsB < 2; existsB++) {
+                    for (int relation = SAME; relation <= B_NEWER; relation++) {
+                        TABLE[index(existsA == 1, existsB == 1, registered == 1, relation)] =
+                                classify(existsA == 1, existsB == 1, registered == 1, relation);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Gestionnaire de fichiers effectuant les copies. */
+    private final FileHandler fileHandler;
+
+    /** Conflits détectés, en attente de résolution. */
+    private final ConflictQueue conflicts = new ConflictQueue();
+
+    /** Résolveur appliqué aux conflits à la fin de chaque lot, ou {@code null} pour les laisser en attente. */
+    private final ConflictResolver resolver;
+
+    /**
+     * Construit un maillon de décision copiant les fichiers sur le système de fichiers local.
+     */
+    public DecisionHandler() {
+        this(FileHandlerFactory.createLocalFileHandler());
+    }
+
+    /**
+     * Construit un maillon de décision utilisant un gestionnaire de fichiers donné pour les copies
+     * (par exemple un {@link filesystem.DeltaFileHandler}).
+     *
+     * @param fileHandler gestionnaire de fichiers
+     */
+    public DecisionHandler(FileHandler fileHandler) {
+        this(fileHandler, null);
+    }
+
+    /**
+     * Construit un maillon de décision résolvant les conflits à la fin de chaque lot.
+     *
+     * @param fileHandler gestionnaire de fichiers
+     * @param resolver    résolveur appliqué par {@link #awaitCompletion()}, ou {@code null}
+     */
+    public DecisionHandler(FileHandler fileHandler, ConflictResolver resolver) {
+        this.fileHandler = fileHandler;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public void handle(SyncContext context) {
+        SyncAction action = decide(context);
+        try {
+            apply(action, context, fileHandler, conflicts);
+        } catch (IOException e) {
+            System.err.println("Erreur de synchronisation (" + action + ") : " + e.getMessage());
+        }
+
+        super.handle(context);
+    }
+
+    /**
+     * Valide les copies que le gestionnaire de fichiers aurait mises en attente, puis résout
+     * les conflits du lot si un résolveur a été fourni.
+     */
+    @Override
+    public void awaitCompletion() {
+        try {
+            fileHandler.flush();
+        } catch (IOException e) {
+            System.err.println("Erreur de validation des copies : " + e.getMessage());
+        }
+        if (resolver != null) {
+            resolver.resolveAll(conflicts);
+        }
+    }
+
+    /**
+     * Retourne les conflits détectés et non encore résolus.
+     *
+     * @return file des conflits
+     */
+    public ConflictQueue getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Détermine l’action à appliquer à un contexte, sans effet de bord sur les fichiers. Les empreintes
+     * éventuellement calculées sont conservées dans le contexte ({@link SyncContext#getFingerprintA()}).
+     *
+     * @param context contexte de synchronisation
+     * @return action issue de la table de décision
+     */
+    public static SyncAction decide(SyncContext context) {
+        FileAttributes attributesA = context.getAttributesA();
+        FileAttributes attributesB = context.getAttributesB();
+        boolean existsA = attributesA.exists();
+        boolean existsB = attributesB.exists();
+
+        int relation = SAME;
+        if (existsA && existsB) {
+            long diff = attributesA.lastModified() - attributesB.lastModified();
+            if (diff > TIME_TOLERANCE_MS) {
+                relation = A_NEWER;
+            } else if (diff < -TIME_TOLERANCE_MS) {
+                relation = B_NEWER;
+            }
+        }
+        SyncAction action = decide(existsA, existsB, context.registry.contains(context.relativePath), relation);
+        if ((action == SyncAction.COPY_A_TO_B || action == SyncAction.COPY_B_TO_A)
+                && isConflict(attributesA, attributesB, context)) {
+            return SyncAction.CONFLICT;
+        }
+        return switch (action) {
+            case COPY_A_TO_B -> isUnchanged(true, attributesA, attributesB, context)
+                    ? SyncAction.TOUCH_A_TO_B : action;
+            case COPY_B_TO_A -> isUnchanged(false, attributesB, attributesA, context)
+                    ? SyncAction.TOUCH_B_TO_A : action;
+            default -> action;
+        };
+    }
+
+    /**
+     * Vérifie si les deux versions ont changé depuis la dernière synchronisation, avec des contenus différents.
+     *
+     * <p>
+     * Les deux dates doivent s’écarter de la date enregistrée. Deux versions de même taille et de même
+     * somme de contrôle (une même modification reportée des deux côtés) ne sont pas en conflit.
+     * </p>
+     *
+     * @param attributesA attributs de la version de A
+     * @param attributesB attributs de la version de B
+     * @param context     contexte de synchronisation
+     * @return {@code true} en cas de conflit
+     */
+    private static boolean isConflict(FileAttributes attributesA, FileAttributes attributesB, SyncContext context) {
+        Long recorded = context.registry.get(context.relativePath);
+        if (recorded == null
+                || Math.abs(attributesA.lastModified() - recorded) <= TIME_TOLERANCE_MS
+                || Math.abs(attributesB.lastModified() - recorded) <= TIME_TOLERANCE_MS) {
+            return false;
+        }
+        if (attributesA.size() != attributesB.size()) {
+            return true;
+        }
+        try {
+            return !context.getFingerprintA().equals(context.getFingerprintB());
+        } catch (IOException e) {
+            return false; // la copie signalera l’erreur, le cas échéant
+        }
+    }
+
+    /**
+     * Vérifie, à l’aide de l’empreinte du registre, qu’une copie ne changerait pas le contenu de la destination.
+     *
+     * <p>
+     * La destination doit être restée telle que lors de la dernière synchronisation (même date,
+     * même taille) et la source doit avoir la même taille puis la même somme de contrôle.
+     * </p>
+     *
+     * @param fromA            {@code true} si la source (fichier le plus récent) est dans A
+     * @param sourceAttributes attributs de la source
+     * @param targetAttributes attributs de la destination
+     * @param context          contexte de synchronisation
+     * @return {@code true} si les deux fichiers ont le contenu enregistré dans le registre
+     */
+    private static boolean isUnchanged(boolean fromA, FileAttributes sourceAttributes,
+                                       FileAttributes targetAttributes, SyncContext context) {
+        Fingerprint fingerprint = context.registry.getFingerprint(context.relativePath);
+        Long recorded = context.registry.get(context.relativePath);
+        if (fingerprint == null || recorded == null
+                || Math.abs(targetAttributes.lastModified() - recorded) > TIME_TOLERANCE_MS
+                || targetAttributes.size() != fingerprint.getSize()
+                || sourceAttributes.size() != fingerprint.getSize()) {
+            return false;
+        }
+        try {
+            return (fromA ? context.getFingerprintA() : context.getFingerprintB()).equals(fingerprint);
+        } catch (IOException e) {
+            return false; // la copie signalera l’erreur, le cas échéant
+        }
+    }
+
+    /**
+     * Consulte la table de décision.
+     *
+     * @param existsA    présence du fichier dans A
+     * @param existsB    présence du fichier dans B
+     * @param registered présence du chemin dans le registre
+     * @param relation   {@link #SAME}, {@link #A_NEWER} ou {@link #B_NEWER}
+     * @return action correspondante
+     */
+    static SyncAction decide(boolean existsA, boolean existsB, boolean registered, int relation) {
+        return TABLE[index(existsA, existsB, registered, relation)];
+    }
+
+    /**
+     * Calcule la position d’une combinaison de critères dans la table.
+     *
+     * @param existsA    présence du fichier dans A
+     * @param existsB    présence du fichier dans B
+     * @param registered présence du chemin dans le registre
+     * @param relation   relation entre les dates de modification
+     * @return indice dans {@link #TABLE}
+     */
+    private static int index(boolean existsA, boolean existsB, boolean registered, int relation) {
+        int presence = (existsA ? 1 : 0) | (existsB ? 2 : 0) | (registered ? 4 : 0);
+        return presence * 3 + relation;
+    }
+
+    /**
+     * Règles de la chaîne historique, évaluées une fois par combinaison lors du remplissage de la table.
+     *
+     * @param existsA    présence du fichier dans A
+     * @param existsB    présence du fichier dans B
+     * @param registered présence du chemin dans le registre
+     * @param relation   relation entre les dates de modification
+     * @return action du premier maillon qui traiterait le fichier
+     */
+    private static SyncAction classify(boolean existsA, boolean existsB, boolean registered, int relation) {
+        if (!registered) { // RegisterHandler
+            if (existsA) {
+                return SyncAction.REGISTER_A_TO_B;
+            }
+            return existsB ? SyncAction.REGISTER_B_TO_A : SyncAction.NONE;
+        }
+        if (existsA && existsB) { // CopyHandler
+            return switch (relation) {
+                case A_NEWER -> SyncAction.COPY_A_TO_B;
+                case B_NEWER -> SyncAction.COPY_B_TO_A;
+                default -> SyncAction.NONE;
+            };
+        }
+        if (existsA) { // DeleteHandler
+            return SyncAction.DELETE_A;
+        }
+        return existsB ? SyncAction.DELETE_B : SyncAction.NONE;
+    }
+
+    /**
+     * Exécute une action sur le contexte et met à jour le registre.
+     *
+     * @param action      action décidée
+     * @param context     contexte de synchronisation
+     * @param fileHandler gestionnaire de fichiers effectuant les copies et les suppressions
+     * @throws IOException si une copie, une suppression ou la sauvegarde du registre échoue
+     */
+    static void apply(SyncAction action, SyncContext context, FileHandler fileHandler) throws IOException {
+        apply(action, context, fileHandler, null);
+    }
+
+    /**
+     * Exécute une action sur le contexte et met à jour le registre ; un conflit est mis en attente.
+     *
+     * @param action      action décidée
+     * @param context     contexte de synchronisation
+     * @param fileHandler gestionnaire de fichiers effectuant les copies et les suppressions
+     * @param conflicts   file recevant les conflits, ou {@code null} pour les signaler seulement
+     * @throws IOException si une copie, une suppression ou la sauvegarde du registre échoue
+     */
+    static void apply(SyncAction action, SyncContext context, FileHandler fileHandler, ConflictQueue conflicts)
+            throws IOException {
+        switch (action) {
+            case REGISTER_A_TO_B -> {
+                copy(context.pathA, context.pathB, context.getAttributesA().lastModified(), context, fileHandler);
+                context.invalidateB();
+                System.out.println(copyMessage(action, context));
+            }
+            case REGISTER_B_TO_A -> {
+                copy(context.pathB, context.pathA, context.getAttributesB().lastModified(), context, fileHandler);
+                context.invalidateA();
+                System.out.println(copyMessage(action, context));
+            }
+            case COPY_A_TO_B -> {
+                copy(context.pathA, context.pathB, context.getAttributesA().lastModified(), context, fileHandler);
+                context.invalidateB();
+                System.out.println(copyMessage(action, context));
+            }
+            case COPY_B_TO_A -> {
+                copy(context.pathB, context.pathA, context.getAttributesB().lastModified(), context, fileHandler);
+                context.invalidateA();
+                System.out.println(copyMessage(action, context));
+            }
+            case TOUCH_A_TO_B -> {
+                touch(context.pathA, context.pathB, context.getAttributesA().lastModified(), context, fileHandler);
+                context.invalidateB();
+                System.out.println("Contenu identique, date mise à jour dans B : " + context.pathB.getFileName());
+            }
+            case TOUCH_B_TO_A -> {
+                touch(context.pathB, context.pathA, context.getAttributesB().lastModified(), context, fileHandler);
+                context.invalidateA();
+                System.out.println("Contenu identique, date mise à jour dans A : " + context.pathA.getFileName());
+            }
+            case DELETE_A -> {
+                delete(context.pathA, context, fileHandler);
+                context.invalidateA();
+                System.out.println("Suppression dans A : " + context.pathA.getFileName());
+            }
+            case DELETE_B -> {
+                delete(context.pathB, context, fileHandler);
+                context.invalidateB();
+                System.out.println("Suppression dans B : " + context.pathB.getFileName());
+            }
+            case MOVE_A_TO_B, MOVE_B_TO_A, MOVE_DIR_A_TO_B, MOVE_DIR_B_TO_A -> throw new IllegalArgumentException(
+                    "Un déplacement s'applique avec applyMove : " + context.relativePath);
+            case CONFLICT -> {
+                if (conflicts != null) {
+                    conflicts.add(Conflict.of(context));
+                    System.out.println("Conflit mis en attente : " + context.relativePath);
+                } else {
+                    System.out.println("Conflit non résolu : " + context.relativePath);
+                }
+                return;
+            }
+            case NONE -> {
+                return;
+            }
+        }
+        RegistryManager.getInstance().checkpoint(context.registry);
+    }
+
+    /**
+     * Reproduit un renommage d’un côté à l’autre : le fichier de l’ancien chemin est déplacé
+     * vers le nouveau, sans copie, et son entrée de registre change de clé.
+     *
+     * <p>
+     * La date de modification du fichier déplacé est alignée sur celle du fichier renommé,
+     * et l’empreinte enregistrée pour l’ancien chemin est conservée : les contenus ont été
+     * comparés lors de la détection (voir {@link RenameDetector}).
+     * </p>
+     *
+     * <p>
+     * Un dossier ({@link SyncAction#MOVE_DIR_A_TO_B}, {@link SyncAction#MOVE_DIR_B_TO_A}) est déplacé
+     * d’un bloc, et toutes les entrées du registre placées sous son ancien chemin changent de préfixe ;
+     * ses fichiers conservent leur date.
+     * </p>
+     *
+     * @param action      action de déplacement
+     * @param from        contexte de l’ancien chemin
+     * @param to          contexte du nouveau chemin
+     * @param fileHandler gestionnaire de fichiers effectuant le déplacement
+     * @throws IOException si le déplacement ou la sauvegarde du registre échoue
+     */
+    static void applyMove(SyncAction action, SyncContext from, SyncContext to, FileHandler fileHandler)
+            throws IOException {
+        boolean towardsB = action == SyncAction.MOVE_A_TO_B || action == SyncAction.MOVE_DIR_A_TO_B;
+        Path source = towardsB ? from.pathB : from.pathA;
+        Path target = towardsB ? to.pathB : to.pathA;
+        if (action == SyncAction.MOVE_DIR_A_TO_B || action == SyncAction.MOVE_DIR_B_TO_A) {
+            fileHandler.move(source, target);
+            int entries = to.registry.renamePrefix(from.relativePath, to.relativePath);
+            System.out.println("Déplacement du dossier dans " + (towardsB ? "B" : "A") + " : " + from.relativePath
+                    + " → " + to.relativePath + " (" + entries + " fichier(s))");
+            RegistryManager.getInstance().checkpoint(to.registry);
+            return;
+        }
+        long time = (towardsB ? to.getAttributesA() : to.getAttributesB()).lastModified();
+        Fingerprint fingerprint = from.registry.getFingerprint(from.relativePath);
+
+        fileHandler.move(source, target);
+        if (fileHandler.getLastModified(target) != time) {
+            fileHandler.setLastModified(target, time);
+        }
+        from.registry.remove(from.relativePath);
+        to.registry.put(to.relativePath,
+                agreeOnTimestamp(fileHandler, towardsB ? to.pathA : to.pathB, target, time), fingerprint);
+        if (towardsB) {
+            from.invalidateB();
+            to.invalidateB();
+        } else {
+            from.invalidateA();
+            to.invalidateA();
+        }
+        System.out.println("Déplacement dans " + (towardsB ? "B" : "A") + " : "
+                + from.relativePath + " → " + to.relativePath);
+        RegistryManager.getInstance().checkpoint(to.registry);
+    }
+
+    /**
+     * Exécute une action en confiant les copies à un copieur asynchrone.
+     *
+     * <p>
+     * Pour un enregistrement ou une copie, le thread appelant se contente de soumettre la copie
+     * à {@code copier} (l’appel peut bloquer tant que le copieur est saturé) : l’empreinte de la source
+     * est calculée pendant la copie par le thread d’entrée-sortie, qui met ensuite à jour le registre
+     * et demande un point de contrôle. Les autres actions sont exécutées immédiatement.
+     * </p>
+     *
+     * @param action  action décidée
+     * @param context contexte de synchronisation
+     * @param copier  copieur asynchrone
+     * @return tâche achevée une fois l’action appliquée et enregistrée
+     */
+    static CompletableFuture<Void> applyAsync(SyncAction action, SyncContext context, AsyncCopier copier) {
+        boolean towardsB;
+        switch (action) {
+            case REGISTER_A_TO_B, COPY_A_TO_B -> towardsB = true;
+            case REGISTER_B_TO_A, COPY_B_TO_A -> towardsB = false;
+            default -> {
+                try {
+                    apply(action, context, copier.getFileHandler());
+                    return CompletableFuture.completedFuture(null);
+                } catch (IOException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        }
+
+        Path source = towardsB ? context.pathA : context.pathB;
+        Path target = towardsB ? context.pathB : context.pathA;
+        long time = (towardsB ? context.getAttributesA() : context.getAttributesB()).lastModified();
+
+        return copier.submitWithFingerprint(source, target).thenAccept(fingerprint -> {
+            try {
+                context.registry.put(context.relativePath,
+                        agreeOnTimestamp(copier.getFileHandler(), source, target, time), fingerprint);
+                if (towardsB) {
+                    context.invalidateB();
+                } else {
+                    context.invalidateA();
+                }
+                System.out.println(copyMessage(action, context));
+                RegistryManager.getInstance().checkpoint(context.registry);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Construit le message affiché après un enregistrement ou une copie.
+     *
+     * @param action  action de copie
+     * @param context contexte de synchronisation
+     * @return message
+     */
+    private static String copyMessage(SyncAction action, SyncContext context) {
+        return switch (action) {
+            case REGISTER_A_TO_B -> "Enregistrement + copie A→B : " + context.relativePath;
+            case REGISTER_B_TO_A -> "Enregistrement + copie B→A : " + context.relativePath;
+            case COPY_A_TO_B -> "Copie A → B : " + context.pathA.getFileName();
+            default -> "Copie B → A : " + context.pathB.getFileName();
+        };
+    }
+
+    /**
+     * Copie un fichier et enregistre la date de modification de la source ainsi que l’empreinte
+     * de son contenu. L’empreinte est calculée par le gestionnaire de fichiers pendant la copie
+     * ({@link FileHandler#copyWithFingerprint(Path, Path)}) : elle décrit exactement les octets écrits,
+     * sans lecture supplémentaire de la source, et reste valable si la destination n’apparaît
+     * qu’à la validation d’un groupe de copies (voir {@link filesystem.AtomicFileHandler}).
+     *
+     * @param source      fichier source
+     * @param target      destination
+     * @param time        date de modification de la source
+     * @param context     contexte de synchronisation
+     * @param fileHandler gestionnaire de fichiers effectuant la copie
+     * @throws IOException si la copie échoue
+     */
+    private static void copy(Path source, Path target, long time, SyncContext context, FileHandler fileHandler)
+            throws IOException {
+        Fingerprint fingerprint = fileHandler.copyWithFingerprint(source, target);
+        context.registry.put(context.relativePath, agreeOnTimestamp(fileHandler, source, target, time), fingerprint);
+    }
+
+    /**
+     * Aligne la date de modification d’un fichier de contenu identique sur celle de la source,
+     * en conservant l’empreinte enregistrée.
+     *
+     * @param source      fichier dont la date est reportée
+     * @param target      fichier à mettre à jour
+     * @param time        date de modification de la source
+     * @param context     contexte de synchronisation
+     * @param fileHandler gestionnaire de fichiers modifiant la date
+     * @throws IOException si la date ne peut pas être modifiée
+     */
+    private static void touch(Path source, Path target, long time, SyncContext context, FileHandler fileHandler)
+            throws IOException {
+        fileHandler.setLastModified(target, time);
+        context.registry.put(context.relativePath, agreeOnTimestamp(fileHandler, source, target, time),
+                context.registry.getFingerprint(context.relativePath));
+    }
+
+    /**
+     * Supprime un fichier et le retire du registre.
+     *
+     * @param path        fichier à supprimer
+     * @param context     contexte de synchronisation
+     * @param fileHandler gestionnaire de fichiers effectuant la suppression
+     * @throws IOException si la suppression échoue
+     */
+    private static void delete(Path path, SyncContext context, FileHandler fileHandler) throws IOException {
+        fileHandler.delete(path);
+        context.registry.remove(context.relativePath);
+    }
+}
@@ -1,5 +1,7 @@
 package sync;
 
+import filesystem.FileHandler;
+import filesystem.FileHandlerFactory;
 import manager.RegistryManager;
 
 import java.io.IOException;
@@ -22,11 +24,30 @@ import java.nio.file.*;
  */
 public class DeleteHandler extends AbstractSyncHandler {
 
+    /** Gestionnaire de fichiers effectuant les suppressions. */
+    private final FileHandler fileHandler;
+
+    /**
+     * Construit un maillon de suppression agissant sur le système de fichiers local.
+     */
+    public DeleteHandler() {
+        this(FileHandlerFactory.createLocalFileHandler());
+    }
+
+    /**
+     * Construit un maillon de suppression utilisant un gestionnaire de fichiers donné.
+     *
+     * @param fileHandler gestionnaire de fichiers
+     */
+    public DeleteHandler(FileHandler fileHandler) {
+        this.fileHandler = fileHandler;
+    }
+
     @Override
     public void handle(SyncContext context) {
         try {
-            boolean existsA = Files.exists(context.pathA);
-            boolean existsB = Files.exists(context.pathB);
+            boolean existsA = context.getAttributesA().exists();
+            boolean existsB = context.getAttributesB().exists();
 
             // Ne traite que les fichiers connus dans le registre
             if (!context.registry.contains(context.relativePath)) {
@@ -37,8 +58,10 @@ public class DeleteHandler extends AbstractSyncHandler {
 
             if (!existsA && existsB) {
                 deleteFile(context.pathB, "B", context);
+                context.invalidateB();
             } else if (existsA && !existsB) {
                 deleteFile(context.pathA, "A", context);
+                context.invalidateA();
             }
         } catch (IOException e) {
             System.err.println("Erreur de suppression : " + e.getMessage());
@@ -56,10 +79,10 @@ public class DeleteHandler extends AbstractSyncHandler {
      * @throws IOException en cas de problème lors de la suppression
      */
     private void deleteFile(Path path, String label, SyncContext context) throws IOException {
-        Files.delete(path);
+        fileHandler.delete(path);
         System.out.println("Suppression dans " + label + " : " + path.getFileName());
 
         context.registry.remove(context.relativePath);
-        RegistryManager.getInstance().saveRegistry(context.registry);
+        RegistryManager.getInstance().checkpoint(context.registry);
     }
 }
\ No newline at end of file
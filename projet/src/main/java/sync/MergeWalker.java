@@ -0,0 +1,383 @@
+package sync;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import model.*;
+
+/**
+ * Parcours conjoint (<em>merge-join</em>) des répertoires A et B.
+ *
+ * <p>
+ * Les deux arborescences sont parcourues ensemble, dossier par dossier : les contenus
+ * de {@code A/rel} et {@code B/rel} sont listés (triés par nom, voir
+ * {@link FileSystemExplorer#listChildren(Path)}) puis fusionnés. Chaque chemin relatif
+ * distinct donne lieu à <strong>un seul</strong> {@link SyncContext}, porteur des attributs
+ * des deux côtés, transmis à la chaîne {@link SyncHandler}. Chaque fichier est ainsi
+ * traité une seule fois, sans double passage A → B puis B → A.
+ * </p>
+ *
+ * <p>
+ * Seuls les listages des dossiers en cours de parcours sont conservés en mémoire :
+ * l’occupation dépend de la profondeur et de la largeur de l’arborescence, et non
+ * du nombre total de fichiers. Avec un parallélisme supérieur à 1, les listages des
+ * sous-dossiers suivants (côtés A et B) sont lus par anticipation dans un pool de threads,
+ * dans une fenêtre bornée par ce parallélisme.
+ * </p>
+ *
+ * <p>
+ * Les entrées refusées par le {@link PathFilter} du profil sont écartées au listage de leur
+ * dossier parent : un dossier exclu n’est jamais lu.
+ * </p>
+ *
+ * <p>
+ * Lorsqu’un {@link StatIndex} est fourni, les dossiers inchangés depuis le parcours
+ * précédent ne sont pas relus (voir {@link StatIndex#listChildren(Path)}).
+ * </p>
+ *
+ * <p>
+ * Un nom correspondant à un fichier d’un côté et à un dossier de l’autre est signalé
+ * puis ignoré.
+ *
+ * @see SyncContext
+ * @see SyncHandler
+ * @see FileSystemExplorer
+ * @since JDK 17
+ */
+public class MergeWalker {
+    /** Chemin absolu de la racine du répertoire A. */
+    private final Path baseA;
+
+    /** Chemin absolu de la racine du répertoire B. */
+    private final Path baseB;
+
+    /** Chaîne de traitement appliquée à chaque chemin relatif. */
+    private final SyncHandler handler;
+
+    /** Registre des synchronisations associé au profil. */
+    private final Registry registry;
+
+    /** Nombre de listages de dossiers pouvant être lus par anticipation. */
+    private final int parallelism;
+
+    /** Index des listages du parcours précédent, ou {@code null} pour toujours relire les dossiers. */
+    private final StatIndex statIndex;
+
+    /** Règles d’inclusion et d’exclusion du profil. */
+    private final PathFilter filter;
+
+    /** Pool de lecture anticipée des dossiers, actif uniquement pendant {@link #walk()}. */
+    private ExecutorService executor;
+
+    /**
+     * Construit un parcours conjoint séquentiel.
+     *
+     * @param baseA    chemin racine du répertoire A
+     * @param baseB    chemin racine du répertoire B
+     * @param handler  la chaîne de responsabilité à appliquer à chaque fichier
+     * @param registry le registre associé au profil de synchronisation
+     */
+    public MergeWalker(Path baseA, Path baseB, SyncHandler handler, Registry registry) {
+        this(baseA, baseB, handler, registry, 1);
+    }
+
+    /**
+     * Construit un parcours conjoint avec lecture anticipée des dossiers.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param handler     la chaîne de responsabilité à appliquer à chaque fichier
+     * @param registry    le registre associé au profil de synchronisation
+     * @param parallelism nombre de threads de listage (1 pour un parcours séquentiel)
+     * @throws IllegalArgumentException si {@code parallelism} est inférieur à 1
+     */
+    public MergeWalker(Path baseA, Path baseB, SyncHandler handler, Registry registry, int parallelism) {
+        this(baseA, baseB, handler, registry, parallelism, null);
+    }
+
+    /**
+     * Construit un parcours conjoint avec lecture anticipée des dossiers et index des listages.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param handler     la chaîne de responsabilité à appliquer à chaque fichier
+     * @param registry    le registre associé au profil de synchronisation
+     * @param parallelism nombre de threads de listage (1 pour un parcours séquentiel)
+     * @param statIndex   index des listages à réutiliser et mettre à jour, ou {@code null}
+     * @throws IllegalArgumentException si {@code parallelism} est inférieur à 1
+     */
+    public MergeWalker(Path baseA, Path baseB, SyncHandler handler, Registry registry, int parallelism,
+                       StatIndex statIndex) {
+        this(baseA, baseB, handler, registry, parallelism, statIndex, PathFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Construit un parcours conjoint complet : lecture anticipée, index des listages et filtrage.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param handler     la chaîne de responsabilité à appliquer à chaque fichier
+     * @param registry    le registre associé au profil de synchronisation
+     * @param parallelism nombre de threads de listage (1 pour un parcours séquentiel)
+     * @param statIndex   index des listages à réutiliser et mettre à jour, ou {@code null}
+     * @param filter      règles d’inclusion et d’exclusion du profil
+     * @throws IllegalArgumentException si {@code parallelism} est inférieur à 1
+     */
+    public MergeWalker(Path baseA, Path baseB, SyncHandler handler, Registry registry, int parallelism,
+                       StatIndex statIndex, PathFilter filter) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Le niveau de parallélisme doit être positif : " + parallelism);
+        }
+        this.baseA = baseA;
+        this.baseB = baseB;
+        this.handler = handler;
+        this.registry = registry;
+        this.parallelism = parallelism;
+        this.statIndex = statIndex;
+        this.filter = filter;
+    }
+
+    /**
+     * Parcourt conjointement A et B et applique la chaîne à chaque chemin relatif.
+     * La méthode ne rend la main qu’une fois tous les contextes traités
+     * (voir {@link SyncHandler#awaitCompletion()}).
+     *
+     * @throws IllegalArgumentException si l’une des racines n’est pas un dossier
+     * @throws IOException si un dossier ne peut pas être lu
+     */
+    public void walk() throws IOException {
+        requireDirectory(baseA);
+        requireDirectory(baseB);
+
+        if (parallelism > 1) {
+            executor = Executors.newFixedThreadPool(parallelism);
+        }
+        try {
+            walkDirectory("", baseA, baseB, list(baseA, ""), list(baseB, ""));
+        } finally {
+            handler.awaitCompletion();
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Fusionne et traite le contenu d’un dossier présent dans A et/ou B.
+     *
+     * @param relativeDir chemin relatif du dossier ({@code ""} pour la racine)
+     * @param dirA        chemin du dossier dans A
+     * @param dirB        chemin du dossier dans B
+     * @param childrenA   contenu trié du dossier dans A
+     * @param childrenB   contenu trié du dossier dans B
+     * @throws IOException si un sous-dossier ne peut pas être lu
+     */
+    private void walkDirectory(String relativeDir, Path dirA, Path dirB,
+                               List<FileComponent> childrenA, List<FileComponent> childrenB) throws IOException {
+        List<Entry> entries = merge(childrenA, childrenB);
+
+        // Sous-dossiers à parcourir, dans l’ordre, et lectures anticipées en cours
+        List<Entry> subDirs = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.isDirectory()) {
+                subDirs.add(entry);
+            }
+        }
+        Deque<Listing> ahead = new ArrayDeque<>();
+        int nextToFetch = 0;
+        while (nextToFetch < subDirs.size() && ahead.size() < parallelism) {
+            ahead.add(fetch(subDirs.get(nextToFetch++), relativeDir));
+        }
+
+        for (Entry entry : entries) {
+            String relativePath = PathFilter.join(relativeDir, entry.name);
+
+            if (entry.isTypeMismatch()) {
+                System.err.println("Conflit de type fichier/dossier ignoré : " + relativePath);
+            } else if (entry.isDirectory()) {
+                Listing listing = ahead.poll();
+                if (nextToFetch < subDirs.size()) {
+                    ahead.add(fetch(subDirs.get(nextToFetch++), relativeDir));
+                }
+                walkDirectory(relativePath, dirA.resolve(entry.name), dirB.resolve(entry.name),
+                        listing.childrenA(), listing.childrenB());
+            } else {
+                handler.handle(new SyncContext(dirA.resolve(entry.name), dirB.resolve(entry.name), relativePath,
+                        registry, attributesOf(entry.a), attributesOf(entry.b)));
+            }
+        }
+    }
+
+    /**
+     * Fusionne deux listes triées par nom en une liste d’entrées appariées.
+     *
+     * @param childrenA contenu trié côté A
+     * @param childrenB contenu trié côté B
+     * @return les entrées fusionnées, triées par nom
+     */
+    private static List<Entry> merge(List<FileComponent> childrenA, List<FileComponent> childrenB) {
+        List<Entry> entries = new ArrayList<>(Math.max(childrenA.size(), childrenB.size()));
+        int i = 0;
+        int j = 0;
+
+        while (i < childrenA.size() || j < childrenB.size()) {
+            FileComponent a = i < childrenA.size() ? childrenA.get(i) : null;
+            FileComponent b = j < childrenB.size() ? childrenB.get(j) : null;
+            int cmp = a == null ? 1 : b == null ? -1 : a.getName().compareTo(b.getName());
+
+            if (cmp == 0) {
+                entries.add(new Entry(a.getName(), a, b));
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                entries.add(new Entry(a.getName(), a, null));
+                i++;
+            } else {
+                entries.add(new Entry(b.getName(), null, b));
+                j++;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Lance (ou effectue directement en mode séquentiel) le listage d’un sous-dossier des deux côtés.
+     *
+     * @param entry       sous-dossier à lister
+     * @param relativeDir chemin relatif du dossier parent
+     * @return le listage, éventuellement en cours
+     * @throws IOException si le listage séquentiel échoue
+     */
+    private Listing fetch(Entry entry, String relativeDir) throws IOException {
+        String relativePath = PathFilter.join(relativeDir, entry.name);
+        if (executor == null) {
+            return Listing.completed(list(entry.a, relativePath), list(entry.b, relativePath));
+        }
+        return new Listing(executor.submit(() -> list(entry.a, relativePath)),
+                executor.submit(() -> list(entry.b, relativePath)));
+    }
+
+    /**
+     * Liste un dossier d’un côté, ou retourne une liste vide s’il n’existe pas de ce côté.
+     *
+     * @param dir          dossier à lister, éventuellement {@code null}
+     * @param relativePath chemin relatif du dossier
+     * @return contenu trié et filtré du dossier
+     * @throws IOException si le dossier ne peut pas être lu
+     */
+    private List<FileComponent> list(FileComponent dir, String relativePath) throws IOException {
+        return dir == null ? List.of() : list(dir.getPath(), relativePath);
+    }
+
+    /**
+     * Liste un dossier, via l’index des listages s’il est disponible, et applique le filtre du profil.
+     *
+     * @param dir          dossier à lister
+     * @param relativePath chemin relatif du dossier
+     * @return contenu trié et filtré du dossier
+     * @throws IOException si le dossier ne peut pas être lu
+     */
+    private List<FileComponent> list(Path dir, String relativePath) throws IOException {
+        List<FileComponent> children = statIndex == null
+                ? FileSystemExplorer.listChildren(dir)
+                : statIndex.listChildren(dir);
+        return filter.filter(children, relativePath);
+    }
+
+    /**
+     * Retourne les attributs d’un composant, ou {@link FileAttributes#MISSING} s’il est absent.
+     *
+     * @param component composant éventuellement {@code null}
+     * @return attributs du composant
+     */
+    private static FileAttributes attributesOf(FileComponent component) {
+        return component == null ? FileAttributes.MISSING : component.getAttributes();
+    }
+
+    /**
+     * Vérifie qu’une racine est un dossier existant.
+     *
+     * @param root racine à vérifier
+     * @throws IllegalArgumentException si ce n’est pas un dossier
+     */
+    private static void requireDirectory(Path root) {
+        if (!FileAttributes.read(root).isDirectory()) {
+            throw new IllegalArgumentException("Le chemin fourni n'est pas un dossier : " + root);
+        }
+    }
+
+    /**
+     * Entrée fusionnée : un même nom, présent dans A et/ou B.
+     */
+    private static final class Entry {
+        /** Nom de l’entrée. */
+        final String name;
+
+        /** Composant côté A, ou {@code null}. */
+        final FileComponent a;
+
+        /** Composant côté B, ou {@code null}. */
+        final FileComponent b;
+
+        Entry(String name, FileComponent a, FileComponent b) {
+            this.name = name;
+            this.a = a;
+            this.b = b;
+        }
+
+        /** @return {@code true} si l’entrée est un dossier d’un côté et un fichier de l’autre */
+        boolean isTypeMismatch() {
+            return a != null && b != null && (a instanceof DirectoryComposite) != (b instanceof DirectoryComposite);
+        }
+
+        /** @return {@code true} si l’entrée est un dossier (des deux côtés où elle existe) */
+        boolean isDirectory() {
+            return !isTypeMismatch() && (a instanceof DirectoryComposite || b instanceof DirectoryComposite);
+        }
+    }
+
+    /**
+     * Listage des deux côtés d’un sous-dossier, éventuellement encore en cours.
+     */
+    private static final class Listing {
+        /** Contenu côté A. */
+        private final Future<List<FileComponent>> childrenA;
+
+        /** Contenu côté B. */
+        private final Future<List<FileComponent>> childrenB;
+
+        Listing(Future<List<FileComponent>> childrenA, Future<List<FileComponent>> childrenB) {
+            this.childrenA = childrenA;
+            this.childrenB = childrenB;
+        }
+
+        static Listing completed(List<FileComponent> childrenA, List<FileComponent> childrenB) {
+            return new Listing(CompletableFuture.completedFuture(childrenA), CompletableFuture.completedFuture(childrenB));
+        }
+
+        List<FileComponent> childrenA() throws IOException {
+            return await(childrenA);
+        }
+
+        List<FileComponent> childrenB() throws IOException {
+            return await(childrenB);
+        }
+
+        private static List<FileComponent> await(Future<List<FileComponent>> future) throws IOException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) {
+                    throw io;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Listage interrompu", e);
+            }
+        }
+    }
+}
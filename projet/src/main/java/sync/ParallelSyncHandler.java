@@ -0,0 +1,119 @@
+package sync;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maillon qui répartit les contextes de synchronisation sur un pool de threads borné.
+ *
+ * <p>
+ * Chaque contexte reçu est confié à l’un des {@code workers} threads, qui lui applique
+ * le maillon délégué puis la suite de la chaîne. Le nombre de contextes en attente est
+ * limité à {@link #QUEUE_FACTOR} fois le nombre de threads : au-delà, {@link #handle(SyncContext)}
+ * bloque l’appelant (le parcours), ce qui borne la mémoire quelle que soit la taille de l’arborescence.
+ * </p>
+ *
+ * <p>
+ * Le maillon délégué est partagé entre les threads et doit donc être sans état
+ * (c’est le cas de {@link DecisionHandler} et des maillons historiques). Le {@link model.Registry}
+ * accepte les accès concurrents et les sauvegardes du registre sont sérialisées
+ * par {@link manager.RegistryManager}.
+ * </p>
+ *
+ * <p>
+ * {@link #awaitCompletion()} attend la fin de tous les contextes transmis, puis celle du maillon
+ * délégué ; la première erreur inattendue survenue dans un thread y est alors relancée.
+ *
+ * @see SyncHandler
+ * @see MergeWalker
+ * @since JDK 17
+ */
+public class ParallelSyncHandler extends AbstractSyncHandler implements AutoCloseable {
+    /** Nombre de contextes en attente autorisés par thread. */
+    public static final int QUEUE_FACTOR = 4;
+
+    /** Maillon appliqué à chaque contexte dans les threads du pool. */
+    private final SyncHandler delegate;
+
+    /** Threads de synchronisation. */
+    private final ExecutorService executor;
+
+    /** Places disponibles parmi les contextes en cours ou en attente. */
+    private final Semaphore slots;
+
+    /** Nombre total de places (contextes en cours ou en attente). */
+    private final int capacity;
+
+    /** Première erreur inattendue survenue dans un thread, relancée par {@link #awaitCompletion()}. */
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    /**
+     * Construit un maillon parallèle.
+     *
+     * @param delegate maillon à appliquer à chaque contexte
+     * @param workers  nombre de threads de synchronisation
+     * @throws IllegalArgumentException si {@code workers} est inférieur à 1
+     */
+    public ParallelSyncHandler(SyncHandler delegate, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Le nombre de threads de synchronisation doit être positif : " + workers);
+        }
+        this.delegate = delegate;
+        this.capacity = workers * (QUEUE_FACTOR + 1);
+        this.slots = new Semaphore(capacity);
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @Override
+    public void handle(SyncContext context) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synchronisation interrompue", e);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    delegate.handle(context);
+                    super.handle(context);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw new IllegalStateException("Maillon parallèle déjà fermé", e);
+        }
+    }
+
+    @Override
+    public void awaitCompletion() {
+        try {
+            slots.acquire(capacity);
+            slots.release(capacity);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synchronisation interrompue", e);
+        }
+        RuntimeException error = failure.getAndSet(null);
+        if (error != null) {
+            throw error;
+        }
+        delegate.awaitCompletion();
+    }
+
+    /**
+     * Attend la fin des traitements puis arrête les threads.
+     */
+    @Override
+    public void close() {
+        try {
+            awaitCompletion();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
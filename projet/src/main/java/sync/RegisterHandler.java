@@ -1,6 +1,9 @@
 package sync;
 
+import filesystem.FileHandler;
+import filesystem.FileHandlerFactory;
 import manager.RegistryManager;
+import model.FileAttributes;
 
 import java.io.IOException;
 import java.nio.file.*;
@@ -24,18 +27,42 @@ import java.nio.file.*;
  */
 public class RegisterHandler extends AbstractSyncHandler {
 
+    /** Gestionnaire de fichiers effectuant les copies. */
+    private final FileHandler fileHandler;
+
+    /**
+     * Construit un maillon d’enregistrement copiant les fichiers sur le système de fichiers local.
+     */
+    public RegisterHandler() {
+        this(FileHandlerFactory.createLocalFileHandler());
+    }
+
+    /**
+     * Construit un maillon d’enregistrement utilisant un gestionnaire de fichiers donné pour les copies.
+     *
+     * @param fileHandler gestionnaire de fichiers
+     */
+    public RegisterHandler(FileHandler fileHandler) {
+        this.fileHandler = fileHandler;
+    }
+
     @Override
     public void handle(SyncContext context) {
         try {
-            boolean existsA = Files.exists(context.pathA);
-            boolean existsB = Files.exists(context.pathB);
             boolean alreadyRegistered = context.registry.contains(context.relativePath);
 
             if (!alreadyRegistered) {
-                if (existsA) {
-                    registerAndCopy(context.pathA, context.pathB, "A→B", context);
-                } else if (existsB) {
-                    registerAndCopy(context.pathB, context.pathA, "B→A", context);
+                FileAttributes attributesA = context.getAttributesA();
+
+                if (attributesA.exists()) {
+                    registerAndCopy(context.pathA, context.pathB, attributesA, "A→B", context);
+                    context.invalidateB();
+                } else {
+                    FileAttributes attributesB = context.getAttributesB();
+                    if (attributesB.exists()) {
+                        registerAndCopy(context.pathB, context.pathA, attributesB, "B→A", context);
+                        context.invalidateA();
+                    }
                 }
             }
 
@@ -51,16 +78,17 @@ public class RegisterHandler extends AbstractSyncHandler {
      *
      * @param source   le fichier existant (dans A ou B)
      * @param target   la destination où copier le fichier
+     * @param sourceAttributes attributs du fichier source
      * @param label    label affiché dans les logs ("A→B" ou "B→A")
      * @param context  le contexte de synchronisation
      * @throws IOException si une erreur survient lors de la copie ou lecture
      */
-    private void registerAndCopy(Path source, Path target, String label, SyncContext context) throws IOException {
-        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    private void registerAndCopy(Path source, Path target, FileAttributes sourceAttributes, String label,
+                                 SyncContext context) throws IOException {
+        fileHandler.copy(source, target);
         System.out.println("Enregistrement + copie " + label + " : " + context.relativePath);
 
-        long lastModified = Files.getLastModifiedTime(source).toMillis();
-        context.registry.put(context.relativePath, lastModified);
-        RegistryManager.getInstance().saveRegistry(context.registry);
+        context.registry.put(context.relativePath, agreeOnTimestamp(fileHandler, source, target, sourceAttributes.lastModified()));
+        RegistryManager.getInstance().checkpoint(context.registry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package sync;
+
+import model.FileAttributes;
+import model.Fingerprint;
+import model.Registry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Détecteur de renommages : transforme, dans un plan, une suppression et un enregistrement
+ * portant sur le même contenu en un déplacement.
+ *
+ * <p>
+ * Un fichier renommé ou déplacé dans A apparaît au parcours comme un chemin enregistré disparu
+ * de A ({@link SyncAction#DELETE_B}) et un nouveau chemin inconnu du registre
+ * ({@link SyncAction#REGISTER_A_TO_B}) : sans détection, tout le contenu serait recopié puis
+ * l’ancienne copie supprimée. Le détecteur associe les deux actions lorsque :
+ * </p>
+ * <ul>
+ *     <li>l’ancien fichier de B n’a pas changé depuis la dernière synchronisation (taille et date
+ *         conformes au registre) ;</li>
+ *     <li>le nouveau fichier de A a la taille enregistrée pour l’ancien chemin, puis la même
+ *         somme de contrôle ({@link Fingerprint}) ; seuls les fichiers de taille correspondante sont lus ;</li>
+ *     <li>le nouveau chemin n’existe pas encore dans B.</li>
+ * </ul>
+ *
+ * <p>
+ * Les deux actions sont alors remplacées par un {@link SyncAction#MOVE_A_TO_B}, exécuté par
+ * {@link DecisionHandler#applyMove(SyncAction, SyncContext, SyncContext, filesystem.FileHandler)}. Le cas symétrique
+ * (renommage dans B) donne un {@link SyncAction#MOVE_B_TO_A}. Chaque ancien chemin est associé
+ * au plus une fois ; à contenu égal, les chemins sont appariés dans l’ordre alphabétique.
+ *
+ * @see SyncPlan
+ * @see SyncPlanExecutor
+ * @since JDK 17
+ */
+public class RenameDetector {
+    /** Chemin absolu de la racine du répertoire A. */
+    private final Path baseA;
+
+    /** Chemin absolu de la racine du répertoire B. */
+    private final Path baseB;
+
+    /** Registre des synchronisations associé au profil. */
+    private final Registry registry;
+
+    /**
+     * Construit un détecteur de renommages.
+     *
+     * @param baseA    chemin racine du répertoire A
+     * @param baseB    chemin racine du répertoire B
+     * @param registry le registre associé au profil de synchronisation
+     */
+    public RenameDetector(Path baseA, Path baseB, Registry registry) {
+        this.baseA = baseA;
+        this.baseB = baseB;
+        this.registry = registry;
+    }
+
+    /**
+     * Produit un plan dans lequel les renommages reconnus remplacent leurs suppressions et enregistrements.
+     *
+     * @param plan plan issu du parcours
+     * @return nouveau plan ; les autres actions conservent leur ordre
+     */
+    public SyncPlan detect(SyncPlan plan) {
+        List<SyncPlan.PlannedAction> actions = plan.getActions();
+        Map<SyncPlan.PlannedAction, SyncPlan.PlannedAction> moves = new IdentityHashMap<>();
+        Set<SyncPlan.PlannedAction> consumed = Collections.newSetFromMap(new IdentityHashMap<>());
+        match(actions, true, moves, consumed);
+        match(actions, false, moves, consumed);
+        if (moves.isEmpty()) {
+            return plan;
+        }
+
+        SyncPlan detected = new SyncPlan(plan.getProfileName());
+        for (SyncPlan.PlannedAction action : actions) {
+            SyncPlan.PlannedAction move = moves.get(action);
+            if (move != null) {
+                detected.add(move);
+            } else if (!consumed.contains(action)) {
+                detected.add(action);
+            }
+        }
+        System.out.println("Renommages détectés : " + moves.size());
+        return detected;
+    }
+
+    /**
+     * Apparie les suppressions et les enregistrements d’un sens de propagation.
+     *
+     * @param actions  actions du plan
+     * @param towardsB {@code true} pour les renommages faits dans A
+     * @param moves    déplacements, indexés par l’enregistrement qu’ils remplacent
+     * @param consumed suppressions remplacées par un déplacement
+     */
+    private void match(List<SyncPlan.PlannedAction> actions, boolean towardsB,
+                       Map<SyncPlan.PlannedAction, SyncPlan.PlannedAction> moves,
+                       Set<SyncPlan.PlannedAction> consumed) {
+        SyncAction deletion = towardsB ? SyncAction.DELETE_B : SyncAction.DELETE_A;
+        SyncAction registration = towardsB ? SyncAction.REGISTER_A_TO_B : SyncAction.REGISTER_B_TO_A;
+
+        // anciens chemins intacts de l’autre côté, par taille enregistrée
+        Map<Long, List<SyncPlan.PlannedAction>> vanished = new HashMap<>();
+        for (SyncPlan.PlannedAction action : actions) {
+            if (action.getAction() == deletion && isUnchanged(action.getRelativePath(), towardsB)) {
+                long size = registry.getFingerprint(action.getRelativePath()).getSize();
+                vanished.computeIfAbsent(size, key -> new ArrayList<>()).add(action);
+            }
+        }
+        if (vanished.isEmpty()) {
+            return;
+        }
+        vanished.values().forEach(list -> list.sort(Comparator.comparing(SyncPlan.PlannedAction::getRelativePath)));
+
+        List<SyncPlan.PlannedAction> additions = actions.stream()
+                .filter(action -> action.getAction() == registration && vanished.containsKey(action.getBytes()))
+                .sorted(Comparator.comparing(SyncPlan.PlannedAction::getRelativePath))
+                .toList();
+        for (SyncPlan.PlannedAction addition : additions) {
+            List<SyncPlan.PlannedAction> candidates = vanished.get(addition.getBytes());
+            if (candidates.isEmpty() || FileAttributes.read(side(!towardsB, addition.getRelativePath())).exists()) {
+                continue;
+            }
+            Fingerprint fingerprint;
+            try {
+                fingerprint = Fingerprint.of(side(towardsB, addition.getRelativePath()));
+            } catch (IOException e) {
+                continue; // l’enregistrement signalera l’erreur
+            }
+            for (Iterator<SyncPlan.PlannedAction> it = candidates.iterator(); it.hasNext(); ) {
+                SyncPlan.PlannedAction candidate = it.next();
+                if (fingerprint.equals(registry.getFingerprint(candidate.getRelativePath()))) {
+                    it.remove();
+                    consumed.add(candidate);
+                    moves.put(addition, new SyncPlan.PlannedAction(addition.getRelativePath(),
+                            towardsB ? SyncAction.MOVE_A_TO_B : SyncAction.MOVE_B_TO_A,
+                            addition.getBytes(), candidate.getRelativePath()));
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Vérifie que la copie restante d’un chemin disparu est celle de la dernière synchronisation.
+     *
+     * @param relativePath ancien chemin relatif
+     * @param towardsB     {@code true} si la copie restante est dans B
+     * @return {@code true} si sa taille et sa date sont celles du registre
+     */
+    boolean isUnchanged(String relativePath, boolean towardsB) {
+        Fingerprint fingerprint = registry.getFingerprint(relativePath);
+        Long recorded = registry.get(relativePath);
+        if (fingerprint == null || recorded == null) {
+            return false;
+        }
+        FileAttributes attributes = FileAttributes.read(side(!towardsB, relativePath));
+        return attributes.exists() && !attributes.isDirectory() && attributes.size() == fingerprint.getSize()
+                && Math.abs(attributes.lastModified() - recorded) <= AbstractSyncHandler.TIME_TOLERANCE_MS;
+    }
+
+    /**
+     * Résout un chemin relatif dans A ou dans B.
+     *
+     * @param inA          {@code true} pour A
+     * @param relativePath chemin relatif
+     * @return chemin absolu
+     */
+    private Path side(boolean inA, String relativePath) {
+        return (inA ? baseA : baseB).resolve(relativePath);
+    }
+}
@@ -0,0 +1,309 @@
+package sync;
+
+import model.FileAttributes;
+import model.Fingerprint;
+import model.Registry;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Détecteur de déplacements de dossiers entiers : remplace, dans un plan, les suppressions d’un
+ * dossier disparu et les enregistrements d’un nouveau dossier de même contenu par un seul déplacement.
+ *
+ * <p>
+ * Déplacer un dossier de 500 000 fichiers dans A donnerait autrement 500 000 suppressions et autant
+ * de copies dans B. Pour chaque sens de propagation, le détecteur regroupe les actions du plan par
+ * dossier ancêtre :
+ * </p>
+ * <ul>
+ *     <li>un dossier <em>disparu</em> n’existe plus dans A mais existe encore dans B, et tous les
+ *         fichiers du plan qui s’y trouvent sont des suppressions dont la copie restante est intacte ;</li>
+ *     <li>un <em>nouveau</em> dossier existe dans A mais pas dans B, et tous les fichiers du plan
+ *         qui s’y trouvent sont des enregistrements.</li>
+ * </ul>
+ *
+ * <p>
+ * Chaque dossier reçoit une signature calculée au fil du regroupement : la somme des empreintes de
+ * ses fichiers (chemin relatif au dossier, taille et date). Un dossier renommé conservant la date
+ * de ses fichiers, la signature d’un dossier disparu est calculée à partir du registre, celle
+ * d’un nouveau dossier à partir des attributs de A, sans lire aucun contenu. Deux dossiers de même
+ * signature sont comparés fichier par fichier, puis remplacés par un {@link SyncAction#MOVE_DIR_A_TO_B}
+ * (ou {@link SyncAction#MOVE_DIR_B_TO_A}) : le dossier est déplacé d’un bloc, et les clés du registre
+ * réécrites en une passe ({@link Registry#renamePrefix(String, String)}). Les dossiers les moins
+ * profonds sont appariés en premier.
+ * </p>
+ *
+ * <p>
+ * Les fichiers non appariés, y compris ceux d’un dossier dont une partie seulement a été déplacée,
+ * restent confiés au {@link RenameDetector}, appliqué ensuite.
+ *
+ * @see RenameDetector
+ * @see SyncPlanExecutor
+ * @since JDK 17
+ */
+public class SubtreeMoveDetector {
+    /** Chemin absolu de la racine du répertoire A. */
+    private final Path baseA;
+
+    /** Chemin absolu de la racine du répertoire B. */
+    private final Path baseB;
+
+    /** Registre des synchronisations associé au profil. */
+    private final Registry registry;
+
+    /** Vérification des copies restantes, partagée avec la détection des renommages. */
+    private final RenameDetector files;
+
+    /**
+     * Construit un détecteur de déplacements de dossiers.
+     *
+     * @param baseA    chemin racine du répertoire A
+     * @param baseB    chemin racine du répertoire B
+     * @param registry le registre associé au profil de synchronisation
+     */
+    public SubtreeMoveDetector(Path baseA, Path baseB, Registry registry) {
+        this.baseA = baseA;
+        this.baseB = baseB;
+        this.registry = registry;
+        this.files = new RenameDetector(baseA, baseB, registry);
+    }
+
+    /**
+     * Produit un plan dans lequel les déplacements de dossiers reconnus remplacent les actions de leurs fichiers.
+     *
+     * @param plan plan issu du parcours
+     * @return nouveau plan ; les autres actions conservent leur ordre
+     */
+    public SyncPlan detect(SyncPlan plan) {
+        List<SyncPlan.PlannedAction> actions = plan.getActions();
+        List<SyncPlan.PlannedAction> moves = new ArrayList<>();
+        Set<SyncPlan.PlannedAction> covered = Collections.newSetFromMap(new IdentityHashMap<>());
+        match(actions, true, moves, covered);
+        match(actions, false, moves, covered);
+        if (moves.isEmpty()) {
+            return plan;
+        }
+
+        SyncPlan detected = new SyncPlan(plan.getProfileName());
+        moves.forEach(detected::add);
+        for (SyncPlan.PlannedAction action : actions) {
+            if (!covered.contains(action)) {
+                detected.add(action);
+            }
+        }
+        System.out.println("Déplacements de dossiers détectés : " + moves.size());
+        return detected;
+    }
+
+    /**
+     * Apparie les dossiers disparus et les nouveaux dossiers d’un sens de propagation.
+     *
+     * @param actions  actions du plan
+     * @param towardsB {@code true} pour les dossiers déplacés dans A
+     * @param moves    déplacements trouvés, complétés par cet appel
+     * @param covered  actions remplacées par un déplacement, complétées par cet appel
+     */
+    private void match(List<SyncPlan.PlannedAction> actions, boolean towardsB, List<SyncPlan.PlannedAction> moves,
+                       Set<SyncPlan.PlannedAction> covered) {
+        SyncAction deletion = towardsB ? SyncAction.DELETE_B : SyncAction.DELETE_A;
+        SyncAction registration = towardsB ? SyncAction.REGISTER_A_TO_B : SyncAction.REGISTER_B_TO_A;
+        Map<String, Boolean> vanishedDirs = new HashMap<>();
+        Map<String, Boolean> newDirs = new HashMap<>();
+        Map<String, Group> vanished = new HashMap<>();
+        Map<String, Group> created = new HashMap<>();
+        Map<String, FileAttributes> attributes = new HashMap<>();
+
+        for (SyncPlan.PlannedAction action : actions) {
+            if (action.getSourcePath() != null) {
+                continue;
+            }
+            String path = action.getRelativePath();
+            boolean intact = action.getAction() == deletion && files.isUnchanged(path, towardsB);
+            boolean added = action.getAction() == registration;
+            for (int slash = path.indexOf('/'); slash > 0; slash = path.indexOf('/', slash + 1)) {
+                String dir = path.substring(0, slash);
+                String suffix = path.substring(slash + 1);
+                if (vanishedDirs.computeIfAbsent(dir, d -> isVanished(d, towardsB))) {
+                    Group group = vanished.computeIfAbsent(dir, d -> new Group());
+                    if (intact) {
+                        group.add(action, entryHash(suffix, registry.getFingerprint(path).getSize(), registry.get(path)));
+                    } else {
+                        group.eligible = false;
+                    }
+                }
+                if (newDirs.computeIfAbsent(dir, d -> isVanished(d, !towardsB))) {
+                    Group group = created.computeIfAbsent(dir, d -> new Group());
+                    if (added) {
+                        FileAttributes file = attributes.computeIfAbsent(path, p -> FileAttributes.read(side(towardsB, p)));
+                        group.add(action, entryHash(suffix, file.size(), file.lastModified()));
+                    } else {
+                        group.eligible = false;
+                    }
+                }
+            }
+        }
+        if (vanished.isEmpty() || created.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<String>> bySignature = new HashMap<>();
+        created.forEach((dir, group) -> {
+            if (group.eligible) {
+                bySignature.computeIfAbsent(group.signature, key -> new ArrayList<>()).add(dir);
+            }
+        });
+        List<String> candidates = new ArrayList<>(vanished.keySet());
+        candidates.sort(Comparator.comparingInt((String dir) -> depth(dir)).thenComparing(Comparator.naturalOrder()));
+        List<String> taken = new ArrayList<>();
+        for (SyncPlan.PlannedAction move : moves) {
+            taken.add(move.getSourcePath());
+            taken.add(move.getRelativePath());
+        }
+
+        for (String oldDir : candidates) {
+            Group old = vanished.get(oldDir);
+            if (!old.eligible || overlapsAny(oldDir, taken)) {
+                continue;
+            }
+            for (String newDir : bySignature.getOrDefault(old.signature, List.of())) {
+                Group target = created.get(newDir);
+                if (target.members.size() == old.members.size() && !overlapsAny(newDir, taken)
+                        && sameContent(oldDir, old, newDir, target, attributes)) {
+                    moves.add(new SyncPlan.PlannedAction(newDir,
+                            towardsB ? SyncAction.MOVE_DIR_A_TO_B : SyncAction.MOVE_DIR_B_TO_A, target.bytes, oldDir));
+                    covered.addAll(old.members);
+                    covered.addAll(target.members);
+                    taken.add(oldDir);
+                    taken.add(newDir);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare, fichier par fichier, un dossier disparu et un nouveau dossier de même signature.
+     *
+     * @param oldDir     dossier disparu
+     * @param old        fichiers du dossier disparu
+     * @param newDir     nouveau dossier
+     * @param target     fichiers du nouveau dossier
+     * @param attributes attributs des nouveaux fichiers
+     * @return {@code true} si les chemins, tailles et dates correspondent
+     */
+    private boolean sameContent(String oldDir, Group old, String newDir, Group target,
+                                Map<String, FileAttributes> attributes) {
+        Map<String, String> expected = new HashMap<>(old.members.size() * 2);
+        for (SyncPlan.PlannedAction member : old.members) {
+            String path = member.getRelativePath();
+            Fingerprint fingerprint = registry.getFingerprint(path);
+            expected.put(path.substring(oldDir.length() + 1), fingerprint.getSize() + "@" + registry.get(path));
+        }
+        for (SyncPlan.PlannedAction member : target.members) {
+            String path = member.getRelativePath();
+            FileAttributes file = attributes.get(path);
+            if (!(file.size() + "@" + file.lastModified()).equals(expected.remove(path.substring(newDir.length() + 1)))) {
+                return false;
+            }
+        }
+        return expected.isEmpty();
+    }
+
+    /**
+     * Indique si un dossier n’existe plus d’un côté alors qu’il existe encore de l’autre.
+     *
+     * @param dir      chemin relatif du dossier
+     * @param missingA {@code true} si le dossier doit manquer dans A
+     * @return {@code true} si le dossier manque du côté indiqué et existe de l’autre
+     */
+    private boolean isVanished(String dir, boolean missingA) {
+        return !FileAttributes.read(side(missingA, dir)).exists() && FileAttributes.read(side(!missingA, dir)).isDirectory();
+    }
+
+    /**
+     * Indique si un dossier contient, ou est contenu dans, un dossier déjà apparié.
+     *
+     * @param dir   dossier à tester
+     * @param taken dossiers déjà appariés
+     * @return {@code true} en cas de recouvrement
+     */
+    private static boolean overlapsAny(String dir, List<String> taken) {
+        for (String other : taken) {
+            if (dir.equals(other) || isUnder(dir, other) || isUnder(other, dir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indique si un chemin se trouve dans un dossier.
+     *
+     * @param path chemin relatif
+     * @param dir  chemin relatif du dossier
+     * @return {@code true} si {@code path} est situé sous {@code dir}
+     */
+    private static boolean isUnder(String path, String dir) {
+        return path.length() > dir.length() && path.startsWith(dir) && path.charAt(dir.length()) == '/';
+    }
+
+    /**
+     * Calcule la profondeur d’un chemin relatif.
+     *
+     * @param dir chemin relatif
+     * @return nombre de séparateurs
+     */
+    private static int depth(String dir) {
+        return (int) dir.chars().filter(c -> c == '/').count();
+    }
+
+    /**
+     * Calcule l’empreinte d’un fichier dans la signature de son dossier.
+     *
+     * @param suffix       chemin relatif au dossier
+     * @param size         taille du fichier
+     * @param lastModified date de modification
+     * @return empreinte sur 64 bits
+     */
+    private static long entryHash(String suffix, long size, long lastModified) {
+        long h = suffix.hashCode() * 0x9E3779B97F4A7C15L + size * 0xBF58476D1CE4E5B9L + lastModified;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    /**
+     * Résout un chemin relatif dans A ou dans B.
+     *
+     * @param inA          {@code true} pour A
+     * @param relativePath chemin relatif
+     * @return chemin absolu
+     */
+    private Path side(boolean inA, String relativePath) {
+        return (inA ? baseA : baseB).resolve(relativePath);
+    }
+
+    /**
+     * Fichiers du plan situés dans un dossier candidat.
+     */
+    private static final class Group {
+        /** Actions des fichiers du dossier. */
+        final List<SyncPlan.PlannedAction> members = new ArrayList<>();
+
+        /** Somme des empreintes des fichiers, indépendante de l’ordre du parcours. */
+        long signature;
+
+        /** Taille cumulée des fichiers. */
+        long bytes;
+
+        /** Faux dès qu’une autre action concerne le dossier. */
+        boolean eligible = true;
+
+        void add(SyncPlan.PlannedAction action, long hash) {
+            members.add(action);
+            signature += hash;
+            bytes += action.getBytes();
+        }
+    }
+}
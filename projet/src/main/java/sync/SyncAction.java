@@ -0,0 +1,63 @@
+package sync;
+
+/**
+ * Action de synchronisation décidée pour un chemin relatif.
+ *
+ * <p>
+ * Chaque valeur correspond au traitement d’un maillon de la chaîne historique
+ * ({@link RegisterHandler}, {@link CopyHandler}, {@link DeleteHandler}) ; elle est
+ * choisie en une seule fois par {@link DecisionHandler}. Les actions {@code TOUCH_*} affinent
+ * une copie lorsque l’{@link model.Fingerprint empreinte} du registre montre que le contenu
+ * n’a pas changé. Les actions {@code MOVE_*} ne sont jamais décidées pour un chemin isolé : elles
+ * remplacent, dans un plan, une suppression et un enregistrement reconnus comme un renommage
+ * par {@link RenameDetector}, ou toutes celles d’un dossier déplacé par {@link SubtreeMoveDetector}.
+ *
+ * @see DecisionHandler
+ * @since JDK 17
+ */
+public enum SyncAction {
+    /** Aucun traitement : fichier synchronisé, ou absent des deux côtés. */
+    NONE,
+
+    /** Fichier inconnu du registre présent dans A : copie vers B puis enregistrement. */
+    REGISTER_A_TO_B,
+
+    /** Fichier inconnu du registre présent uniquement dans B : copie vers A puis enregistrement. */
+    REGISTER_B_TO_A,
+
+    /** Fichier de A plus récent que celui de B : copie vers B. */
+    COPY_A_TO_B,
+
+    /** Fichier de B plus récent que celui de A : copie vers A. */
+    COPY_B_TO_A,
+
+    /** Fichier de A plus récent mais de contenu identique à B : seule la date de B est mise à jour. */
+    TOUCH_A_TO_B,
+
+    /** Fichier de B plus récent mais de contenu identique à A : seule la date de A est mise à jour. */
+    TOUCH_B_TO_A,
+
+    /** Fichier enregistré supprimé de B : suppression dans A. */
+    DELETE_A,
+
+    /** Fichier enregistré supprimé de A : suppression dans B. */
+    DELETE_B,
+
+    /** Fichier renommé ou déplacé dans A : le même renommage est appliqué dans B. */
+    MOVE_A_TO_B,
+
+    /** Fichier renommé ou déplacé dans B : le même renommage est appliqué dans A. */
+    MOVE_B_TO_A,
+
+    /** Dossier renommé ou déplacé dans A : le dossier de B est déplacé d’un bloc ({@link SubtreeMoveDetector}). */
+    MOVE_DIR_A_TO_B,
+
+    /** Dossier renommé ou déplacé dans B : le dossier de A est déplacé d’un bloc ({@link SubtreeMoveDetector}). */
+    MOVE_DIR_B_TO_A,
+
+    /**
+     * Fichier modifié dans A et dans B depuis la dernière synchronisation, avec des contenus différents :
+     * le conflit est mis en attente et résolu en fin de synchronisation (voir {@link ConflictResolver}).
+     */
+    CONFLICT
+}
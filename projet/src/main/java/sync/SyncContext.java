@@ -1,7 +1,10 @@
 package sync;
 
+import java.io.IOException;
 import java.nio.file.Path;
 
+import model.FileAttributes;
+import model.Fingerprint;
 import model.Registry;
 
 /**
@@ -20,6 +23,16 @@ import model.Registry;
  * <p>
  * Ce contexte est transmis à chaque {@link SyncHandler} pour prendre
  * des décisions cohérentes sur les actions à réaliser.
+ * </p>
+ *
+ * <p>
+ * Les attributs de chaque côté sont lus au plus une fois, puis conservés pour tous les maillons
+ * de la chaîne : lorsque les fichiers proviennent d’un parcours ({@link model.FileSystemExplorer},
+ * {@link MergeWalker}), les attributs déjà relevés sont repris ; sinon ils sont lus à la première
+ * demande. Il en va de même des empreintes de contenu ({@link #getFingerprintA()}), calculées au plus
+ * une fois, ou reprises d’un plan lorsque le fichier n’a pas changé depuis la planification.
+ * Un maillon qui écrit un fichier doit appeler {@link #invalidateA()} ou
+ * {@link #invalidateB()} pour que ce côté, et lui seul, soit relu.
  *
  * @see model.Registry
  * @since JDK 17
@@ -37,6 +50,18 @@ public class SyncContext {
     /** Registre des synchronisations précédentes pour le profil courant. */
     public final Registry registry;
 
+    /** Attributs du fichier A déjà relevés, ou {@code null} s’ils doivent être lus. */
+    private FileAttributes attributesA;
+
+    /** Attributs du fichier B déjà relevés, ou {@code null} s’ils doivent être lus. */
+    private FileAttributes attributesB;
+
+    /** Empreinte du fichier A déjà calculée, ou {@code null} si elle doit être calculée. */
+    private Fingerprint fingerprintA;
+
+    /** Empreinte du fichier B déjà calculée, ou {@code null} si elle doit être calculée. */
+    private Fingerprint fingerprintB;
+
     /**
      * Crée un contexte de synchronisation pour un fichier donné.
      *
@@ -46,9 +71,145 @@ public class SyncContext {
      * @param registry      registre de synchronisation courant
      */
     public SyncContext(Path pathA, Path pathB, String relativePath, Registry registry) {
+        this(pathA, pathB, relativePath, registry, null, null);
+    }
+
+    /**
+     * Crée un contexte de synchronisation en réutilisant les attributs déjà relevés du fichier A.
+     *
+     * @param pathA         chemin absolu du fichier dans A
+     * @param pathB         chemin absolu du fichier dans B
+     * @param relativePath  chemin relatif à la racine du profil (clé du registre)
+     * @param registry      registre de synchronisation courant
+     * @param attributesA   attributs du fichier A relevés lors du parcours (peut être {@code null})
+     */
+    public SyncContext(Path pathA, Path pathB, String relativePath, Registry registry, FileAttributes attributesA) {
+        this(pathA, pathB, relativePath, registry, attributesA, null);
+    }
+
+    /**
+     * Crée un contexte de synchronisation en réutilisant les attributs déjà relevés des deux côtés.
+     *
+     * @param pathA         chemin absolu du fichier dans A
+     * @param pathB         chemin absolu du fichier dans B
+     * @param relativePath  chemin relatif à la racine du profil (clé du registre)
+     * @param registry      registre de synchronisation courant
+     * @param attributesA   attributs du fichier A relevés lors du parcours (peut être {@code null})
+     * @param attributesB   attributs du fichier B relevés lors du parcours (peut être {@code null})
+     */
+    public SyncContext(Path pathA, Path pathB, String relativePath, Registry registry,
+                       FileAttributes attributesA, FileAttributes attributesB) {
         this.pathA = pathA;
         this.pathB = pathB;
         this.relativePath = relativePath;
         this.registry = registry;
+        this.attributesA = attributesA;
+        this.attributesB = attributesB;
+    }
+
+    /**
+     * Retourne les attributs du fichier A, lus au plus une fois depuis la dernière invalidation.
+     *
+     * @return attributs du fichier A ({@link FileAttributes#MISSING} s’il est absent)
+     */
+    public FileAttributes getAttributesA() {
+        if (attributesA == null) {
+            attributesA = FileAttributes.read(pathA);
+        }
+        return attributesA;
+    }
+
+    /**
+     * Retourne les attributs du fichier B, lus au plus une fois depuis la dernière invalidation.
+     *
+     * @return attributs du fichier B ({@link FileAttributes#MISSING} s’il est absent)
+     */
+    public FileAttributes getAttributesB() {
+        if (attributesB == null) {
+            attributesB = FileAttributes.read(pathB);
+        }
+        return attributesB;
+    }
+
+    /**
+     * Retourne l’empreinte du contenu du fichier A, calculée au plus une fois depuis la dernière invalidation.
+     *
+     * @return empreinte du fichier A
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public Fingerprint getFingerprintA() throws IOException {
+        if (fingerprintA == null) {
+            fingerprintA = Fingerprint.of(pathA);
+        }
+        return fingerprintA;
+    }
+
+    /**
+     * Retourne l’empreinte du contenu du fichier B, calculée au plus une fois depuis la dernière invalidation.
+     *
+     * @return empreinte du fichier B
+     * @throws IOException si le fichier ne peut pas être lu
+     */
+    public Fingerprint getFingerprintB() throws IOException {
+        if (fingerprintB == null) {
+            fingerprintB = Fingerprint.of(pathB);
+        }
+        return fingerprintB;
+    }
+
+    /**
+     * Retourne l’empreinte du fichier A si elle a déjà été calculée, sans lire le fichier.
+     *
+     * @return empreinte du fichier A, ou {@code null}
+     */
+    Fingerprint peekFingerprintA() {
+        return fingerprintA;
+    }
+
+    /**
+     * Retourne l’empreinte du fichier B si elle a déjà été calculée, sans lire le fichier.
+     *
+     * @return empreinte du fichier B, ou {@code null}
+     */
+    Fingerprint peekFingerprintB() {
+        return fingerprintB;
+    }
+
+    /**
+     * Reprend une empreinte du fichier A calculée auparavant ; l’appelant garantit que le fichier
+     * n’a pas changé depuis (même taille, même date).
+     *
+     * @param fingerprint empreinte du fichier A
+     */
+    void reuseFingerprintA(Fingerprint fingerprint) {
+        fingerprintA = fingerprint;
+    }
+
+    /**
+     * Reprend une empreinte du fichier B calculée auparavant ; l’appelant garantit que le fichier
+     * n’a pas changé depuis (même taille, même date).
+     *
+     * @param fingerprint empreinte du fichier B
+     */
+    void reuseFingerprintB(Fingerprint fingerprint) {
+        fingerprintB = fingerprint;
+    }
+
+    /**
+     * Signale que le fichier A a été modifié : ses attributs et son empreinte conservés ne sont plus
+     * valides et seront relus à la prochaine demande.
+     */
+    public void invalidateA() {
+        attributesA = null;
+        fingerprintA = null;
+    }
+
+    /**
+     * Signale que le fichier B a été modifié : ses attributs et son empreinte conservés ne sont plus
+     * valides et seront relus à la prochaine demande.
+     */
+    public void invalidateB() {
+        attributesB = null;
+        fingerprintB = null;
     }
-}
\ No newline at end of file
+}
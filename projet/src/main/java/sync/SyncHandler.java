@@ -29,4 +29,16 @@ public interface SyncHandler {
      * @param context le contexte courant de synchronisation (informations sur les fichiers, registre, etc.)
      */
     void handle(SyncContext context);
+
+    /**
+     * Attend la fin des traitements éventuellement encore en cours.
+     *
+     * <p>
+     * Les maillons synchrones n’ont rien à attendre ; un maillon qui délègue les traitements
+     * à d’autres threads (voir {@link ParallelSyncHandler}) ne rend la main qu’une fois tous
+     * les contextes reçus traités.
+     * </p>
+     */
+    default void awaitCompletion() {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,308 @@
+package sync;
+
+import model.FileAttributes;
+import model.Fingerprint;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Plan de synchronisation : liste des actions à effectuer, calculée sans toucher aux disques.
+ *
+ * <p>
+ * Un plan est produit par {@link SyncPlanner} lors d’un parcours, puis exécuté par
+ * {@link SyncPlanExecutor}. Chaque action porte le nombre d’octets concernés (taille du
+ * fichier copié ou supprimé), ce qui permet de dimensionner une synchronisation avant de la lancer.
+ * Le plan est {@link Serializable} : il peut être conservé puis exécuté plus tard, chaque action
+ * étant alors revérifiée.
+ * </p>
+ *
+ * <p>
+ * L’ajout d’actions est synchronisé : un même plan peut être alimenté par plusieurs threads.
+ *
+ * @see SyncPlanner
+ * @see SyncPlanExecutor
+ * @since JDK 17
+ */
+public class SyncPlan implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Nom du profil planifié. */
+    private final String profileName;
+
+    /** Actions planifiées, dans l’ordre du parcours. */
+    private final List<PlannedAction> actions = new ArrayList<>();
+
+    /**
+     * Construit un plan vide.
+     *
+     * @param profileName nom du profil planifié
+     */
+    public SyncPlan(String profileName) {
+        this.profileName = profileName;
+    }
+
+    /**
+     * Retourne le nom du profil planifié.
+     *
+     * @return nom du profil
+     */
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Ajoute une action au plan.
+     *
+     * @param action action planifiée
+     */
+    public synchronized void add(PlannedAction action) {
+        actions.add(action);
+    }
+
+    /**
+     * Retourne une copie des actions du plan.
+     *
+     * @return actions planifiées, dans l’ordre d’ajout
+     */
+    public synchronized List<PlannedAction> getActions() {
+        return new ArrayList<>(actions);
+    }
+
+    /**
+     * Compte les actions d’un type donné.
+     *
+     * @param type type d’action
+     * @return nombre d’actions de ce type
+     */
+    public synchronized int count(SyncAction type) {
+        int count = 0;
+        for (PlannedAction action : actions) {
+            if (action.getAction() == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retourne le nombre total d’octets concernés par les actions d’un type donné.
+     *
+     * @param type type d’action
+     * @return nombre d’octets copiés ou supprimés
+     */
+    public synchronized long getBytes(SyncAction type) {
+        long bytes = 0;
+        for (PlannedAction action : actions) {
+            if (action.getAction() == type) {
+                bytes += action.getBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Retourne le nombre total d’octets à copier (enregistrements et copies).
+     *
+     * @return nombre d’octets à transférer
+     */
+    public long getTransferBytes() {
+        return getBytes(SyncAction.REGISTER_A_TO_B) + getBytes(SyncAction.REGISTER_B_TO_A)
+                + getBytes(SyncAction.COPY_A_TO_B) + getBytes(SyncAction.COPY_B_TO_A);
+    }
+
+    /**
+     * Indique si le plan ne contient aucune action.
+     *
+     * @return {@code true} si les deux répertoires sont déjà synchronisés
+     */
+    public synchronized boolean isEmpty() {
+        return actions.isEmpty();
+    }
+
+    /**
+     * Retourne un résumé lisible du plan : nombre d’actions et d’octets par type.
+     *
+     * @return résumé sur plusieurs lignes
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder("Plan de synchronisation du profil ").append(profileName).append(" :");
+        for (SyncAction type : SyncAction.values()) {
+            int count = count(type);
+            if (count > 0) {
+                sb.append(System.lineSeparator())
+                        .append(String.format("  %-16s %8d fichier(s) %15d octet(s)", type, count, getBytes(type)));
+            }
+        }
+        if (isEmpty()) {
+            sb.append(System.lineSeparator()).append("  (aucune action)");
+        }
+        sb.append(System.lineSeparator()).append("  Total à copier : ").append(getTransferBytes()).append(" octet(s)");
+        return sb.toString();
+    }
+
+    /**
+     * Action planifiée pour un chemin relatif.
+     */
+    public static final class PlannedAction implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        /** Chemin relatif concerné. */
+        private final String relativePath;
+
+        /** Action à effectuer. */
+        private final SyncAction action;
+
+        /** Taille du fichier copié ou supprimé (en octets). */
+        private final long bytes;
+
+        /** Ancien chemin relatif d’un fichier déplacé, {@code null} pour les autres actions. */
+        private final String sourcePath;
+
+        /** Version de A dont l’empreinte a été calculée lors de la planification, ou {@code null}. */
+        private final Version versionA;
+
+        /** Version de B dont l’empreinte a été calculée lors de la planification, ou {@code null}. */
+        private final Version versionB;
+
+        /**
+         * Construit une action planifiée.
+         *
+         * @param relativePath chemin relatif concerné
+         * @param action       action à effectuer
+         * @param bytes        taille du fichier copié ou supprimé
+         */
+        public PlannedAction(String relativePath, SyncAction action, long bytes) {
+            this(relativePath, action, bytes, null);
+        }
+
+        /**
+         * Construit une action planifiée portant l’ancien chemin d’un fichier déplacé.
+         *
+         * @param relativePath nouveau chemin relatif
+         * @param action       action à effectuer
+         * @param bytes        taille du fichier déplacé
+         * @param sourcePath   ancien chemin relatif
+         */
+        public PlannedAction(String relativePath, SyncAction action, long bytes, String sourcePath) {
+            this(relativePath, action, bytes, sourcePath, null, null);
+        }
+
+        /**
+         * Construit une action planifiée conservant les empreintes calculées lors de la planification,
+         * afin que l’exécution ne relise pas des fichiers inchangés depuis.
+         *
+         * @param relativePath chemin relatif concerné
+         * @param action       action à effectuer
+         * @param bytes        taille du fichier copié ou supprimé
+         * @param versionA     version de A dont l’empreinte est connue, ou {@code null}
+         * @param versionB     version de B dont l’empreinte est connue, ou {@code null}
+         */
+        public PlannedAction(String relativePath, SyncAction action, long bytes, Version versionA, Version versionB) {
+            this(relativePath, action, bytes, null, versionA, versionB);
+        }
+
+        private PlannedAction(String relativePath, SyncAction action, long bytes, String sourcePath,
+                              Version versionA, Version versionB) {
+            this.relativePath = relativePath;
+            this.action = action;
+            this.bytes = bytes;
+            this.sourcePath = sourcePath;
+            this.versionA = versionA;
+            this.versionB = versionB;
+        }
+
+        /** @return chemin relatif concerné */
+        public String getRelativePath() {
+            return relativePath;
+        }
+
+        /** @return action à effectuer */
+        public SyncAction getAction() {
+            return action;
+        }
+
+        /** @return taille du fichier copié ou supprimé (en octets) */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /** @return ancien chemin relatif d’un fichier déplacé, {@code null} pour les autres actions */
+        public String getSourcePath() {
+            return sourcePath;
+        }
+
+        /** @return version de A dont l’empreinte a été calculée lors de la planification, ou {@code null} */
+        public Version getVersionA() {
+            return versionA;
+        }
+
+        /** @return version de B dont l’empreinte a été calculée lors de la planification, ou {@code null} */
+        public Version getVersionB() {
+            return versionB;
+        }
+
+        @Override
+        public String toString() {
+            String path = sourcePath == null ? relativePath : sourcePath + " → " + relativePath;
+            return action + " " + path + " (" + bytes + " octets)";
+        }
+    }
+
+    /**
+     * Version d’un fichier relevée lors de la planification : sa date de modification et l’empreinte
+     * de son contenu. L’empreinte reste valable tant que la taille et la date n’ont pas changé.
+     */
+    public static final class Version implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        /** Date de dernière modification lors de la planification (en millis). */
+        private final long lastModified;
+
+        /** Empreinte du contenu lors de la planification. */
+        private final Fingerprint fingerprint;
+
+        /**
+         * Construit une version.
+         *
+         * @param lastModified date de dernière modification (en millis)
+         * @param fingerprint  empreinte du contenu
+         */
+        public Version(long lastModified, Fingerprint fingerprint) {
+            this.lastModified = lastModified;
+            this.fingerprint = fingerprint;
+        }
+
+        /**
+         * Construit la version d’un fichier dont l’empreinte a été calculée.
+         *
+         * @param attributes  attributs du fichier
+         * @param fingerprint empreinte calculée, ou {@code null}
+         * @return version, ou {@code null} si l’empreinte n’a pas été calculée
+         */
+        static Version of(FileAttributes attributes, Fingerprint fingerprint) {
+            return fingerprint == null ? null : new Version(attributes.lastModified(), fingerprint);
+        }
+
+        /**
+         * Indique si un fichier est resté tel que lors de la planification (même taille, même date).
+         *
+         * @param current attributs actuels du fichier
+         * @return {@code true} si l’empreinte conservée est encore valable
+         */
+        public boolean matches(FileAttributes current) {
+            return current.exists() && current.lastModified() == lastModified
+                    && current.size() == fingerprint.getSize();
+        }
+
+        /** @return date de dernière modification lors de la planification (en millis) */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /** @return empreinte du contenu lors de la planification */
+        public Fingerprint getFingerprint() {
+            return fingerprint;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package sync;
+
+import filesystem.AsyncCopier;
+import filesystem.FileHandler;
+import filesystem.FileHandlerFactory;
+import model.FileAttributes;
+import model.Registry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécute un {@link SyncPlan} produit par {@link SyncPlanner}.
+ *
+ * <p>
+ * Les suppressions sont exécutées avant les copies, afin de libérer de la place au plus tôt ;
+ * les actions sont ensuite réparties sur un pool de {@code workers} threads. Chaque action est
+ * revérifiée juste avant son exécution : si un fichier a changé depuis la planification
+ * (l’action décidée n’est plus la même), elle est ignorée et sera reprise au prochain parcours.
+ * Un déplacement ({@link RenameDetector}, {@link SubtreeMoveDetector}) est revérifié sur ses deux chemins.
+ * </p>
+ *
+ * <p>
+ * Avec un {@link AsyncCopier}, les copies sont soumises à celui-ci au lieu d’occuper les threads
+ * d’exécution : le registre est mis à jour à l’achèvement de chaque copie, et le plan n’est terminé
+ * qu’une fois toutes les copies achevées.
+ * </p>
+ *
+ * @see SyncPlan
+ * @see DecisionHandler
+ * @since JDK 17
+ */
+public class SyncPlanExecutor {
+    /** Chemin absolu de la racine du répertoire A. */
+    private final Path baseA;
+
+    /** Chemin absolu de la racine du répertoire B. */
+    private final Path baseB;
+
+    /** Registre des synchronisations associé au profil. */
+    private final Registry registry;
+
+    /** Nombre de threads d’exécution. */
+    private final int workers;
+
+    /** Gestionnaire de fichiers effectuant les copies. */
+    private final FileHandler fileHandler;
+
+    /** Copieur asynchrone, ou {@code null} pour copier depuis les threads d’exécution. */
+    private final AsyncCopier copier;
+
+    /** Conflits rencontrés, laissés à la résolution de fin d’exécution. */
+    private final ConflictQueue conflicts = new ConflictQueue();
+
+    /**
+     * Construit un exécuteur séquentiel.
+     *
+     * @param baseA    chemin racine du répertoire A
+     * @param baseB    chemin racine du répertoire B
+     * @param registry le registre associé au profil de synchronisation
+     */
+    public SyncPlanExecutor(Path baseA, Path baseB, Registry registry) {
+        this(baseA, baseB, registry, 1);
+    }
+
+    /**
+     * Construit un exécuteur parallèle.
+     *
+     * @param baseA    chemin racine du répertoire A
+     * @param baseB    chemin racine du répertoire B
+     * @param registry le registre associé au profil de synchronisation
+     * @param workers  nombre de threads d’exécution
+     * @throws IllegalArgumentException si {@code workers} est inférieur à 1
+     */
+    public SyncPlanExecutor(Path baseA, Path baseB, Registry registry, int workers) {
+        this(baseA, baseB, registry, workers, FileHandlerFactory.createLocalFileHandler());
+    }
+
+    /**
+     * Construit un exécuteur parallèle utilisant un gestionnaire de fichiers donné pour les copies.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param registry    le registre associé au profil de synchronisation
+     * @param workers     nombre de threads d’exécution
+     * @param fileHandler gestionnaire de fichiers effectuant les copies
+     * @throws IllegalArgumentException si {@code workers} est inférieur à 1
+     */
+    public SyncPlanExecutor(Path baseA, Path baseB, Registry registry, int workers, FileHandler fileHandler) {
+        this(baseA, baseB, registry, workers, fileHandler, null);
+    }
+
+    /**
+     * Construit un exécuteur confiant les copies à un copieur asynchrone.
+     *
+     * @param baseA    chemin racine du répertoire A
+     * @param baseB    chemin racine du répertoire B
+     * @param registry le registre associé au profil de synchronisation
+     * @param workers  nombre de threads d’exécution des autres actions
+     * @param copier   copieur asynchrone
+     * @throws IllegalArgumentException si {@code workers} est inférieur à 1
+     */
+    public SyncPlanExecutor(Path baseA, Path baseB, Registry registry, int workers, AsyncCopier copier) {
+        this(baseA, baseB, registry, workers, copier.getFileHandler(), copier);
+    }
+
+    private SyncPlanExecutor(Path baseA, Path baseB, Registry registry, int workers,
+                             FileHandler fileHandler, AsyncCopier copier) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Le nombre de threads d'exécution doit être positif : " + workers);
+        }
+        this.baseA = baseA;
+        this.baseB = baseB;
+        this.registry = registry;
+        this.workers = workers;
+        this.fileHandler = fileHandler;
+        this.copier = copier;
+    }
+
+    /**
+     * Exécute toutes les actions d’un plan.
+     *
+     * @param plan plan à exécuter
+     * @return nombre d’actions effectivement exécutées
+     */
+    public int execute(SyncPlan plan) {
+        List<SyncPlan.PlannedAction> actions = order(plan.getActions());
+        AtomicInteger executed = new AtomicInteger();
+        Queue<CompletableFuture<Void>> copies = new ConcurrentLinkedQueue<>();
+
+        if (workers == 1) {
+            for (SyncPlan.PlannedAction action : actions) {
+                run(action, executed, copies);
+            }
+            awaitCopies(copies);
+            flush();
+            return executed.get();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            // les suppressions précèdent toutes les copies
+            List<Future<?>> pending = new ArrayList<>();
+            boolean deleting = true;
+            for (SyncPlan.PlannedAction action : actions) {
+                if (deleting && !isDelete(action.getAction())) {
+                    awaitAll(pending);
+                    deleting = false;
+                }
+                pending.add(executor.submit(() -> run(action, executed, copies)));
+            }
+            awaitAll(pending);
+        } finally {
+            executor.shutdown();
+        }
+        awaitCopies(copies);
+        flush();
+        return executed.get();
+    }
+
+    /**
+     * Retourne les conflits rencontrés et non encore résolus ; ils ne comptent pas parmi les actions exécutées.
+     *
+     * @return file des conflits
+     */
+    public ConflictQueue getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Valide les copies que le gestionnaire de fichiers aurait mises en attente.
+     */
+    private void flush() {
+        try {
+            fileHandler.flush();
+        } catch (IOException e) {
+            System.err.println("Erreur de validation des copies : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Revérifie puis exécute une action.
+     *
+     * @param planned  action planifiée
+     * @param executed compteur des actions exécutées
+     * @param copies   tâches des actions confiées à l’exécuteur asynchrone
+     */
+    private void run(SyncPlan.PlannedAction planned, AtomicInteger executed, Queue<CompletableFuture<Void>> copies) {
+        String relativePath = planned.getRelativePath();
+        SyncContext context = new SyncContext(baseA.resolve(relativePath), baseB.resolve(relativePath),
+                relativePath, registry);
+
+        if (planned.getSourcePath() != null) {
+            move(planned, context, executed);
+            return;
+        }
+        // un fichier inchangé depuis la planification n’est pas relu pour son empreinte
+        if (planned.getVersionA() != null && planned.getVersionA().matches(context.getAttributesA())) {
+            context.reuseFingerprintA(planned.getVersionA().getFingerprint());
+        }
+        if (planned.getVersionB() != null && planned.getVersionB().matches(context.getAttributesB())) {
+            context.reuseFingerprintB(planned.getVersionB().getFingerprint());
+        }
+        SyncAction current = DecisionHandler.decide(context);
+        if (current != planned.getAction()) {
+            System.out.println("Ignoré (modifié depuis la planification) : " + relativePath);
+            return;
+        }
+        if (current == SyncAction.CONFLICT) {
+            conflicts.add(Conflict.of(context));
+            System.out.println("Conflit mis en attente : " + relativePath);
+            return;
+        }
+        if (copier != null) {
+            copies.add(DecisionHandler.applyAsync(current, context, copier).whenComplete((ignored, error) -> {
+                if (error == null) {
+                    executed.incrementAndGet();
+                } else {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    System.err.println("Erreur de synchronisation (" + current + ") : " + cause.getMessage());
+                }
+            }));
+            return;
+        }
+        try {
+            DecisionHandler.apply(current, context, fileHandler);
+            executed.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("Erreur de synchronisation (" + current + ") : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Revérifie puis exécute un déplacement : l’ancien chemin doit toujours être une suppression dont la
+     * copie restante est intacte, et le nouveau un enregistrement.
+     *
+     * @param planned  déplacement planifié
+     * @param to       contexte du nouveau chemin
+     * @param executed compteur des actions exécutées
+     */
+    private void move(SyncPlan.PlannedAction planned, SyncContext to, AtomicInteger executed) {
+        String sourcePath = planned.getSourcePath();
+        SyncContext from = new SyncContext(baseA.resolve(sourcePath), baseB.resolve(sourcePath), sourcePath, registry);
+        if (planned.getAction() == SyncAction.MOVE_DIR_A_TO_B || planned.getAction() == SyncAction.MOVE_DIR_B_TO_A) {
+            moveDirectory(planned, from, to, executed);
+            return;
+        }
+        boolean towardsB = planned.getAction() == SyncAction.MOVE_A_TO_B;
+        if (DecisionHandler.decide(from) != (towardsB ? SyncAction.DELETE_B : SyncAction.DELETE_A)
+                || DecisionHandler.decide(to) != (towardsB ? SyncAction.REGISTER_A_TO_B : SyncAction.REGISTER_B_TO_A)
+                || !new RenameDetector(baseA, baseB, registry).isUnchanged(sourcePath, towardsB)) {
+            System.out.println("Ignoré (modifié depuis la planification) : " + sourcePath + " → " + to.relativePath);
+            return;
+        }
+        try {
+            DecisionHandler.applyMove(planned.getAction(), from, to, fileHandler);
+            executed.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("Erreur de synchronisation (" + planned.getAction() + ") : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Revérifie puis exécute un déplacement de dossier : l’ancien dossier ne doit exister que du côté
+     * à mettre à jour, et le nouveau que du côté où il a été créé.
+     *
+     * @param planned  déplacement planifié
+     * @param from     contexte de l’ancien dossier
+     * @param to       contexte du nouveau dossier
+     * @param executed compteur des actions exécutées
+     */
+    private void moveDirectory(SyncPlan.PlannedAction planned, SyncContext from, SyncContext to,
+                               AtomicInteger executed) {
+        boolean towardsB = planned.getAction() == SyncAction.MOVE_DIR_A_TO_B;
+        FileAttributes oldMoved = towardsB ? from.getAttributesA() : from.getAttributesB();
+        FileAttributes oldRemaining = towardsB ? from.getAttributesB() : from.getAttributesA();
+        FileAttributes newCreated = towardsB ? to.getAttributesA() : to.getAttributesB();
+        FileAttributes newMissing = towardsB ? to.getAttributesB() : to.getAttributesA();
+        if (oldMoved.exists() || !oldRemaining.isDirectory() || !newCreated.isDirectory() || newMissing.exists()) {
+            System.out.println("Ignoré (modifié depuis la planification) : " + from.relativePath + " → " + to.relativePath);
+            return;
+        }
+        try {
+            DecisionHandler.applyMove(planned.getAction(), from, to, fileHandler);
+            executed.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("Erreur de synchronisation (" + planned.getAction() + ") : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Place les suppressions en tête, en conservant l’ordre du parcours au sein de chaque groupe.
+     *
+     * @param actions actions du plan
+     * @return actions réordonnées
+     */
+    private static List<SyncPlan.PlannedAction> order(List<SyncPlan.PlannedAction> actions) {
+        List<SyncPlan.PlannedAction> ordered = new ArrayList<>(actions);
+        ordered.sort(Comparator.comparing(action -> !isDelete(action.getAction())));
+        return ordered;
+    }
+
+    /**
+     * Indique si une action est une suppression.
+     *
+     * @param action action à tester
+     * @return {@code true} pour {@link SyncAction#DELETE_A} et {@link SyncAction#DELETE_B}
+     */
+    private static boolean isDelete(SyncAction action) {
+        return action == SyncAction.DELETE_A || action == SyncAction.DELETE_B;
+    }
+
+    /**
+     * Lance les copies retenues par le copieur, puis attend l’achèvement des copies asynchrones ;
+     * leurs erreurs ont déjà été signalées.
+     *
+     * @param copies tâches des copies soumises
+     */
+    private void awaitCopies(Queue<CompletableFuture<Void>> copies) {
+        if (copier != null) {
+            copier.drain();
+        }
+        for (CompletableFuture<Void> copy : copies) {
+            try {
+                copy.join();
+            } catch (CompletionException | CancellationException e) {
+                // signalée par la tâche elle-même
+            }
+        }
+    }
+
+    /**
+     * Attend la fin de tâches soumises, puis vide la liste.
+     *
+     * @param pending tâches en cours
+     */
+    private static void awaitAll(List<Future<?>> pending) {
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Exécution du plan interrompue", e);
+            }
+        }
+        pending.clear();
+    }
+}
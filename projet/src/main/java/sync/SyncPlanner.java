@@ -0,0 +1,74 @@
+package sync;
+
+import model.FileAttributes;
+
+/**
+ * Maillon de planification : applique les règles de décision sans effet de bord.
+ *
+ * <p>
+ * Pour chaque contexte, l’action est déterminée par {@link DecisionHandler#decide(SyncContext)}
+ * (règles d’enregistrement, de copie et de suppression de la chaîne historique), puis ajoutée
+ * à un {@link SyncPlan} avec la taille du fichier concerné. Aucun fichier n’est modifié et
+ * le registre n’est ni modifié ni sauvegardé.
+ * </p>
+ *
+ * <p>
+ * Le planificateur peut être placé derrière un {@link ParallelSyncHandler} : le plan accepte
+ * les ajouts concurrents.
+ *
+ * @see SyncPlan
+ * @see SyncPlanExecutor
+ * @since JDK 17
+ */
+public class SyncPlanner extends AbstractSyncHandler {
+    /** Plan en cours de construction. */
+    private final SyncPlan plan;
+
+    /**
+     * Construit un planificateur alimentant un plan vide.
+     *
+     * @param profileName nom du profil planifié
+     */
+    public SyncPlanner(String profileName) {
+        this.plan = new SyncPlan(profileName);
+    }
+
+    @Override
+    public void handle(SyncContext context) {
+        SyncAction action = DecisionHandler.decide(context);
+        if (action != SyncAction.NONE) {
+            // les empreintes calculées par la décision accompagnent l’action jusqu’à son exécution
+            plan.add(new SyncPlan.PlannedAction(context.relativePath, action, sizeOf(action, context),
+                    SyncPlan.Version.of(context.getAttributesA(), context.peekFingerprintA()),
+                    SyncPlan.Version.of(context.getAttributesB(), context.peekFingerprintB())));
+        }
+
+        super.handle(context);
+    }
+
+    /**
+     * Retourne le plan construit.
+     *
+     * @return plan de synchronisation
+     */
+    public SyncPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Détermine la taille du fichier copié (source) ou supprimé par une action.
+     *
+     * @param action  action planifiée
+     * @param context contexte de synchronisation
+     * @return nombre d’octets concernés
+     */
+    private static long sizeOf(SyncAction action, SyncContext context) {
+        FileAttributes attributes = switch (action) {
+            case REGISTER_A_TO_B, COPY_A_TO_B, MOVE_A_TO_B, DELETE_A -> context.getAttributesA();
+            case REGISTER_B_TO_A, COPY_B_TO_A, MOVE_B_TO_A, DELETE_B -> context.getAttributesB();
+            case TOUCH_A_TO_B, TOUCH_B_TO_A, MOVE_DIR_A_TO_B, MOVE_DIR_B_TO_A, CONFLICT, NONE ->
+                    FileAttributes.MISSING; // aucun octet copié
+        };
+        return attributes.size();
+    }
+}
@@ -21,13 +21,23 @@
  *     <li>{@link sync.RegisterHandler} : enregistrement initial des fichiers inconnus.</li>
  *     <li>{@link sync.CopyHandler} : copie de fichiers plus récents d’un côté vers l’autre.</li>
  *     <li>{@link sync.DeleteHandler} : suppression des fichiers disparus.</li>
- *     <li>{@link sync.ConflictHandler} : gestion interactive des conflits de modification.</li>
+ *     <li>{@link sync.ConflictHandler} : détection des conflits de modification, mis en attente
+ *         dans une {@link sync.ConflictQueue} puis résolus par un {@link sync.ConflictResolver}.</li>
+ *     <li>{@link sync.DecisionHandler} : maillon unique qui classe chaque fichier en une passe
+ *         à l’aide d’une table de décision et exécute l’{@link sync.SyncAction} correspondante.</li>
+ *     <li>{@link sync.ParallelSyncHandler} : répartition des fichiers sur un pool borné de threads.</li>
+ *     <li>{@link sync.SyncPlanner}, {@link sync.SyncPlan} et {@link sync.SyncPlanExecutor} : planification
+ *         sans effet de bord, puis exécution revérifiée des actions.</li>
+ *     <li>{@link sync.RenameDetector} : reconnaissance des renommages dans un plan, reproduits par un
+ *         déplacement plutôt que par une copie et une suppression ; {@link sync.SubtreeMoveDetector}
+ *         fait de même pour un dossier entier.</li>
  *     <li>{@link sync.SyncContext} : encapsule toutes les données nécessaires à un traitement unitaire.</li>
+ *     <li>{@link sync.MergeWalker} : parcours conjoint de A et B produisant un contexte par chemin relatif.</li>
  * </ul>
  *
  * <p>
- * Ce package est utilisé par le visiteur {@code SyncVisitor} du package {@code visitor},
- * lequel applique cette chaîne à chaque fichier à synchroniser.
+ * La chaîne est appliquée à chaque fichier par {@link sync.MergeWalker}, ou par le visiteur
+ * {@code SyncVisitor} du package {@code visitor} lorsqu’une arborescence Composite est disponible.
  * </p>
  *
  * @see sync.SyncHandler
@@ -17,7 +17,8 @@ import java.nio.file.Path;
  * <p>
  * Pour chaque fichier, une instance de {@link SyncContext} est créée et transmise
  * à la chaîne {@link SyncHandler}, permettant de déclencher les traitements
- * (copie, suppression, conflit, enregistrement...).
+ * (copie, suppression, conflit, enregistrement...). Les attributs relevés lors du parcours
+ * sont transmis au contexte afin d’éviter de relire les métadonnées du fichier visité.
  * </p>
  *
  * @see sync.SyncHandler
@@ -41,6 +42,9 @@ public class SyncVisitor implements FileVisitor {
     /** Registre des dernières synchronisations associées au profil en cours. */
     private final Registry registry;
 
+    /** Indique si les attributs relevés lors du parcours peuvent être réutilisés. */
+    private final boolean reuseAttributes;
+
     /**
      * Construit un visiteur de synchronisation avec les dépendances nécessaires.
      *
@@ -51,12 +55,33 @@ public class SyncVisitor implements FileVisitor {
      * @param registry    le registre associé au profil de synchronisation
      */
     public SyncVisitor(Path baseA, Path baseB, SyncHandler handler, FileHandler fileHandler, Registry registry) {
+        this(baseA, baseB, handler, fileHandler, registry, true);
+    }
+
+    /**
+     * Construit un visiteur de synchronisation en précisant si les attributs du parcours sont fiables.
+     *
+     * <p>
+     * Les attributs doivent être ignorés lorsque l’arborescence visitée a pu être modifiée
+     * depuis son parcours (par exemple par un passage de synchronisation précédent).
+     * </p>
+     *
+     * @param baseA           chemin racine du répertoire A
+     * @param baseB           chemin racine du répertoire B
+     * @param handler         la chaîne de responsabilité à appliquer à chaque fichier
+     * @param fileHandler     l’accès au système de fichiers (abstrait)
+     * @param registry        le registre associé au profil de synchronisation
+     * @param reuseAttributes {@code true} pour réutiliser les attributs relevés lors du parcours
+     */
+    public SyncVisitor(Path baseA, Path baseB, SyncHandler handler, FileHandler fileHandler, Registry registry,
+                       boolean reuseAttributes) {
         this.baseA = baseA;
         this.baseB = baseB;
         this.handler = handler;
         this.fileHandler = fileHandler;
         this.registry = registry;
-    }    
+        this.reuseAttributes = reuseAttributes;
+    }
 
     @Override
     public void visit(FileComponent file) {
@@ -65,7 +90,8 @@ public class SyncVisitor implements FileVisitor {
         Path absolutePathB = baseB.resolve(relative);
         String relativePath = relative.toString().replace("\\", "/"); // pour compatibilité
 
-        SyncContext context = new SyncContext(absolutePathA, absolutePathB, relativePath, registry);
+        SyncContext context = new SyncContext(absolutePathA, absolutePathB, relativePath, registry,
+                reuseAttributes ? file.getAttributes() : null);
         handler.handle(context); // lance la chaîne
     }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+package watch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import model.FileSystemExplorer;
+import model.PathFilter;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Surveille tous les dossiers des racines A et B d’un profil à l’aide d’un {@link WatchService}.
+ *
+ * <p>
+ * Chaque dossier est enregistré individuellement (le {@link WatchService} n’est pas récursif) ;
+ * les dossiers créés pendant la surveillance sont enregistrés à leur tour, et les fichiers
+ * qu’ils contiennent déjà sont ajoutés au lot courant. Les dossiers exclus par le
+ * {@link PathFilter} du profil ne sont pas surveillés, et leurs événements sont ignorés.
+ * </p>
+ *
+ * <p>
+ * Les événements sont regroupés en lots ({@link WatchBatch}) : un lot commence au premier
+ * événement reçu et se termine après {@code debounceMs} millisecondes sans nouvel événement
+ * (ou au plus tard après {@link #MAX_DEBOUNCE_FACTOR} fois ce délai, pour ne pas retarder
+ * indéfiniment la synchronisation sous un flot continu de modifications).
+ * </p>
+ *
+ * @see WatchBatch
+ * @see WatchDaemon
+ * @since JDK 17
+ */
+public class DirectoryWatcher implements Closeable {
+    /** Durée maximale d’un lot, exprimée en nombre de délais de regroupement. */
+    public static final int MAX_DEBOUNCE_FACTOR = 10;
+
+    /** Service de surveillance du système de fichiers. */
+    private final WatchService watchService;
+
+    /** Dossiers surveillés, par clé d’enregistrement. */
+    private final Map<WatchKey, Watched> watched = new HashMap<>();
+
+    /** Règles d’inclusion et d’exclusion du profil. */
+    private final PathFilter filter;
+
+    /**
+     * Enregistre tous les dossiers de A et de B.
+     *
+     * @param baseA chemin racine du répertoire A
+     * @param baseB chemin racine du répertoire B
+     * @throws IOException si la surveillance ne peut pas être mise en place
+     */
+    public DirectoryWatcher(Path baseA, Path baseB) throws IOException {
+        this(baseA, baseB, PathFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Enregistre tous les dossiers de A et de B acceptés par un filtre.
+     *
+     * @param baseA  chemin racine du répertoire A
+     * @param baseB  chemin racine du répertoire B
+     * @param filter règles d’inclusion et d’exclusion du profil
+     * @throws IOException si la surveillance ne peut pas être mise en place
+     */
+    public DirectoryWatcher(Path baseA, Path baseB, PathFilter filter) throws IOException {
+        this.filter = filter;
+        this.watchService = baseA.getFileSystem().newWatchService();
+        registerTree(baseA, baseA, null);
+        registerTree(baseB, baseB, null);
+    }
+
+    /**
+     * Attend le prochain lot de modifications.
+     *
+     * @param debounceMs délai de silence (en millis) qui clôt un lot
+     * @param timeoutMs  délai maximal d’attente du premier événement (en millis)
+     * @return le lot observé, ou {@code null} si aucun événement n’est survenu dans le délai
+     * @throws InterruptedException si le thread est interrompu pendant l’attente
+     */
+    public WatchBatch poll(long debounceMs, long timeoutMs) throws InterruptedException {
+        WatchKey key = watchService.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (key == null) {
+            return null;
+        }
+
+        Set<String> relativePaths = new TreeSet<>();
+        boolean overflow = false;
+        long deadline = System.currentTimeMillis() + debounceMs * MAX_DEBOUNCE_FACTOR;
+
+        while (key != null) {
+            overflow |= process(key, relativePaths);
+            long remaining = deadline - System.currentTimeMillis();
+            key = remaining <= 0 ? null : watchService.poll(Math.min(debounceMs, remaining), TimeUnit.MILLISECONDS);
+        }
+        return new WatchBatch(relativePaths, overflow);
+    }
+
+    /**
+     * Traite les événements d’une clé et réarme sa surveillance.
+     *
+     * @param key           clé signalée
+     * @param relativePaths chemins relatifs du lot courant, complétés par cette méthode
+     * @return {@code true} si des événements ont été perdus
+     */
+    private boolean process(WatchKey key, Set<String> relativePaths) {
+        Watched dir = watched.get(key);
+        boolean overflow = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW || dir == null) {
+                overflow = true;
+                continue;
+            }
+
+            Path child = dir.path.resolve((Path) event.context());
+            if (FileSystemExplorer.isTemporary(child.getFileName().toString())) {
+                continue; // copie en cours d’écriture par la synchronisation elle-même
+            }
+            String relativePath = relativize(dir.base, child);
+            boolean directory = Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS);
+            boolean accepted = directory || Files.exists(child, LinkOption.NOFOLLOW_LINKS)
+                    ? filter.accept(relativePath, directory)
+                    : filter.acceptFile(relativePath) || filter.acceptDirectory(relativePath); // entrée supprimée
+            if (!accepted) {
+                continue; // le dossier parent étant surveillé, seul ce niveau reste à vérifier
+            }
+            relativePaths.add(relativePath);
+
+            if (event.kind() == ENTRY_CREATE && directory) {
+                try {
+                    registerTree(dir.base, child, relativePaths);
+                } catch (IOException e) {
+                    overflow = true; // sous-arborescence partiellement surveillée : parcours complet
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            watched.remove(key); // dossier supprimé ou inaccessible
+        }
+        return overflow;
+    }
+
+    /**
+     * Enregistre un dossier et tous ses sous-dossiers.
+     *
+     * @param base          racine (A ou B) à laquelle appartient le dossier
+     * @param start         dossier à enregistrer
+     * @param relativePaths si non {@code null}, reçoit les chemins relatifs des fichiers déjà présents
+     * @throws IOException si un dossier ne peut pas être enregistré
+     */
+    private void registerTree(Path base, Path start, Set<String> relativePaths) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(start) && !filter.acceptDirectory(relativize(base, dir))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                watched.put(key, new Watched(base, dir));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String relativePath = relativize(base, file);
+                if (relativePaths != null && filter.acceptFile(relativePath)) {
+                    relativePaths.add(relativePath);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE; // supprimé entre-temps
+            }
+        });
+    }
+
+    /**
+     * Calcule le chemin relatif (séparé par des {@code /}) d’un chemin dans sa racine.
+     *
+     * @param base racine A ou B
+     * @param path chemin absolu
+     * @return chemin relatif
+     */
+    private static String relativize(Path base, Path path) {
+        return base.relativize(path).toString().replace("\\", "/");
+    }
+
+    /**
+     * Retourne le nombre de dossiers actuellement surveillés.
+     *
+     * @return nombre de dossiers surveillés
+     */
+    public int getWatchedCount() {
+        return watched.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    /**
+     * Dossier surveillé et racine à laquelle il appartient.
+     */
+    private static final class Watched {
+        /** Racine A ou B. */
+        final Path base;
+
+        /** Chemin absolu du dossier. */
+        final Path path;
+
+        Watched(Path base, Path path) {
+            this.base = base;
+            this.path = path;
+        }
+    }
+}
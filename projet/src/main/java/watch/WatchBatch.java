@@ -0,0 +1,54 @@
+package watch;
+
+import java.util.*;
+
+/**
+ * Lot de modifications observées par un {@link DirectoryWatcher}.
+ *
+ * <p>
+ * Un lot regroupe les chemins relatifs touchés pendant une rafale d’événements
+ * (côté A ou côté B, sans distinction). Si des événements ont été perdus
+ * ({@link java.nio.file.StandardWatchEventKinds#OVERFLOW}), le lot est marqué
+ * comme débordé : seul un parcours complet garantit alors la cohérence.
+ * </p>
+ *
+ * @see DirectoryWatcher
+ * @see WatchDaemon
+ * @since JDK 17
+ */
+public final class WatchBatch {
+    /** Chemins relatifs modifiés, triés. */
+    private final SortedSet<String> relativePaths;
+
+    /** Indique si des événements ont été perdus. */
+    private final boolean overflow;
+
+    /**
+     * Construit un lot de modifications.
+     *
+     * @param relativePaths chemins relatifs modifiés
+     * @param overflow      {@code true} si des événements ont été perdus
+     */
+    public WatchBatch(Set<String> relativePaths, boolean overflow) {
+        this.relativePaths = Collections.unmodifiableSortedSet(new TreeSet<>(relativePaths));
+        this.overflow = overflow;
+    }
+
+    /**
+     * Retourne les chemins relatifs modifiés.
+     *
+     * @return chemins relatifs, triés (lecture seule)
+     */
+    public SortedSet<String> getRelativePaths() {
+        return relativePaths;
+    }
+
+    /**
+     * Indique si des événements ont été perdus pendant ce lot.
+     *
+     * @return {@code true} si un parcours complet est nécessaire
+     */
+    public boolean isOverflow() {
+        return overflow;
+    }
+}
@@ -0,0 +1,286 @@
+package watch;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+import model.*;
+import sync.*;
+
+/**
+ * Synchronisation continue d’un profil, pilotée par les événements du système de fichiers.
+ *
+ * <p>
+ * Le démon met d’abord en place la surveillance ({@link DirectoryWatcher}), effectue un parcours
+ * complet ({@link MergeWalker}) puis, pour chaque lot de modifications, n’applique la chaîne
+ * {@link SyncHandler} qu’aux chemins relatifs concernés. Le coût est ainsi proportionnel au
+ * rythme des modifications, et non à la taille des arborescences.
+ * </p>
+ *
+ * <p>
+ * Un chemin désignant un dossier (créé, supprimé ou déplacé) est étendu aux fichiers qu’il contient
+ * de chaque côté, ainsi qu’aux entrées du registre situées sous ce dossier. Si des événements ont été
+ * perdus, un nouveau parcours complet est effectué.
+ * </p>
+ *
+ * <p>
+ * Les écritures du démon lui-même produisent de nouveaux événements : ils sont traités comme
+ * les autres, la chaîne n’effectuant aucune action sur un fichier déjà synchronisé. Les fichiers
+ * temporaires des copies ({@link FileSystemExplorer#isTemporary(String)}) sont ignorés, et les copies
+ * en attente d’un groupe sont validées à la fin de chaque lot et de chaque parcours complet :
+ * un démon inactif ne laisse aucune copie invisible.
+ *
+ * @see DirectoryWatcher
+ * @see MergeWalker
+ * @since JDK 17
+ */
+public class WatchDaemon {
+    /** Délai maximal d’attente d’un événement avant de vérifier la demande d’arrêt (en millis). */
+    private static final long POLL_TIMEOUT_MS = 500L;
+
+    /** Chemin absolu de la racine du répertoire A. */
+    private final Path baseA;
+
+    /** Chemin absolu de la racine du répertoire B. */
+    private final Path baseB;
+
+    /** Chaîne de traitement appliquée à chaque chemin relatif modifié. */
+    private final SyncHandler handler;
+
+    /** Registre des synchronisations associé au profil. */
+    private final Registry registry;
+
+    /** Délai de silence qui clôt un lot d’événements (en millis). */
+    private final long debounceMs;
+
+    /** Règles d’inclusion et d’exclusion du profil. */
+    private final PathFilter filter;
+
+    /** Parcours complet utilisé au démarrage et après un débordement. */
+    private final MergeWalker fullScan;
+
+    /** Validation des copies en attente, appelée à la fin de chaque lot (voir {@code FileHandler#flush()}). */
+    private final Flushable pendingCopies;
+
+    /** Indique si le démon doit continuer à surveiller. */
+    private volatile boolean running;
+
+    /**
+     * Construit un démon de synchronisation continue.
+     *
+     * @param baseA      chemin racine du répertoire A
+     * @param baseB      chemin racine du répertoire B
+     * @param handler    la chaîne de responsabilité à appliquer
+     * @param registry   le registre associé au profil de synchronisation
+     * @param debounceMs délai de silence qui clôt un lot d’événements (en millis)
+     */
+    public WatchDaemon(Path baseA, Path baseB, SyncHandler handler, Registry registry, long debounceMs) {
+        this(baseA, baseB, handler, registry, debounceMs, 1, null);
+    }
+
+    /**
+     * Construit un démon de synchronisation continue dont les parcours complets sont parallélisés
+     * et s’appuient sur un index des listages.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param handler     la chaîne de responsabilité à appliquer
+     * @param registry    le registre associé au profil de synchronisation
+     * @param debounceMs  délai de silence qui clôt un lot d’événements (en millis)
+     * @param parallelism nombre de threads de listage des parcours complets
+     * @param statIndex   index des listages, ou {@code null}
+     */
+    public WatchDaemon(Path baseA, Path baseB, SyncHandler handler, Registry registry, long debounceMs,
+                       int parallelism, StatIndex statIndex) {
+        this(baseA, baseB, handler, registry, debounceMs, parallelism, statIndex, PathFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Construit un démon de synchronisation continue limité aux chemins acceptés par un filtre.
+     *
+     * @param baseA       chemin racine du répertoire A
+     * @param baseB       chemin racine du répertoire B
+     * @param handler     la chaîne de responsabilité à appliquer
+     * @param registry    le registre associé au profil de synchronisation
+     * @param debounceMs  délai de silence qui clôt un lot d’événements (en millis)
+     * @param parallelism nombre de threads de listage des parcours complets
+     * @param statIndex   index des listages, ou {@code null}
+     * @param filter      règles d’inclusion et d’exclusion du profil
+     */
+    public WatchDaemon(Path baseA, Path baseB, SyncHandler handler, Registry registry, long debounceMs,
+                       int parallelism, StatIndex statIndex, PathFilter filter) {
+        this(baseA, baseB, handler, registry, debounceMs, parallelism, statIndex, filter, () -> { });
+    }
+
+    /**
+     * Construit un démon de synchronisation continue qui valide les copies en attente après chaque lot.
+     *
+     * @param baseA         chemin racine du répertoire A
+     * @param baseB         chemin racine du répertoire B
+     * @param handler       la chaîne de responsabilité à appliquer
+     * @param registry      le registre associé au profil de synchronisation
+     * @param debounceMs    délai de silence qui clôt un lot d’événements (en millis)
+     * @param parallelism   nombre de threads de listage des parcours complets
+     * @param statIndex     index des listages, ou {@code null}
+     * @param filter        règles d’inclusion et d’exclusion du profil
+     * @param pendingCopies validation des copies en attente (par exemple {@code fileHandler::flush})
+     */
+    public WatchDaemon(Path baseA, Path baseB, SyncHandler handler, Registry registry, long debounceMs,
+                       int parallelism, StatIndex statIndex, PathFilter filter, Flushable pendingCopies) {
+        this.pendingCopies = pendingCopies;
+        this.baseA = baseA;
+        this.baseB = baseB;
+        this.handler = handler;
+        this.registry = registry;
+        this.debounceMs = debounceMs;
+        this.filter = filter;
+        this.fullScan = new MergeWalker(baseA, baseB, handler, registry, parallelism, statIndex, filter);
+    }
+
+    /**
+     * Lance la surveillance ; la méthode ne rend la main qu’après un appel à {@link #stop()}
+     * ou une interruption du thread.
+     *
+     * @throws IOException si la surveillance ou un parcours complet échoue
+     */
+    public void watch() throws IOException {
+        running = true;
+        try (DirectoryWatcher watcher = new DirectoryWatcher(baseA, baseB, filter)) {
+            // la surveillance est active avant le parcours : aucune modification n’est manquée
+            fullScan.walk();
+            pendingCopies.flush();
+
+            while (running) {
+                WatchBatch batch = watcher.poll(debounceMs, POLL_TIMEOUT_MS);
+                if (batch == null) {
+                    continue;
+                }
+                if (batch.isOverflow()) {
+                    System.out.println("Événements perdus : nouveau parcours complet.");
+                    fullScan.walk();
+                    pendingCopies.flush();
+                } else {
+                    apply(batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+     * Demande l’arrêt de la surveillance (pris en compte au plus tard après le lot en cours).
+     */
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Indique si la surveillance est en cours.
+     *
+     * @return {@code true} si {@link #watch()} est en cours d’exécution
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Applique la chaîne aux fichiers concernés par un lot.
+     *
+     * @param batch lot de modifications
+     * @throws IOException si un dossier concerné ne peut pas être parcouru ou si les copies en attente
+     *                     ne peuvent pas être validées
+     */
+    void apply(WatchBatch batch) throws IOException {
+        SortedSet<String> files = new TreeSet<>();
+        for (String relativePath : batch.getRelativePaths()) {
+            expand(relativePath, files);
+        }
+
+        for (String relativePath : files) {
+            Path pathA = baseA.resolve(relativePath);
+            Path pathB = baseB.resolve(relativePath);
+            FileAttributes attributesA = FileAttributes.read(pathA);
+            FileAttributes attributesB = FileAttributes.read(pathB);
+
+            if (!attributesA.exists() && !attributesB.exists() && !registry.contains(relativePath)) {
+                continue; // fichier temporaire apparu puis disparu pendant le lot
+            }
+            if (!filter.acceptTree(relativePath, false)) {
+                continue;
+            }
+            if (attributesA.isDirectory() || attributesB.isDirectory()) {
+                System.err.println("Conflit de type fichier/dossier ignoré : " + relativePath);
+                continue;
+            }
+            handler.handle(new SyncContext(pathA, pathB, relativePath, registry, attributesA, attributesB));
+        }
+        handler.awaitCompletion(); // le lot suivant ne doit pas croiser celui-ci
+        pendingCopies.flush(); // aucune copie ne reste invisible pendant l’inactivité
+    }
+
+    /**
+     * Étend un chemin relatif modifié aux fichiers à synchroniser.
+     *
+     * <p>
+     * Un dossier présent d’un côté est remplacé par les fichiers qu’il contient. Un chemin absent
+     * des deux côtés et inconnu du registre est un dossier supprimé : il est remplacé par les
+     * entrées du registre situées sous ce dossier.
+     * </p>
+     *
+     * @param relativePath chemin relatif signalé
+     * @param files        ensemble des fichiers à traiter, complété par cette méthode
+     * @throws IOException si un dossier ne peut pas être parcouru
+     */
+    private void expand(String relativePath, Set<String> files) throws IOException {
+        Path pathA = baseA.resolve(relativePath);
+        Path pathB = baseB.resolve(relativePath);
+        boolean directoryA = Files.isDirectory(pathA, LinkOption.NOFOLLOW_LINKS);
+        boolean directoryB = Files.isDirectory(pathB, LinkOption.NOFOLLOW_LINKS);
+
+        if (directoryA) {
+            collectFiles(baseA, pathA, files);
+        }
+        if (directoryB) {
+            collectFiles(baseB, pathB, files);
+        }
+        if (directoryA || directoryB) {
+            return;
+        }
+
+        if (Files.exists(pathA, LinkOption.NOFOLLOW_LINKS) || Files.exists(pathB, LinkOption.NOFOLLOW_LINKS)
+                || registry.contains(relativePath)) {
+            files.add(relativePath);
+            return;
+        }
+
+        String prefix = relativePath + "/";
+        for (String registered : registry.getEntries().keySet()) {
+            if (registered.startsWith(prefix)) {
+                files.add(registered);
+            }
+        }
+    }
+
+    /**
+     * Ajoute les chemins relatifs de tous les fichiers réguliers d’un dossier.
+     *
+     * @param base  racine A ou B
+     * @param dir   dossier à parcourir
+     * @param files ensemble à compléter
+     * @throws IOException si le dossier ne peut pas être parcouru
+     */
+    private static void collectFiles(Path base, Path dir, Set<String> files) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)
+                            && !FileSystemExplorer.isTemporary(path.getFileName().toString()))
+                    .forEach(path -> files.add(base.relativize(path).toString().replace("\\", "/")));
+        } catch (NoSuchFileException e) {
+            // dossier supprimé entre-temps : les entrées du registre suffisent
+        }
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Contient le mode de synchronisation continue, piloté par les événements du système de fichiers.
+ *
+ * <p>
+ * Plutôt que de parcourir intégralement les deux répertoires à chaque exécution, ce package
+ * surveille leurs dossiers via {@link java.nio.file.WatchService} et ne transmet à la chaîne
+ * {@link sync.SyncHandler} que les chemins effectivement modifiés.
+ * </p>
+ *
+ * <h2>Composants clés</h2>
+ * <ul>
+ *     <li>{@link watch.DirectoryWatcher} : enregistre tous les dossiers de A et B et regroupe
+ *         les événements en lots temporisés.</li>
+ *     <li>{@link watch.WatchBatch} : lot de chemins relatifs modifiés, éventuellement marqué comme débordé.</li>
+ *     <li>{@link watch.WatchDaemon} : boucle de synchronisation incrémentale, avec parcours complet
+ *         ({@link sync.MergeWalker}) au démarrage et en cas de perte d’événements.</li>
+ * </ul>
+ *
+ * @see sync.MergeWalker
+ * @see sync.SyncHandler
+ * @since JDK 17
+ */
+package watch;
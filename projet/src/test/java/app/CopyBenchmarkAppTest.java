@@ -0,0 +1,57 @@
+package app;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour {@link CopyBenchmarkApp}.
+ */
+class CopyBenchmarkAppTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    void setUpStreams() {
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void givenSmallSyntheticTree_whenRun_thenBothTechniquesCopyEverything() throws IOException {
+        // WHEN
+        long[] durations = CopyBenchmarkApp.run(tempDir, 50, 100, 1, 300_000, 2);
+
+        // THEN
+        assertEquals(2, durations.length);
+        assertTrue(durations[0] > 0 && durations[1] > 0);
+        assertArrayEquals(Files.readAllBytes(tempDir.resolve("source/large0.bin")),
+                Files.readAllBytes(tempDir.resolve("scheduler/large0.bin")));
+        assertEquals(100, Files.size(tempDir.resolve("files-copy/dir0/small49.bin")));
+        assertEquals(100, Files.size(tempDir.resolve("scheduler/dir0/small49.bin")));
+        assertTrue(outContent.toString().contains("Ordonnanceur"));
+    }
+
+    @Test
+    void givenInvalidArguments_whenMain_thenPrintsUsage() {
+        // WHEN
+        CopyBenchmarkApp.main(new String[]{"beaucoup"});
+
+        // THEN
+        assertTrue(outContent.toString().contains("Usage"));
+    }
+}
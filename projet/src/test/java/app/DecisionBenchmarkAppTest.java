@@ -0,0 +1,70 @@
+package app;
+
+import manager.RegistryManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitaires pour {@link DecisionBenchmarkApp}.
+ */
+class DecisionBenchmarkAppTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    void setUpStreams() {
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void givenSmallSyntheticTree_whenRun_thenBothEnginesSynchronizeTheSameWay() throws IOException {
+        // GIVEN
+        try (MockedStatic<RegistryManager> mocked = mockStatic(RegistryManager.class)) {
+            mocked.when(RegistryManager::getInstance).thenReturn(mock(RegistryManager.class));
+
+            // WHEN
+            long[] durations = DecisionBenchmarkApp.run(tempDir, 100, 1);
+
+            // THEN
+            assertEquals(2, durations.length);
+            assertTrue(durations[0] > 0 && durations[1] > 0);
+        }
+        for (String engine : new String[]{"chain0", "decision0"}) {
+            Path dirA = tempDir.resolve(engine + "/A/dir0");
+            Path dirB = tempDir.resolve(engine + "/B/dir0");
+            assertEquals("content 1", Files.readString(dirB.resolve("file1.txt")));
+            assertEquals("content 2", Files.readString(dirA.resolve("file2.txt")));
+            assertEquals("content 3 v2", Files.readString(dirB.resolve("file3.txt")));
+            assertFalse(Files.exists(dirA.resolve("file4.txt")));
+            assertEquals("content 5 B", Files.readString(dirB.resolve("file5.txt")));
+        }
+        assertTrue(outContent.toString().contains("Accélération"));
+    }
+
+    @Test
+    void givenInvalidArguments_whenMain_thenPrintsUsage() {
+        // WHEN
+        DecisionBenchmarkApp.main(new String[]{"beaucoup"});
+
+        // THEN
+        assertTrue(outContent.toString().contains("Usage"));
+    }
+}
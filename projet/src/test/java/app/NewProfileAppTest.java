@@ -86,4 +86,35 @@ class NewProfileAppTest {
             assertTrue(error.contains("Simulated error"), "Le message d’erreur doit inclure l’exception");
         }
     }
+
+    @Test
+    void givenFilterOptions_whenMainCalled_thenProfileCarriesRules() throws Exception {
+        // GIVEN
+        String[] args = {"testProfile", "/tmp/test-A", "/tmp/test-B", "--exclude", "node_modules", "--include", "src/**"};
+
+        try (MockedStatic<ProfileManager> mockStatic = Mockito.mockStatic(ProfileManager.class)) {
+            ProfileManager mockManager = mock(ProfileManager.class);
+            mockStatic.when(ProfileManager::getInstance).thenReturn(mockManager);
+
+            // WHEN
+            NewProfileApp.main(args);
+
+            // THEN
+            verify(mockManager).saveProfile(argThat(profile ->
+                    profile.getExcludes().equals(java.util.List.of("node_modules"))
+                            && profile.getIncludes().equals(java.util.List.of("src/**"))));
+        }
+    }
+
+    @Test
+    void givenUnknownOption_whenMainCalled_thenPrintUsage() {
+        // GIVEN
+        String[] args = {"testProfile", "/tmp/test-A", "/tmp/test-B", "--unknown", "x"};
+
+        // WHEN
+        NewProfileApp.main(args);
+
+        // THEN
+        assertTrue(outContent.toString().contains("Usage:"), "Devrait afficher le message d’usage");
+    }
 }
@@ -3,13 +3,16 @@ package app;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 
-import visitor.FileVisitor;
-import filesystem.*;
+import factory.XmlRegistryStrategyFactory;
+
 import manager.*;
 import model.*;
 
 import java.io.*;
-import java.nio.file.Path;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -46,44 +49,97 @@ public class SyncAppTest {
     public void givenValidProfile_whenMain_thenSyncIsPerformed() throws IOException {
         // GIVEN
         String[] args = {"testProfile"};
-        Profile mockProfile = new Profile("testProfile", "/tmp/A", "/tmp/B");
-        Registry mockRegistry = new Registry("testProfile");
+        Path dirA = Files.createTempDirectory("syncApp-A");
+        Path dirB = Files.createTempDirectory("syncApp-B");
+        Files.writeString(dirA.resolve("file.txt"), "From A");
 
-        FileComponent mockArboA = mock(FileComponent.class);
-        FileComponent mockArboB = mock(FileComponent.class);
+        Profile profile = new Profile("testProfile", dirA.toString(), dirB.toString());
+        Registry registry = new Registry("testProfile");
 
         try (
             MockedStatic<ProfileManager> pmStatic = Mockito.mockStatic(ProfileManager.class);
             MockedStatic<RegistryManager> rmStatic = Mockito.mockStatic(RegistryManager.class);
-            MockedStatic<FileHandlerFactory> fhfStatic = Mockito.mockStatic(FileHandlerFactory.class);
-            MockedStatic<FileSystemExplorer> fsExplorerMock = Mockito.mockStatic(FileSystemExplorer.class)
+            MockedStatic<StatIndexManager> simStatic = Mockito.mockStatic(StatIndexManager.class)
         ) {
             ProfileManager mockPM = mock(ProfileManager.class);
             RegistryManager mockRM = mock(RegistryManager.class);
-            FileHandler mockFH = mock(FileHandler.class);
+            StatIndexManager mockSIM = mock(StatIndexManager.class);
 
             pmStatic.when(ProfileManager::getInstance).thenReturn(mockPM);
             rmStatic.when(RegistryManager::getInstance).thenReturn(mockRM);
-            fhfStatic.when(FileHandlerFactory::createLocalFileHandler).thenReturn(mockFH);
-
-            when(mockPM.loadProfile("testProfile")).thenReturn(mockProfile);
-            when(mockRM.loadRegistry("testProfile")).thenReturn(mockRegistry);
-            fsExplorerMock.when(() -> FileSystemExplorer.explore(Path.of("/tmp/A"))).thenReturn(mockArboA);
-            fsExplorerMock.when(() -> FileSystemExplorer.explore(Path.of("/tmp/B"))).thenReturn(mockArboB);
+            simStatic.when(StatIndexManager::getInstance).thenReturn(mockSIM);
 
-            // On mock aussi accept pour éviter NullPointer
-            doNothing().when(mockArboA).accept(any(FileVisitor.class));
-            doNothing().when(mockArboB).accept(any(FileVisitor.class));
+            when(mockPM.loadProfile("testProfile")).thenReturn(profile);
+            when(mockRM.loadRegistry("testProfile")).thenReturn(registry);
+            when(mockSIM.loadIndex("testProfile")).thenReturn(new StatIndex("testProfile"));
 
             // WHEN
             SyncApp.main(args);
 
             // THEN
-            verify(mockRM).saveRegistry(mockRegistry);
+            verify(mockRM, atLeastOnce()).saveRegistry(registry);
+            verify(mockSIM).saveIndex(any(StatIndex.class));
+            assertEquals("From A", Files.readString(dirB.resolve("file.txt")));
+            assertTrue(registry.contains("file.txt"));
             assertTrue(out.toString().contains("Synchronisation bidirectionnelle terminée"));
+        } finally {
+            deleteRecursively(dirA);
+            deleteRecursively(dirB);
         }
     }
 
+    @Test
+    public void givenDryRun_whenMain_thenPlanIsPrintedAndNothingIsWritten() throws IOException {
+        // GIVEN
+        String[] args = {"testProfile", "--dry-run"};
+        Path dirA = Files.createTempDirectory("syncApp-A");
+        Path dirB = Files.createTempDirectory("syncApp-B");
+        Files.writeString(dirA.resolve("file.txt"), "From A");
+
+        Profile profile = new Profile("testProfile", dirA.toString(), dirB.toString());
+        Registry registry = new Registry("testProfile");
+
+        try (
+            MockedStatic<ProfileManager> pmStatic = Mockito.mockStatic(ProfileManager.class);
+            MockedStatic<RegistryManager> rmStatic = Mockito.mockStatic(RegistryManager.class);
+            MockedStatic<StatIndexManager> simStatic = Mockito.mockStatic(StatIndexManager.class)
+        ) {
+            ProfileManager mockPM = mock(ProfileManager.class);
+            RegistryManager mockRM = mock(RegistryManager.class);
+            StatIndexManager mockSIM = mock(StatIndexManager.class);
+
+            pmStatic.when(ProfileManager::getInstance).thenReturn(mockPM);
+            rmStatic.when(RegistryManager::getInstance).thenReturn(mockRM);
+            simStatic.when(StatIndexManager::getInstance).thenReturn(mockSIM);
+
+            when(mockPM.loadProfile("testProfile")).thenReturn(profile);
+            when(mockRM.loadRegistry("testProfile")).thenReturn(registry);
+            when(mockSIM.loadIndex("testProfile")).thenReturn(new StatIndex("testProfile"));
+
+            // WHEN
+            SyncApp.main(args);
+
+            // THEN
+            verify(mockRM, never()).saveRegistry(any());
+            assertFalse(Files.exists(dirB.resolve("file.txt")));
+            assertTrue(registry.getEntries().isEmpty());
+            assertTrue(out.toString().contains("REGISTER_A_TO_B"));
+            assertTrue(out.toString().contains("Total à copier : 6 octet(s)"));
+        } finally {
+            deleteRecursively(dirA);
+            deleteRecursively(dirB);
+        }
+    }
+
+    @Test
+    public void givenInvalidOption_whenMain_thenUsageMessagePrinted() {
+        // WHEN
+        SyncApp.main(new String[]{"testProfile", "--scan-threads", "0"});
+
+        // THEN
+        assertTrue(out.toString().contains("Usage"), "Doit afficher un message d’usage.");
+    }
+
     @Test
     public void givenIOException_whenMain_thenErrorIsPrinted() throws IOException {
         // GIVEN
@@ -104,4 +160,134 @@ public class SyncAppTest {
                     "Doit afficher une erreur en cas d'IOException");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenSynchronizedPair_whenMainRunsAgain_thenNoCopyAndNoRegistryWrite() throws IOException {
+        String[][] variants = {
+                {},
+                {"--workers", "4"},
+                {"--async-copies", "2"},
+                {"--async-copies", "2", "--batch-size", "3"},
+                {"--chunk-threads", "2", "--chunk-threshold", "4096"},
+                {"--fsync", "group", "--fsync-group", "3"},
+                {"--delta-threshold", "4096"}
+        };
+        for (String[] options : variants) {
+            assertConverges(options);
+        }
+    }
+
+    /**
+     * Synchronise deux dossiers, les modifie puis les synchronise de nouveau : une troisième
+     * synchronisation ne doit ni copier, ni modifier les dates, ni écrire dans le registre.
+     */
+    private void assertConverges(String[] options) throws IOException {
+        // GIVEN
+        String label = String.join(" ", options);
+        String[] args = new String[options.length + 1];
+        args[0] = "testProfile";
+        System.arraycopy(options, 0, args, 1, options.length);
+        Path dirA = Files.createTempDirectory("syncApp-A");
+        Path dirB = Files.createTempDirectory("syncApp-B");
+        long past = System.currentTimeMillis() - 3_600_000L;
+        write(dirA.resolve("a.txt"), "only in A", past);
+        write(dirA.resolve("docs/report.txt"), "report", past + 1_000);
+        write(dirA.resolve("media/big.bin"), "x".repeat(10_000), past + 2_000);
+        write(dirB.resolve("b.txt"), "only in B", past + 3_000);
+        write(dirB.resolve("photos/2024/p1.jpg"), "p1", past + 4_000);
+        write(dirB.resolve("photos/2024/p2.jpg"), "p2", past + 5_000);
+
+        Profile profile = new Profile("testProfile", dirA.toString(), dirB.toString());
+        Registry registry = new Registry("testProfile");
+        StatIndex statIndex = new StatIndex("testProfile");
+        try {
+            // le mock statique ne vaut que pour ce thread : les threads d’exécution utilisent le vrai gestionnaire
+            RegistryManager.init(new XmlRegistryStrategyFactory().createStrategy());
+        } catch (IllegalStateException alreadyInitialized) {
+            // déjà initialisé par un autre test exécuté dans la même JVM
+        }
+
+        try (
+            MockedStatic<ProfileManager> pmStatic = Mockito.mockStatic(ProfileManager.class);
+            MockedStatic<RegistryManager> rmStatic = Mockito.mockStatic(RegistryManager.class);
+            MockedStatic<StatIndexManager> simStatic = Mockito.mockStatic(StatIndexManager.class)
+        ) {
+            ProfileManager mockPM = mock(ProfileManager.class);
+            RegistryManager mockRM = mock(RegistryManager.class);
+            StatIndexManager mockSIM = mock(StatIndexManager.class);
+
+            pmStatic.when(ProfileManager::getInstance).thenReturn(mockPM);
+            rmStatic.when(RegistryManager::getInstance).thenReturn(mockRM);
+            simStatic.when(StatIndexManager::getInstance).thenReturn(mockSIM);
+
+            when(mockPM.loadProfile("testProfile")).thenReturn(profile);
+            when(mockRM.loadRegistry("testProfile")).thenReturn(registry);
+            when(mockSIM.loadIndex("testProfile")).thenReturn(statIndex);
+            doAnswer(invocation -> {
+                registry.markSaved(registry.getMutationCount());
+                return null;
+            }).when(mockRM).saveRegistry(registry);
+
+            SyncApp.main(args);
+            Files.writeString(dirA.resolve("media/big.bin"), "y".repeat(10_000));
+            // réécriture moins de 2 s après la date de la destination : le cas des dates arrondies
+            write(dirA.resolve("docs/report.txt"), "report v2", past + 1_500);
+            Files.move(dirA.resolve("a.txt"), dirA.resolve("docs/a-renamed.txt"));
+            Files.move(dirB.resolve("photos"), dirB.resolve("pictures"));
+            Files.delete(dirB.resolve("b.txt"));
+            SyncApp.main(args);
+
+            Map<String, String> before = snapshot(dirA, dirB);
+            long mutations = registry.getMutationCount();
+            clearInvocations(mockRM);
+            out.reset();
+
+            // WHEN
+            SyncApp.main(args);
+
+            // THEN
+            assertEquals(before, snapshot(dirA, dirB), label);
+            assertEquals(mutations, registry.getMutationCount(), label);
+            verify(mockRM, never()).saveRegistry(any());
+            verify(mockRM, never()).checkpoint(any());
+            assertTrue(out.toString().contains("(aucune action)"), label + System.lineSeparator() + out);
+            assertFalse(Files.exists(dirA.resolve("b.txt")), label);
+            assertEquals("y".repeat(10_000), Files.readString(dirB.resolve("media/big.bin")), label);
+            assertEquals("only in A", Files.readString(dirB.resolve("docs/a-renamed.txt")), label);
+            assertEquals("report v2@" + (past + 1_500), before.get("B/docs/report.txt"), label);
+            assertEquals(past + 1_500, registry.get("docs/report.txt"), label);
+            assertEquals("p2", Files.readString(dirA.resolve("pictures/2024/p2.jpg")), label);
+        } finally {
+            deleteRecursively(dirA);
+            deleteRecursively(dirB);
+        }
+    }
+
+    private static void write(Path file, String content, long lastModified) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+    }
+
+    /**
+     * Relève le contenu et la date de chaque fichier des deux dossiers, par chemin relatif.
+     */
+    private static Map<String, String> snapshot(Path dirA, Path dirB) throws IOException {
+        Map<String, String> files = new TreeMap<>();
+        for (Path root : List.of(dirA, dirB)) {
+            try (Stream<Path> walk = Files.walk(root)) {
+                for (Path file : walk.filter(Files::isRegularFile).toList()) {
+                    String key = (root == dirA ? "A/" : "B/") + root.relativize(file).toString().replace('\\', '/');
+                    files.put(key, Files.readString(file) + "@" + Files.getLastModifiedTime(file).toMillis());
+                }
+            }
+        }
+        return files;
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -39,4 +39,31 @@ public class ConcreteProfileBuilderTest {
         builder.setName("profile");
         assertThrows(IllegalStateException.class, () -> builder.setName("other"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldBuildProfileWithFilterRules() {
+        ConcreteProfileBuilder builder = new ConcreteProfileBuilder();
+        builder.startProfile();
+        builder.setName("test");
+        builder.setPathA("/path/to/A");
+        builder.setPathB("/path/to/B");
+        builder.addInclude("src/**");
+        builder.addExclude("node_modules");
+        builder.addExclude("*.tmp");
+        Profile profile = builder.getProfile();
+
+        assertEquals(java.util.List.of("src/**"), profile.getIncludes());
+        assertEquals(java.util.List.of("node_modules", "*.tmp"), profile.getExcludes());
+    }
+
+    @Test
+    void shouldThrowIfFilterPatternIsInvalid() {
+        ConcreteProfileBuilder builder = new ConcreteProfileBuilder();
+        builder.startProfile();
+        builder.setName("test");
+        builder.setPathA("/path/to/A");
+        builder.setPathB("/path/to/B");
+        builder.addExclude("a[");
+        assertThrows(IllegalStateException.class, builder::getProfile);
+    }
+}
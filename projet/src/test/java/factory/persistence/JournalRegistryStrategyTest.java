@@ -0,0 +1,218 @@
+package factory.persistence;
+
+import factory.XmlRegistryStrategyFactory;
+import model.Fingerprint;
+import model.Registry;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalRegistryStrategyTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path snapshot;
+    private Path journal;
+
+    @BeforeEach
+    void setup() {
+        snapshot = tempDir.resolve("registry_test.xml");
+        journal = JournalRegistryStrategy.journalPath(snapshot, JournalRegistryStrategy.JOURNAL_SUFFIX);
+    }
+
+    @Test
+    void givenNewRegistry_whenSave_thenFullSnapshotIsWrittenWithoutJournal() throws IOException {
+        // GIVEN
+        JournalRegistryStrategy strategy = newStrategy();
+        Registry registry = new Registry("test");
+        registry.put("a.txt", 1L);
+
+        // WHEN
+        strategy.save(snapshot.toString(), registry);
+
+        // THEN
+        assertTrue(Files.exists(snapshot));
+        assertFalse(Files.exists(journal));
+        assertEquals(1L, newStrategy().load(snapshot.toString(), Registry.class).get("a.txt"));
+    }
+
+    @Test
+    void givenLargeRegistry_whenSaveOneChange_thenOnlyTheChangeIsAppended() throws IOException {
+        // GIVEN
+        JournalRegistryStrategy strategy = newStrategy();
+        Registry registry = new Registry("test");
+        for (int i = 0; i < 1000; i++) {
+            registry.put("dir/file" + i + ".txt", i);
+        }
+        strategy.save(snapshot.toString(), registry);
+        long snapshotSize = Files.size(snapshot);
+
+        // WHEN
+        registry.put("dir/file1.txt", 42L);
+        registry.remove("dir/file2.txt");
+        strategy.save(snapshot.toString(), registry);
+
+        // THEN
+        assertEquals(snapshotSize, Files.size(snapshot));
+        assertTrue(Files.size(journal) < 64, "Le journal ne doit contenir que les deux modifications");
+        Registry loaded = newStrategy().load(snapshot.toString(), Registry.class);
+        assertEquals(42L, loaded.get("dir/file1.txt"));
+        assertFalse(loaded.contains("dir/file2.txt"));
+        assertEquals(999, loaded.getEntries().size());
+    }
+
+    @Test
+    void givenLoadedRegistry_whenModifiedAndSaved_thenReloadReplaysJournal() throws IOException {
+        // GIVEN
+        newStrategy().save(snapshot.toString(), registryWith("a.txt", 1L));
+        JournalRegistryStrategy strategy = newStrategy();
+        Registry loaded = strategy.load(snapshot.toString(), Registry.class);
+
+        // WHEN
+        loaded.put("b.txt", 2L);
+        strategy.save(snapshot.toString(), loaded);
+        loaded.put("a.txt", 3L);
+        strategy.save(snapshot.toString(), loaded);
+
+        // THEN
+        Registry reloaded = newStrategy().load(snapshot.toString(), Registry.class);
+        assertEquals(3L, reloaded.get("a.txt"));
+        assertEquals(2L, reloaded.get("b.txt"));
+    }
+
+    @Test
+    void givenFingerprintedEntries_whenSavedInJournalAndSnapshot_thenFingerprintsAreReloaded() throws IOException {
+        // GIVEN
+        Fingerprint inSnapshot = new Fingerprint(10, 0xCAFEBABE);
+        Fingerprint inJournal = new Fingerprint(20, 0x01020304);
+        JournalRegistryStrategy strategy = newStrategy();
+        Registry registry = new Registry("test");
+        registry.put("a.txt", 1L, inSnapshot);
+        registry.put("old.txt", 1L);
+        strategy.save(snapshot.toString(), registry);
+
+        // WHEN
+        registry.put("b.txt", 2L, inJournal);
+        strategy.save(snapshot.toString(), registry);
+
+        // THEN
+        Registry reloaded = newStrategy().load(snapshot.toString(), Registry.class);
+        assertEquals(inSnapshot, reloaded.getFingerprint("a.txt"));
+        assertEquals(inJournal, reloaded.getFingerprint("b.txt"));
+        assertNull(reloaded.getFingerprint("old.txt"));
+        assertEquals(1L, reloaded.get("old.txt"));
+    }
+
+    @Test
+    void givenTruncatedLastRecord_whenLoad_thenPreviousRecordsAreKept() throws IOException {
+        // GIVEN
+        JournalRegistryStrategy strategy = newStrategy();
+        Registry registry = registryWith("a.txt", 1L);
+        strategy.save(snapshot.toString(), registry);
+        registry.put("b.txt", 2L);
+        strategy.save(snapshot.toString(), registry);
+        Files.write(journal, new byte[]{'P', 0, 5, 'c'}, StandardOpenOption.APPEND); // écriture interrompue
+
+        // WHEN
+        Registry loaded = newStrategy().load(snapshot.toString(), Registry.class);
+
+        // THEN
+        assertEquals(2L, loaded.get("b.txt"));
+        assertEquals(2, loaded.getEntries().size());
+    }
+
+    @Test
+    void givenTruncatedLastRecord_whenLoadSaveAndReload_thenNewRecordsAreReadAfterTheCut() throws IOException {
+        // GIVEN
+        JournalRegistryStrategy strategy = newStrategy();
+        Registry registry = registryWith("a.txt", 1L);
+        strategy.save(snapshot.toString(), registry);
+        registry.put("b.txt", 2L);
+        strategy.save(snapshot.toString(), registry);
+        long complete = Files.size(journal);
+        Files.write(journal, new byte[]{'P', 0, 5, 'c'}, StandardOpenOption.APPEND); // écriture interrompue
+
+        // WHEN
+        JournalRegistryStrategy next = newStrategy();
+        Registry loaded = next.load(snapshot.toString(), Registry.class);
+        loaded.put("c.txt", 3L);
+        next.save(snapshot.toString(), loaded);
+        Registry reloaded = newStrategy().load(snapshot.toString(), Registry.class);
+
+        // THEN
+        assertTrue(Files.size(journal) > complete);
+        assertEquals(1L, reloaded.get("a.txt"));
+        assertEquals(2L, reloaded.get("b.txt"));
+        assertEquals(3L, reloaded.get("c.txt"));
+        assertEquals(3, reloaded.getEntries().size());
+    }
+
+    @Test
+    void givenJournalAboveThreshold_whenSave_thenJournalIsCompactedIntoSnapshot() throws IOException {
+        // GIVEN
+        JournalRegistryStrategy strategy = new JournalRegistryStrategy(
+                new XmlRegistryStrategyFactory().createStrategy(), 64);
+        Registry registry = registryWith("a.txt", 1L);
+        strategy.save(snapshot.toString(), registry);
+
+        // WHEN
+        for (int i = 0; i < 10; i++) {
+            registry.put("file" + i + ".txt", i);
+            strategy.save(snapshot.toString(), registry);
+        }
+        strategy.awaitCompaction();
+
+        // THEN
+        assertFalse(Files.exists(JournalRegistryStrategy.journalPath(snapshot, JournalRegistryStrategy.COMPACTING_SUFFIX)));
+        assertTrue(!Files.exists(journal) || Files.size(journal) < 64 * 2);
+        Registry fromSnapshotOnly = new XmlRegistryStrategyFactory().createStrategy().load(snapshot.toString(), Registry.class);
+        assertTrue(fromSnapshotOnly.getEntries().size() > 1, "L'instantané doit intégrer le journal compacté");
+        assertEquals(registry.getEntries(), newStrategy().load(snapshot.toString(), Registry.class).getEntries());
+    }
+
+    @Test
+    void givenPlainXmlRegistry_whenLoad_thenItIsReadAsSnapshot() throws IOException {
+        // GIVEN
+        new XmlRegistryStrategyFactory().createStrategy().save(snapshot.toString(), registryWith("a.txt", 7L));
+
+        // WHEN
+        Registry loaded = newStrategy().load(snapshot.toString(), Registry.class);
+
+        // THEN
+        assertEquals(7L, loaded.get("a.txt"));
+    }
+
+    @Test
+    void givenRegistryWrittenWithoutFingerprints_whenLoad_thenEntriesAreReadWithoutFingerprint() throws IOException {
+        // GIVEN
+        Files.writeString(snapshot, """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <registry profile="test">
+                  <entry><path>a.txt</path><timestamp>5</timestamp></entry>
+                </registry>
+                """.strip());
+
+        // WHEN
+        Registry loaded = newStrategy().load(snapshot.toString(), Registry.class);
+
+        // THEN
+        assertEquals(5L, loaded.get("a.txt"));
+        assertNull(loaded.getFingerprint("a.txt"));
+    }
+
+    private static JournalRegistryStrategy newStrategy() {
+        return new JournalRegistryStrategy(new XmlRegistryStrategyFactory().createStrategy());
+    }
+
+    private static Registry registryWith(String path, long timestamp) {
+        Registry registry = new Registry("test");
+        registry.put(path, timestamp);
+        return registry;
+    }
+}
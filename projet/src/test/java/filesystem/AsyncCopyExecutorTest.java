@@ -0,0 +1,162 @@
+package filesystem;
+
+import model.Fingerprint;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AsyncCopyExecutorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String name, int size) throws IOException {
+        return Files.write(tempDir.resolve(name), new byte[size]);
+    }
+
+    @Test
+    void givenByteBudget_whenSubmitMany_thenInFlightBytesNeverExceedBudget() throws Exception {
+        // GIVEN
+        FileHandler delegate = mock(FileHandler.class);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        }).when(delegate).copy(any(), any());
+
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        try (AsyncCopyExecutor executor = new AsyncCopyExecutor(delegate, 4, 100)) {
+            // WHEN
+            for (int i = 0; i < 6; i++) {
+                futures.add(executor.submit(write("file" + i, 60), tempDir.resolve("copy" + i)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+            // THEN
+            assertEquals(60, executor.getPeakInFlightBytes());
+            assertEquals(0, executor.getInFlightBytes());
+        }
+        assertEquals(1, maxRunning.get());
+        verify(delegate, times(6)).copy(any(), any());
+    }
+
+    @Test
+    void givenSlowLargeFile_whenSmallFilesSubmittedAfter_thenSmallFilesCompleteFirst() throws Exception {
+        // GIVEN
+        FileHandler delegate = mock(FileHandler.class);
+        CountDownLatch largeRelease = new CountDownLatch(1);
+        Path large = write("large", 1000);
+        doAnswer(invocation -> {
+            if (large.equals(invocation.getArgument(0))) {
+                assertTrue(largeRelease.await(10, TimeUnit.SECONDS));
+            }
+            return null;
+        }).when(delegate).copy(any(), any());
+
+        try (AsyncCopyExecutor executor = new AsyncCopyExecutor(delegate, 2, 10_000)) {
+            CompletableFuture<Long> largeCopy = executor.submit(large, tempDir.resolve("large.copy"));
+
+            // WHEN
+            List<CompletableFuture<Long>> small = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                small.add(executor.submit(write("small" + i, 10), tempDir.resolve("small" + i + ".copy")));
+            }
+            CompletableFuture.allOf(small.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+            // THEN
+            assertFalse(largeCopy.isDone());
+            largeRelease.countDown();
+            assertEquals(1000L, largeCopy.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void givenFileLargerThanBudget_whenSubmit_thenItIsCopiedAlone() throws Exception {
+        // GIVEN
+        Path source = Files.writeString(tempDir.resolve("source.txt"), "content larger than the budget");
+        Path destination = tempDir.resolve("b/destination.txt");
+
+        try (AsyncCopyExecutor executor = new AsyncCopyExecutor(new LocalFileHandler(), 2, 4)) {
+            // WHEN
+            long copied = executor.submit(source, destination).get(10, TimeUnit.SECONDS);
+
+            // THEN
+            assertEquals(Files.size(source), copied);
+            assertEquals("content larger than the budget", Files.readString(destination));
+        }
+    }
+
+    @Test
+    void givenFailingCopy_whenSubmit_thenFutureFailsAndBudgetIsReleased() throws Exception {
+        // GIVEN
+        FileHandler delegate = mock(FileHandler.class);
+        doThrow(new IOException("disque plein")).when(delegate).copy(any(), any());
+
+        try (AsyncCopyExecutor executor = new AsyncCopyExecutor(delegate, 1, 100)) {
+            // WHEN
+            CompletableFuture<Long> future = executor.submit(write("file", 50), tempDir.resolve("copy"));
+
+            // THEN
+            ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, error.getCause().getCause());
+            assertEquals(0, executor.getInFlightBytes());
+        }
+    }
+
+    @Test
+    void givenMissingSource_whenSubmit_thenFutureFailsImmediately() {
+        // GIVEN
+        try (AsyncCopyExecutor executor = new AsyncCopyExecutor(mock(FileHandler.class))) {
+            // WHEN
+            CompletableFuture<Long> future = executor.submit(tempDir.resolve("missing"), tempDir.resolve("copy"));
+
+            // THEN
+            assertTrue(future.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void givenSource_whenSubmitWithFingerprint_thenChecksumIsComputedByTheCopyThread() throws Exception {
+        // GIVEN
+        Path source = Files.writeString(tempDir.resolve("source.txt"), "content");
+        Path destination = tempDir.resolve("b/destination.txt");
+        FileHandler delegate = spy(new LocalFileHandler());
+        List<String> threads = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(delegate).copyWithFingerprint(any(), any());
+
+        try (AsyncCopyExecutor executor = new AsyncCopyExecutor(delegate, 2, 100)) {
+            // WHEN
+            Fingerprint fingerprint = executor.submitWithFingerprint(source, destination).get(10, TimeUnit.SECONDS);
+
+            // THEN
+            assertEquals(Fingerprint.of(source), fingerprint);
+            assertEquals("content", Files.readString(destination));
+            assertEquals(0, executor.getInFlightBytes());
+        }
+        assertEquals(1, threads.size());
+        assertTrue(threads.get(0).startsWith("async-copy-"));
+    }
+
+    @Test
+    void givenInvalidLimits_whenConstruct_thenThrows() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> new AsyncCopyExecutor(mock(FileHandler.class), 0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncCopyExecutor(mock(FileHandler.class), 1, 0));
+    }
+}
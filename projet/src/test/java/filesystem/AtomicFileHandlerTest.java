@@ -0,0 +1,157 @@
+package filesystem;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AtomicFileHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        source = Files.writeString(tempDir.resolve("source.txt"), "content");
+    }
+
+    @Test
+    void givenNoFsync_whenCopy_thenDestinationIsReplacedAndNoTempFileRemains() throws IOException {
+        // GIVEN
+        Path destination = Files.writeString(tempDir.resolve("destination.txt"), "old");
+        AtomicFileHandler handler = new AtomicFileHandler(new LocalFileHandler());
+
+        // WHEN
+        handler.copy(source, destination);
+
+        // THEN
+        assertEquals("content", Files.readString(destination));
+        assertEquals(0, countTempFiles(destination.getParent()));
+        assertEquals(0, handler.getSyncCount());
+    }
+
+    @Test
+    void givenPerFileFsync_whenCopy_thenFileAndDirectoryAreSynced() throws IOException {
+        // GIVEN
+        Path destination = tempDir.resolve("b/destination.txt");
+        AtomicFileHandler handler = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.PER_FILE, 1);
+
+        // WHEN
+        handler.copy(source, destination);
+
+        // THEN
+        assertEquals("content", Files.readString(destination));
+        assertTrue(handler.getSyncCount() >= 1);
+        assertTrue(handler.getSyncCount() <= 2);
+    }
+
+    @Test
+    void givenPendingGroupedCopy_whenReadDates_thenTheCopyToBeCommittedIsSeen() throws IOException {
+        // GIVEN
+        Path destination = Files.writeString(tempDir.resolve("destination.txt"), "old");
+        Files.setLastModifiedTime(destination, FileTime.fromMillis(1_000_000_000L));
+        Files.setLastModifiedTime(source, FileTime.fromMillis(1_000_000_500L));
+        Path created = tempDir.resolve("created.txt");
+        AtomicFileHandler handler = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.GROUPED, 8);
+
+        // WHEN
+        handler.copy(source, destination);
+        handler.copy(source, created);
+
+        // THEN
+        assertEquals("old", Files.readString(destination));
+        assertEquals(1_000_000_500L, handler.getLastModified(destination));
+        assertTrue(handler.exists(created));
+        assertFalse(Files.exists(created));
+        handler.flush();
+        assertEquals(1_000_000_500L, Files.getLastModifiedTime(destination).toMillis());
+    }
+
+    @Test
+    void givenGroupedFsync_whenGroupIsFull_thenAllFilesAppearTogetherWithOneSyncPerDirectory() throws IOException {
+        // GIVEN
+        AtomicFileHandler handler = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.GROUPED, 3);
+        Path dir = tempDir.resolve("b");
+
+        // WHEN
+        handler.copy(source, dir.resolve("1.txt"));
+        handler.copy(source, dir.resolve("2.txt"));
+        boolean visibleBeforeCommit = Files.exists(dir.resolve("1.txt"));
+        int pendingBeforeCommit = handler.getPendingCount();
+        handler.copy(source, dir.resolve("3.txt"));
+
+        // THEN
+        assertFalse(visibleBeforeCommit);
+        assertEquals(2, pendingBeforeCommit);
+        assertEquals(0, handler.getPendingCount());
+        for (String name : new String[]{"1.txt", "2.txt", "3.txt"}) {
+            assertEquals("content", Files.readString(dir.resolve(name)));
+        }
+        assertEquals(0, countTempFiles(dir));
+        long directorySyncs = handler.getSyncCount() - 3;
+        assertTrue(directorySyncs <= 1, "Un seul fsync par répertoire");
+    }
+
+    @Test
+    void givenGroupedFsync_whenFlush_thenPendingCopiesAreCommitted() throws IOException {
+        // GIVEN
+        AtomicFileHandler handler = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.GROUPED, 100);
+        Path destination = tempDir.resolve("destination.txt");
+        handler.copy(source, destination);
+
+        // WHEN
+        handler.flush();
+
+        // THEN
+        assertEquals("content", Files.readString(destination));
+        assertEquals(0, handler.getPendingCount());
+    }
+
+    @Test
+    void givenPendingCopy_whenMoveIt_thenCopyIsCommittedBeforeTheMove() throws IOException {
+        // GIVEN
+        AtomicFileHandler handler = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.GROUPED, 100);
+        Path destination = tempDir.resolve("destination.txt");
+        handler.copy(source, destination);
+
+        // WHEN
+        handler.move(destination, tempDir.resolve("moved/destination.txt"));
+
+        // THEN
+        assertEquals("content", Files.readString(tempDir.resolve("moved/destination.txt")));
+        assertFalse(Files.exists(destination));
+        assertEquals(0, handler.getPendingCount());
+    }
+
+    @Test
+    void givenFailingCopy_whenCopy_thenTempFileIsRemovedAndDestinationKept() throws IOException {
+        // GIVEN
+        Path destination = Files.writeString(tempDir.resolve("destination.txt"), "old");
+        FileHandler failing = mock(FileHandler.class);
+        doAnswer(invocation -> {
+            Files.writeString(invocation.getArgument(1), "partial");
+            throw new IOException("disque plein");
+        }).when(failing).copy(any(), any());
+        AtomicFileHandler handler = new AtomicFileHandler(failing);
+
+        // WHEN / THEN
+        assertThrows(IOException.class, () -> handler.copy(source, destination));
+        assertEquals("old", Files.readString(destination));
+        assertEquals(0, countTempFiles(tempDir));
+    }
+
+    private static long countTempFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(AtomicFileHandler.TEMP_SUFFIX)).count();
+        }
+    }
+}
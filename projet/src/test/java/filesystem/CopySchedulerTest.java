@@ -0,0 +1,181 @@
+package filesystem;
+
+import model.Fingerprint;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CopySchedulerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void givenSmallFiles_whenSubmit_thenTheyAreCopiedInBatchesByOneThread() throws Exception {
+        // GIVEN
+        FileHandler delegate = mock(FileHandler.class);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return null;
+        }).when(delegate).copy(any(), any());
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        try (CopyScheduler scheduler = new CopyScheduler(delegate, 4, 100, 10)) {
+            // WHEN
+            for (int i = 0; i < 10; i++) {
+                Path source = Files.writeString(tempDir.resolve("small" + i), "x");
+                futures.add(scheduler.submit(source, tempDir.resolve("copy" + i)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+            // THEN
+            assertEquals(1, scheduler.getBatchCount());
+            assertEquals(10, scheduler.getBatchedFiles());
+        }
+        assertEquals(1, threads.size());
+        verify(delegate, times(10)).copy(any(), any());
+    }
+
+    @Test
+    void givenPartialBatch_whenDrain_thenPendingCopiesAreLaunched() throws Exception {
+        // GIVEN
+        FileHandler delegate = mock(FileHandler.class);
+        try (CopyScheduler scheduler = new CopyScheduler(delegate, 2, 100, 10)) {
+            CompletableFuture<Long> pending = scheduler.submit(Files.writeString(tempDir.resolve("small"), "x"),
+                    tempDir.resolve("copy"));
+            assertFalse(pending.isDone());
+
+            // WHEN
+            scheduler.drain();
+
+            // THEN
+            assertEquals(1L, pending.get(10, TimeUnit.SECONDS));
+            assertEquals(1, scheduler.getBatchCount());
+        }
+    }
+
+    @Test
+    void givenLargeFile_whenSubmit_thenItIsCopiedAloneWithoutWaitingForABatch() throws Exception {
+        // GIVEN
+        Path source = Files.write(tempDir.resolve("large"), new byte[500]);
+        Path destination = tempDir.resolve("b/large");
+
+        try (CopyScheduler scheduler = new CopyScheduler(new LocalFileHandler(), 2, 100, 10)) {
+            // WHEN
+            long copied = scheduler.submit(source, destination).get(10, TimeUnit.SECONDS);
+
+            // THEN
+            assertEquals(500, copied);
+            assertEquals(500, Files.size(destination));
+            assertEquals(0, scheduler.getBatchCount());
+        }
+    }
+
+    @Test
+    void givenFailingCopyInBatch_whenSubmit_thenOnlyItsFutureFails() throws Exception {
+        // GIVEN
+        FileHandler delegate = mock(FileHandler.class);
+        Path failing = Files.writeString(tempDir.resolve("failing"), "x");
+        doThrow(new IOException("disque plein")).when(delegate).copy(eq(failing), any());
+
+        try (CopyScheduler scheduler = new CopyScheduler(delegate, 1, 100, 2)) {
+            // WHEN
+            CompletableFuture<Long> failed = scheduler.submit(failing, tempDir.resolve("copy1"));
+            CompletableFuture<Long> copied = scheduler.submit(Files.writeString(tempDir.resolve("ok"), "x"),
+                    tempDir.resolve("copy2"));
+
+            // THEN
+            assertEquals(1L, copied.get(10, TimeUnit.SECONDS));
+            assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void givenSmallFile_whenSubmitWithFingerprint_thenChecksumIsComputedByTheBatchThread() throws Exception {
+        // GIVEN
+        Path source = Files.writeString(tempDir.resolve("small"), "content");
+        Path destination = tempDir.resolve("b/small");
+        FileHandler delegate = spy(new LocalFileHandler());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(delegate).copyWithFingerprint(any(), any());
+
+        try (CopyScheduler scheduler = new CopyScheduler(delegate, 2, 100, 10)) {
+            // WHEN
+            CompletableFuture<Fingerprint> future = scheduler.submitWithFingerprint(source, destination);
+            scheduler.drain();
+
+            // THEN
+            assertEquals(Fingerprint.of(source), future.get(10, TimeUnit.SECONDS));
+            assertEquals("content", Files.readString(destination));
+        }
+        assertEquals(1, threads.size());
+        assertTrue(threads.iterator().next().startsWith("copy-scheduler-"));
+    }
+
+    @Test
+    void givenByteBudget_whenSubmitMany_thenWorkHandedToThePoolNeverExceedsBudget() throws Exception {
+        // GIVEN : des copies lentes, 100 octets admis à la fois, lots de 2 fichiers de 30 octets
+        FileHandler delegate = mock(FileHandler.class);
+        doAnswer(invocation -> {
+            Thread.sleep(10);
+            return null;
+        }).when(delegate).copy(any(), any());
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        try (CopyScheduler scheduler = new CopyScheduler(delegate, 2, 100, 2, 100)) {
+            // WHEN
+            for (int i = 0; i < 12; i++) {
+                Path source = Files.write(tempDir.resolve("small" + i), new byte[30]);
+                futures.add(scheduler.submit(source, tempDir.resolve("copy" + i)));
+            }
+            scheduler.drain();
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+            // THEN : une seconde paire n’est lancée qu’après la fin d’une copie de la première
+            assertTrue(scheduler.getPeakInFlightBytes() <= 100, "pic : " + scheduler.getPeakInFlightBytes());
+            assertEquals(6, scheduler.getBatchCount());
+        }
+        verify(delegate, times(12)).copy(any(), any());
+    }
+
+    @Test
+    void givenBatchLargerThanBudget_whenSubmit_thenItIsAdmittedAlone() throws Exception {
+        // GIVEN
+        FileHandler delegate = mock(FileHandler.class);
+        try (CopyScheduler scheduler = new CopyScheduler(delegate, 1, 100, 3, 10)) {
+            // WHEN
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                futures.add(scheduler.submit(Files.writeString(tempDir.resolve("small" + i), "12345"),
+                        tempDir.resolve("copy" + i)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+            // THEN
+            assertEquals(15, scheduler.getPeakInFlightBytes());
+            assertEquals(2, scheduler.getBatchCount());
+        }
+    }
+
+    @Test
+    void givenInvalidSettings_whenConstruct_thenThrows() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> new CopyScheduler(mock(FileHandler.class), 0));
+        assertThrows(IllegalArgumentException.class, () -> new CopyScheduler(mock(FileHandler.class), 1, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CopyScheduler(mock(FileHandler.class), 1, 10, 1, 0));
+    }
+}
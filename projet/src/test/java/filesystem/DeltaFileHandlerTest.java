@@ -0,0 +1,232 @@
+package filesystem;
+
+import model.Fingerprint;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DeltaFileHandlerTest {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private Path source;
+    private Path target;
+
+    @BeforeEach
+    void setUp() {
+        source = tempDir.resolve("source.bin");
+        target = tempDir.resolve("target.bin");
+    }
+
+    @Test
+    void givenBytesInsertedAtStart_whenCopy_thenShiftedBlocksAreReused() throws IOException {
+        // GIVEN
+        byte[] old = randomBytes(64 * BLOCK_SIZE, 1);
+        byte[] updated = concat(new byte[]{1, 2, 3, 4, 5, 6, 7}, old);
+        Files.write(target, old);
+        Files.write(source, updated);
+        DeltaFileHandler handler = new DeltaFileHandler(new LocalFileHandler(), 1, BLOCK_SIZE, false);
+
+        // WHEN
+        handler.copy(source, target);
+
+        // THEN
+        assertArrayEquals(updated, Files.readAllBytes(target));
+        assertEquals(old.length, handler.getReusedBytes());
+        assertEquals(7, handler.getCopiedBytes());
+        assertEquals(1, handler.getDeltaCopies());
+        assertEquals(0, countTempFiles());
+    }
+
+    @Test
+    void givenPerFileFsync_whenDeltaCopy_thenTempFileAndDirectoryAreSynced() throws IOException {
+        // GIVEN
+        byte[] old = randomBytes(64 * BLOCK_SIZE, 11);
+        byte[] updated = old.clone();
+        updated[5 * BLOCK_SIZE] ^= 0x11;
+        Files.write(target, old);
+        Files.write(source, updated);
+        AtomicFileHandler atomic = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.PER_FILE, 8);
+        DeltaFileHandler handler = new DeltaFileHandler(atomic, 1, BLOCK_SIZE, false);
+
+        // WHEN
+        handler.copy(source, target);
+
+        // THEN
+        assertArrayEquals(updated, Files.readAllBytes(target));
+        assertEquals(1, handler.getDeltaCopies());
+        assertEquals(2, atomic.getSyncCount());
+        assertEquals(0, countTempFiles());
+    }
+
+    @Test
+    void givenGroupedFsync_whenDeltaCopy_thenRenameWaitsForTheGroup() throws IOException {
+        // GIVEN
+        byte[] old = randomBytes(64 * BLOCK_SIZE, 12);
+        byte[] updated = old.clone();
+        updated[20 * BLOCK_SIZE] ^= 0x22;
+        Files.write(target, old);
+        Files.write(source, updated);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(1_000_000_000L));
+        AtomicFileHandler atomic = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.GROUPED, 8);
+        DeltaFileHandler handler = new DeltaFileHandler(atomic, 1, BLOCK_SIZE, false);
+
+        // WHEN
+        handler.copy(source, target);
+
+        // THEN
+        assertArrayEquals(old, Files.readAllBytes(target));
+        assertEquals(1, atomic.getPendingCount());
+        handler.flush();
+        assertArrayEquals(updated, Files.readAllBytes(target));
+        assertEquals(1_000_000_000L, Files.getLastModifiedTime(target).toMillis());
+        assertEquals(0, atomic.getPendingCount());
+        assertTrue(atomic.getSyncCount() >= 1);
+        assertEquals(0, countTempFiles());
+    }
+
+    @Test
+    void givenOneModifiedBlock_whenCopyInPlace_thenOnlyThatBlockIsWritten() throws IOException {
+        // GIVEN
+        byte[] old = randomBytes(64 * BLOCK_SIZE, 2);
+        byte[] updated = old.clone();
+        updated[10 * BLOCK_SIZE + 100] ^= 0x55;
+        Files.write(target, old);
+        Files.write(source, updated);
+        DeltaFileHandler handler = new DeltaFileHandler(new LocalFileHandler(), 1, BLOCK_SIZE, true);
+
+        // WHEN
+        DeltaResult result = handler.copyDelta(source, target);
+
+        // THEN
+        assertArrayEquals(updated, Files.readAllBytes(target));
+        assertEquals(BLOCK_SIZE, result.copiedBytes());
+        assertEquals(63L * BLOCK_SIZE, result.reusedBytes());
+    }
+
+    @Test
+    void givenPacedChain_whenCopyInPlace_thenOnlyWrittenBytesAreCharged() throws IOException {
+        // GIVEN
+        byte[] old = randomBytes(64 * BLOCK_SIZE, 2);
+        byte[] updated = old.clone();
+        updated[10 * BLOCK_SIZE + 100] ^= 0x55;
+        Files.write(target, old);
+        Files.write(source, updated);
+        DeltaFileHandler handler = new DeltaFileHandler(new LocalFileHandler(), 1, BLOCK_SIZE, true);
+        TokenBucket bucket = spy(new TokenBucket(1L << 40));
+
+        // WHEN
+        assertTrue(handler.paceCopies(bucket));
+        handler.copy(source, target);
+
+        // THEN
+        assertArrayEquals(updated, Files.readAllBytes(target));
+        verify(bucket).pace(BLOCK_SIZE);
+    }
+
+    @Test
+    void givenDelegateWithoutPacing_whenPaceCopies_thenDeltaDeclinesToo() {
+        // GIVEN
+        DeltaFileHandler handler = new DeltaFileHandler(mock(FileHandler.class));
+
+        // WHEN / THEN
+        assertFalse(handler.paceCopies(new TokenBucket(100)));
+    }
+
+    @Test
+    void givenShorterSourceWithMovedBlocks_whenCopyInPlace_thenTargetMatchesSource() throws IOException {
+        // GIVEN
+        byte[] old = randomBytes(32 * BLOCK_SIZE + 300, 3);
+        byte[] updated = concat(Arrays.copyOfRange(old, 20 * BLOCK_SIZE, 30 * BLOCK_SIZE),
+                Arrays.copyOfRange(old, 0, 5 * BLOCK_SIZE));
+        Files.write(target, old);
+        Files.write(source, updated);
+        DeltaFileHandler handler = new DeltaFileHandler(new LocalFileHandler(), 1, BLOCK_SIZE, true);
+
+        // WHEN
+        handler.copyDelta(source, target);
+
+        // THEN
+        assertArrayEquals(updated, Files.readAllBytes(target));
+    }
+
+    @Test
+    void givenFileBelowThresholdOrMissingTarget_whenCopy_thenDelegateIsUsed() throws IOException {
+        // GIVEN
+        Files.write(source, randomBytes(100, 4));
+        Files.write(target, randomBytes(100, 5));
+        Path missing = tempDir.resolve("missing.bin");
+        FileHandler delegate = mock(FileHandler.class);
+        DeltaFileHandler handler = new DeltaFileHandler(delegate, 1000, BLOCK_SIZE, false);
+        DeltaFileHandler lowThreshold = new DeltaFileHandler(delegate, 1, BLOCK_SIZE, false);
+
+        // WHEN
+        handler.copy(source, target);
+        lowThreshold.copy(source, missing);
+
+        // THEN
+        verify(delegate).copy(source, target);
+        verify(delegate).copy(source, missing);
+        assertEquals(0, handler.getDeltaCopies());
+        assertEquals(0, lowThreshold.getDeltaCopies());
+    }
+
+    @Test
+    void givenExistingOrTinyTarget_whenCopyWithFingerprint_thenFingerprintDescribesTheSource() throws IOException {
+        // GIVEN
+        byte[] old = randomBytes(32 * BLOCK_SIZE, 3);
+        byte[] updated = concat(new byte[]{9, 8, 7}, old);
+        Files.write(target, old);
+        Files.write(source, updated);
+        Path tiny = Files.write(tempDir.resolve("tiny.bin"), new byte[]{1});
+        DeltaFileHandler handler = new DeltaFileHandler(new LocalFileHandler(), 1, BLOCK_SIZE, false);
+
+        // WHEN
+        Fingerprint delta = handler.copyWithFingerprint(source, target);
+        Fingerprint full = handler.copyWithFingerprint(source, tiny);
+
+        // THEN
+        assertArrayEquals(updated, Files.readAllBytes(target));
+        assertArrayEquals(updated, Files.readAllBytes(tiny));
+        assertEquals(Fingerprint.of(source), delta);
+        assertEquals(Fingerprint.of(source), full);
+        assertEquals(2, handler.getDeltaCopies());
+    }
+
+    @Test
+    void givenInvalidBlockSize_whenConstruct_thenThrowsIllegalArgumentException() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> new DeltaFileHandler(new LocalFileHandler(), 1, 0, false));
+    }
+
+    private long countTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(DeltaFileHandler.TEMP_SUFFIX)).count();
+        }
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -1,11 +1,19 @@
 package filesystem;
 
+import model.Fingerprint;
 import org.junit.jupiter.api.*;
 
 import java.io.IOException;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
 
 public class LocalFileHandlerTest {
     private LocalFileHandler fileHandler;
@@ -45,9 +53,206 @@ public class LocalFileHandlerTest {
         assertTrue(modified > 0);
     }
 
+    @Test
+    void givenFile_whenMoveAndSetLastModified_thenFileIsMovedIntoNewParentWithItsDate() throws IOException {
+        // GIVEN
+        Path moved = tempFile.resolveSibling("moved-" + tempFile.getFileName()).resolve("file.txt");
+
+        try {
+            // WHEN
+            fileHandler.move(tempFile, moved);
+            fileHandler.setLastModified(moved, 1_600_000_000_000L);
+
+            // THEN
+            assertFalse(Files.exists(tempFile));
+            assertEquals("Hello!", Files.readString(moved));
+            assertEquals(1_600_000_000_000L, fileHandler.getLastModified(moved));
+        } finally {
+            Files.deleteIfExists(moved);
+            Files.deleteIfExists(moved.getParent());
+        }
+    }
+
     @Test
     void shouldReturnTrueIfFileExists() {
         assertTrue(fileHandler.exists(tempFile));
         assertFalse(fileHandler.exists(Path.of("not_exists.txt")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenSourceWithOldDate_whenCopyFile_thenDateIsPreservedAndParentsAreCreated() throws IOException {
+        // GIVEN
+        Files.setLastModifiedTime(tempFile, FileTime.fromMillis(1_600_000_000_000L));
+        Path nested = tempFile.resolveSibling("local-handler-test/sub/copy.txt");
+
+        try {
+            // WHEN
+            CopyResult result = fileHandler.copyFile(tempFile, nested);
+
+            // THEN
+            assertEquals("Hello!", Files.readString(nested));
+            assertEquals(1_600_000_000_000L, Files.getLastModifiedTime(nested).toMillis());
+            assertEquals(6, result.bytes());
+            assertEquals(CopyStrategy.TRANSFER, result.strategy());
+        } finally {
+            Files.deleteIfExists(nested);
+            Files.deleteIfExists(nested.getParent());
+            Files.deleteIfExists(nested.getParent().getParent());
+        }
+    }
+
+    @Test
+    void givenBufferedStrategyAndLargeFile_whenCopyFile_thenContentIsCopiedThroughBuffers() throws IOException {
+        // GIVEN
+        byte[] content = new byte[LocalFileHandler.BUFFER_SIZE * 2 + 123];
+        new Random(7).nextBytes(content);
+        Files.write(tempFile, content);
+        Files.writeString(copyFile, "previous, longer content that must be truncated");
+        LocalFileHandler buffered = new LocalFileHandler(CopyStrategy.BUFFERED);
+
+        // WHEN
+        CopyResult result = buffered.copyFile(tempFile, copyFile);
+
+        // THEN
+        assertArrayEquals(content, Files.readAllBytes(copyFile));
+        assertEquals(CopyStrategy.BUFFERED, result.strategy());
+        assertEquals(content.length, result.bytes());
+        assertEquals(1, buffered.getCopyCount(CopyStrategy.BUFFERED));
+        assertEquals(0, buffered.getCopyCount(CopyStrategy.TRANSFER));
+        assertEquals(content.length, buffered.getCopiedBytes());
+        assertTrue(buffered.getThroughput() > 0);
+    }
+
+    @Test
+    void givenChunkedCopyAndFileAboveThreshold_whenCopyFile_thenRangesAreCopiedIntoPreallocatedTarget() throws IOException {
+        // GIVEN
+        byte[] content = new byte[LocalFileHandler.BUFFER_SIZE * 2 + 123];
+        new Random(11).nextBytes(content);
+        Files.write(tempFile, content);
+        Files.setLastModifiedTime(tempFile, FileTime.fromMillis(1_600_000_000_000L));
+        Files.writeString(copyFile, "previous content");
+        LocalFileHandler chunked = new LocalFileHandler(CopyStrategy.TRANSFER, 1_000_000, 300_000, 3);
+
+        // WHEN
+        CopyResult result = chunked.copyFile(tempFile, copyFile);
+
+        // THEN
+        assertArrayEquals(content, Files.readAllBytes(copyFile));
+        assertEquals(CopyStrategy.CHUNKED, result.strategy());
+        assertEquals(content.length, result.bytes());
+        assertEquals(1_600_000_000_000L, Files.getLastModifiedTime(copyFile).toMillis());
+        assertEquals(1, chunked.getCopyCount(CopyStrategy.CHUNKED));
+    }
+
+    @Test
+    void givenChunkedCopyAndFileBelowThreshold_whenCopyFile_thenFileIsCopiedInOneStream() throws IOException {
+        // GIVEN
+        LocalFileHandler chunked = new LocalFileHandler(CopyStrategy.TRANSFER, 1_000_000, 300_000, 2);
+
+        // WHEN
+        CopyResult result = chunked.copyFile(tempFile, copyFile);
+
+        // THEN
+        assertEquals("Hello!", Files.readString(copyFile));
+        assertNotEquals(CopyStrategy.CHUNKED, result.strategy());
+        assertEquals(0, chunked.getCopyCount(CopyStrategy.CHUNKED));
+    }
+
+    @Test
+    void givenTransferStrategy_whenCopyWithFingerprint_thenChecksumIsComputedWhileCopyingThroughBuffers()
+            throws IOException {
+        // GIVEN
+        byte[] content = new byte[LocalFileHandler.BUFFER_SIZE * 2 + 123];
+        new Random(13).nextBytes(content);
+        Files.write(tempFile, content);
+
+        // WHEN
+        Fingerprint fingerprint = fileHandler.copyWithFingerprint(tempFile, copyFile);
+
+        // THEN
+        assertArrayEquals(content, Files.readAllBytes(copyFile));
+        assertEquals(Fingerprint.of(tempFile), fingerprint);
+        assertEquals(1, fileHandler.getCopyCount(CopyStrategy.BUFFERED));
+        assertEquals(0, fileHandler.getCopyCount(CopyStrategy.TRANSFER));
+    }
+
+    @Test
+    void givenChunkedCopy_whenCopyWithFingerprint_thenRangeChecksumsAreCombined() throws IOException {
+        // GIVEN
+        byte[] content = new byte[LocalFileHandler.BUFFER_SIZE * 2 + 123];
+        new Random(17).nextBytes(content);
+        Files.write(tempFile, content);
+        LocalFileHandler chunked = new LocalFileHandler(CopyStrategy.TRANSFER, 1_000_000, 300_000, 3);
+
+        // WHEN
+        Fingerprint fingerprint = chunked.copyWithFingerprint(tempFile, copyFile);
+
+        // THEN
+        assertArrayEquals(content, Files.readAllBytes(copyFile));
+        assertEquals(Fingerprint.of(tempFile), fingerprint);
+        assertEquals(1, chunked.getCopyCount(CopyStrategy.CHUNKED));
+    }
+
+    @Test
+    void givenPacedHandler_whenCopyLargeFile_thenBytesAreChargedSliceBySlice() throws IOException {
+        // GIVEN
+        byte[] content = new byte[LocalFileHandler.BUFFER_SIZE * 2 + 123];
+        new Random(8).nextBytes(content);
+        Files.write(tempFile, content);
+        TokenBucket bucket = spy(new TokenBucket(1L << 40));
+        List<Long> charged = new ArrayList<>();
+        doAnswer(invocation -> {
+            charged.add(invocation.getArgument(0));
+            return null;
+        }).when(bucket).pace(anyLong());
+
+        // WHEN
+        assertTrue(fileHandler.paceCopies(bucket));
+        fileHandler.copy(tempFile, copyFile);
+
+        // THEN
+        assertArrayEquals(content, Files.readAllBytes(copyFile));
+        assertTrue(charged.size() >= 3, "prélèvements : " + charged);
+        assertTrue(charged.stream().allMatch(amount -> amount <= LocalFileHandler.BUFFER_SIZE));
+        assertEquals(content.length, charged.stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void givenUnlimitedBucket_whenCopyLargeFile_thenNothingIsCharged() throws IOException {
+        // GIVEN
+        byte[] content = new byte[LocalFileHandler.BUFFER_SIZE * 2 + 123];
+        new Random(9).nextBytes(content);
+        Files.write(tempFile, content);
+        TokenBucket bucket = spy(new TokenBucket(0));
+
+        // WHEN
+        assertTrue(fileHandler.paceCopies(bucket));
+        fileHandler.copy(tempFile, copyFile);
+
+        // THEN
+        assertArrayEquals(content, Files.readAllBytes(copyFile));
+        verify(bucket, never()).pace(anyLong());
+    }
+
+    @Test
+    void givenClosedChunkedHandler_whenCopyLargeFile_thenRangesAreRefused() throws IOException {
+        // GIVEN
+        Files.write(tempFile, new byte[2_000]);
+        LocalFileHandler chunked = new LocalFileHandler(CopyStrategy.TRANSFER, 1_000, 500, 2);
+        chunked.copy(tempFile, copyFile);
+
+        // WHEN
+        chunked.close();
+
+        // THEN
+        IOException error = assertThrows(IOException.class, () -> chunked.copy(tempFile, copyFile));
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    }
+
+    @Test
+    void givenInvalidChunkSettings_whenConstruct_thenThrows() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> new LocalFileHandler(CopyStrategy.TRANSFER, 1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LocalFileHandler(CopyStrategy.TRANSFER, 1, 1, 0));
+    }
+}
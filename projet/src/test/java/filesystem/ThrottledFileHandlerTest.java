@@ -0,0 +1,139 @@
+package filesystem;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ThrottledFileHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FileHandler delegate;
+    private Path source;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        delegate = mock(FileHandler.class);
+        source = Files.write(tempDir.resolve("source.bin"), new byte[1000]);
+    }
+
+    @Test
+    void givenNoLimits_whenCopyAndDelete_thenNothingIsThrottled() throws IOException {
+        // GIVEN
+        ThrottledFileHandler handler = new ThrottledFileHandler(delegate, 0, 0);
+
+        // WHEN
+        handler.copy(source, tempDir.resolve("copy.bin"));
+        handler.delete(tempDir.resolve("copy.bin"));
+
+        // THEN
+        verify(delegate).copy(any(), any());
+        verify(delegate).delete(any());
+        assertEquals(0, handler.getThrottledNanos());
+    }
+
+    @Test
+    void givenByteLimit_whenCopiesExceedRate_thenCallerWaits() throws IOException {
+        // GIVEN : 2000 octets par seconde, seau plein
+        ThrottledFileHandler handler = new ThrottledFileHandler(delegate, 2000, 0);
+
+        // WHEN : 3000 octets copiés
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            handler.copy(source, tempDir.resolve("copy" + i + ".bin"));
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // THEN : les 1000 octets au-delà du seau attendent une demi-seconde
+        assertTrue(handler.getThrottledNanos() >= 400_000_000L, "attente : " + handler.getThrottledNanos());
+        assertTrue(elapsed >= handler.getThrottledNanos());
+        verify(delegate, times(3)).copy(any(), any());
+    }
+
+    @Test
+    void givenPacingDelegate_whenCopy_thenBytesAreLeftToTheDelegate() throws IOException {
+        // GIVEN : la chaîne décorée prélève elle-même les octets au fil de ses copies
+        when(delegate.paceCopies(any())).thenReturn(true);
+        ThrottledFileHandler handler = new ThrottledFileHandler(delegate, 100, 0);
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            handler.copy(source, tempDir.resolve("copy" + i + ".bin"));
+        }
+
+        // THEN : rien n’est prélevé avant les copies
+        assertEquals(0, handler.getThrottledNanos());
+        verify(delegate).paceCopies(any());
+        verify(delegate, times(3)).copy(any(), any());
+    }
+
+    @Test
+    void givenLocalChain_whenCopy_thenCopyIsPacedWhileWriting() throws IOException {
+        // GIVEN : 1 Mio par seconde, seau plein
+        Path large = Files.write(tempDir.resolve("large.bin"), new byte[LocalFileHandler.BUFFER_SIZE * 3 / 2]);
+        ThrottledFileHandler handler = new ThrottledFileHandler(
+                new AtomicFileHandler(new LocalFileHandler()), LocalFileHandler.BUFFER_SIZE, 0);
+
+        // WHEN
+        handler.copy(large, tempDir.resolve("large.copy"));
+
+        // THEN : la seconde tranche attend ses jetons pendant la copie
+        assertTrue(handler.getThrottledNanos() >= 400_000_000L, "attente : " + handler.getThrottledNanos());
+        assertEquals(Files.size(large), Files.size(tempDir.resolve("large.copy")));
+    }
+
+    @Test
+    void givenOpsLimit_whenDeletesExceedRate_thenCallerWaits() throws IOException {
+        // GIVEN : 20 opérations par seconde
+        ThrottledFileHandler handler = new ThrottledFileHandler(delegate, 0, 20);
+
+        // WHEN
+        for (int i = 0; i < 30; i++) {
+            handler.delete(tempDir.resolve("file" + i));
+        }
+
+        // THEN : 10 opérations au-delà du seau, soit une demi-seconde
+        assertTrue(handler.getThrottledNanos() >= 400_000_000L, "attente : " + handler.getThrottledNanos());
+        verify(delegate, times(30)).delete(any());
+    }
+
+    @Test
+    void givenOpsLimit_whenMovesAndDateChangesExceedRate_thenCallerWaits() throws IOException {
+        // GIVEN : 20 opérations par seconde
+        ThrottledFileHandler handler = new ThrottledFileHandler(delegate, 0, 20);
+
+        // WHEN
+        for (int i = 0; i < 15; i++) {
+            handler.move(tempDir.resolve("file" + i), tempDir.resolve("moved" + i));
+            handler.setLastModified(tempDir.resolve("moved" + i), 0);
+        }
+
+        // THEN : 10 opérations au-delà du seau, soit une demi-seconde
+        assertTrue(handler.getThrottledNanos() >= 400_000_000L, "attente : " + handler.getThrottledNanos());
+        verify(delegate, times(15)).move(any(), any());
+        verify(delegate, times(15)).setLastModified(any(), anyLong());
+    }
+
+    @Test
+    void givenLimitsRaisedAtRuntime_whenCopy_thenNewLimitsApply() throws IOException {
+        // GIVEN : limite très basse, seau vidé par une première copie
+        ThrottledFileHandler handler = new ThrottledFileHandler(delegate, 1000, 0);
+        handler.copy(source, tempDir.resolve("first.bin"));
+
+        // WHEN
+        handler.setLimits(0, 0);
+        handler.copy(source, tempDir.resolve("second.bin"));
+
+        // THEN
+        assertEquals(0, handler.getThrottledNanos());
+        assertEquals(0, handler.getMaxBytesPerSecond());
+    }
+}
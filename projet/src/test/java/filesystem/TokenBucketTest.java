@@ -0,0 +1,91 @@
+package filesystem;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    @Test
+    void givenFullBucket_whenReserveWithinCapacity_thenNoWait() {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(100);
+
+        // WHEN
+        long wait = bucket.reserve(100);
+
+        // THEN
+        assertEquals(0, wait);
+    }
+
+    @Test
+    void givenEmptyBucket_whenReserve_thenWaitMatchesRate() {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(100);
+        bucket.reserve(100);
+
+        // WHEN
+        long wait = bucket.reserve(50);
+
+        // THEN : 50 jetons à 100 par seconde, moins le remplissage écoulé entre les deux appels
+        assertTrue(wait > 400_000_000L && wait <= 500_000_000L, "attente : " + wait);
+    }
+
+    @Test
+    void givenZeroRate_whenReserve_thenNeverWaits() {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(100);
+        bucket.reserve(1_000);
+
+        // WHEN
+        bucket.setRate(0);
+
+        // THEN
+        assertEquals(0, bucket.reserve(1_000_000));
+    }
+
+    @Test
+    void givenEmptyBucket_whenRateRaised_thenBucketIsNotRefilled() {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(100);
+        bucket.reserve(100);
+
+        // WHEN
+        bucket.setRate(1_000);
+
+        // THEN : 500 jetons à 1000 par seconde, le seau étant resté vide
+        long wait = bucket.reserve(500);
+        assertTrue(wait > 400_000_000L && wait <= 500_000_000L, "attente : " + wait);
+    }
+
+    @Test
+    void givenFullBucket_whenRateLowered_thenTokensAreClampedToNewRate() {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(1_000);
+
+        // WHEN
+        bucket.setRate(100);
+
+        // THEN
+        assertEquals(0, bucket.reserve(100));
+        assertTrue(bucket.reserve(50) > 400_000_000L);
+    }
+
+    @Test
+    void givenUnlimitedBucket_whenLimited_thenBucketStartsFull() {
+        // GIVEN
+        TokenBucket bucket = new TokenBucket(0);
+
+        // WHEN
+        bucket.setRate(100);
+
+        // THEN
+        assertEquals(0, bucket.reserve(100));
+    }
+
+    @Test
+    void givenNegativeRate_whenConstruct_thenThrows() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(-1));
+    }
+}
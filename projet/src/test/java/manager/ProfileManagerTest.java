@@ -70,4 +70,34 @@ public class ProfileManagerTest {
         assertEquals(original.getPathA(), loaded.getPathA());
         assertEquals(original.getPathB(), loaded.getPathB());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSaveAndLoadFilterRules() throws IOException {
+        // Given: un profil avec des règles de filtrage
+        Profile original = new Profile(testProfileName, "/tmp/A", "/tmp/B",
+                java.util.List.of("src/**"), java.util.List.of("node_modules", "*.tmp"));
+        ProfileManager.getInstance().saveProfile(original);
+
+        // When: on le recharge
+        Profile loaded = ProfileManager.getInstance().loadProfile(testProfileName);
+
+        // Then: les règles sont conservées dans l'ordre
+        assertEquals(original.getIncludes(), loaded.getIncludes());
+        assertEquals(original.getExcludes(), loaded.getExcludes());
+    }
+
+    @Test
+    void shouldSaveAndLoadThrottleLimits() throws IOException {
+        // Given: un profil limitant ses entrées-sorties
+        Profile original = new Profile(testProfileName, "/tmp/A", "/tmp/B",
+                java.util.List.of(), java.util.List.of(), 10_485_760, 200);
+        ProfileManager.getInstance().saveProfile(original);
+
+        // When: on le recharge
+        Profile loaded = ProfileManager.getInstance().loadProfile(testProfileName);
+
+        // Then: les limites sont conservées
+        assertEquals(10_485_760, loaded.getMaxBytesPerSecond());
+        assertEquals(200, loaded.getMaxOpsPerSecond());
+    }
+}
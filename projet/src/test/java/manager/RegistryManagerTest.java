@@ -6,6 +6,7 @@ import org.junit.jupiter.api.*;
 import factory.XmlRegistryStrategyFactory;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.*;
@@ -22,7 +23,11 @@ public class RegistryManagerTest {
 
     @BeforeAll
     void initManager() {
-        RegistryManager.init(new XmlRegistryStrategyFactory().createStrategy());
+        try {
+            RegistryManager.init(new XmlRegistryStrategyFactory().createStrategy());
+        } catch (IllegalStateException alreadyInitialized) {
+            // déjà initialisé par un autre test exécuté dans la même JVM (SyncAppTest)
+        }
         registryManager = RegistryManager.getInstance();
     }
 
@@ -121,4 +126,108 @@ public class RegistryManagerTest {
             System.setOut(originalOut);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenFewerMutationsThanPolicy_whenCheckpoint_thenRegistryIsNotSaved() throws IOException {
+        // GIVEN
+        Registry registry = registryManager.loadRegistry(profileName + "Checkpoint");
+        registryManager.setCheckpointPolicy(3, 60_000);
+
+        try {
+            registry.put("a.txt", 1L);
+            registry.put("b.txt", 2L);
+
+            // WHEN
+            boolean saved = registryManager.checkpoint(registry);
+
+            // THEN
+            assertFalse(saved);
+            assertTrue(registry.isDirty());
+            assertEquals(2, registry.getUnsavedMutations());
+        } finally {
+            registryManager.setCheckpointPolicy(RegistryManager.DEFAULT_CHECKPOINT_MUTATIONS,
+                    RegistryManager.DEFAULT_CHECKPOINT_INTERVAL_MS);
+        }
+    }
+
+    @Test
+    void givenEnoughMutations_whenCheckpoint_thenRegistryIsSavedAndClean() throws IOException {
+        // GIVEN
+        String name = profileName + "Checkpoint";
+        Registry registry = new Registry(name);
+        registryManager.setCheckpointPolicy(3, 60_000);
+
+        try {
+            registry.put("a.txt", 1L);
+            registry.put("b.txt", 2L);
+            registry.remove("a.txt");
+
+            // WHEN
+            boolean saved = registryManager.checkpoint(registry);
+
+            // THEN
+            assertTrue(saved);
+            assertFalse(registry.isDirty());
+            Registry loaded = registryManager.loadRegistry(name);
+            assertEquals(2L, loaded.get("b.txt"));
+            assertFalse(loaded.contains("a.txt"));
+            assertFalse(loaded.isDirty(), "Un registre chargé ne doit pas être considéré comme modifié");
+        } finally {
+            registryManager.setCheckpointPolicy(RegistryManager.DEFAULT_CHECKPOINT_MUTATIONS,
+                    RegistryManager.DEFAULT_CHECKPOINT_INTERVAL_MS);
+            Files.deleteIfExists(Paths.get("registries", "registry_" + name + ".xml"));
+        }
+    }
+
+    @Test
+    void givenElapsedInterval_whenCheckpoint_thenSingleMutationIsSaved() throws IOException, InterruptedException {
+        // GIVEN
+        String name = profileName + "Interval";
+        Registry registry = new Registry(name);
+        registryManager.setCheckpointPolicy(1000, 20);
+
+        try {
+            registry.put("a.txt", 1L);
+            Thread.sleep(40);
+
+            // WHEN
+            boolean saved = registryManager.checkpoint(registry);
+
+            // THEN
+            assertTrue(saved);
+            assertFalse(registry.isDirty());
+        } finally {
+            registryManager.setCheckpointPolicy(RegistryManager.DEFAULT_CHECKPOINT_MUTATIONS,
+                    RegistryManager.DEFAULT_CHECKPOINT_INTERVAL_MS);
+            Files.deleteIfExists(Paths.get("registries", "registry_" + name + ".xml"));
+        }
+    }
+
+    @Test
+    void givenSaveBarrier_whenSaveRegistry_thenBarrierIsFlushedBeforeWriting() throws IOException {
+        // GIVEN
+        Registry registry = new Registry("barrierTestRegistry");
+        registry.put("a.txt", 1L);
+        boolean[] dirtyAtFlush = {false};
+        Flushable barrier = () -> dirtyAtFlush[0] = registry.isDirty();
+        registryManager.addSaveBarrier(barrier);
+
+        try {
+            // WHEN
+            registryManager.saveRegistry(registry);
+
+            // THEN
+            assertTrue(dirtyAtFlush[0], "La barrière doit être vidée avant l'écriture du registre");
+            assertFalse(registry.isDirty());
+        } finally {
+            registryManager.removeSaveBarrier(barrier);
+            Files.deleteIfExists(Paths.get("registries", "registry_barrierTestRegistry.xml"));
+        }
+    }
+
+    @Test
+    void givenInvalidPolicy_whenSetCheckpointPolicy_thenThrowsIllegalArgumentException() {
+        // GIVEN / WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> registryManager.setCheckpointPolicy(0, 1000));
+    }
+}
@@ -0,0 +1,96 @@
+package manager;
+
+import model.StatIndex;
+import org.junit.jupiter.api.*;
+
+import factory.XmlStatIndexStrategyFactory;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StatIndexManagerTest {
+
+    private final String profileName = "unitTestStatIndex";
+    private final Path testFilePath = Paths.get("registries", "statindex_" + profileName + ".xml");
+
+    private StatIndexManager manager;
+
+    @BeforeAll
+    void initManager() {
+        StatIndexManager.init(new XmlStatIndexStrategyFactory().createStrategy());
+        manager = StatIndexManager.getInstance();
+    }
+
+    @BeforeEach
+    void cleanBeforeEach() throws IOException {
+        Files.deleteIfExists(testFilePath);
+    }
+
+    @AfterAll
+    void cleanAfterAll() throws IOException {
+        Files.deleteIfExists(testFilePath);
+    }
+
+    @Test
+    void shouldBeSingleton() {
+        assertSame(StatIndexManager.getInstance(), StatIndexManager.getInstance(),
+                "StatIndexManager doit être un singleton");
+    }
+
+    @Test
+    void givenSavedIndex_whenLoadIndex_thenDirectoriesAreRestored() throws IOException {
+        // GIVEN
+        StatIndex original = new StatIndex(profileName);
+        original.put("/data/A", new StatIndex.DirectoryStat(1000L, 5000L, List.of(
+                new StatIndex.Entry("file.txt", false),
+                new StatIndex.Entry("sub", true))));
+        manager.saveIndex(original);
+
+        // WHEN
+        StatIndex loaded = manager.loadIndex(profileName);
+
+        // THEN
+        assertEquals(profileName, loaded.getProfileName());
+        StatIndex.DirectoryStat dir = loaded.getDirectories().get("/data/A");
+        assertEquals(1000L, dir.getLastModified());
+        assertEquals(5000L, dir.getScannedAt());
+        assertEquals(2, dir.getEntries().size());
+        StatIndex.Entry file = dir.getEntries().get(0);
+        assertEquals("file.txt", file.getName());
+        assertFalse(file.isDirectory());
+        assertTrue(dir.getEntries().get(1).isDirectory());
+    }
+
+    @Test
+    void givenMissingFile_whenLoadIndex_thenEmptyIndex() {
+        // WHEN
+        StatIndex index = manager.loadIndex(profileName);
+
+        // THEN
+        assertTrue(index.getDirectories().isEmpty());
+    }
+
+    @Test
+    void givenCorruptFile_whenLoadIndex_thenEmptyIndexAndWarning() throws IOException {
+        // GIVEN
+        Files.writeString(testFilePath, "<statindex");
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(err));
+
+        try {
+            // WHEN
+            StatIndex index = manager.loadIndex(profileName);
+
+            // THEN
+            assertTrue(index.getDirectories().isEmpty());
+            assertTrue(err.toString().contains("Index de listage ignoré"));
+        } finally {
+            System.setErr(originalErr);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileAttributesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void givenExistingFile_whenRead_thenSnapshotMatchesDisk() throws IOException {
+        // GIVEN
+        Path file = Files.writeString(tempDir.resolve("file.txt"), "abc");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_600_000_000_000L));
+
+        // WHEN
+        FileAttributes attributes = FileAttributes.read(file);
+
+        // THEN
+        assertTrue(attributes.exists());
+        assertFalse(attributes.isDirectory());
+        assertEquals(3, attributes.size());
+        assertEquals(1_600_000_000_000L, attributes.lastModified());
+    }
+
+    @Test
+    public void givenMissingFile_whenRead_thenMissingIsReturned() {
+        // WHEN
+        FileAttributes attributes = FileAttributes.read(tempDir.resolve("absent.txt"));
+
+        // THEN
+        assertSame(FileAttributes.MISSING, attributes);
+        assertFalse(attributes.exists());
+    }
+}
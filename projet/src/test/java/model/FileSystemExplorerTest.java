@@ -118,4 +118,60 @@ public class FileSystemExplorerTest {
         assertEquals(1, dir.getChildren().size());
         assertTrue(dir.getChildren().get(0).getPath().endsWith("target.txt"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenFiles_whenExplore_thenAttributesAreCarriedByTheTree() throws IOException {
+        // GIVEN
+        Path file = Files.writeString(tempDir.resolve("data.txt"), "12345");
+        Files.setLastModifiedTime(file, java.nio.file.attribute.FileTime.fromMillis(1_700_000_000_000L));
+        Files.createDirectory(tempDir.resolve("sub"));
+
+        // WHEN
+        DirectoryComposite root = (DirectoryComposite) FileSystemExplorer.explore(tempDir);
+
+        // THEN
+        assertTrue(root.getAttributes().isDirectory());
+        FileComponent leaf = root.getChildren().get(0);
+        assertEquals("data.txt", leaf.getName());
+        assertTrue(leaf.getAttributes().exists());
+        assertFalse(leaf.getAttributes().isDirectory());
+        assertEquals(5, leaf.getAttributes().size());
+        assertEquals(1_700_000_000_000L, leaf.getAttributes().lastModified());
+        assertTrue(root.getChildren().get(1).getAttributes().isDirectory());
+    }
+
+    @Test
+    public void givenUnsortedEntries_whenListChildren_thenSortedByName() throws IOException {
+        // GIVEN
+        Files.createFile(tempDir.resolve("c.txt"));
+        Files.createFile(tempDir.resolve("a.txt"));
+        Files.createDirectory(tempDir.resolve("b"));
+
+        // WHEN
+        var children = FileSystemExplorer.listChildren(tempDir);
+
+        // THEN
+        assertEquals(3, children.size());
+        assertEquals("a.txt", children.get(0).getName());
+        assertEquals("b", children.get(1).getName());
+        assertEquals("c.txt", children.get(2).getName());
+        assertTrue(((DirectoryComposite) children.get(1)).getChildren().isEmpty());
+    }
+
+    @Test
+    public void givenLeftoverSyncTempFiles_whenListChildren_thenTheyAreSkipped() throws IOException {
+        // GIVEN
+        Files.createFile(tempDir.resolve("a.txt"));
+        Files.createFile(tempDir.resolve(".a.txt.9c1d.sync.tmp"));
+        Files.createFile(tempDir.resolve("a.txt.4e5f.delta.tmp"));
+
+        // WHEN
+        var children = FileSystemExplorer.listChildren(tempDir);
+
+        // THEN
+        assertEquals(1, children.size());
+        assertEquals("a.txt", children.get(0).getName());
+        assertTrue(FileSystemExplorer.isTemporary(".a.txt.9c1d.sync.tmp"));
+        assertFalse(FileSystemExplorer.isTemporary("a.tmp"));
+    }
+}
@@ -0,0 +1,84 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FingerprintTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void givenKnownContent_whenOf_thenSizeAndCrc32cMatchReferenceValue() throws IOException {
+        // GIVEN
+        Path file = Files.writeString(tempDir.resolve("check.txt"), "123456789");
+
+        // WHEN
+        Fingerprint fingerprint = Fingerprint.of(file);
+
+        // THEN
+        assertEquals(9, fingerprint.getSize());
+        assertEquals("e3069283", fingerprint.getHashHex());
+    }
+
+    @Test
+    public void givenFileLargerThanBuffer_whenOf_thenWholeContentIsRead() throws IOException {
+        // GIVEN
+        byte[] content = new byte[200_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(tempDir.resolve("large.bin"), content);
+        Path other = Files.write(tempDir.resolve("other.bin"), content);
+        content[content.length - 1]++;
+        Path modified = Files.write(tempDir.resolve("modified.bin"), content);
+
+        // WHEN
+        Fingerprint fingerprint = Fingerprint.of(file);
+
+        // THEN
+        assertEquals(200_000, fingerprint.getSize());
+        assertEquals(fingerprint, Fingerprint.of(other));
+        assertNotEquals(fingerprint, Fingerprint.of(modified));
+    }
+
+    @Test
+    public void givenHexHash_whenParse_thenRoundTripsWithGetHashHex() {
+        // GIVEN
+        Fingerprint fingerprint = new Fingerprint(42, 0x8000_0001);
+
+        // WHEN
+        Fingerprint parsed = Fingerprint.parse(42, fingerprint.getHashHex());
+
+        // THEN
+        assertEquals(fingerprint, parsed);
+        assertEquals("80000001", parsed.getHashHex());
+    }
+
+    @Test
+    public void givenTwoRanges_whenCombine_thenMatchesChecksumOfConcatenation() throws IOException {
+        // GIVEN
+        byte[] content = new byte[300_001];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31 + 7);
+        }
+        int split = 123_457;
+        Path whole = Files.write(tempDir.resolve("whole.bin"), content);
+        Path head = Files.write(tempDir.resolve("head.bin"), Arrays.copyOfRange(content, 0, split));
+        Path tail = Files.write(tempDir.resolve("tail.bin"), Arrays.copyOfRange(content, split, content.length));
+
+        // WHEN
+        int combined = Fingerprint.combine(Fingerprint.of(head).getHash(), Fingerprint.of(tail).getHash(),
+                content.length - split);
+
+        // THEN
+        assertEquals(Fingerprint.of(whole).getHash(), combined);
+        assertEquals(Fingerprint.of(head).getHash(), Fingerprint.combine(Fingerprint.of(head).getHash(), 0, 0));
+    }
+}
@@ -0,0 +1,74 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyDirectoryCompositeTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void givenTree_whenVisitedLazily_thenSameLeavesAsEagerExploration() throws IOException {
+        // GIVEN
+        Files.createDirectories(tempDir.resolve("a/b"));
+        Files.writeString(tempDir.resolve("a/b/deep.txt"), "deep");
+        Files.writeString(tempDir.resolve("a/mid.txt"), "mid");
+        Files.writeString(tempDir.resolve("top.txt"), "top");
+
+        List<Path> eager = new ArrayList<>();
+        List<Path> lazy = new ArrayList<>();
+
+        // WHEN
+        FileSystemExplorer.explore(tempDir).accept(file -> eager.add(file.getPath()));
+        FileSystemExplorer.exploreLazy(tempDir).accept(file -> lazy.add(file.getPath()));
+
+        // THEN
+        assertEquals(eager, lazy);
+        assertEquals(3, lazy.size());
+    }
+
+    @Test
+    public void givenLazyRoot_whenFileAddedBeforeVisit_thenFileIsVisited() throws IOException {
+        // GIVEN : la racine est créée avant le fichier
+        FileComponent root = FileSystemExplorer.exploreLazy(tempDir);
+        Path added = Files.writeString(tempDir.resolve("late.txt"), "late");
+        List<Path> visited = new ArrayList<>();
+
+        // WHEN
+        root.accept(file -> visited.add(file.getPath()));
+
+        // THEN
+        assertEquals(List.of(added), visited);
+    }
+
+    @Test
+    public void givenSubDirectory_whenListChildren_thenSubDirectoryIsLazy() throws IOException {
+        // GIVEN
+        Files.createDirectory(tempDir.resolve("sub"));
+
+        // WHEN
+        List<FileComponent> children = new LazyDirectoryComposite(tempDir, null).listChildren();
+
+        // THEN
+        assertEquals(1, children.size());
+        assertInstanceOf(LazyDirectoryComposite.class, children.get(0));
+        assertTrue(children.get(0).getAttributes().isDirectory());
+    }
+
+    @Test
+    public void givenMissingDirectory_whenAccept_thenUncheckedIOExceptionThrown() {
+        // GIVEN
+        LazyDirectoryComposite missing = new LazyDirectoryComposite(tempDir.resolve("absent"), null);
+
+        // WHEN / THEN
+        assertThrows(UncheckedIOException.class, () -> missing.accept(file -> { }));
+    }
+}
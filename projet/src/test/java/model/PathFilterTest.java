@@ -0,0 +1,134 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PathFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void givenNoRules_whenAccept_thenEverythingIsAccepted() {
+        // WHEN / THEN
+        assertTrue(PathFilter.ACCEPT_ALL.isAcceptAll());
+        assertTrue(PathFilter.ACCEPT_ALL.acceptFile("a/b.txt"));
+        assertTrue(PathFilter.ACCEPT_ALL.acceptDirectory("node_modules"));
+    }
+
+    @Test
+    void givenUnanchoredName_whenAccept_thenExcludedAtAnyDepth() {
+        // GIVEN
+        PathFilter filter = PathFilter.compile(List.of(), List.of("node_modules", ".git"));
+
+        // WHEN / THEN
+        assertFalse(filter.acceptDirectory("node_modules"));
+        assertFalse(filter.acceptDirectory("web/app/node_modules"));
+        assertFalse(filter.acceptDirectory(".git"));
+        assertTrue(filter.acceptDirectory("web/app"));
+        assertTrue(filter.acceptFile("web/node_modules.txt"));
+    }
+
+    @Test
+    void givenAnchoredLiteralPath_whenAccept_thenOnlyThatPathIsExcluded() {
+        // GIVEN
+        PathFilter filter = PathFilter.compile(List.of(), List.of("build/classes", "/out"));
+
+        // WHEN / THEN
+        assertFalse(filter.acceptDirectory("build/classes"));
+        assertTrue(filter.acceptDirectory("build"));
+        assertTrue(filter.acceptDirectory("module/build/classes"));
+        assertFalse(filter.acceptDirectory("out"));
+        assertTrue(filter.acceptDirectory("src/out"));
+    }
+
+    @Test
+    void givenGlobPatterns_whenAccept_thenMatchedByPathMatcher() {
+        // GIVEN
+        PathFilter filter = PathFilter.compile(List.of(), List.of("*.tmp", "cache/**/*.bin"));
+
+        // WHEN / THEN
+        assertFalse(filter.acceptFile("a.tmp"));
+        assertFalse(filter.acceptFile("deep/dir/b.tmp"));
+        assertFalse(filter.acceptFile("cache/x/y.bin"));
+        assertTrue(filter.acceptFile("other/x/y.bin"));
+        assertTrue(filter.acceptFile("a.txt"));
+    }
+
+    @Test
+    void givenDirectoryOnlyPattern_whenAccept_thenFilesWithSameNameAreKept() {
+        // GIVEN
+        PathFilter filter = PathFilter.compile(List.of(), List.of("target/"));
+
+        // WHEN / THEN
+        assertFalse(filter.acceptDirectory("target"));
+        assertTrue(filter.acceptFile("target"));
+    }
+
+    @Test
+    void givenAnchoredInclude_whenAccept_thenOnlyDirectoriesOnTheWayAreDescended() {
+        // GIVEN
+        PathFilter filter = PathFilter.compile(List.of("src/main/**"), List.of());
+
+        // WHEN / THEN
+        assertTrue(filter.acceptDirectory("src"));
+        assertTrue(filter.acceptDirectory("src/main"));
+        assertTrue(filter.acceptDirectory("src/main/java"));
+        assertFalse(filter.acceptDirectory("src/test"));
+        assertFalse(filter.acceptDirectory("docs"));
+        assertTrue(filter.acceptFile("src/main/java/App.java"));
+        assertFalse(filter.acceptFile("README.md"));
+    }
+
+    @Test
+    void givenIncludedDirectory_whenAcceptFile_thenWholeSubtreeIsIncluded() {
+        // GIVEN
+        PathFilter filter = PathFilter.compile(List.of("docs"), List.of("*.bak"));
+
+        // WHEN / THEN
+        assertTrue(filter.acceptDirectory("docs"));
+        assertTrue(filter.acceptDirectory("docs/img"));
+        assertTrue(filter.acceptFile("docs/img/logo.png"));
+        assertFalse(filter.acceptFile("docs/old.bak"));
+        assertFalse(filter.acceptFile("notes.txt"));
+    }
+
+    @Test
+    void givenExcludedAncestor_whenAcceptTree_thenPathIsRejected() {
+        // GIVEN
+        PathFilter filter = PathFilter.compile(List.of(), List.of("node_modules"));
+
+        // WHEN / THEN
+        assertFalse(filter.acceptTree("app/node_modules/lib/index.js", false));
+        assertTrue(filter.acceptTree("app/src/index.js", false));
+    }
+
+    @Test
+    void givenExcludedDirectory_whenExplore_thenDirectoryIsPruned() throws IOException {
+        // GIVEN
+        Files.createDirectories(tempDir.resolve("node_modules/pkg"));
+        Files.writeString(tempDir.resolve("node_modules/pkg/index.js"), "x");
+        Files.writeString(tempDir.resolve("keep.txt"), "k");
+        Files.writeString(tempDir.resolve("drop.tmp"), "d");
+        PathFilter filter = PathFilter.compile(List.of(), List.of("node_modules", "*.tmp"));
+        List<String> visited = new ArrayList<>();
+
+        // WHEN
+        FileSystemExplorer.explore(tempDir, filter).accept(file -> visited.add(file.getName()));
+
+        // THEN
+        assertEquals(List.of("keep.txt"), visited);
+    }
+
+    @Test
+    void givenInvalidGlob_whenCompile_thenThrowsIllegalArgumentException() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> PathFilter.compile(List.of(), List.of("a[")));
+    }
+}
@@ -3,6 +3,8 @@ package model;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.*;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProfileTest {
@@ -56,4 +58,52 @@ class ProfileTest {
         // WHEN / THEN
         assertThrows(IllegalArgumentException.class, () -> new Profile(name, pathA, null));
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenFilterRules_whenCreatingProfile_thenRulesAreStoredAndCompiled() {
+        // GIVEN
+        List<String> includes = new ArrayList<>(List.of("src/**"));
+        List<String> excludes = List.of("*.tmp");
+
+        // WHEN
+        Profile profile = new Profile("p", "/tmp/A", "/tmp/B", includes, excludes);
+        includes.clear();
+
+        // THEN
+        assertEquals(List.of("src/**"), profile.getIncludes());
+        assertEquals(List.of("*.tmp"), profile.getExcludes());
+        assertTrue(profile.createFilter().acceptFile("src/a.txt"));
+        assertFalse(profile.createFilter().acceptFile("src/a.tmp"));
+    }
+
+    @Test
+    void givenSimpleProfile_whenGettingRules_thenListsAreEmpty() {
+        // WHEN
+        Profile profile = new Profile("p", "/tmp/A", "/tmp/B");
+
+        // THEN
+        assertTrue(profile.getIncludes().isEmpty());
+        assertTrue(profile.getExcludes().isEmpty());
+        assertTrue(profile.createFilter().isAcceptAll());
+    }
+
+    @Test
+    void givenThrottleLimits_whenCreatingProfile_thenLimitsAreStored() {
+        // WHEN
+        Profile limited = new Profile("p", "/tmp/A", "/tmp/B", List.of(), List.of(), 1024, 10);
+        Profile unlimited = new Profile("p", "/tmp/A", "/tmp/B");
+
+        // THEN
+        assertEquals(1024, limited.getMaxBytesPerSecond());
+        assertEquals(10, limited.getMaxOpsPerSecond());
+        assertEquals(0, unlimited.getMaxBytesPerSecond());
+        assertEquals(0, unlimited.getMaxOpsPerSecond());
+    }
+
+    @Test
+    void givenNegativeLimit_whenCreatingProfile_thenThrowsException() {
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> new Profile("p", "/tmp/A", "/tmp/B", List.of(), List.of(), -1, 0));
+    }
+}
@@ -80,4 +80,79 @@ public class RegistryTest {
         // THEN
         assertEquals("updatedProfile", registry.getProfileName());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void givenSeveralThreads_whenPutConcurrently_thenNoEntryIsLost() throws InterruptedException {
+        // GIVEN
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            int offset = t * 1000;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    registry.put("file" + (offset + i), i);
+                }
+            });
+        }
+
+        // WHEN
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // THEN
+        assertEquals(4000, registry.getEntries().size());
+    }
+
+    @Test
+    public void givenFingerprint_whenPut_thenFingerprintIsStoredAndCountedAsMutation() {
+        // GIVEN
+        Fingerprint fingerprint = new Fingerprint(3, 0x1234);
+        registry.put("doc.txt", 1000L);
+        long before = registry.getMutationCount();
+
+        // WHEN
+        registry.put("doc.txt", 1000L, fingerprint);
+
+        // THEN
+        assertEquals(fingerprint, registry.getFingerprint("doc.txt"));
+        assertEquals(before + 1, registry.getMutationCount());
+    }
+
+    @Test
+    public void givenFingerprintedEntry_whenPutWithoutFingerprintOrRemove_thenFingerprintIsDropped() {
+        // GIVEN
+        registry.put("a.txt", 1000L, new Fingerprint(3, 0x1234));
+        registry.put("b.txt", 1000L, new Fingerprint(3, 0x1234));
+
+        // WHEN
+        registry.put("a.txt", 2000L);
+        registry.remove("b.txt");
+
+        // THEN
+        assertNull(registry.getFingerprint("a.txt"));
+        assertNull(registry.getFingerprint("b.txt"));
+    }
+
+    @Test
+    public void givenEntriesUnderDirectory_whenRenamePrefix_thenOnlyThoseEntriesAreMoved() {
+        // GIVEN
+        Fingerprint fingerprint = new Fingerprint(3, 0x1234);
+        registry.put("photos/2023/a.jpg", 1000L, fingerprint);
+        registry.put("photos/b.jpg", 2000L);
+        registry.put("photos-old/c.jpg", 3000L);
+
+        // WHEN
+        int moved = registry.renamePrefix("photos", "archive/photos");
+
+        // THEN
+        assertEquals(2, moved);
+        assertFalse(registry.contains("photos/2023/a.jpg"));
+        assertEquals(1000L, registry.get("archive/photos/2023/a.jpg"));
+        assertEquals(fingerprint, registry.getFingerprint("archive/photos/2023/a.jpg"));
+        assertEquals(2000L, registry.get("archive/photos/b.jpg"));
+        assertEquals(3000L, registry.get("photos-old/c.jpg"));
+    }
+}
@@ -0,0 +1,125 @@
+package model;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final StatIndex index = new StatIndex("unitTestIndex");
+
+    /** Recule la date d’un dossier pour qu’il sorte de la fenêtre de sécurité. */
+    private void age(Path dir) throws IOException {
+        Files.setLastModifiedTime(dir, FileTime.fromMillis(System.currentTimeMillis() - 60_000L));
+    }
+
+    @Test
+    public void givenUnchangedDirectory_whenListedTwice_thenSecondListingComesFromIndex() throws IOException {
+        // GIVEN
+        Files.writeString(tempDir.resolve("b.txt"), "b");
+        Files.createDirectory(tempDir.resolve("a"));
+        age(tempDir);
+
+        // WHEN
+        List<FileComponent> first = index.listChildren(tempDir);
+        List<FileComponent> second = index.listChildren(tempDir);
+
+        // THEN
+        assertEquals(1, index.getMisses());
+        assertEquals(1, index.getHits());
+        assertEquals(List.of("a", "b.txt"), second.stream().map(FileComponent::getName).toList());
+        assertInstanceOf(DirectoryComposite.class, second.get(0));
+        assertEquals(first.get(1).getPath(), second.get(1).getPath());
+    }
+
+    @Test
+    public void givenFileContentChanged_whenListedFromIndex_thenFreshAttributesAreReturned() throws IOException {
+        // GIVEN
+        Path file = Files.writeString(tempDir.resolve("f.txt"), "1");
+        age(tempDir);
+        index.listChildren(tempDir);
+
+        // WHEN : le contenu change sans modifier la date du dossier
+        Files.writeString(file, "12345");
+        age(tempDir);
+        index.put(tempDir.toString(), new StatIndex.DirectoryStat(
+                Files.getLastModifiedTime(tempDir).toMillis(), System.currentTimeMillis(),
+                index.getDirectories().get(tempDir.toString()).getEntries()));
+        List<FileComponent> children = index.listChildren(tempDir);
+
+        // THEN
+        assertEquals(1, index.getHits());
+        assertEquals(5L, children.get(0).getAttributes().size());
+    }
+
+    @Test
+    public void givenFileAdded_whenListedAgain_thenDirectoryIsReread() throws IOException {
+        // GIVEN
+        Files.writeString(tempDir.resolve("old.txt"), "old");
+        age(tempDir);
+        index.listChildren(tempDir);
+
+        // WHEN
+        Files.writeString(tempDir.resolve("new.txt"), "new");
+        List<FileComponent> children = index.listChildren(tempDir);
+
+        // THEN
+        assertEquals(2, index.getMisses());
+        assertEquals(2, children.size());
+    }
+
+    @Test
+    public void givenRecentlyModifiedDirectory_whenListedTwice_thenIndexIsNotTrusted() throws IOException {
+        // GIVEN : dossier modifié à l’instant, dans la fenêtre de sécurité
+        Files.writeString(tempDir.resolve("f.txt"), "f");
+
+        // WHEN
+        index.listChildren(tempDir);
+        index.listChildren(tempDir);
+
+        // THEN
+        assertEquals(0, index.getHits());
+        assertEquals(2, index.getMisses());
+    }
+
+    @Test
+    public void givenCachedEntryDeleted_whenDirectoryDateUnchanged_thenFallsBackToListing() throws IOException {
+        // GIVEN
+        Path file = Files.writeString(tempDir.resolve("gone.txt"), "x");
+        Files.writeString(tempDir.resolve("kept.txt"), "y");
+        age(tempDir);
+        FileTime aged = Files.getLastModifiedTime(tempDir);
+        index.listChildren(tempDir);
+
+        // WHEN : suppression en conservant la date du dossier
+        Files.delete(file);
+        Files.setLastModifiedTime(tempDir, aged);
+        List<FileComponent> children = index.listChildren(tempDir);
+
+        // THEN
+        assertEquals(0, index.getHits());
+        assertEquals(List.of("kept.txt"), children.stream().map(FileComponent::getName).toList());
+    }
+
+    @Test
+    public void givenUnvisitedDirectory_whenPrune_thenEntryIsRemoved() throws IOException {
+        // GIVEN
+        index.put("/nowhere", new StatIndex.DirectoryStat(1L, 2L, List.of()));
+        index.listChildren(tempDir);
+
+        // WHEN
+        index.prune();
+
+        // THEN
+        assertEquals(Set.of(tempDir.toString()), index.getDirectories().keySet());
+    }
+}
@@ -0,0 +1,42 @@
+package sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictQueueTest {
+
+    @Test
+    void givenSamePathAddedTwice_whenDrain_thenLatestConflictIsKeptOnce() {
+        // GIVEN
+        ConflictQueue queue = new ConflictQueue();
+        queue.add(new Conflict("doc.txt", 1L, 2L, 3L, 4L));
+        queue.add(new Conflict("doc.txt", 5L, 6L, 7L, 8L));
+
+        // WHEN
+        List<Conflict> conflicts = queue.drain();
+
+        // THEN
+        assertEquals(1, conflicts.size());
+        assertEquals(5L, conflicts.get(0).lastModifiedA());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void givenConflictsAddedInAnyOrder_whenDrain_thenSortedByPath() {
+        // GIVEN
+        ConflictQueue queue = new ConflictQueue();
+        queue.add(new Conflict("z.txt", 1L, 2L, 1L, 1L));
+        queue.add(new Conflict("a/b.txt", 1L, 2L, 1L, 1L));
+        queue.add(new Conflict("m.txt", 1L, 2L, 1L, 1L));
+
+        // WHEN
+        List<Conflict> conflicts = queue.drain();
+
+        // THEN
+        assertEquals(List.of("a/b.txt", "m.txt", "z.txt"), conflicts.stream().map(Conflict::relativePath).toList());
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,202 @@
+package sync;
+
+import filesystem.FileHandler;
+import filesystem.LocalFileHandler;
+import model.Fingerprint;
+import model.Registry;
+
+import manager.RegistryManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConflictResolverTest {
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private Registry registry;
+    private ConflictQueue queue;
+    private MockedStatic<RegistryManager> mocked;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        registry = new Registry("testProfile");
+        queue = new ConflictQueue();
+
+        mocked = mockStatic(RegistryManager.class);
+        mocked.when(RegistryManager::getInstance).thenReturn(mock(RegistryManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mocked.close();
+    }
+
+    @Test
+    void givenAskPolicyWithoutInput_whenConstruct_thenIllegalArgument() {
+        // GIVEN / WHEN / THEN
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConflictResolver(dirA, dirB, registry, new LocalFileHandler(), ConflictPolicy.ASK));
+    }
+
+    @Test
+    void givenNewestWins_whenResolveAll_thenMoreRecentVersionIsCopied() throws IOException {
+        // GIVEN
+        createConflict("doc.txt", "from A", BASE_TIME + 30_000, "from B", BASE_TIME + 60_000);
+
+        // WHEN
+        int resolved = resolver(ConflictPolicy.NEWEST_WINS).resolveAll(queue);
+
+        // THEN
+        assertEquals(1, resolved);
+        assertEquals("from B", Files.readString(dirA.resolve("doc.txt")));
+        assertEquals(BASE_TIME + 60_000, registry.get("doc.txt"));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void givenAWins_whenResolveAll_thenVersionOfAIsCopiedEvenIfOlder() throws IOException {
+        // GIVEN
+        createConflict("doc.txt", "from A", BASE_TIME + 30_000, "from B", BASE_TIME + 60_000);
+
+        // WHEN
+        resolver(ConflictPolicy.A_WINS).resolveAll(queue);
+
+        // THEN
+        assertEquals("from A", Files.readString(dirB.resolve("doc.txt")));
+        assertEquals(Fingerprint.of(dirA.resolve("doc.txt")), registry.getFingerprint("doc.txt"));
+    }
+
+    @Test
+    void givenKeepBoth_whenResolveAll_thenOlderVersionIsRenamedOnBothSides() throws IOException {
+        // GIVEN
+        Files.createDirectories(dirA.resolve("dir"));
+        Files.createDirectories(dirB.resolve("dir"));
+        createConflict("dir/doc.txt", "from A", BASE_TIME + 60_000, "from B", BASE_TIME + 30_000);
+
+        // WHEN
+        resolver(ConflictPolicy.KEEP_BOTH).resolveAll(queue);
+
+        // THEN
+        assertEquals("from A", Files.readString(dirA.resolve("dir/doc.txt")));
+        assertEquals("from A", Files.readString(dirB.resolve("dir/doc.txt")));
+        assertEquals("from B", Files.readString(dirA.resolve("dir/doc (conflit B).txt")));
+        assertEquals("from B", Files.readString(dirB.resolve("dir/doc (conflit B).txt")));
+        assertTrue(registry.contains("dir/doc (conflit B).txt"));
+    }
+
+    @Test
+    void givenKeepBoth_whenResolveAll_thenRenameGoesThroughTheHandler() throws IOException {
+        // GIVEN
+        createConflict("doc.txt", "from A", BASE_TIME + 30_000, "from B", BASE_TIME + 60_000);
+        FileHandler handler = spy(new LocalFileHandler());
+
+        // WHEN
+        new ConflictResolver(dirA, dirB, registry, handler, ConflictPolicy.KEEP_BOTH).resolveAll(queue);
+
+        // THEN
+        verify(handler).move(dirA.resolve("doc.txt"), dirA.resolve("doc (conflit A).txt"));
+        assertEquals("from A", Files.readString(dirB.resolve("doc (conflit A).txt")));
+        assertEquals("from B", Files.readString(dirA.resolve("doc.txt")));
+    }
+
+    @Test
+    void givenTakenConflictName_whenConflictName_thenNumberIsAppended() throws IOException {
+        // GIVEN
+        Files.writeString(dirB.resolve("doc (conflit B).txt"), "earlier conflict");
+
+        // WHEN
+        String name = resolver(ConflictPolicy.KEEP_BOTH).conflictName("doc.txt", "B");
+
+        // THEN
+        assertEquals("doc (conflit B 2).txt", name);
+    }
+
+    @Test
+    void givenAskPolicy_whenResolveAll_thenEachAnswerIsApplied() throws IOException {
+        // GIVEN
+        createConflict("one.txt", "A1", BASE_TIME + 30_000, "B1", BASE_TIME + 60_000);
+        createConflict("two.txt", "A2", BASE_TIME + 30_000, "B2", BASE_TIME + 60_000);
+        BufferedReader input = new BufferedReader(new StringReader("a\ns\n"));
+        ConflictResolver resolver = new ConflictResolver(dirA, dirB, registry, new LocalFileHandler(),
+                ConflictPolicy.ASK, input);
+
+        // WHEN
+        int resolved = resolver.resolveAll(queue);
+
+        // THEN
+        assertEquals(1, resolved);
+        assertEquals("A1", Files.readString(dirB.resolve("one.txt")));
+        assertEquals("A2", Files.readString(dirA.resolve("two.txt")));
+        assertEquals("B2", Files.readString(dirB.resolve("two.txt")));
+    }
+
+    @Test
+    void givenAskPolicyAndEndOfInput_whenResolveAll_thenRemainingConflictsAreLeftUntouched() throws IOException {
+        // GIVEN
+        createConflict("one.txt", "A1", BASE_TIME + 30_000, "B1", BASE_TIME + 60_000);
+        ConflictResolver resolver = new ConflictResolver(dirA, dirB, registry, new LocalFileHandler(),
+                ConflictPolicy.ASK, new BufferedReader(new StringReader("")));
+
+        // WHEN
+        int resolved = resolver.resolveAll(queue);
+
+        // THEN
+        assertEquals(0, resolved);
+        assertEquals("A1", Files.readString(dirA.resolve("one.txt")));
+        assertEquals("B1", Files.readString(dirB.resolve("one.txt")));
+        assertEquals(BASE_TIME, registry.get("one.txt"));
+    }
+
+    @Test
+    void givenConflictGoneSinceDetection_whenResolveAll_thenNothingIsCopied() throws IOException {
+        // GIVEN
+        createConflict("doc.txt", "from A", BASE_TIME + 30_000, "from B", BASE_TIME + 60_000);
+        Files.writeString(dirA.resolve("doc.txt"), "from B");
+
+        // WHEN
+        int resolved = resolver(ConflictPolicy.A_WINS).resolveAll(queue);
+
+        // THEN
+        assertEquals(0, resolved);
+        assertEquals("from B", Files.readString(dirB.resolve("doc.txt")));
+    }
+
+    /**
+     * Prépare un fichier synchronisé puis modifié des deux côtés, et met son conflit en attente.
+     */
+    private void createConflict(String relativePath, String contentA, long timeA, String contentB, long timeB)
+            throws IOException {
+        Path fileA = dirA.resolve(relativePath);
+        Path fileB = dirB.resolve(relativePath);
+        Files.writeString(fileA, contentA);
+        Files.writeString(fileB, contentB);
+        Files.setLastModifiedTime(fileA, FileTime.fromMillis(timeA));
+        Files.setLastModifiedTime(fileB, FileTime.fromMillis(timeB));
+        registry.put(relativePath, BASE_TIME);
+
+        SyncContext context = new SyncContext(fileA, fileB, relativePath, registry);
+        assertEquals(SyncAction.CONFLICT, DecisionHandler.decide(context));
+        queue.add(Conflict.of(context));
+    }
+
+    private ConflictResolver resolver(ConflictPolicy policy) {
+        return new ConflictResolver(dirA, dirB, registry, new LocalFileHandler(), policy);
+    }
+}
@@ -1,5 +1,6 @@
 package sync;
 
+import filesystem.FileHandler;
 import model.Registry;
 
 import manager.RegistryManager;
@@ -41,6 +42,27 @@ class CopyHandlerTest {
                 .forEach(File::delete);
     }
 
+    @Test
+    void givenInjectedFileHandler_whenHandle_thenCopyIsDelegatedToIt() throws IOException, InterruptedException {
+        // GIVEN
+        Path fileB = Files.writeString(dirB.resolve("file.txt"), "Old from B");
+        Thread.sleep(50);
+        Path fileA = Files.writeString(dirA.resolve("file.txt"), "New from A");
+        FileHandler fileHandler = mock(FileHandler.class);
+        SyncContext context = new SyncContext(fileA, fileB, "file.txt", registry);
+
+        try (MockedStatic<RegistryManager> mocked = mockStatic(RegistryManager.class)) {
+            mocked.when(RegistryManager::getInstance).thenReturn(mock(RegistryManager.class));
+
+            // WHEN
+            new CopyHandler(fileHandler).handle(context);
+
+            // THEN
+            verify(fileHandler).copy(fileA, fileB);
+            assertEquals("Old from B", Files.readString(fileB));
+        }
+    }
+
     @Test
     void givenFileInAIsNewer_whenHandle_thenCopiedToBAndRegistryUpdated() throws IOException, InterruptedException {
         // GIVEN
@@ -60,7 +82,7 @@ class CopyHandlerTest {
             // THEN
             assertEquals("New from A", Files.readString(fileB));
             assertTrue(registry.contains("file.txt"));
-            verify(mockManager).saveRegistry(registry);
+            verify(mockManager).checkpoint(registry);
         }
     }
 
@@ -84,7 +106,7 @@ class CopyHandlerTest {
             // THEN
             assertEquals("New from B", Files.readString(fileA));
             assertTrue(registry.contains("file.txt"));
-            verify(mockManager).saveRegistry(registry);
+            verify(mockManager).checkpoint(registry);
         }
     }
 
@@ -104,7 +126,7 @@ class CopyHandlerTest {
             handler.handle(context);
 
             // THEN
-            verify(mockManager, never()).saveRegistry(any());
+            verify(mockManager, never()).checkpoint(any());
         }
     }
 
@@ -0,0 +1,324 @@
+package sync;
+
+import filesystem.FileHandler;
+import filesystem.LocalFileHandler;
+import model.Fingerprint;
+import model.Registry;
+
+import manager.RegistryManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DecisionHandlerTest {
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private MockedStatic<RegistryManager> mocked;
+    private RegistryManager mockManager;
+    private int caseNumber;
+
+    @BeforeEach
+    void setup() {
+        mocked = mockStatic(RegistryManager.class);
+        mockManager = mock(RegistryManager.class);
+        mocked.when(RegistryManager::getInstance).thenReturn(mockManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mocked.close();
+    }
+
+    @Test
+    void givenEveryCombination_whenHandle_thenSameResultAsFirstActingLinkOfChain() throws IOException {
+        for (boolean registered : new boolean[]{false, true}) {
+            for (boolean existsA : new boolean[]{false, true}) {
+                for (boolean existsB : new boolean[]{false, true}) {
+                    for (int relation : new int[]{DecisionHandler.SAME, DecisionHandler.A_NEWER, DecisionHandler.B_NEWER}) {
+                        // GIVEN
+                        String label = "registered=" + registered + ", A=" + existsA + ", B=" + existsB
+                                + ", relation=" + relation;
+                        SyncContext chainContext = createCase(existsA, existsB, registered, relation);
+                        SyncContext decisionContext = createCase(existsA, existsB, registered, relation);
+
+                        // WHEN
+                        String expected = runChainUntilFirstAction(chainContext);
+                        new DecisionHandler().handle(decisionContext);
+
+                        // THEN
+                        assertEquals(expected, snapshot(decisionContext), label);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void givenNewFileInA_whenHandle_thenCopiedOnceAndCheckpointedOnce() throws IOException {
+        // GIVEN
+        SyncContext context = createCase(true, false, false, DecisionHandler.SAME);
+
+        // WHEN
+        new DecisionHandler().handle(context);
+
+        // THEN
+        assertEquals("A", Files.readString(context.pathB));
+        assertEquals(BASE_TIME, context.registry.get("file.txt"));
+        verify(mockManager, times(1)).checkpoint(context.registry);
+    }
+
+    @Test
+    void givenSynchronizedFile_whenHandle_thenNoActionAndNoSave() throws IOException {
+        // GIVEN
+        SyncContext context = createCase(true, true, true, DecisionHandler.SAME);
+
+        // WHEN
+        SyncAction action = DecisionHandler.decide(context);
+        new DecisionHandler().handle(context);
+
+        // THEN
+        assertEquals(SyncAction.NONE, action);
+        assertEquals("A", Files.readString(context.pathA));
+        assertEquals("B", Files.readString(context.pathB));
+        verify(mockManager, never()).checkpoint(any());
+    }
+
+    @Test
+    void givenRegisteredFileDeletedFromA_whenDecide_thenDeleteB() throws IOException {
+        // GIVEN
+        SyncContext context = createCase(false, true, true, DecisionHandler.SAME);
+
+        // WHEN
+        SyncAction action = DecisionHandler.decide(context);
+
+        // THEN
+        assertEquals(SyncAction.DELETE_B, action);
+        assertTrue(Files.exists(context.pathB));
+    }
+
+    @Test
+    void givenTouchedButUnchangedFile_whenHandle_thenOnlyTargetDateIsUpdated() throws IOException {
+        // GIVEN
+        SyncContext context = createSynchronizedCase("same", "same");
+        Files.setLastModifiedTime(context.pathA, FileTime.fromMillis(BASE_TIME + 60_000));
+        context.invalidateA();
+
+        // WHEN
+        SyncAction action = DecisionHandler.decide(context);
+        new DecisionHandler().handle(context);
+
+        // THEN
+        assertEquals(SyncAction.TOUCH_A_TO_B, action);
+        assertEquals(BASE_TIME + 60_000, Files.getLastModifiedTime(context.pathB).toMillis());
+        assertEquals(BASE_TIME + 60_000, context.registry.get("file.txt"));
+        assertEquals(Fingerprint.of(context.pathA), context.registry.getFingerprint("file.txt"));
+        verify(mockManager, times(1)).checkpoint(context.registry);
+    }
+
+    @Test
+    void givenSameSizeButDifferentContent_whenDecide_thenCopy() throws IOException {
+        // GIVEN
+        SyncContext context = createSynchronizedCase("same", "same");
+        Files.writeString(context.pathB, "diff");
+        Files.setLastModifiedTime(context.pathB, FileTime.fromMillis(BASE_TIME + 60_000));
+        context.invalidateB();
+
+        // WHEN
+        SyncAction action = DecisionHandler.decide(context);
+
+        // THEN
+        assertEquals(SyncAction.COPY_B_TO_A, action);
+    }
+
+    @Test
+    void givenDifferentSize_whenDecide_thenCopy() throws IOException {
+        // GIVEN
+        SyncContext context = createSynchronizedCase("same", "same");
+        Files.writeString(context.pathA, "longer content");
+        Files.setLastModifiedTime(context.pathA, FileTime.fromMillis(BASE_TIME + 60_000));
+        context.invalidateA();
+
+        // WHEN
+        SyncAction action = DecisionHandler.decide(context);
+
+        // THEN
+        assertEquals(SyncAction.COPY_A_TO_B, action);
+    }
+
+    @Test
+    void givenCopy_whenHandle_thenFingerprintOfCopiedContentIsRecorded() throws IOException {
+        // GIVEN
+        SyncContext context = createCase(true, true, true, DecisionHandler.A_NEWER);
+
+        // WHEN
+        new DecisionHandler().handle(context);
+
+        // THEN
+        assertEquals(Fingerprint.of(context.pathA), context.registry.getFingerprint("file.txt"));
+    }
+
+    @Test
+    void givenBothSidesChangedWithDifferentContent_whenHandle_thenConflictQueuedWithoutCopy() throws IOException {
+        // GIVEN
+        SyncContext context = createSynchronizedCase("same", "same");
+        Files.writeString(context.pathA, "edited in A");
+        Files.writeString(context.pathB, "edited in B");
+        Files.setLastModifiedTime(context.pathA, FileTime.fromMillis(BASE_TIME + 60_000));
+        Files.setLastModifiedTime(context.pathB, FileTime.fromMillis(BASE_TIME + 30_000));
+        context.invalidateA();
+        context.invalidateB();
+        DecisionHandler handler = new DecisionHandler();
+
+        // WHEN
+        SyncAction action = DecisionHandler.decide(context);
+        handler.handle(context);
+
+        // THEN
+        assertEquals(SyncAction.CONFLICT, action);
+        assertEquals("edited in A", Files.readString(context.pathA));
+        assertEquals("edited in B", Files.readString(context.pathB));
+        assertEquals(BASE_TIME, context.registry.get("file.txt"));
+        List<Conflict> conflicts = handler.getConflicts().drain();
+        assertEquals(1, conflicts.size());
+        assertEquals("file.txt", conflicts.get(0).relativePath());
+        verify(mockManager, never()).checkpoint(any());
+    }
+
+    @Test
+    void givenBothSidesChangedToSameContent_whenDecide_thenNoConflict() throws IOException {
+        // GIVEN
+        SyncContext context = createSynchronizedCase("same", "same");
+        Files.writeString(context.pathA, "edited");
+        Files.writeString(context.pathB, "edited");
+        Files.setLastModifiedTime(context.pathA, FileTime.fromMillis(BASE_TIME + 60_000));
+        Files.setLastModifiedTime(context.pathB, FileTime.fromMillis(BASE_TIME + 30_000));
+        context.invalidateA();
+        context.invalidateB();
+
+        // WHEN
+        SyncAction action = DecisionHandler.decide(context);
+
+        // THEN
+        assertNotEquals(SyncAction.CONFLICT, action);
+    }
+
+    @Test
+    void givenDestinationRoundingDates_whenHandle_thenBothSidesShareRecordedDateAndNextDecisionIsNone()
+            throws IOException {
+        // GIVEN
+        SyncContext context = createCase(true, false, false, DecisionHandler.SAME);
+        Files.setLastModifiedTime(context.pathA, FileTime.fromMillis(BASE_TIME + 1_234));
+        context.invalidateA();
+        FileHandler coarse = new LocalFileHandler() {
+            @Override
+            public void copy(Path source, Path destination) throws IOException {
+                super.copy(source, destination);
+                round(destination);
+            }
+
+            @Override
+            public Fingerprint copyWithFingerprint(Path source, Path destination) throws IOException {
+                Fingerprint fingerprint = super.copyWithFingerprint(source, destination);
+                round(destination);
+                return fingerprint;
+            }
+
+            private void round(Path destination) throws IOException {
+                long time = Files.getLastModifiedTime(destination).toMillis();
+                Files.setLastModifiedTime(destination, FileTime.fromMillis(time - time % 2_000));
+            }
+        };
+
+        // WHEN
+        new DecisionHandler(coarse).handle(context);
+
+        // THEN
+        long recorded = context.registry.get("file.txt");
+        assertEquals(BASE_TIME, recorded);
+        assertEquals(recorded, Files.getLastModifiedTime(context.pathA).toMillis());
+        assertEquals(recorded, Files.getLastModifiedTime(context.pathB).toMillis());
+        SyncContext next = new SyncContext(context.pathA, context.pathB, "file.txt", context.registry);
+        assertEquals(SyncAction.NONE, DecisionHandler.decide(next));
+    }
+
+    /**
+     * Prépare un fichier synchronisé des deux côtés, enregistré avec son empreinte.
+     */
+    private SyncContext createSynchronizedCase(String contentA, String contentB) throws IOException {
+        SyncContext context = createCase(true, true, false, DecisionHandler.SAME);
+        Files.writeString(context.pathA, contentA);
+        Files.writeString(context.pathB, contentB);
+        Files.setLastModifiedTime(context.pathA, FileTime.fromMillis(BASE_TIME));
+        Files.setLastModifiedTime(context.pathB, FileTime.fromMillis(BASE_TIME));
+        context.registry.put("file.txt", BASE_TIME, Fingerprint.of(context.pathA));
+        context.invalidateA();
+        context.invalidateB();
+        return context;
+    }
+
+    /**
+     * Prépare un cas dans deux dossiers neufs.
+     */
+    private SyncContext createCase(boolean existsA, boolean existsB, boolean registered, int relation)
+            throws IOException {
+        Path dirA = Files.createDirectories(tempDir.resolve("case" + caseNumber + "/A"));
+        Path dirB = Files.createDirectories(tempDir.resolve("case" + caseNumber + "/B"));
+        caseNumber++;
+
+        Path fileA = dirA.resolve("file.txt");
+        Path fileB = dirB.resolve("file.txt");
+        if (existsA) {
+            Files.writeString(fileA, "A");
+            long time = BASE_TIME + (relation == DecisionHandler.A_NEWER ? 5_000 : 0);
+            Files.setLastModifiedTime(fileA, FileTime.fromMillis(time));
+        }
+        if (existsB) {
+            Files.writeString(fileB, "B");
+            long time = BASE_TIME + (relation == DecisionHandler.B_NEWER ? 5_000 : 0);
+            Files.setLastModifiedTime(fileB, FileTime.fromMillis(time));
+        }
+
+        Registry registry = new Registry("test");
+        if (registered) {
+            registry.put("file.txt", BASE_TIME);
+        }
+        return new SyncContext(fileA, fileB, "file.txt", registry);
+    }
+
+    /**
+     * Applique isolément chaque maillon de la chaîne historique, dans l’ordre,
+     * jusqu’au premier qui modifie l’état.
+     */
+    private String runChainUntilFirstAction(SyncContext context) throws IOException {
+        String initial = snapshot(context);
+        for (SyncHandler link : List.of(new RegisterHandler(), new CopyHandler(), new DeleteHandler(), new ConflictHandler())) {
+            link.handle(context);
+            String current = snapshot(context);
+            if (!current.equals(initial)) {
+                return current;
+            }
+        }
+        return initial;
+    }
+
+    /**
+     * Décrit l’état observable d’un cas : contenu des deux fichiers et registre.
+     */
+    private static String snapshot(SyncContext context) throws IOException {
+        String contentA = Files.exists(context.pathA) ? Files.readString(context.pathA) : "-";
+        String contentB = Files.exists(context.pathB) ? Files.readString(context.pathB) : "-";
+        return contentA + "|" + contentB + "|" + new TreeMap<>(context.registry.getEntries());
+    }
+}
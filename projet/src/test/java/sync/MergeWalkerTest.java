@@ -0,0 +1,174 @@
+package sync;
+
+import model.PathFilter;
+import model.Registry;
+import model.StatIndex;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MergeWalkerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private Registry registry;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        registry = new Registry("testProfile");
+
+        Files.writeString(dirA.resolve("both.txt"), "A");
+        Files.writeString(dirB.resolve("both.txt"), "BB");
+        Files.writeString(dirA.resolve("onlyA.txt"), "A");
+        Files.writeString(dirB.resolve("onlyB.txt"), "B");
+        Files.createDirectories(dirA.resolve("sub/deep"));
+        Files.writeString(dirA.resolve("sub/deep/x.txt"), "x");
+        Files.createDirectories(dirB.resolve("sub"));
+        Files.writeString(dirB.resolve("sub/y.txt"), "y");
+        Files.createDirectories(dirB.resolve("onlyDirB"));
+        Files.writeString(dirB.resolve("onlyDirB/z.txt"), "z");
+    }
+
+    @Test
+    void givenTwoTrees_whenWalk_thenOneContextPerDistinctRelativePath() throws IOException {
+        // GIVEN
+        Map<String, SyncContext> contexts = new LinkedHashMap<>();
+        SyncHandler recorder = recorder(contexts);
+
+        // WHEN
+        new MergeWalker(dirA, dirB, recorder, registry).walk();
+
+        // THEN
+        assertEquals(List.of("both.txt", "onlyA.txt", "onlyB.txt", "onlyDirB/z.txt", "sub/deep/x.txt", "sub/y.txt"),
+                new ArrayList<>(contexts.keySet()));
+
+        SyncContext both = contexts.get("both.txt");
+        assertEquals(dirA.resolve("both.txt"), both.pathA);
+        assertEquals(dirB.resolve("both.txt"), both.pathB);
+        assertEquals(1, both.getAttributesA().size());
+        assertEquals(2, both.getAttributesB().size());
+
+        SyncContext onlyA = contexts.get("onlyA.txt");
+        assertTrue(onlyA.getAttributesA().exists());
+        assertFalse(onlyA.getAttributesB().exists());
+
+        SyncContext deep = contexts.get("sub/deep/x.txt");
+        assertEquals(dirB.resolve("sub/deep/x.txt"), deep.pathB);
+        assertFalse(deep.getAttributesB().exists());
+    }
+
+    @Test
+    void givenParallelListing_whenWalk_thenSameContextsInSameOrder() throws IOException {
+        // GIVEN
+        Map<String, SyncContext> sequential = new LinkedHashMap<>();
+        Map<String, SyncContext> parallel = new LinkedHashMap<>();
+
+        // WHEN
+        new MergeWalker(dirA, dirB, recorder(sequential), registry).walk();
+        new MergeWalker(dirA, dirB, recorder(parallel), registry, 4).walk();
+
+        // THEN
+        assertEquals(new ArrayList<>(sequential.keySet()), new ArrayList<>(parallel.keySet()));
+    }
+
+    @Test
+    void givenStatIndex_whenWalkedTwiceWithoutChanges_thenSameContextsAndDirectoriesReused() throws IOException {
+        // GIVEN : dossiers sortis de la fenêtre de sécurité de l’index
+        try (var walk = Files.walk(tempDir)) {
+            for (Path dir : walk.filter(Files::isDirectory).toList()) {
+                Files.setLastModifiedTime(dir, java.nio.file.attribute.FileTime.fromMillis(
+                        System.currentTimeMillis() - 60_000L));
+            }
+        }
+        StatIndex index = new StatIndex("testProfile");
+        Map<String, SyncContext> first = new LinkedHashMap<>();
+        Map<String, SyncContext> second = new LinkedHashMap<>();
+
+        // WHEN
+        new MergeWalker(dirA, dirB, recorder(first), registry, 1, index).walk();
+        int missesAfterFirst = index.getMisses();
+        new MergeWalker(dirA, dirB, recorder(second), registry, 1, index).walk();
+
+        // THEN
+        assertEquals(new ArrayList<>(first.keySet()), new ArrayList<>(second.keySet()));
+        assertEquals(missesAfterFirst, index.getMisses(), "Aucun dossier ne doit être relu");
+        assertEquals(missesAfterFirst, index.getHits());
+    }
+
+    @Test
+    void givenExcludedDirectory_whenWalk_thenItIsNeverListed() throws IOException {
+        // GIVEN
+        StatIndex index = new StatIndex("testProfile");
+        PathFilter filter = PathFilter.compile(List.of(), List.of("deep", "onlyB.txt"));
+        Map<String, SyncContext> contexts = new LinkedHashMap<>();
+
+        // WHEN
+        new MergeWalker(dirA, dirB, recorder(contexts), registry, 1, index, filter).walk();
+
+        // THEN
+        assertEquals(List.of("both.txt", "onlyA.txt", "onlyDirB/z.txt", "sub/y.txt"), new ArrayList<>(contexts.keySet()));
+        assertFalse(index.getDirectories().containsKey(dirA.resolve("sub/deep").toString()));
+        assertTrue(index.getDirectories().containsKey(dirA.resolve("sub").toString()));
+    }
+
+    @Test
+    void givenFileAgainstDirectory_whenWalk_thenEntryIsSkipped() throws IOException {
+        // GIVEN
+        Files.writeString(dirA.resolve("mixed"), "file");
+        Files.createDirectory(dirB.resolve("mixed"));
+        Files.writeString(dirB.resolve("mixed/inner.txt"), "inner");
+        Map<String, SyncContext> contexts = new LinkedHashMap<>();
+
+        // WHEN
+        new MergeWalker(dirA, dirB, recorder(contexts), registry).walk();
+
+        // THEN
+        assertFalse(contexts.keySet().stream().anyMatch(path -> path.startsWith("mixed")));
+    }
+
+    @Test
+    void givenParallelHandler_whenWalk_thenAllContextsHandledBeforeWalkReturns() throws IOException {
+        // GIVEN
+        Map<String, SyncContext> sequential = new HashMap<>();
+        new MergeWalker(dirA, dirB, recorder(sequential), registry).walk();
+        Map<String, SyncContext> parallel = new ConcurrentHashMap<>();
+
+        try (ParallelSyncHandler handler = new ParallelSyncHandler(recorder(parallel), 4)) {
+            // WHEN
+            new MergeWalker(dirA, dirB, handler, registry).walk();
+
+            // THEN
+            assertEquals(sequential.keySet(), parallel.keySet());
+        }
+    }
+
+    @Test
+    void givenNonDirectoryRoot_whenWalk_thenThrowsIllegalArgumentException() {
+        // GIVEN
+        MergeWalker walker = new MergeWalker(dirA.resolve("both.txt"), dirB, recorder(new HashMap<>()), registry);
+
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, walker::walk);
+    }
+
+    private static SyncHandler recorder(Map<String, SyncContext> contexts) {
+        return new AbstractSyncHandler() {
+            @Override
+            public void handle(SyncContext context) {
+                assertNull(contexts.put(context.relativePath, context), "Chemin traité deux fois");
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package sync;
+
+import model.Registry;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSyncHandlerTest {
+
+    private Registry registry;
+
+    @BeforeEach
+    void setup() {
+        registry = new Registry("testProfile");
+    }
+
+    @Test
+    void givenManyContexts_whenHandle_thenEachIsProcessedOnceBeforeAwaitReturns() {
+        // GIVEN
+        Set<String> handled = ConcurrentHashMap.newKeySet();
+        AtomicInteger nextLinkCalls = new AtomicInteger();
+        SyncHandler delegate = new AbstractSyncHandler() {
+            @Override
+            public void handle(SyncContext context) {
+                assertTrue(handled.add(context.relativePath), "Contexte traité deux fois");
+                registry.put(context.relativePath, 1L);
+            }
+        };
+
+        try (ParallelSyncHandler parallel = new ParallelSyncHandler(delegate, 4)) {
+            parallel.setNext(new AbstractSyncHandler() {
+                @Override
+                public void handle(SyncContext context) {
+                    nextLinkCalls.incrementAndGet();
+                }
+            });
+
+            // WHEN
+            for (int i = 0; i < 500; i++) {
+                parallel.handle(context("file" + i));
+            }
+            parallel.awaitCompletion();
+
+            // THEN
+            assertEquals(500, handled.size());
+            assertEquals(500, registry.getEntries().size());
+            assertEquals(500, nextLinkCalls.get());
+        }
+    }
+
+    @Test
+    void givenSlowDelegate_whenHandle_thenWorkRunsOnSeveralThreads() throws InterruptedException {
+        // GIVEN
+        CountDownLatch started = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        SyncHandler delegate = new AbstractSyncHandler() {
+            @Override
+            public void handle(SyncContext context) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        try (ParallelSyncHandler parallel = new ParallelSyncHandler(delegate, 3)) {
+            // WHEN
+            for (int i = 0; i < 3; i++) {
+                parallel.handle(context("file" + i));
+            }
+
+            // THEN
+            assertTrue(started.await(5, TimeUnit.SECONDS), "Les trois contextes doivent être traités simultanément");
+            release.countDown();
+        }
+    }
+
+    @Test
+    void givenFailingDelegate_whenAwaitCompletion_thenFailureIsRethrown() {
+        // GIVEN
+        SyncHandler delegate = new AbstractSyncHandler() {
+            @Override
+            public void handle(SyncContext context) {
+                throw new IllegalStateException("échec");
+            }
+        };
+
+        try (ParallelSyncHandler parallel = new ParallelSyncHandler(delegate, 2)) {
+            parallel.handle(context("file"));
+
+            // WHEN / THEN
+            IllegalStateException e = assertThrows(IllegalStateException.class, parallel::awaitCompletion);
+            assertEquals("échec", e.getMessage());
+        }
+    }
+
+    @Test
+    void givenZeroWorkers_whenConstruct_thenThrowsIllegalArgumentException() {
+        // GIVEN / WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> new ParallelSyncHandler(new DecisionHandler(), 0));
+    }
+
+    private SyncContext context(String relativePath) {
+        return new SyncContext(Paths.get("A", relativePath), Paths.get("B", relativePath), relativePath, registry);
+    }
+}
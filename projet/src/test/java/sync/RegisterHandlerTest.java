@@ -57,7 +57,7 @@ public class RegisterHandlerTest {
             // THEN
             assertTrue(Files.exists(fileB));
             assertTrue(registry.contains("file.txt"));
-            verify(mockManager).saveRegistry(registry);
+            verify(mockManager).checkpoint(registry);
         }
     }
 
@@ -78,7 +78,7 @@ public class RegisterHandlerTest {
             // THEN
             assertTrue(Files.exists(fileA));
             assertTrue(registry.contains("file.txt"));
-            verify(mockManager).saveRegistry(registry);
+            verify(mockManager).checkpoint(registry);
         }
     }
 
@@ -99,12 +99,12 @@ public class RegisterHandlerTest {
 
             // THEN
             assertFalse(Files.exists(fileB)); // pas copié
-            verify(mockManager, never()).saveRegistry(any());
+            verify(mockManager, never()).checkpoint(any());
         }
     }
 
     @Test
-    public void givenIOExceptionDuringSaveRegistry_whenHandle_thenErrorHandledGracefully() throws IOException {
+    public void givenIOExceptionDuringCheckpoint_whenHandle_thenErrorHandledGracefully() throws IOException {
         // GIVEN
         Path fileA = Files.writeString(dirA.resolve("file.txt"), "Erreur de test");
         Path fileB = dirB.resolve("file.txt");
@@ -119,7 +119,7 @@ public class RegisterHandlerTest {
             RegistryManager spyManager = mock(RegistryManager.class);
             mocked.when(RegistryManager::getInstance).thenReturn(spyManager);
 
-            doThrow(new IOException("Erreur volontaire")).when(spyManager).saveRegistry(any());
+            doThrow(new IOException("Erreur volontaire")).when(spyManager).checkpoint(any());
 
             // WHEN / THEN
             assertDoesNotThrow(() -> handler.handle(context),
@@ -0,0 +1,186 @@
+package sync;
+
+import filesystem.FileHandler;
+import filesystem.LocalFileHandler;
+import model.Fingerprint;
+import model.Registry;
+
+import manager.RegistryManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RenameDetectorTest {
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private Registry registry;
+    private MockedStatic<RegistryManager> mocked;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        registry = new Registry("testProfile");
+
+        mocked = mockStatic(RegistryManager.class);
+        mocked.when(RegistryManager::getInstance).thenReturn(mock(RegistryManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mocked.close();
+    }
+
+    @Test
+    void givenFileRenamedInA_whenDetect_thenDeleteAndRegisterBecomeOneMove() throws IOException {
+        // GIVEN
+        createSynchronized("old.bin", "media content");
+        Files.createDirectories(dirA.resolve("sorted"));
+        Files.move(dirA.resolve("old.bin"), dirA.resolve("sorted/new.bin"));
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        List<SyncPlan.PlannedAction> actions = plan.getActions();
+        assertEquals(1, actions.size());
+        assertEquals(SyncAction.MOVE_A_TO_B, actions.get(0).getAction());
+        assertEquals("sorted/new.bin", actions.get(0).getRelativePath());
+        assertEquals("old.bin", actions.get(0).getSourcePath());
+        assertEquals(0, plan.getTransferBytes());
+    }
+
+    @Test
+    void givenMovePlanned_whenExecute_thenFileIsMovedInBAndRegistryKeyUpdated() throws IOException {
+        // GIVEN
+        createSynchronized("old.bin", "media content");
+        Fingerprint fingerprint = registry.getFingerprint("old.bin");
+        Files.createDirectories(dirA.resolve("sorted"));
+        Files.move(dirA.resolve("old.bin"), dirA.resolve("sorted/new.bin"));
+        SyncPlan plan = detect();
+
+        // WHEN
+        int executed = new SyncPlanExecutor(dirA, dirB, registry).execute(plan);
+
+        // THEN
+        assertEquals(1, executed);
+        assertFalse(Files.exists(dirB.resolve("old.bin")));
+        assertEquals("media content", Files.readString(dirB.resolve("sorted/new.bin")));
+        assertFalse(registry.contains("old.bin"));
+        assertEquals(BASE_TIME, registry.get("sorted/new.bin"));
+        assertEquals(fingerprint, registry.getFingerprint("sorted/new.bin"));
+        assertTrue(detect().isEmpty());
+    }
+
+    @Test
+    void givenMovePlanned_whenExecuteWithHandler_thenMoveGoesThroughTheHandler() throws IOException {
+        // GIVEN
+        createSynchronized("old.bin", "media content");
+        Files.move(dirA.resolve("old.bin"), dirA.resolve("new.bin"));
+        SyncPlan plan = detect();
+        FileHandler handler = spy(new LocalFileHandler());
+
+        // WHEN
+        int executed = new SyncPlanExecutor(dirA, dirB, registry, 1, handler).execute(plan);
+
+        // THEN
+        assertEquals(1, executed);
+        verify(handler).move(dirB.resolve("old.bin"), dirB.resolve("new.bin"));
+        verify(handler, never()).copy(any(), any());
+        assertEquals("media content", Files.readString(dirB.resolve("new.bin")));
+    }
+
+    @Test
+    void givenFileRenamedInB_whenDetect_thenMoveTowardsA() throws IOException {
+        // GIVEN
+        createSynchronized("old.bin", "media content");
+        Files.move(dirB.resolve("old.bin"), dirB.resolve("new.bin"));
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        assertEquals(1, plan.count(SyncAction.MOVE_B_TO_A));
+        assertEquals(0, plan.count(SyncAction.DELETE_A));
+        assertEquals(0, plan.count(SyncAction.REGISTER_B_TO_A));
+    }
+
+    @Test
+    void givenRenamedFileEditedToSameSize_whenDetect_thenDeleteAndCopyAreKept() throws IOException {
+        // GIVEN
+        createSynchronized("old.bin", "media content");
+        Files.delete(dirA.resolve("old.bin"));
+        Files.writeString(dirA.resolve("new.bin"), "MEDIA CONTENT");
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        assertEquals(0, plan.count(SyncAction.MOVE_A_TO_B));
+        assertEquals(1, plan.count(SyncAction.DELETE_B));
+        assertEquals(1, plan.count(SyncAction.REGISTER_A_TO_B));
+    }
+
+    @Test
+    void givenRemainingCopyModifiedSinceSync_whenDetect_thenNoMove() throws IOException {
+        // GIVEN
+        createSynchronized("old.bin", "media content");
+        Files.move(dirA.resolve("old.bin"), dirA.resolve("new.bin"));
+        Files.setLastModifiedTime(dirB.resolve("old.bin"), FileTime.fromMillis(BASE_TIME + 60_000));
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        assertEquals(0, plan.count(SyncAction.MOVE_A_TO_B));
+    }
+
+    @Test
+    void givenTwoIdenticalFilesRenamed_whenDetect_thenEachOldPathIsUsedOnce() throws IOException {
+        // GIVEN
+        createSynchronized("one.bin", "same");
+        createSynchronized("two.bin", "same");
+        Files.move(dirA.resolve("one.bin"), dirA.resolve("first.bin"));
+        Files.move(dirA.resolve("two.bin"), dirA.resolve("second.bin"));
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        assertEquals(2, plan.count(SyncAction.MOVE_A_TO_B));
+        assertEquals(List.of("one.bin", "two.bin"), plan.getActions().stream()
+                .map(SyncPlan.PlannedAction::getSourcePath).sorted().toList());
+    }
+
+    /**
+     * Crée un fichier identique dans A et B, enregistré avec son empreinte.
+     */
+    private void createSynchronized(String relativePath, String content) throws IOException {
+        for (Path dir : List.of(dirA, dirB)) {
+            Path file = dir.resolve(relativePath);
+            Files.writeString(file, content);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(BASE_TIME));
+        }
+        registry.put(relativePath, BASE_TIME, Fingerprint.of(dirA.resolve(relativePath)));
+    }
+
+    private SyncPlan detect() throws IOException {
+        SyncPlanner planner = new SyncPlanner("testProfile");
+        new MergeWalker(dirA, dirB, planner, registry).walk();
+        return new RenameDetector(dirA, dirB, registry).detect(planner.getPlan());
+    }
+}
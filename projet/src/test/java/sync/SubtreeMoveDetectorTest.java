@@ -0,0 +1,178 @@
+package sync;
+
+import filesystem.FileHandler;
+import filesystem.LocalFileHandler;
+import model.Fingerprint;
+import model.Registry;
+
+import manager.RegistryManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SubtreeMoveDetectorTest {
+
+    private static final long BASE_TIME = 1_700_000_000_000L;
+
+    private static final List<String> PHOTOS = List.of("photos/a.jpg", "photos/b.jpg", "photos/2023/c.jpg",
+            "photos/2023/d.jpg", "photos/2024/e.jpg");
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private Registry registry;
+    private MockedStatic<RegistryManager> mocked;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        registry = new Registry("testProfile");
+
+        mocked = mockStatic(RegistryManager.class);
+        mocked.when(RegistryManager::getInstance).thenReturn(mock(RegistryManager.class));
+
+        for (int i = 0; i < PHOTOS.size(); i++) {
+            createSynchronized(PHOTOS.get(i), "photo " + i, BASE_TIME + i * 1_000L);
+        }
+        createSynchronized("notes.txt", "notes", BASE_TIME);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mocked.close();
+    }
+
+    @Test
+    void givenDirectoryMovedInA_whenDetect_thenSingleDirectoryMove() throws IOException {
+        // GIVEN
+        Files.createDirectories(dirA.resolve("archive"));
+        Files.move(dirA.resolve("photos"), dirA.resolve("archive/photos"));
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        List<SyncPlan.PlannedAction> actions = plan.getActions();
+        assertEquals(1, actions.size());
+        assertEquals(SyncAction.MOVE_DIR_A_TO_B, actions.get(0).getAction());
+        assertEquals("photos", actions.get(0).getSourcePath());
+        assertEquals("archive/photos", actions.get(0).getRelativePath());
+        assertEquals(0, plan.getTransferBytes());
+    }
+
+    @Test
+    void givenDirectoryMovePlanned_whenExecute_thenDirectoryIsMovedInBAndRegistryPrefixRewritten() throws IOException {
+        // GIVEN
+        Fingerprint fingerprint = registry.getFingerprint("photos/2023/c.jpg");
+        Files.createDirectories(dirA.resolve("archive"));
+        Files.move(dirA.resolve("photos"), dirA.resolve("archive/photos"));
+        SyncPlan plan = detect();
+
+        // WHEN
+        int executed = new SyncPlanExecutor(dirA, dirB, registry).execute(plan);
+
+        // THEN
+        assertEquals(1, executed);
+        assertFalse(Files.exists(dirB.resolve("photos")));
+        for (String path : PHOTOS) {
+            assertTrue(Files.exists(dirB.resolve("archive/" + path)), path);
+            assertFalse(registry.contains(path), path);
+            assertTrue(registry.contains("archive/" + path), path);
+        }
+        assertEquals(fingerprint, registry.getFingerprint("archive/photos/2023/c.jpg"));
+        assertTrue(registry.contains("notes.txt"));
+        assertTrue(detect().isEmpty());
+    }
+
+    @Test
+    void givenDirectoryMovePlanned_whenExecuteWithHandler_thenDirectoryMoveGoesThroughTheHandler() throws IOException {
+        // GIVEN
+        Files.move(dirA.resolve("photos"), dirA.resolve("pictures"));
+        SyncPlan plan = detect();
+        FileHandler handler = spy(new LocalFileHandler());
+
+        // WHEN
+        int executed = new SyncPlanExecutor(dirA, dirB, registry, 1, handler).execute(plan);
+
+        // THEN
+        assertEquals(1, executed);
+        verify(handler).move(dirB.resolve("photos"), dirB.resolve("pictures"));
+        verify(handler, never()).copy(any(), any());
+        verify(handler, never()).delete(any());
+    }
+
+    @Test
+    void givenDirectoryRenamedInB_whenDetect_thenDirectoryMoveTowardsA() throws IOException {
+        // GIVEN
+        Files.move(dirB.resolve("photos"), dirB.resolve("pictures"));
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        assertEquals(1, plan.count(SyncAction.MOVE_DIR_B_TO_A));
+        assertEquals(0, plan.count(SyncAction.DELETE_A));
+        assertEquals(0, plan.count(SyncAction.REGISTER_B_TO_A));
+    }
+
+    @Test
+    void givenFileEditedInsideMovedDirectory_whenDetect_thenOnlyUntouchedSubdirectoriesMove() throws IOException {
+        // GIVEN
+        Files.move(dirA.resolve("photos"), dirA.resolve("pictures"));
+        Files.writeString(dirA.resolve("pictures/a.jpg"), "retouched");
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        assertEquals(List.of("photos/2023", "photos/2024"), plan.getActions().stream()
+                .filter(action -> action.getAction() == SyncAction.MOVE_DIR_A_TO_B)
+                .map(SyncPlan.PlannedAction::getSourcePath).sorted().toList());
+        assertEquals(2, plan.count(SyncAction.DELETE_B));
+        assertEquals(2, plan.count(SyncAction.REGISTER_A_TO_B));
+    }
+
+    @Test
+    void givenDirectoryPartlyMoved_whenDetect_thenMovedSubdirectoryIsMatched() throws IOException {
+        // GIVEN
+        Files.move(dirA.resolve("photos/2023"), dirA.resolve("2023"));
+
+        // WHEN
+        SyncPlan plan = detect();
+
+        // THEN
+        assertEquals(1, plan.count(SyncAction.MOVE_DIR_A_TO_B));
+        assertEquals("photos/2023", plan.getActions().get(0).getSourcePath());
+        assertEquals(0, plan.count(SyncAction.DELETE_B));
+    }
+
+    /**
+     * Crée un fichier identique dans A et B, enregistré avec son empreinte.
+     */
+    private void createSynchronized(String relativePath, String content, long time) throws IOException {
+        for (Path dir : List.of(dirA, dirB)) {
+            Path file = dir.resolve(relativePath);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, content);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(time));
+        }
+        registry.put(relativePath, time, Fingerprint.of(dirA.resolve(relativePath)));
+    }
+
+    private SyncPlan detect() throws IOException {
+        SyncPlanner planner = new SyncPlanner("testProfile");
+        new MergeWalker(dirA, dirB, planner, registry).walk();
+        return new SubtreeMoveDetector(dirA, dirB, registry).detect(planner.getPlan());
+    }
+}
@@ -0,0 +1,71 @@
+package sync;
+
+import model.FileAttributes;
+import model.Registry;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SyncContextTest {
+
+    @TempDir
+    Path tempDir;
+
+    Path fileA;
+    Path fileB;
+    SyncContext context;
+
+    @BeforeEach
+    void setup() throws IOException {
+        fileA = tempDir.resolve("fileA.txt");
+        fileB = tempDir.resolve("fileB.txt");
+        Files.writeString(fileA, "contenu A");
+        context = new SyncContext(fileA, fileB, "file.txt", new Registry("test"));
+    }
+
+    @Test
+    void givenAttributesRead_whenFileChanges_thenSnapshotIsReused() throws IOException {
+        // GIVEN
+        FileAttributes first = context.getAttributesA();
+
+        // WHEN
+        Files.delete(fileA);
+        FileAttributes second = context.getAttributesA();
+
+        // THEN
+        assertSame(first, second);
+        assertTrue(second.exists());
+    }
+
+    @Test
+    void givenInvalidatedSide_whenGetAttributes_thenFileIsReadAgain() throws IOException {
+        // GIVEN
+        assertFalse(context.getAttributesB().exists());
+        Files.writeString(fileB, "contenu B");
+
+        // WHEN
+        context.invalidateB();
+
+        // THEN
+        assertTrue(context.getAttributesB().exists());
+        assertEquals(Files.size(fileB), context.getAttributesB().size());
+    }
+
+    @Test
+    void givenInvalidatedSide_whenGetOtherSide_thenOtherSnapshotIsKept() throws IOException {
+        // GIVEN
+        FileAttributes attributesA = context.getAttributesA();
+        context.getAttributesB();
+
+        // WHEN
+        context.invalidateB();
+
+        // THEN
+        assertSame(attributesA, context.getAttributesA());
+    }
+}
@@ -0,0 +1,187 @@
+package sync;
+
+import filesystem.AsyncCopyExecutor;
+import filesystem.LocalFileHandler;
+import model.Fingerprint;
+import model.Registry;
+
+import manager.RegistryManager;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SyncPlanExecutorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private Registry registry;
+    private MockedStatic<RegistryManager> mocked;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        registry = new Registry("testProfile");
+
+        mocked = mockStatic(RegistryManager.class);
+        mocked.when(RegistryManager::getInstance).thenReturn(mock(RegistryManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        mocked.close();
+    }
+
+    @Test
+    void givenPlan_whenExecute_thenActionsAreApplied() throws IOException {
+        // GIVEN
+        for (int i = 0; i < 20; i++) {
+            Files.writeString(dirA.resolve("file" + i + ".txt"), "content " + i);
+        }
+        Files.writeString(dirB.resolve("gone.txt"), "old");
+        registry.put("gone.txt", 1L);
+        SyncPlan plan = plan();
+
+        // WHEN
+        int executed = new SyncPlanExecutor(dirA, dirB, registry, 4).execute(plan);
+
+        // THEN
+        assertEquals(21, executed);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("content " + i, Files.readString(dirB.resolve("file" + i + ".txt")));
+            assertTrue(registry.contains("file" + i + ".txt"));
+        }
+        assertFalse(Files.exists(dirB.resolve("gone.txt")));
+        assertFalse(registry.contains("gone.txt"));
+    }
+
+    @Test
+    void givenAsyncCopier_whenExecute_thenCopiesCompleteAndRegistryIsUpdated() throws IOException {
+        // GIVEN
+        for (int i = 0; i < 10; i++) {
+            Files.writeString(dirA.resolve("file" + i + ".txt"), "content " + i);
+        }
+        SyncPlan plan = plan();
+
+        // WHEN
+        int executed;
+        try (AsyncCopyExecutor copier = new AsyncCopyExecutor(new LocalFileHandler(), 3, 16)) {
+            executed = new SyncPlanExecutor(dirA, dirB, registry, 2, copier).execute(plan);
+        }
+
+        // THEN
+        assertEquals(10, executed);
+        for (int i = 0; i < 10; i++) {
+            Path copy = dirB.resolve("file" + i + ".txt");
+            assertEquals("content " + i, Files.readString(copy));
+            assertEquals(Files.getLastModifiedTime(dirA.resolve("file" + i + ".txt")).toMillis(),
+                    registry.get("file" + i + ".txt"));
+            assertNotNull(registry.getFingerprint("file" + i + ".txt"));
+        }
+    }
+
+    @Test
+    void givenFileChangedAfterPlanning_whenExecute_thenStaleActionIsSkipped() throws IOException {
+        // GIVEN
+        registry.put("file.txt", 1L); // supprimé de B après la planification
+        SyncPlan plan = new SyncPlan("testProfile");
+        plan.add(new SyncPlan.PlannedAction("file.txt", SyncAction.DELETE_B, 1));
+
+        // WHEN
+        int executed = new SyncPlanExecutor(dirA, dirB, registry).execute(plan);
+
+        // THEN
+        assertEquals(0, executed);
+        assertTrue(registry.contains("file.txt"));
+    }
+
+    @Test
+    void givenFileChangedOnBothSides_whenExecute_thenConflictIsQueuedAndNotCounted() throws IOException {
+        // GIVEN
+        Files.writeString(dirA.resolve("doc.txt"), "edited in A");
+        Files.writeString(dirB.resolve("doc.txt"), "edited in B too");
+        Files.setLastModifiedTime(dirA.resolve("doc.txt"), FileTime.fromMillis(60_000));
+        Files.setLastModifiedTime(dirB.resolve("doc.txt"), FileTime.fromMillis(30_000));
+        Files.writeString(dirA.resolve("new.txt"), "new");
+        registry.put("doc.txt", 1L);
+        SyncPlan plan = plan();
+
+        // WHEN
+        SyncPlanExecutor executor = new SyncPlanExecutor(dirA, dirB, registry, 2);
+        int executed = executor.execute(plan);
+
+        // THEN
+        assertEquals(1, executed);
+        assertEquals("new", Files.readString(dirB.resolve("new.txt")));
+        assertEquals("edited in A", Files.readString(dirA.resolve("doc.txt")));
+        assertEquals("edited in B too", Files.readString(dirB.resolve("doc.txt")));
+        assertEquals("doc.txt", executor.getConflicts().drain().get(0).relativePath());
+    }
+
+    @Test
+    void givenFileUnchangedSincePlanning_whenExecute_thenPlanningFingerprintIsReused() throws IOException {
+        // GIVEN
+        Path fileA = Files.writeString(dirA.resolve("doc.txt"), "same content");
+        Path fileB = Files.writeString(dirB.resolve("doc.txt"), "same content");
+        Files.setLastModifiedTime(fileB, FileTime.fromMillis(30_000));
+        Files.setLastModifiedTime(fileA, FileTime.fromMillis(60_000));
+        registry.put("doc.txt", 30_000L, Fingerprint.of(fileB));
+
+        try (MockedStatic<Fingerprint> fingerprints = mockStatic(Fingerprint.class, CALLS_REAL_METHODS)) {
+            SyncPlan plan = plan();
+            SyncPlan.PlannedAction planned = plan.getActions().get(0);
+
+            // WHEN
+            int executed = new SyncPlanExecutor(dirA, dirB, registry).execute(plan);
+
+            // THEN
+            assertEquals(SyncAction.TOUCH_A_TO_B, planned.getAction());
+            assertNotNull(planned.getVersionA());
+            assertEquals(1, executed);
+            fingerprints.verify(() -> Fingerprint.of(fileA), times(1));
+        }
+        assertEquals(60_000, Files.getLastModifiedTime(fileB).toMillis());
+    }
+
+    @Test
+    void givenFileRewrittenAfterPlanning_whenExecute_thenFingerprintIsComputedAgain() throws IOException {
+        // GIVEN
+        Path fileA = Files.writeString(dirA.resolve("doc.txt"), "same content");
+        Path fileB = Files.writeString(dirB.resolve("doc.txt"), "same content");
+        Files.setLastModifiedTime(fileB, FileTime.fromMillis(30_000));
+        Files.setLastModifiedTime(fileA, FileTime.fromMillis(60_000));
+        registry.put("doc.txt", 30_000L, Fingerprint.of(fileB));
+        SyncPlan plan = plan();
+        Files.writeString(fileA, "new content!"); // même taille, autre contenu
+        Files.setLastModifiedTime(fileA, FileTime.fromMillis(90_000));
+
+        // WHEN
+        int executed = new SyncPlanExecutor(dirA, dirB, registry).execute(plan);
+
+        // THEN
+        assertEquals(0, executed); // la touche planifiée est devenue une copie : action périmée
+        assertEquals("same content", Files.readString(fileB));
+    }
+
+    @Test
+    void givenZeroWorkers_whenConstruct_thenThrowsIllegalArgumentException() {
+        // GIVEN / WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> new SyncPlanExecutor(dirA, dirB, registry, 0));
+    }
+
+    private SyncPlan plan() throws IOException {
+        SyncPlanner planner = new SyncPlanner("testProfile");
+        new MergeWalker(dirA, dirB, planner, registry).walk();
+        return planner.getPlan();
+    }
+}
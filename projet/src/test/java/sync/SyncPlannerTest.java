@@ -0,0 +1,96 @@
+package sync;
+
+import model.Registry;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncPlannerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private Registry registry;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        registry = new Registry("testProfile");
+
+        Files.writeString(dirA.resolve("new.txt"), "12345");
+        Files.writeString(dirA.resolve("newer.txt"), "new content");
+        Files.writeString(dirB.resolve("newer.txt"), "old");
+        Files.setLastModifiedTime(dirB.resolve("newer.txt"), FileTime.fromMillis(1_000_000_000_000L));
+        Files.writeString(dirB.resolve("deleted.txt"), "xyz");
+        registry.put("newer.txt", 1_000_000_000_000L);
+        registry.put("deleted.txt", 1_000_000_000_000L);
+    }
+
+    @Test
+    void givenChangedTrees_whenWalkWithPlanner_thenPlanListsActionsWithoutSideEffects() throws IOException {
+        // GIVEN
+        SyncPlanner planner = new SyncPlanner("testProfile");
+
+        // WHEN
+        new MergeWalker(dirA, dirB, planner, registry).walk();
+        SyncPlan plan = planner.getPlan();
+
+        // THEN
+        assertEquals(3, plan.getActions().size());
+        assertEquals(1, plan.count(SyncAction.REGISTER_A_TO_B));
+        assertEquals(1, plan.count(SyncAction.COPY_A_TO_B));
+        assertEquals(1, plan.count(SyncAction.DELETE_B));
+        assertEquals(5 + 11, plan.getTransferBytes());
+        assertEquals(3, plan.getBytes(SyncAction.DELETE_B));
+
+        assertFalse(Files.exists(dirB.resolve("new.txt")));
+        assertEquals("old", Files.readString(dirB.resolve("newer.txt")));
+        assertTrue(Files.exists(dirB.resolve("deleted.txt")));
+        assertFalse(registry.contains("new.txt"));
+    }
+
+    @Test
+    void givenSynchronizedTrees_whenPlan_thenPlanIsEmpty() throws IOException {
+        // GIVEN
+        Path emptyA = Files.createDirectory(tempDir.resolve("emptyA"));
+        Path emptyB = Files.createDirectory(tempDir.resolve("emptyB"));
+        SyncPlanner planner = new SyncPlanner("testProfile");
+
+        // WHEN
+        new MergeWalker(emptyA, emptyB, planner, registry).walk();
+
+        // THEN
+        assertTrue(planner.getPlan().isEmpty());
+        assertTrue(planner.getPlan().summary().contains("aucune action"));
+    }
+
+    @Test
+    void givenPlan_whenSerializedAndRead_thenActionsArePreserved() throws IOException, ClassNotFoundException {
+        // GIVEN
+        SyncPlanner planner = new SyncPlanner("testProfile");
+        new MergeWalker(dirA, dirB, planner, registry).walk();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // WHEN
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(planner.getPlan());
+        }
+        SyncPlan copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (SyncPlan) in.readObject();
+        }
+
+        // THEN
+        assertEquals("testProfile", copy.getProfileName());
+        assertEquals(planner.getPlan().summary(), copy.summary());
+    }
+}
@@ -0,0 +1,99 @@
+package watch;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirectoryWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private DirectoryWatcher watcher;
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        Files.createDirectories(dirA.resolve("x/y"));
+        watcher = new DirectoryWatcher(dirA, dirB);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        watcher.close();
+    }
+
+    @Test
+    void givenNestedDirectories_whenCreated_thenEveryDirectoryIsWatched() {
+        // THEN : A, A/x, A/x/y et B
+        assertEquals(4, watcher.getWatchedCount());
+    }
+
+    @Test
+    void givenNoChange_whenPoll_thenReturnsNull() throws InterruptedException {
+        // WHEN / THEN
+        assertNull(watcher.poll(50, 100));
+    }
+
+    @Test
+    void givenFilesChangedOnBothSides_whenPoll_thenOneBatchWithRelativePaths() throws Exception {
+        // GIVEN
+        Files.writeString(dirA.resolve("x/y/a.txt"), "a");
+        Files.writeString(dirB.resolve("b.txt"), "b");
+
+        // WHEN
+        Set<String> paths = pollAll();
+
+        // THEN
+        assertTrue(paths.contains("x/y/a.txt"), paths.toString());
+        assertTrue(paths.contains("b.txt"), paths.toString());
+    }
+
+    @Test
+    void givenNewDirectoryWithFile_whenPoll_thenDirectoryIsWatchedAndFileReported() throws Exception {
+        // GIVEN
+        Path sub = Files.createDirectory(dirB.resolve("new"));
+        Files.writeString(sub.resolve("inner.txt"), "inner");
+
+        // WHEN
+        Set<String> paths = pollAll();
+
+        // THEN
+        assertTrue(paths.contains("new"), paths.toString());
+        assertTrue(paths.contains("new/inner.txt"), paths.toString());
+        assertEquals(5, watcher.getWatchedCount());
+    }
+
+    @Test
+    void givenSyncTempFile_whenPoll_thenOnlyTheRealFileIsReported() throws Exception {
+        // GIVEN
+        Files.writeString(dirB.resolve(".c.txt.1f2e.sync.tmp"), "c");
+        Files.writeString(dirB.resolve("c.txt.2a3b.delta.tmp"), "c");
+        Files.writeString(dirB.resolve("c.txt"), "c");
+
+        // WHEN
+        Set<String> paths = pollAll();
+
+        // THEN
+        assertEquals(Set.of("c.txt"), paths);
+    }
+
+    private Set<String> pollAll() throws InterruptedException {
+        Set<String> paths = new TreeSet<>();
+        WatchBatch batch = watcher.poll(200, 5_000);
+        while (batch != null) {
+            assertFalse(batch.isOverflow());
+            paths.addAll(batch.getRelativePaths());
+            batch = watcher.poll(200, 300);
+        }
+        return paths;
+    }
+}
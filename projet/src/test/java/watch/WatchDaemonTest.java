@@ -0,0 +1,168 @@
+package watch;
+
+import filesystem.AtomicFileHandler;
+import filesystem.FsyncPolicy;
+import filesystem.LocalFileHandler;
+import manager.RegistryManager;
+import model.PathFilter;
+import model.Registry;
+import sync.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class WatchDaemonTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path dirA;
+    private Path dirB;
+    private Registry registry;
+    private final Map<String, SyncContext> contexts = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setup() throws IOException {
+        dirA = Files.createDirectory(tempDir.resolve("A"));
+        dirB = Files.createDirectory(tempDir.resolve("B"));
+        registry = new Registry("testProfile");
+    }
+
+    @Test
+    void givenChangedFile_whenApply_thenOnlyThatFileIsHandled() throws IOException {
+        // GIVEN
+        Files.writeString(dirA.resolve("changed.txt"), "A");
+        Files.writeString(dirA.resolve("untouched.txt"), "A");
+        WatchDaemon daemon = new WatchDaemon(dirA, dirB, recorder(), registry, 50);
+
+        // WHEN
+        daemon.apply(new WatchBatch(Set.of("changed.txt"), false));
+
+        // THEN
+        assertEquals(Set.of("changed.txt"), contexts.keySet());
+        assertTrue(contexts.get("changed.txt").getAttributesA().exists());
+        assertFalse(contexts.get("changed.txt").getAttributesB().exists());
+    }
+
+    @Test
+    void givenNewDirectory_whenApply_thenEveryFileInsideIsHandled() throws IOException {
+        // GIVEN
+        Files.createDirectories(dirB.resolve("d/e"));
+        Files.writeString(dirB.resolve("d/one.txt"), "1");
+        Files.writeString(dirB.resolve("d/e/two.txt"), "2");
+        WatchDaemon daemon = new WatchDaemon(dirA, dirB, recorder(), registry, 50);
+
+        // WHEN
+        daemon.apply(new WatchBatch(Set.of("d"), false));
+
+        // THEN
+        assertEquals(Set.of("d/one.txt", "d/e/two.txt"), contexts.keySet());
+    }
+
+    @Test
+    void givenDeletedDirectory_whenApply_thenRegisteredFilesBelowAreHandled() throws IOException {
+        // GIVEN
+        registry.put("gone/x.txt", 1L);
+        registry.put("gone/sub/y.txt", 1L);
+        registry.put("gonewith.txt", 1L);
+        WatchDaemon daemon = new WatchDaemon(dirA, dirB, recorder(), registry, 50);
+
+        // WHEN
+        daemon.apply(new WatchBatch(Set.of("gone"), false));
+
+        // THEN
+        assertEquals(Set.of("gone/x.txt", "gone/sub/y.txt"), contexts.keySet());
+    }
+
+    @Test
+    void givenTransientUnknownFile_whenApply_thenNothingIsHandled() throws IOException {
+        // GIVEN
+        WatchDaemon daemon = new WatchDaemon(dirA, dirB, recorder(), registry, 50);
+
+        // WHEN
+        daemon.apply(new WatchBatch(Set.of("tmp.swp"), false));
+
+        // THEN
+        assertTrue(contexts.isEmpty());
+    }
+
+    @Test
+    void givenGroupedFsync_whenApply_thenCopiesAreCommittedAtTheEndOfTheBatch() throws IOException {
+        // GIVEN
+        Files.writeString(dirA.resolve("edit.txt"), "edited");
+        Files.createDirectories(dirB.resolve("d"));
+        Files.writeString(dirB.resolve("d/.left.txt.77aa.sync.tmp"), "crash");
+        AtomicFileHandler atomic = new AtomicFileHandler(new LocalFileHandler(), FsyncPolicy.GROUPED, 64);
+        WatchDaemon daemon = new WatchDaemon(dirA, dirB, new DecisionHandler(atomic), registry, 50,
+                1, null, PathFilter.ACCEPT_ALL, atomic::flush);
+
+        // WHEN
+        try (MockedStatic<RegistryManager> mocked = mockStatic(RegistryManager.class)) {
+            mocked.when(RegistryManager::getInstance).thenReturn(mock(RegistryManager.class));
+            daemon.apply(new WatchBatch(Set.of("edit.txt", "d"), false));
+        }
+
+        // THEN
+        assertEquals("edited", Files.readString(dirB.resolve("edit.txt")));
+        assertEquals(0, atomic.getPendingCount());
+        assertTrue(registry.contains("edit.txt"));
+        assertFalse(Files.exists(dirA.resolve("d")), "fichier temporaire recopié dans A");
+        try (Stream<Path> files = Files.list(dirB)) {
+            assertTrue(files.noneMatch(file -> file.getFileName().toString().endsWith(".sync.tmp")));
+        }
+    }
+
+    @Test
+    void givenRunningDaemon_whenFileCreated_thenFileIsHandledUntilStopped() throws Exception {
+        // GIVEN
+        Files.writeString(dirA.resolve("initial.txt"), "init");
+        WatchDaemon daemon = new WatchDaemon(dirA, dirB, recorder(), registry, 50);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> running = executor.submit(() -> {
+            daemon.watch();
+            return null;
+        });
+
+        try {
+            awaitContext("initial.txt"); // parcours complet initial
+
+            // WHEN
+            Files.writeString(dirB.resolve("late.txt"), "late");
+
+            // THEN
+            awaitContext("late.txt");
+        } finally {
+            daemon.stop();
+            running.get(5, TimeUnit.SECONDS);
+            executor.shutdownNow();
+        }
+        assertFalse(daemon.isRunning());
+    }
+
+    private void awaitContext(String relativePath) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!contexts.containsKey(relativePath) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(contexts.containsKey(relativePath), "Chemin non traité : " + relativePath);
+    }
+
+    private SyncHandler recorder() {
+        return new AbstractSyncHandler() {
+            @Override
+            public void handle(SyncContext context) {
+                contexts.put(context.relativePath, context);
+            }
+        };
+    }
+}